@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.HashFunction;
+import com.exonum.binding.common.hash.Hashing;
+import java.util.Random;
+
+/**
+ * The keys and values of the benchmarks. The data is the same in each run.
+ */
+final class BenchmarkData {
+
+  private static final long SEED = 42L;
+
+  /**
+   * Returns the given number of distinct 32-byte keys, which are suitable for proof maps.
+   */
+  static HashCode[] keys(int numKeys) {
+    HashFunction hashFunction = Hashing.sha256();
+    HashCode[] keys = new HashCode[numKeys];
+    for (int i = 0; i < numKeys; i++) {
+      keys[i] = hashFunction.hashInt(i);
+    }
+    return keys;
+  }
+
+  /**
+   * Returns the given number of random values of the given size.
+   */
+  static byte[][] values(int numValues, int valueSize) {
+    Random random = new Random(SEED);
+    byte[][] values = new byte[numValues][valueSize];
+    for (byte[] value : values) {
+      random.nextBytes(value);
+    }
+    return values;
+  }
+
+  private BenchmarkData() {}
+}
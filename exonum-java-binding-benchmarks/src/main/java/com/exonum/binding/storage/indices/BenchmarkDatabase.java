@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.CloseFailuresException;
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.MemoryDb;
+import com.exonum.binding.storage.database.Snapshot;
+import com.exonum.binding.util.LibraryLoader;
+import java.util.function.Consumer;
+
+/**
+ * An in-memory database of a benchmark with a snapshot and a fork of its initial state.
+ * The snapshot and the fork remain valid until the database is closed.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+  static {
+    LibraryLoader.load();
+  }
+
+  private final MemoryDb database;
+  private final Cleaner cleaner;
+  private final Snapshot snapshot;
+  private final Fork fork;
+
+  private BenchmarkDatabase(MemoryDb database) {
+    this.database = database;
+    cleaner = new Cleaner("BenchmarkDatabase");
+    snapshot = database.createSnapshot(cleaner);
+    fork = database.createFork(cleaner);
+  }
+
+  /**
+   * Creates a new database with the initial state added by the given function.
+   *
+   * @param initializer a function adding the initial state to a fork,
+   *     which is merged into the database
+   */
+  static BenchmarkDatabase newInstance(Consumer<Fork> initializer) throws CloseFailuresException {
+    MemoryDb database = MemoryDb.newInstance();
+    try (Cleaner initCleaner = new Cleaner("BenchmarkDatabase#newInstance")) {
+      Fork initFork = database.createFork(initCleaner);
+      initializer.accept(initFork);
+      database.merge(initFork);
+    }
+    return new BenchmarkDatabase(database);
+  }
+
+  /** Returns a snapshot of the initial state. */
+  Snapshot getSnapshot() {
+    return snapshot;
+  }
+
+  /** Returns a fork of the initial state. The changes made in it are never merged. */
+  Fork getFork() {
+    return fork;
+  }
+
+  /**
+   * Creates a snapshot of the initial state, which remains valid until the given cleaner
+   * is closed. The benchmarks creating native iterators use a separate snapshot
+   * for each invocation, so that the iterators do not accumulate until the end of the trial.
+   */
+  Snapshot createSnapshot(Cleaner cleaner) {
+    return database.createSnapshot(cleaner);
+  }
+
+  @Override
+  public void close() throws CloseFailuresException {
+    try {
+      cleaner.close();
+    } finally {
+      database.close();
+    }
+  }
+}
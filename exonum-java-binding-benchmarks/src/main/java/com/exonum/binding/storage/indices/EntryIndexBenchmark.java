@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.proxy.CloseFailuresException;
+import com.exonum.binding.storage.database.View;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link EntryIndexProxy}: reads in a snapshot and updates in a fork.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntryIndexBenchmark {
+
+  private static final String ENTRY_NAME = "entry";
+
+  @Param({"8", "1024"})
+  private int valueSize;
+
+  private byte[] value;
+
+  private BenchmarkDatabase database;
+
+  private EntryIndexProxy<byte[]> snapshotEntry;
+
+  private EntryIndexProxy<byte[]> forkEntry;
+
+  /**
+   * Creates a database with an entry of {@link #valueSize} bytes.
+   */
+  @Setup
+  public void setUp() throws CloseFailuresException {
+    value = BenchmarkData.values(1, valueSize)[0];
+    database = BenchmarkDatabase.newInstance(fork -> createEntry(fork).set(value));
+    snapshotEntry = createEntry(database.getSnapshot());
+    forkEntry = createEntry(database.getFork());
+  }
+
+  @TearDown
+  public void tearDown() throws CloseFailuresException {
+    database.close();
+  }
+
+  @Benchmark
+  public byte[] get() {
+    return snapshotEntry.get();
+  }
+
+  @Benchmark
+  public boolean isPresent() {
+    return snapshotEntry.isPresent();
+  }
+
+  @Benchmark
+  public void set() {
+    forkEntry.set(value);
+  }
+
+  private EntryIndexProxy<byte[]> createEntry(View view) {
+    return EntryIndexProxy.newInstance(ENTRY_NAME, view,
+        StandardSerializers.fixedBytes(valueSize));
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.CloseFailuresException;
+import com.exonum.binding.storage.database.View;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of {@link KeySetIndexProxy} with keys of various sizes: lookups and iteration
+ * in a snapshot, and additions of the existing elements in a fork.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeySetIndexBenchmark {
+
+  private static final String SET_NAME = "key_set";
+
+  @Param({"100", "10000"})
+  private int size;
+
+  @Param({"8", "1024"})
+  private int valueSize;
+
+  private byte[][] values;
+
+  private BenchmarkDatabase database;
+
+  private KeySetIndexProxy<byte[]> snapshotSet;
+
+  private KeySetIndexProxy<byte[]> forkSet;
+
+  private RoundRobin positions;
+
+  /**
+   * Creates a database with a key set of {@link #size} elements.
+   */
+  @Setup
+  public void setUp() throws CloseFailuresException {
+    values = BenchmarkData.values(size, valueSize);
+    database = BenchmarkDatabase.newInstance(fork -> {
+      KeySetIndexProxy<byte[]> set = createSet(fork);
+      for (byte[] value : values) {
+        set.add(value);
+      }
+    });
+    snapshotSet = createSet(database.getSnapshot());
+    forkSet = createSet(database.getFork());
+    positions = new RoundRobin(size);
+  }
+
+  @TearDown
+  public void tearDown() throws CloseFailuresException {
+    database.close();
+  }
+
+  @Benchmark
+  public boolean contains() {
+    return snapshotSet.contains(values[positions.next()]);
+  }
+
+  /**
+   * Adds an element that is already in the set to the fork.
+   */
+  @Benchmark
+  public void add() {
+    forkSet.add(values[positions.next()]);
+  }
+
+  /**
+   * Iterates over all the elements of the set in a new snapshot.
+   */
+  @Benchmark
+  public void iterate(Blackhole blackhole) throws CloseFailuresException {
+    try (Cleaner cleaner = new Cleaner()) {
+      KeySetIndexProxy<byte[]> set = createSet(database.createSnapshot(cleaner));
+      Iterator<byte[]> elements = set.iterator();
+      while (elements.hasNext()) {
+        blackhole.consume(elements.next());
+      }
+    }
+  }
+
+  private KeySetIndexProxy<byte[]> createSet(View view) {
+    return KeySetIndexProxy.newInstance(SET_NAME, view,
+        StandardSerializers.fixedBytes(valueSize));
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.CloseFailuresException;
+import com.exonum.binding.storage.database.View;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of {@link ListIndexProxy}: access by index and iteration in a snapshot,
+ * and updates of the existing elements in a fork.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListIndexBenchmark {
+
+  private static final String LIST_NAME = "list";
+
+  @Param({"100", "10000"})
+  private int size;
+
+  @Param({"8", "1024"})
+  private int valueSize;
+
+  private byte[][] values;
+
+  private BenchmarkDatabase database;
+
+  private ListIndexProxy<byte[]> snapshotList;
+
+  private ListIndexProxy<byte[]> forkList;
+
+  private RoundRobin positions;
+
+  /**
+   * Creates a database with a list of {@link #size} elements.
+   */
+  @Setup
+  public void setUp() throws CloseFailuresException {
+    values = BenchmarkData.values(size, valueSize);
+    database = BenchmarkDatabase.newInstance(
+        fork -> createList(fork).addAll(Arrays.asList(values)));
+    snapshotList = createList(database.getSnapshot());
+    forkList = createList(database.getFork());
+    positions = new RoundRobin(size);
+  }
+
+  @TearDown
+  public void tearDown() throws CloseFailuresException {
+    database.close();
+  }
+
+  @Benchmark
+  public byte[] get() {
+    return snapshotList.get(positions.next());
+  }
+
+  /**
+   * Replaces an existing element in the fork.
+   */
+  @Benchmark
+  public void set() {
+    int i = positions.next();
+    forkList.set(i, values[i]);
+  }
+
+  /**
+   * Iterates over all the elements of the list in a new snapshot.
+   */
+  @Benchmark
+  public void iterate(Blackhole blackhole) throws CloseFailuresException {
+    try (Cleaner cleaner = new Cleaner()) {
+      ListIndexProxy<byte[]> list = createList(database.createSnapshot(cleaner));
+      Iterator<byte[]> elements = list.iterator();
+      while (elements.hasNext()) {
+        blackhole.consume(elements.next());
+      }
+    }
+  }
+
+  private ListIndexProxy<byte[]> createList(View view) {
+    return ListIndexProxy.newInstance(LIST_NAME, view, StandardSerializers.fixedBytes(valueSize));
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.proofs.list.FlatListProof;
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.CloseFailuresException;
+import com.exonum.binding.storage.database.View;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of {@link ProofListIndexProxy}: access by index, proofs, the root hash
+ * and iteration in a snapshot, and updates of the existing elements in a fork.
+ * The root hash is also measured in the fork, where it is re-computed after each update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProofListIndexBenchmark {
+
+  private static final String LIST_NAME = "proof_list";
+
+  /** The maximum number of elements in a range proof. */
+  private static final int RANGE_SIZE = 16;
+
+  @Param({"100", "10000"})
+  private int size;
+
+  @Param({"8", "1024"})
+  private int valueSize;
+
+  private byte[][] values;
+
+  private BenchmarkDatabase database;
+
+  private ProofListIndexProxy<byte[]> snapshotList;
+
+  private ProofListIndexProxy<byte[]> forkList;
+
+  private RoundRobin positions;
+
+  /**
+   * Creates a database with a proof list of {@link #size} elements.
+   */
+  @Setup
+  public void setUp() throws CloseFailuresException {
+    values = BenchmarkData.values(size, valueSize);
+    database = BenchmarkDatabase.newInstance(
+        fork -> createList(fork).addAll(Arrays.asList(values)));
+    snapshotList = createList(database.getSnapshot());
+    forkList = createList(database.getFork());
+    positions = new RoundRobin(size);
+  }
+
+  @TearDown
+  public void tearDown() throws CloseFailuresException {
+    database.close();
+  }
+
+  @Benchmark
+  public byte[] get() {
+    return snapshotList.get(positions.next());
+  }
+
+  @Benchmark
+  public FlatListProof getProof() {
+    return snapshotList.getFlatProof(positions.next());
+  }
+
+  /**
+   * Creates a proof of at most {@value RANGE_SIZE} elements starting at the next position.
+   */
+  @Benchmark
+  public FlatListProof getRangeProof() {
+    int from = positions.next();
+    int to = Math.min(from + RANGE_SIZE, size);
+    return snapshotList.getFlatRangeProof(from, to);
+  }
+
+  @Benchmark
+  public HashCode getRootHash() {
+    return snapshotList.getRootHash();
+  }
+
+  /**
+   * Replaces an existing element in the fork.
+   */
+  @Benchmark
+  public void set() {
+    int i = positions.next();
+    forkList.set(i, values[i]);
+  }
+
+  /**
+   * Replaces an existing element in the fork and computes the new root hash.
+   */
+  @Benchmark
+  public HashCode setAndGetRootHash() {
+    int i = positions.next();
+    forkList.set(i, values[i]);
+    return forkList.getRootHash();
+  }
+
+  /**
+   * Iterates over all the elements of the list in a new snapshot.
+   */
+  @Benchmark
+  public void iterate(Blackhole blackhole) throws CloseFailuresException {
+    try (Cleaner cleaner = new Cleaner()) {
+      ProofListIndexProxy<byte[]> list = createList(database.createSnapshot(cleaner));
+      Iterator<byte[]> elements = list.iterator();
+      while (elements.hasNext()) {
+        blackhole.consume(elements.next());
+      }
+    }
+  }
+
+  private ProofListIndexProxy<byte[]> createList(View view) {
+    return ProofListIndexProxy.newInstance(LIST_NAME, view,
+        StandardSerializers.fixedBytes(valueSize));
+  }
+}
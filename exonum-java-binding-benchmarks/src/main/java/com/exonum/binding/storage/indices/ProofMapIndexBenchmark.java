@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.proofs.map.flat.UncheckedMapProof;
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.CloseFailuresException;
+import com.exonum.binding.storage.database.View;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of {@link ProofMapIndexProxy}: lookups, proofs, the root hash and iteration
+ * in a snapshot, and updates of the existing entries in a fork. The root hash is also
+ * measured in the fork, where it is re-computed after each update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProofMapIndexBenchmark {
+
+  private static final String MAP_NAME = "proof_map";
+
+  @Param({"100", "10000"})
+  private int size;
+
+  @Param({"8", "1024"})
+  private int valueSize;
+
+  private HashCode[] keys;
+
+  private byte[][] values;
+
+  private BenchmarkDatabase database;
+
+  private ProofMapIndexProxy<HashCode, byte[]> snapshotMap;
+
+  private ProofMapIndexProxy<HashCode, byte[]> forkMap;
+
+  private RoundRobin positions;
+
+  /**
+   * Creates a database with a proof map of {@link #size} entries.
+   */
+  @Setup
+  public void setUp() throws CloseFailuresException {
+    keys = BenchmarkData.keys(size);
+    values = BenchmarkData.values(size, valueSize);
+    database = BenchmarkDatabase.newInstance(fork -> {
+      ProofMapIndexProxy<HashCode, byte[]> map = createMap(fork);
+      for (int i = 0; i < size; i++) {
+        map.put(keys[i], values[i]);
+      }
+    });
+    snapshotMap = createMap(database.getSnapshot());
+    forkMap = createMap(database.getFork());
+    positions = new RoundRobin(size);
+  }
+
+  @TearDown
+  public void tearDown() throws CloseFailuresException {
+    database.close();
+  }
+
+  @Benchmark
+  public byte[] get() {
+    return snapshotMap.get(keys[positions.next()]);
+  }
+
+  @Benchmark
+  public UncheckedMapProof getProof() {
+    return snapshotMap.getProof(keys[positions.next()]);
+  }
+
+  @Benchmark
+  public HashCode getRootHash() {
+    return snapshotMap.getRootHash();
+  }
+
+  /**
+   * Replaces the value of an existing entry in the fork.
+   */
+  @Benchmark
+  public void put() {
+    int i = positions.next();
+    forkMap.put(keys[i], values[i]);
+  }
+
+  /**
+   * Replaces the value of an existing entry in the fork and computes the new root hash.
+   */
+  @Benchmark
+  public HashCode putAndGetRootHash() {
+    int i = positions.next();
+    forkMap.put(keys[i], values[i]);
+    return forkMap.getRootHash();
+  }
+
+  /**
+   * Iterates over all the entries of the map in a new snapshot.
+   */
+  @Benchmark
+  public void iterateEntries(Blackhole blackhole) throws CloseFailuresException {
+    try (Cleaner cleaner = new Cleaner()) {
+      ProofMapIndexProxy<HashCode, byte[]> map = createMap(database.createSnapshot(cleaner));
+      Iterator<MapEntry<HashCode, byte[]>> entries = map.entries();
+      while (entries.hasNext()) {
+        blackhole.consume(entries.next());
+      }
+    }
+  }
+
+  private ProofMapIndexProxy<HashCode, byte[]> createMap(View view) {
+    return ProofMapIndexProxy.newInstance(MAP_NAME, view, StandardSerializers.hash(),
+        StandardSerializers.fixedBytes(valueSize));
+  }
+}
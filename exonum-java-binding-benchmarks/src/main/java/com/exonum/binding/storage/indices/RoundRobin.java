@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+/**
+ * Cycles through the positions in [0; size), so that each invocation of a benchmark
+ * accesses the next element of an index.
+ */
+final class RoundRobin {
+
+  private final int size;
+  private int position;
+
+  RoundRobin(int size) {
+    this.size = size;
+  }
+
+  /** Returns the next position. */
+  int next() {
+    int next = position;
+    position = (next + 1 == size) ? 0 : next + 1;
+    return next;
+  }
+}
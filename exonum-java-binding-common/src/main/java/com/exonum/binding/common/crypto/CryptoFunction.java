@@ -16,6 +16,10 @@
 
 package com.exonum.binding.common.crypto;
 
+import static com.exonum.binding.common.crypto.CryptoUtils.copyOfRange;
+
+import java.nio.ByteBuffer;
+
 /**
  * A crypto function that provides several signature system crypto methods.
  * All method arguments can't be null otherwise {@link NullPointerException} will be thrown.
@@ -43,6 +47,43 @@ public interface CryptoFunction {
    */
   byte[] signMessage(byte[] message, PrivateKey privateKey);
 
+  /**
+   * Given a {@code privateKey}, computes and returns a signature for the {@code length} bytes
+   * of the {@code message} array starting at the given {@code offset}.
+   *
+   * <p>The default implementation copies the range of the message and passes it to
+   * {@link #signMessage(byte[], PrivateKey)}; the implementations may sign the message in place.
+   *
+   * @return signature as a byte array
+   * @throws IndexOutOfBoundsException if the given range is not within the message array
+   * @throws IllegalArgumentException if the private key is not valid for this cryptographic
+   *     function
+   */
+  default byte[] signMessage(byte[] message, int offset, int length, PrivateKey privateKey) {
+    return signMessage(copyOfRange(message, offset, length), privateKey);
+  }
+
+  /**
+   * Given a {@code privateKey}, computes and returns a signature for the remaining bytes
+   * of the {@code message} buffer. The position and limit of the buffer are not modified.
+   *
+   * <p>If the buffer is backed by an accessible array, the message is signed in place;
+   * otherwise its content is copied first.
+   *
+   * @return signature as a byte array
+   * @throws IllegalArgumentException if the private key is not valid for this cryptographic
+   *     function
+   */
+  default byte[] signMessage(ByteBuffer message, PrivateKey privateKey) {
+    if (message.hasArray()) {
+      int offset = message.arrayOffset() + message.position();
+      return signMessage(message.array(), offset, message.remaining(), privateKey);
+    }
+    byte[] messageBytes = new byte[message.remaining()];
+    message.duplicate().get(messageBytes);
+    return signMessage(messageBytes, privateKey);
+  }
+
   /**
    * Given a {@code publicKey}, verifies that {@code signature} is a valid signature for the
    * supplied {@code message}.
@@ -50,4 +91,40 @@ public interface CryptoFunction {
    * @return true if signature is valid, false otherwise
    */
   boolean verify(byte[] message, byte[] signature, PublicKey publicKey);
+
+  /**
+   * Given a {@code publicKey}, verifies that {@code signature} is a valid signature for the
+   * {@code length} bytes of the {@code message} array starting at the given {@code offset}.
+   *
+   * <p>The default implementation copies the range of the message and passes it to
+   * {@link #verify(byte[], byte[], PublicKey)}; the implementations may verify the message
+   * in place.
+   *
+   * @return true if signature is valid, false otherwise
+   * @throws IndexOutOfBoundsException if the given range is not within the message array
+   */
+  default boolean verify(byte[] message, int offset, int length, byte[] signature,
+      PublicKey publicKey) {
+    return verify(copyOfRange(message, offset, length), signature, publicKey);
+  }
+
+  /**
+   * Given a {@code publicKey}, verifies that {@code signature} is a valid signature for the
+   * remaining bytes of the {@code message} buffer. The position and limit of the buffer
+   * are not modified.
+   *
+   * <p>If the buffer is backed by an accessible array, the message is verified in place;
+   * otherwise its content is copied first.
+   *
+   * @return true if signature is valid, false otherwise
+   */
+  default boolean verify(ByteBuffer message, byte[] signature, PublicKey publicKey) {
+    if (message.hasArray()) {
+      int offset = message.arrayOffset() + message.position();
+      return verify(message.array(), offset, message.remaining(), signature, publicKey);
+    }
+    byte[] messageBytes = new byte[message.remaining()];
+    message.duplicate().get(messageBytes);
+    return verify(messageBytes, signature, publicKey);
+  }
 }
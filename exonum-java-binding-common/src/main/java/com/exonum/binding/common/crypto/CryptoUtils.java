@@ -16,7 +16,10 @@
 
 package com.exonum.binding.common.crypto;
 
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
 import com.google.common.io.BaseEncoding;
+import java.util.Arrays;
 
 /**
  * Utils for crypto system.
@@ -54,6 +57,21 @@ class CryptoUtils {
     return HEX_ENCODING.encode(bytes);
   }
 
+  /**
+   * Returns the given range of the array, or the array itself if the range spans
+   * the whole array.
+   *
+   * @throws IndexOutOfBoundsException if the given range is not within the array
+   */
+  static byte[] copyOfRange(byte[] bytes, int offset, int length) {
+    checkPositionIndexes(offset, offset + length, bytes.length);
+    if (offset == 0 && length == bytes.length) {
+      return bytes;
+    }
+    return Arrays.copyOfRange(bytes, offset, offset + length);
+  }
+
   private CryptoUtils() {
   }
+
 }
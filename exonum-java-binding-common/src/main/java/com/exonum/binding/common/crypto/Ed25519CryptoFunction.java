@@ -22,9 +22,11 @@ import static com.exonum.binding.common.crypto.CryptoFunctions.Ed25519.SEED_BYTE
 import static com.exonum.binding.common.crypto.CryptoFunctions.Ed25519.SIGNATURE_BYTES;
 import static com.exonum.binding.common.crypto.CryptoUtils.hasLength;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
 
 import com.goterl.lazycode.lazysodium.LazySodiumJava;
 import com.goterl.lazycode.lazysodium.SodiumJava;
+import java.util.Arrays;
 
 /**
  * A ED25519 public-key signature system crypto function.
@@ -35,6 +37,13 @@ public enum Ed25519CryptoFunction implements CryptoFunction {
 
   private final LazySodiumJava lazySodium = new LazySodiumJava(new SodiumJava());
 
+  /**
+   * The arrays into which the public keys, stored as long words, are written
+   * to pass them to the native code; one per thread.
+   */
+  private final ThreadLocal<byte[]> publicKeyScratch =
+      ThreadLocal.withInitial(() -> new byte[PUBLIC_KEY_BYTES]);
+
   @Override
   public KeyPair generateKeyPair(byte[] seed) {
     checkArgument(hasLength(seed, SEED_BYTES),
@@ -62,9 +71,16 @@ public enum Ed25519CryptoFunction implements CryptoFunction {
 
   @Override
   public byte[] signMessage(byte[] message, PrivateKey privateKey) {
+    return signMessage(message, 0, message.length, privateKey);
+  }
+
+  @Override
+  public byte[] signMessage(byte[] message, int offset, int length, PrivateKey privateKey) {
+    checkPositionIndexes(offset, offset + length, message.length);
     checkArgument(hasLength(privateKey.toBytesNoCopy(), PRIVATE_KEY_BYTES));
+    byte[] messagePrefix = asPrefix(message, offset, length);
     byte[] signature = new byte[SIGNATURE_BYTES];
-    boolean signed = lazySodium.cryptoSignDetached(signature, null, message, message.length,
+    boolean signed = lazySodium.cryptoSignDetached(signature, null, messagePrefix, length,
         privateKey.toBytesNoCopy());
 
     if (!signed) {
@@ -75,13 +91,35 @@ public enum Ed25519CryptoFunction implements CryptoFunction {
 
   @Override
   public boolean verify(byte[] message, byte[] signature, PublicKey publicKey) {
-    checkArgument(hasLength(publicKey.toBytesNoCopy(), PUBLIC_KEY_BYTES),
+    return verify(message, 0, message.length, signature, publicKey);
+  }
+
+  @Override
+  public boolean verify(byte[] message, int offset, int length, byte[] signature,
+      PublicKey publicKey) {
+    checkPositionIndexes(offset, offset + length, message.length);
+    checkArgument(publicKey.size() == PUBLIC_KEY_BYTES,
         "Public key has invalid size (%s), must be %s", publicKey.size(), PUBLIC_KEY_BYTES);
     if (!hasLength(signature, SIGNATURE_BYTES)) {
       return false;
     }
+    byte[] messagePrefix = asPrefix(message, offset, length);
+    byte[] publicKeyBytes = publicKeyScratch.get();
+    publicKey.writeBytesTo(publicKeyBytes, 0);
     return lazySodium
-        .cryptoSignVerifyDetached(signature, message, message.length, publicKey.toBytesNoCopy());
+        .cryptoSignVerifyDetached(signature, messagePrefix, length, publicKeyBytes);
+  }
+
+  /**
+   * Returns an array which first {@code length} bytes are the given range of the message.
+   * The native functions accept the message length, but not its offset, therefore,
+   * the message array is passed as is if the range starts at zero, and copied otherwise.
+   */
+  private static byte[] asPrefix(byte[] message, int offset, int length) {
+    if (offset == 0) {
+      return message;
+    }
+    return Arrays.copyOfRange(message, offset, offset + length);
   }
 
 }
@@ -17,14 +17,20 @@
 package com.exonum.binding.common.crypto;
 
 import static com.exonum.binding.common.crypto.CryptoUtils.hexToByteArray;
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
 
 /**
  * Represent a private key in a digital signature system.
  */
 public final class PrivateKey extends AbstractKey {
 
+  private final byte[] rawKey;
+
   private PrivateKey(byte[] privateKey) {
-    super(privateKey);
+    checkArgument(privateKey.length > 0, "Key must not be empty");
+    this.rawKey = privateKey;
   }
 
   /**
@@ -47,4 +53,36 @@ public final class PrivateKey extends AbstractKey {
   public static PrivateKey fromHexString(String stringKey) {
     return new PrivateKey(hexToByteArray(stringKey));
   }
+
+  @Override
+  public byte[] toBytes() {
+    return rawKey.clone();
+  }
+
+  @Override
+  byte[] toBytesNoCopy() {
+    return rawKey;
+  }
+
+  @Override
+  public int size() {
+    return rawKey.length;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    PrivateKey that = (PrivateKey) o;
+    return Arrays.equals(rawKey, that.rawKey);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(rawKey);
+  }
 }
@@ -17,27 +17,91 @@
 package com.exonum.binding.common.crypto;
 
 import static com.exonum.binding.common.crypto.CryptoUtils.hexToByteArray;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import com.exonum.binding.common.serialization.PrimitiveCodecs;
+import com.google.common.primitives.UnsignedBytes;
+import java.util.Arrays;
+import javax.annotation.Nullable;
 
 /**
  * Represent a public key in a digital signature system.
+ *
+ * <p>A 256-bit key (e.g., an Ed25519 public key) is stored in four long words instead
+ * of a byte array; such keys are compared and hashed without creating any arrays.
  */
-public final class PublicKey extends AbstractKey {
+public final class PublicKey extends AbstractKey implements Comparable<PublicKey> {
+
+  /**
+   * The size of keys stored as long words, in bytes.
+   */
+  private static final int WORDS_KEY_SIZE = 32;
+
+  /** The bytes of a key which is not 256-bit; or null. */
+  @Nullable
+  private final byte[] rawKey;
 
+  // The bytes of a 256-bit key, eight bytes per word in little-endian order; or zeroes
+  private final long word0;
+  private final long word1;
+  private final long word2;
+  private final long word3;
+
+  /** Creates a key which is not 256-bit. */
   private PublicKey(byte[] publicKey) {
-    super(publicKey);
+    checkArgument(publicKey.length > 0, "Key must not be empty");
+    assert publicKey.length != WORDS_KEY_SIZE;
+    rawKey = publicKey;
+    word0 = 0L;
+    word1 = 0L;
+    word2 = 0L;
+    word3 = 0L;
+  }
+
+  /** Creates a 256-bit key of the bytes of the array at the given offset. */
+  private PublicKey(byte[] bytes, int offset) {
+    rawKey = null;
+    word0 = PrimitiveCodecs.readLongLe(bytes, offset);
+    word1 = PrimitiveCodecs.readLongLe(bytes, offset + Long.BYTES);
+    word2 = PrimitiveCodecs.readLongLe(bytes, offset + 2 * Long.BYTES);
+    word3 = PrimitiveCodecs.readLongLe(bytes, offset + 3 * Long.BYTES);
   }
 
   /**
    * Creates a {@code PublicKey} from a byte array. The array is defensively copied.
    */
   public static PublicKey fromBytes(byte[] bytes) {
+    if (bytes.length == WORDS_KEY_SIZE) {
+      return new PublicKey(bytes, 0);
+    }
     return fromBytesNoCopy(bytes.clone());
   }
 
   /**
-   * Creates a {@code PublicKey} from a byte array. The array is not copied defensively.
+   * Creates a {@code PublicKey} from a range of a byte array. The bytes are copied.
+   *
+   * @param bytes an array containing the key
+   * @param offset the index of the first byte of the key
+   * @param length the size of the key in bytes
+   * @throws IndexOutOfBoundsException if the range is not within the array
+   */
+  public static PublicKey fromBytes(byte[] bytes, int offset, int length) {
+    checkPositionIndexes(offset, offset + length, bytes.length);
+    if (length == WORDS_KEY_SIZE) {
+      return new PublicKey(bytes, offset);
+    }
+    return fromBytesNoCopy(Arrays.copyOfRange(bytes, offset, offset + length));
+  }
+
+  /**
+   * Creates a {@code PublicKey} from a byte array. The array is not copied defensively;
+   * a 256-bit key does not keep it.
    */
   static PublicKey fromBytesNoCopy(byte[] bytes) {
+    if (bytes.length == WORDS_KEY_SIZE) {
+      return new PublicKey(bytes, 0);
+    }
     return new PublicKey(bytes);
   }
 
@@ -45,6 +109,116 @@ public final class PublicKey extends AbstractKey {
    * Creates a {@code PublicKey} from a hexadecimal string.
    */
   public static PublicKey fromHexString(String stringKey) {
-    return new PublicKey(hexToByteArray(stringKey));
+    return fromBytesNoCopy(hexToByteArray(stringKey));
+  }
+
+  @Override
+  public byte[] toBytes() {
+    if (hasWords()) {
+      byte[] bytes = new byte[WORDS_KEY_SIZE];
+      writeWordsTo(bytes, 0);
+      return bytes;
+    }
+    return rawKey.clone();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>A 256-bit key has no underlying array, therefore, a new array is returned.
+   */
+  @Override
+  byte[] toBytesNoCopy() {
+    return hasWords() ? toBytes() : rawKey;
+  }
+
+  @Override
+  public int size() {
+    return hasWords() ? WORDS_KEY_SIZE : rawKey.length;
+  }
+
+  /**
+   * Copies the bytes of this key into the given array.
+   *
+   * @param dest the array into which the key will be written
+   * @param offset the start offset in the array
+   * @return the number of bytes written, i.e., the {@linkplain #size() size} of this key
+   * @throws IndexOutOfBoundsException if there is not enough room in the array
+   */
+  public int writeBytesTo(byte[] dest, int offset) {
+    int size = size();
+    checkPositionIndexes(offset, offset + size, dest.length);
+    if (hasWords()) {
+      writeWordsTo(dest, offset);
+    } else {
+      System.arraycopy(rawKey, 0, dest, offset, size);
+    }
+    return size;
+  }
+
+  private void writeWordsTo(byte[] dest, int offset) {
+    PrimitiveCodecs.writeLongLe(word0, dest, offset);
+    PrimitiveCodecs.writeLongLe(word1, dest, offset + Long.BYTES);
+    PrimitiveCodecs.writeLongLe(word2, dest, offset + 2 * Long.BYTES);
+    PrimitiveCodecs.writeLongLe(word3, dest, offset + 3 * Long.BYTES);
+  }
+
+  private boolean hasWords() {
+    return rawKey == null;
+  }
+
+  /**
+   * Compares this key with another one lexicographically, as sequences of unsigned bytes.
+   * If one key is a prefix of another, it is the lesser one.
+   */
+  @Override
+  public int compareTo(PublicKey that) {
+    if (this.hasWords() && that.hasWords()) {
+      int result = compareWords(word0, that.word0);
+      if (result == 0) {
+        result = compareWords(word1, that.word1);
+        if (result == 0) {
+          result = compareWords(word2, that.word2);
+          if (result == 0) {
+            result = compareWords(word3, that.word3);
+          }
+        }
+      }
+      return result;
+    }
+    return UnsignedBytes.lexicographicalComparator()
+        .compare(this.toBytesNoCopy(), that.toBytesNoCopy());
+  }
+
+  /**
+   * Compares the words as unsigned sequences of bytes in little-endian order.
+   */
+  private static int compareWords(long a, long b) {
+    return Long.compareUnsigned(Long.reverseBytes(a), Long.reverseBytes(b));
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    PublicKey that = (PublicKey) o;
+    return word0 == that.word0
+        && word1 == that.word1
+        && word2 == that.word2
+        && word3 == that.word3
+        && Arrays.equals(rawKey, that.rawKey);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = Long.hashCode(word0);
+    result = 31 * result + Long.hashCode(word1);
+    result = 31 * result + Long.hashCode(word2);
+    result = 31 * result + Long.hashCode(word3);
+    return 31 * result + Arrays.hashCode(rawKey);
   }
 }
@@ -296,7 +296,7 @@ public final class Funnels {
 
     @Override
     public void funnel(HashCode from, PrimitiveSink into) {
-      into.putBytes(from.getBytesInternal());
+      from.writeTo(into);
     }
 
     @Override
@@ -31,13 +31,17 @@ package com.exonum.binding.common.hash;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
 import static com.google.common.base.Preconditions.checkState;
 
+import com.exonum.binding.common.serialization.PrimitiveCodecs;
 import com.google.common.base.Preconditions;
 import com.google.common.primitives.Ints;
+import com.google.common.primitives.UnsignedBytes;
 import com.google.common.primitives.UnsignedInts;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.io.Serializable;
+import java.util.Arrays;
 import javax.annotation.Nullable;
 
 /**
@@ -47,7 +51,7 @@ import javax.annotation.Nullable;
  * @author Kurt Alfred Kluever
  * @since 11.0
  */
-public abstract class HashCode {
+public abstract class HashCode implements Comparable<HashCode> {
   HashCode() {}
 
   /**
@@ -106,6 +110,13 @@ public abstract class HashCode {
 
   abstract void writeBytesToImpl(byte[] dest, int offset, int maxLength);
 
+  /**
+   * Puts the bytes of this hash code into the given sink.
+   */
+  void writeTo(PrimitiveSink sink) {
+    sink.putBytes(getBytesInternal());
+  }
+
   /**
    * Returns a mutable view of the underlying bytes for the given {@code HashCode} if it is a
    * byte-based hashcode. Otherwise it returns {@link HashCode#asBytes}. Do <i>not</i> mutate this
@@ -260,14 +271,155 @@ public abstract class HashCode {
     return fromBytesNoCopy(bytes.clone());
   }
 
+  /**
+   * Creates a {@code HashCode} from a range of a byte array. The bytes are copied to preserve
+   * the immutability contract of {@code HashCode}; the bytes of a 256-bit hash code are read
+   * into its words without an intermediate array. The range cannot be empty.
+   *
+   * @param bytes an array containing the hash code
+   * @param offset the index of the first byte of the hash code
+   * @param length the size of the hash code in bytes
+   * @throws IndexOutOfBoundsException if the range is not within the array
+   */
+  public static HashCode fromBytes(byte[] bytes, int offset, int length) {
+    checkArgument(length >= 1, "A HashCode must contain at least 1 byte.");
+    checkPositionIndexes(offset, offset + length, bytes.length);
+    if (length == Bits256HashCode.BYTES) {
+      return new Bits256HashCode(bytes, offset);
+    }
+    return new BytesHashCode(Arrays.copyOfRange(bytes, offset, offset + length));
+  }
+
   /**
    * Creates a {@code HashCode} from a byte array. The array is <i>not</i> copied defensively, so it
    * must be handed-off so as to preserve the immutability contract of {@code HashCode}.
+   *
+   * <p>A 256-bit hash code does not keep the array, but stores its bytes in four long words.
    */
   static HashCode fromBytesNoCopy(byte[] bytes) {
+    if (bytes.length == Bits256HashCode.BYTES) {
+      return new Bits256HashCode(bytes);
+    }
     return new BytesHashCode(bytes);
   }
 
+  /**
+   * A 256-bit hash code, stored as four long words, each holding eight bytes of the hash code
+   * in little-endian order.
+   *
+   * <p>Unlike {@link BytesHashCode}, takes a single object; compares and writes
+   * the hash codes without creating any arrays.
+   */
+  private static final class Bits256HashCode extends HashCode implements Serializable {
+    static final int BYTES = 32;
+
+    final long word0;
+    final long word1;
+    final long word2;
+    final long word3;
+
+    Bits256HashCode(byte[] bytes) {
+      this(bytes, 0);
+    }
+
+    /** Creates a hash code of the {@value #BYTES} bytes of the array at the given offset. */
+    Bits256HashCode(byte[] bytes, int offset) {
+      assert offset + BYTES <= bytes.length;
+      word0 = PrimitiveCodecs.readLongLe(bytes, offset);
+      word1 = PrimitiveCodecs.readLongLe(bytes, offset + Long.BYTES);
+      word2 = PrimitiveCodecs.readLongLe(bytes, offset + 2 * Long.BYTES);
+      word3 = PrimitiveCodecs.readLongLe(bytes, offset + 3 * Long.BYTES);
+    }
+
+    @Override
+    public int bits() {
+      return BYTES * 8;
+    }
+
+    @Override
+    public byte[] asBytes() {
+      byte[] bytes = new byte[BYTES];
+      writeBytesToImpl(bytes, 0, BYTES);
+      return bytes;
+    }
+
+    @Override
+    public int asInt() {
+      return (int) word0;
+    }
+
+    @Override
+    public long asLong() {
+      return word0;
+    }
+
+    @Override
+    public long padToLong() {
+      return word0;
+    }
+
+    @Override
+    void writeBytesToImpl(byte[] dest, int offset, int maxLength) {
+      writeWord(word0, dest, offset, maxLength);
+      writeWord(word1, dest, offset + Long.BYTES, maxLength - Long.BYTES);
+      writeWord(word2, dest, offset + 2 * Long.BYTES, maxLength - 2 * Long.BYTES);
+      writeWord(word3, dest, offset + 3 * Long.BYTES, maxLength - 3 * Long.BYTES);
+    }
+
+    private static void writeWord(long word, byte[] dest, int offset, int maxLength) {
+      for (int i = 0; i < Math.min(maxLength, Long.BYTES); i++) {
+        dest[offset + i] = (byte) (word >>> (i * 8));
+      }
+    }
+
+    @Override
+    void writeTo(PrimitiveSink sink) {
+      sink.putLong(word0)
+          .putLong(word1)
+          .putLong(word2)
+          .putLong(word3);
+    }
+
+    @Override
+    boolean equalsSameBits(HashCode that) {
+      if (that instanceof Bits256HashCode) {
+        Bits256HashCode other = (Bits256HashCode) that;
+        // Compare all the words, without short-circuiting
+        return ((word0 ^ other.word0) | (word1 ^ other.word1)
+            | (word2 ^ other.word2) | (word3 ^ other.word3)) == 0;
+      }
+      return Arrays.equals(asBytes(), that.getBytesInternal());
+    }
+
+    @Override
+    public int compareTo(HashCode that) {
+      if (that instanceof Bits256HashCode) {
+        Bits256HashCode other = (Bits256HashCode) that;
+        int result = compareWords(word0, other.word0);
+        if (result == 0) {
+          result = compareWords(word1, other.word1);
+          if (result == 0) {
+            result = compareWords(word2, other.word2);
+            if (result == 0) {
+              result = compareWords(word3, other.word3);
+            }
+          }
+        }
+        return result;
+      }
+      return super.compareTo(that);
+    }
+
+    /**
+     * Compares the words as unsigned sequences of bytes in little-endian order.
+     */
+    private static int compareWords(long a, long b) {
+      return Long.compareUnsigned(Long.reverseBytes(a), Long.reverseBytes(b));
+    }
+
+    private static final long serialVersionUID = 0;
+  }
+
   private static final class BytesHashCode extends HashCode implements Serializable {
     final byte[] bytes;
 
@@ -396,6 +548,16 @@ public abstract class HashCode {
     return false;
   }
 
+  /**
+   * Compares this hash code with another one lexicographically, as sequences
+   * of unsigned bytes. If one hash code is a prefix of another, it is the lesser one.
+   */
+  @Override
+  public int compareTo(HashCode that) {
+    return UnsignedBytes.lexicographicalComparator()
+        .compare(getBytesInternal(), that.getBytesInternal());
+  }
+
   /**
    * Returns a "Java hash code" for this {@code HashCode} instance; this is well-defined (so, for
    * example, you can safely put {@code HashCode} instances into a {@code
@@ -194,6 +194,19 @@ public interface HashFunction {
    */
   HashCode hashBytes(ByteBuffer input);
 
+  /**
+   * Computes the hash code of the given range of the array and writes it into the destination
+   * array. Has the same effect as {@code hashBytes(input, off, len).writeBytesTo(dest, destOffset,
+   * bits() / 8)}, but may avoid creating a {@link HashCode}.
+   *
+   * @return the number of bytes written to {@code dest}
+   * @throws IndexOutOfBoundsException if {@code off < 0} or {@code off + len > bytes.length}
+   *     or {@code len < 0}, or if there is not enough room in {@code dest}
+   */
+  default int hashBytesTo(byte[] input, int off, int len, byte[] dest, int destOffset) {
+    return newHasher(len).putBytes(input, off, len).hashTo(dest, destOffset);
+  }
+
   /**
    * Shortcut for {@code newHasher().putUnencodedChars(input).hash()}. The implementation
    * <i>might</i> perform better than its longhand equivalent, but should not perform worse. Note
@@ -31,6 +31,7 @@ package com.exonum.binding.common.hash;
 
 import com.google.common.annotations.Beta;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
@@ -148,6 +149,35 @@ public interface Hasher extends PrimitiveSink {
    */
   HashCode hash();
 
+  /**
+   * Computes a hash code based on the data that have been provided to this hasher, and writes
+   * it into the given array. Has the same effect as {@code hash().writeBytesTo(dest, offset, len)},
+   * but may avoid creating a {@link HashCode}.
+   *
+   * @param dest the destination array
+   * @param offset the offset in the destination array
+   * @return the number of bytes written to {@code dest}
+   * @throws IndexOutOfBoundsException if there is not enough room in {@code dest}
+   */
+  default int hashTo(byte[] dest, int offset) {
+    HashCode hash = hash();
+    return hash.writeBytesTo(dest, offset, hash.bits() / Byte.SIZE);
+  }
+
+  /**
+   * Returns an {@link OutputStream} view of this hasher: the bytes written to the stream
+   * are put into this hasher. It allows to hash a value, that can be written
+   * to an {@code OutputStream}, without creating its binary representation in memory.
+   *
+   * <p>The {@code close} and {@code flush} methods of the returned stream do nothing,
+   * and no method throws {@code IOException}.
+   *
+   * @see Funnels#asOutputStream(PrimitiveSink)
+   */
+  default OutputStream asOutputStream() {
+    return Funnels.asOutputStream(this);
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -69,7 +69,7 @@ public final class Hashing {
   private static class Sha256Holder {
 
     static final HashFunction SHA_256 =
-        new MessageDigestHashFunction("SHA-256", "Hashing.sha256()");
+        new ThreadLocalDigestHashFunction("SHA-256", "Hashing.sha256()");
   }
   /**
    * Returns a hash function implementing the SHA-384 algorithm (384 hash bits).
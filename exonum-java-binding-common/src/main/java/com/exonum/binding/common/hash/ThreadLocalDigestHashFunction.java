@@ -0,0 +1,213 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.hash;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * {@link HashFunction} adapter for {@link MessageDigest} instances, which re-uses the message
+ * digests in each thread instead of creating a new one for each hasher.
+ *
+ * <p>A hasher takes a digest from the pool of the current thread, and returns it
+ * to the pool once {@link Hasher#hash()} is called. A hasher that is never finished simply
+ * does not return its digest. The one-shot {@code hashBytes} methods do not create
+ * a hasher at all.
+ *
+ * <p>Unlike {@link MessageDigestHashFunction}, this function does not support
+ * truncated hash codes.
+ */
+final class ThreadLocalDigestHashFunction extends AbstractHashFunction implements Serializable {
+
+  /**
+   * The maximum number of digests kept in the pool of each thread. Several digests
+   * are needed if a thread computes several hashes at once (e.g., hashes the children
+   * in a funnel).
+   */
+  private static final int MAX_POOL_SIZE = 4;
+
+  private final String algorithmName;
+  private final int bytes;
+  private final String toString;
+  private final transient ThreadLocal<Deque<MessageDigest>> pool;
+
+  ThreadLocalDigestHashFunction(String algorithmName, String toString) {
+    this.algorithmName = algorithmName;
+    this.bytes = getMessageDigest(algorithmName).getDigestLength();
+    this.toString = checkNotNull(toString);
+    this.pool = ThreadLocal.withInitial(() -> new ArrayDeque<>(MAX_POOL_SIZE));
+  }
+
+  @Override
+  public int bits() {
+    return bytes * Byte.SIZE;
+  }
+
+  @Override
+  public String toString() {
+    return toString;
+  }
+
+  @Override
+  public Hasher newHasher() {
+    return new PooledDigestHasher(acquireDigest());
+  }
+
+  @Override
+  public HashCode hashBytes(byte[] input, int off, int len) {
+    checkPositionIndexes(off, off + len, input.length);
+    MessageDigest digest = acquireDigest();
+    digest.update(input, off, len);
+    return HashCode.fromBytesNoCopy(digestAndRelease(digest));
+  }
+
+  @Override
+  public HashCode hashBytes(ByteBuffer input) {
+    MessageDigest digest = acquireDigest();
+    digest.update(input);
+    return HashCode.fromBytesNoCopy(digestAndRelease(digest));
+  }
+
+  @Override
+  public int hashBytesTo(byte[] input, int off, int len, byte[] dest, int destOffset) {
+    checkPositionIndexes(off, off + len, input.length);
+    checkPositionIndexes(destOffset, destOffset + bytes, dest.length);
+    MessageDigest digest = acquireDigest();
+    digest.update(input, off, len);
+    return digestAndRelease(digest, dest, destOffset);
+  }
+
+  private MessageDigest acquireDigest() {
+    MessageDigest digest = pool.get().pollFirst();
+    return (digest != null) ? digest : getMessageDigest(algorithmName);
+  }
+
+  private byte[] digestAndRelease(MessageDigest digest) {
+    byte[] hash = digest.digest();
+    releaseDigest(digest);
+    return hash;
+  }
+
+  private int digestAndRelease(MessageDigest digest, byte[] dest, int destOffset) {
+    try {
+      int length = digest.digest(dest, destOffset, bytes);
+      releaseDigest(digest);
+      return length;
+    } catch (DigestException e) {
+      // Unreachable: the destination range is checked by the callers.
+      throw new AssertionError(e);
+    }
+  }
+
+  /**
+   * Returns the digest, which has just completed the hash computation and has been reset,
+   * to the pool of the current thread.
+   */
+  private void releaseDigest(MessageDigest digest) {
+    Deque<MessageDigest> digests = pool.get();
+    if (digests.size() < MAX_POOL_SIZE) {
+      digests.addFirst(digest);
+    }
+  }
+
+  private static MessageDigest getMessageDigest(String algorithmName) {
+    try {
+      return MessageDigest.getInstance(algorithmName);
+    } catch (NoSuchAlgorithmException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private static final class SerializedForm implements Serializable {
+    private final String algorithmName;
+    private final String toString;
+
+    private SerializedForm(String algorithmName, String toString) {
+      this.algorithmName = algorithmName;
+      this.toString = toString;
+    }
+
+    private Object readResolve() {
+      return new ThreadLocalDigestHashFunction(algorithmName, toString);
+    }
+
+    private static final long serialVersionUID = 0;
+  }
+
+  Object writeReplace() {
+    return new SerializedForm(algorithmName, toString);
+  }
+
+  /**
+   * Hasher that updates a pooled message digest, and returns it to the pool
+   * once the hash is computed.
+   */
+  private final class PooledDigestHasher extends AbstractByteHasher {
+    private final MessageDigest digest;
+    private boolean done;
+
+    private PooledDigestHasher(MessageDigest digest) {
+      this.digest = digest;
+    }
+
+    @Override
+    protected void update(byte b) {
+      checkNotDone();
+      digest.update(b);
+    }
+
+    @Override
+    protected void update(byte[] b, int off, int len) {
+      checkNotDone();
+      digest.update(b, off, len);
+    }
+
+    @Override
+    protected void update(ByteBuffer bytes) {
+      checkNotDone();
+      digest.update(bytes);
+    }
+
+    private void checkNotDone() {
+      checkState(!done, "Cannot re-use a Hasher after calling hash() on it");
+    }
+
+    @Override
+    public HashCode hash() {
+      checkNotDone();
+      done = true;
+      return HashCode.fromBytesNoCopy(digestAndRelease(digest));
+    }
+
+    @Override
+    public int hashTo(byte[] dest, int offset) {
+      checkNotDone();
+      checkPositionIndexes(offset, offset + bytes, dest.length);
+      done = true;
+      return digestAndRelease(digest, dest, offset);
+    }
+  }
+}
@@ -42,6 +42,20 @@ public interface BinaryMessage extends Message {
     return MessageReader.wrap(buf);
   }
 
+  /**
+   * Creates a binary message from a byte array and the hash of the message.
+   * The hash is not verified, but returned by {@link #hash()}.
+   *
+   * @param messageBytes an array with message bytes
+   * @param messageHash the SHA-256 hash of the message
+   * @return a binary message
+   * @throws IllegalArgumentException if message or its hash has invalid size
+   */
+  static BinaryMessage fromBytes(byte[] messageBytes, HashCode messageHash) {
+    ByteBuffer buf = ByteBuffer.wrap(messageBytes);
+    return MessageReader.wrap(buf, messageHash);
+  }
+
   /**
    * Returns a message without signature, i.e., without the last 64 bytes of the binary message.
    */
@@ -54,6 +68,18 @@ public interface BinaryMessage extends Message {
     return message;
   }
 
+  /**
+   * Returns a message without signature as a view in the whole binary message.
+   * Its position is zero, and the limit is set to the signature offset.
+   * Unlike {@link #getMessageNoSignature()}, does not copy the message.
+   */
+  default ByteBuffer getMessageNoSignatureView() {
+    ByteBuffer signedMessage = getSignedMessage();
+    int messageSize = signedMessage.remaining() - Message.SIGNATURE_SIZE;
+    signedMessage.limit(signedMessage.position() + messageSize);
+    return signedMessage.slice();
+  }
+
   /**
    * Signs this message, creating a new signed binary message.
    *
@@ -66,7 +92,7 @@ public interface BinaryMessage extends Message {
   default BinaryMessage sign(CryptoFunction cryptoFunction, PrivateKey authorSecretKey) {
     BinaryMessage unsignedPacket = this;
 
-    byte[] message = unsignedPacket.getMessageNoSignature();
+    ByteBuffer message = unsignedPacket.getMessageNoSignatureView();
     byte[] signature = cryptoFunction.signMessage(message, authorSecretKey);
 
     return new Message.Builder()
@@ -84,7 +110,7 @@ public interface BinaryMessage extends Message {
    */
   @CheckReturnValue
   default boolean verify(CryptoFunction cryptoFunction, PublicKey authorPublicKey) {
-    byte[] message = getMessageNoSignature();
+    ByteBuffer message = getMessageNoSignatureView();
     byte[] signature = getSignature();
 
     return cryptoFunction.verify(message, signature, authorPublicKey);
@@ -18,6 +18,11 @@ package com.exonum.binding.common.message;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import com.exonum.binding.common.crypto.CryptoFunction;
+import com.exonum.binding.common.crypto.PrivateKey;
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.Hashing;
+import com.google.errorprone.annotations.CheckReturnValue;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
@@ -25,6 +30,9 @@ import java.nio.ByteOrder;
  * A reader of binary Exonum messages.
  *
  * <p>See <a href=https://exonum.com/doc/architecture/serialization/#message-serialization>the definition of the message format</a>.
+ *
+ * <p>The reader does not copy the underlying buffer, which must not be modified
+ * while the reader is in use. The hash of the message is computed once and cached.
  */
 public final class MessageReader implements BinaryMessage {
 
@@ -33,6 +41,12 @@ public final class MessageReader implements BinaryMessage {
 
   private final ByteBuffer message;
 
+  /**
+   * The hash of the message, computed on the first request. As {@link HashCode} is immutable,
+   * a race might only result in the hash being computed more than once.
+   */
+  private HashCode hash;
+
   /**
    * Creates a MessageReader from the given byte buffer.
    *
@@ -56,6 +70,27 @@ public final class MessageReader implements BinaryMessage {
     return reader;
   }
 
+  /**
+   * Creates a MessageReader from the given byte buffer and the hash of the message in that buffer.
+   * The hash is not verified: this method is intended for cases when the hash of the message
+   * has already been computed (e.g., by the native code) and must not be recomputed.
+   *
+   * @param buffer a byte buffer to read. Its position must be zero,
+   *               and the limit must be set to the size of the message
+   * @param messageHash the SHA-256 hash of the whole message in the buffer
+   * @return a message reader of this byte buffer
+   * @throws IllegalArgumentException if the message has invalid size, or the hash
+   *     has invalid size
+   */
+  public static MessageReader wrap(ByteBuffer buffer, HashCode messageHash) {
+    checkArgument(messageHash.bits() == Hashing.DEFAULT_HASH_SIZE_BITS,
+        "The message hash has invalid size (%s bits), must be %s bits", messageHash.bits(),
+        Hashing.DEFAULT_HASH_SIZE_BITS);
+    MessageReader reader = wrap(buffer);
+    reader.hash = messageHash;
+    return reader;
+  }
+
   private MessageReader(ByteBuffer buf) {
     this.message = buf.duplicate()
         .order(ByteOrder.LITTLE_ENDIAN);
@@ -131,4 +166,52 @@ public final class MessageReader implements BinaryMessage {
     message.position(0);
     return message.duplicate();
   }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The hash is computed on the first invocation and cached.
+   */
+  @Override
+  public HashCode hash() {
+    HashCode result = hash;
+    if (result == null) {
+      result = BinaryMessage.super.hash();
+      hash = result;
+    }
+    return result;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The signature is computed over the copy of this message, which becomes the new signed
+   * message, therefore, the message is copied exactly once.
+   */
+  @CheckReturnValue
+  @Override
+  public BinaryMessage sign(CryptoFunction cryptoFunction, PrivateKey authorSecretKey) {
+    int signatureOffset = signatureOffset();
+    byte[] signedMessage = new byte[size()];
+    message.position(0);
+    message.duplicate().get(signedMessage);
+
+    byte[] signature = cryptoFunction.signMessage(signedMessage, 0, signatureOffset,
+        authorSecretKey);
+    System.arraycopy(signature, 0, signedMessage, signatureOffset, SIGNATURE_SIZE);
+    return wrap(ByteBuffer.wrap(signedMessage));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The returned byte buffer shares the content of the underlying byte buffer of this message.
+   */
+  @Override
+  public ByteBuffer getMessageNoSignatureView() {
+    message.position(0);
+    ByteBuffer messageNoSignature = message.duplicate();
+    messageNoSignature.limit(signatureOffset());
+    return messageNoSignature;
+  }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A report of a batch verification of proofs against a shared root hash.
+ *
+ * <p>The results are in the same order as the verified proofs.
+ *
+ * @param <R> the type of results of verification of a single proof
+ */
+public final class BatchVerificationReport<R> {
+
+  private final List<R> results;
+
+  private final BitSet valid;
+
+  /**
+   * Creates a new report.
+   *
+   * @param results the results of verification of each proof
+   * @param valid the set of the indices of valid proofs
+   */
+  public BatchVerificationReport(List<R> results, BitSet valid) {
+    checkArgument(valid.length() <= results.size(),
+        "Valid proof index (%s) is out of range [0, %s)", valid.length() - 1, results.size());
+    this.results = Collections.unmodifiableList(checkNotNull(results));
+    this.valid = (BitSet) valid.clone();
+  }
+
+  /**
+   * Returns the number of verified proofs.
+   */
+  public int size() {
+    return results.size();
+  }
+
+  /**
+   * Returns true if the proof at the given index is valid.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public boolean isValid(int index) {
+    checkIndex(index);
+    return valid.get(index);
+  }
+
+  /**
+   * Returns true if all proofs are valid.
+   */
+  public boolean allValid() {
+    return valid.cardinality() == results.size();
+  }
+
+  /**
+   * Returns the number of valid proofs.
+   */
+  public int getNumValid() {
+    return valid.cardinality();
+  }
+
+  /**
+   * Returns the indices of invalid proofs, in ascending order.
+   */
+  public int[] getInvalidIndices() {
+    int[] invalidIndices = new int[results.size() - valid.cardinality()];
+    int i = 0;
+    for (int index = valid.nextClearBit(0); index < results.size();
+        index = valid.nextClearBit(index + 1)) {
+      invalidIndices[i++] = index;
+    }
+    return invalidIndices;
+  }
+
+  /**
+   * Returns the result of verification of the proof at the given index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public R getResult(int index) {
+    checkIndex(index);
+    return results.get(index);
+  }
+
+  /**
+   * Returns the results of verification of all proofs.
+   */
+  public List<R> getResults() {
+    return results;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || results.size() <= index) {
+      throw new IndexOutOfBoundsException(
+          "Index (" + index + ") is out of range [0, " + results.size() + ")");
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "BatchVerificationReport{"
+        + "size=" + results.size()
+        + ", valid=" + valid
+        + '}';
+  }
+}
@@ -28,7 +28,7 @@ public enum DbKeyFunnel implements Funnel<DbKey> {
 
   @Override
   public void funnel(DbKey from, PrimitiveSink into) {
-    into.putBytes(from.getRawDbKey());
+    from.writeTo(into);
   }
 
   public static Funnel<DbKey> dbKeyFunnel() {
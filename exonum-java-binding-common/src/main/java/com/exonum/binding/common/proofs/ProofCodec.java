@@ -0,0 +1,750 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs;
+
+import static com.exonum.binding.common.serialization.PrimitiveCodecs.MAX_VARINT_SIZE;
+import static com.exonum.binding.common.serialization.PrimitiveCodecs.varintSize;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.common.proofs.list.FlatListProof;
+import com.exonum.binding.common.proofs.map.DbKey;
+import com.exonum.binding.common.proofs.map.flat.MapEntry;
+import com.exonum.binding.common.proofs.map.flat.MapProofEntry;
+import com.exonum.binding.common.proofs.map.flat.UncheckedFlatMapProof;
+import com.exonum.binding.common.proofs.map.flat.UncheckedMapProof;
+import com.exonum.binding.common.serialization.PrimitiveCodecs;
+import com.google.common.io.ByteStreams;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compact binary format of map and list proofs, allowing to pass them between
+ * clients and services.
+ *
+ * <p>An encoded proof has the following layout:
+ * <pre>
+ * | format version (1 byte) | proof type (1 byte) | body size | body |
+ * </pre>
+ *
+ * <p>The sizes, counts and indices are encoded as unsigned
+ * <a href="https://developers.google.com/protocol-buffers/docs/encoding#varints">varints</a>.
+ * Byte strings of variable size (keys, values, list elements) are prefixed with their size.
+ * Hashes take {@value Hashing#DEFAULT_HASH_SIZE_BYTES} bytes.
+ *
+ * <p>The body of a {@linkplain #MAP_PROOF map proof}:
+ * <pre>
+ * | number of proof entries | proof entries: | database key (34 bytes) | hash |
+ * | number of entries       | entries:       | key | value |
+ * | number of missing keys  | missing keys:  | key |
+ * </pre>
+ *
+ * <p>The body of a {@linkplain #LIST_PROOF list proof}:
+ * <pre>
+ * | height (1 byte)          |
+ * | number of elements       | elements:    | index delta | element |
+ * | number of hash nodes     | hash nodes:  | depth (1 byte) | index | hash |
+ * </pre>
+ * The index of the first element is stored as is; of each following — as the difference
+ * with the index of the previous element minus one. The nodes are stored in the order
+ * of {@link FlatListProof}.
+ *
+ * <p>The decoding methods throw {@link IllegalArgumentException} if the input is not a valid
+ * encoded proof, of any format version supported by this class, or if the proof it contains
+ * does not have a valid structure. The proofs must be checked afterwards, as usual.
+ */
+public final class ProofCodec {
+
+  /**
+   * The current version of the format.
+   */
+  public static final byte VERSION = 1;
+
+  /**
+   * The type of an encoded {@link UncheckedMapProof}.
+   */
+  public static final byte MAP_PROOF = 1;
+
+  /**
+   * The type of an encoded {@link FlatListProof}.
+   */
+  public static final byte LIST_PROOF = 2;
+
+  private static final int HASH_SIZE = Hashing.DEFAULT_HASH_SIZE_BYTES;
+
+  private static final int HEADER_SIZE = 2;
+
+  private static final int STREAM_BUFFER_SIZE = 4096;
+
+  /**
+   * Returns the size of the given map proof in the binary format.
+   *
+   * @throws IllegalArgumentException if the proof is not an {@link UncheckedFlatMapProof},
+   *     or its hashes have an unsupported size
+   */
+  public static int getEncodedSize(UncheckedMapProof proof) {
+    return withHeaderSize(getBodySize(asFlatMapProof(proof)));
+  }
+
+  /**
+   * Returns the size of the given list proof in the binary format.
+   */
+  public static int getEncodedSize(FlatListProof proof) {
+    return withHeaderSize(getBodySize(proof));
+  }
+
+  /**
+   * Encodes the map proof into a byte array.
+   *
+   * @throws IllegalArgumentException if the proof is not an {@link UncheckedFlatMapProof},
+   *     or its hashes have an unsupported size
+   */
+  public static byte[] encode(UncheckedMapProof proof) {
+    ByteBuffer buffer = ByteBuffer.allocate(getEncodedSize(proof));
+    encode(proof, buffer);
+    return buffer.array();
+  }
+
+  /**
+   * Encodes the map proof into the buffer, starting at its current position.
+   * The position of the buffer is advanced by the {@linkplain #getEncodedSize(UncheckedMapProof)
+   * size} of the encoded proof.
+   *
+   * @throws java.nio.BufferOverflowException if there is not enough space in the buffer
+   * @throws IllegalArgumentException if the proof is not an {@link UncheckedFlatMapProof},
+   *     or its hashes have an unsupported size
+   */
+  public static void encode(UncheckedMapProof proof, ByteBuffer buffer) {
+    UncheckedFlatMapProof flatProof = asFlatMapProof(proof);
+    int bodySize = getBodySize(flatProof);
+    ByteBufferEncoder encoder = new ByteBufferEncoder(buffer);
+    encodeHeader(encoder, MAP_PROOF, bodySize);
+    encodeBody(encoder, flatProof);
+  }
+
+  /**
+   * Encodes the map proof into the output stream. The stream is neither flushed nor closed.
+   *
+   * @throws IOException if the stream fails to write the proof
+   * @throws IllegalArgumentException if the proof is not an {@link UncheckedFlatMapProof},
+   *     or its hashes have an unsupported size
+   */
+  public static void encode(UncheckedMapProof proof, OutputStream out) throws IOException {
+    UncheckedFlatMapProof flatProof = asFlatMapProof(proof);
+    int bodySize = getBodySize(flatProof);
+    StreamEncoder encoder = new StreamEncoder(out);
+    try {
+      encodeHeader(encoder, MAP_PROOF, bodySize);
+      encodeBody(encoder, flatProof);
+    } catch (EncodingIoException e) {
+      throw e.getCause();
+    }
+    encoder.flushBuffer();
+  }
+
+  /**
+   * Encodes the list proof into a byte array.
+   */
+  public static byte[] encode(FlatListProof proof) {
+    ByteBuffer buffer = ByteBuffer.allocate(getEncodedSize(proof));
+    encode(proof, buffer);
+    return buffer.array();
+  }
+
+  /**
+   * Encodes the list proof into the buffer, starting at its current position.
+   * The position of the buffer is advanced by the {@linkplain #getEncodedSize(FlatListProof)
+   * size} of the encoded proof.
+   *
+   * @throws java.nio.BufferOverflowException if there is not enough space in the buffer
+   */
+  public static void encode(FlatListProof proof, ByteBuffer buffer) {
+    int bodySize = getBodySize(proof);
+    ByteBufferEncoder encoder = new ByteBufferEncoder(buffer);
+    encodeHeader(encoder, LIST_PROOF, bodySize);
+    encodeBody(encoder, proof);
+  }
+
+  /**
+   * Encodes the list proof into the output stream. The stream is neither flushed nor closed.
+   *
+   * @throws IOException if the stream fails to write the proof
+   */
+  public static void encode(FlatListProof proof, OutputStream out) throws IOException {
+    int bodySize = getBodySize(proof);
+    StreamEncoder encoder = new StreamEncoder(out);
+    try {
+      encodeHeader(encoder, LIST_PROOF, bodySize);
+      encodeBody(encoder, proof);
+    } catch (EncodingIoException e) {
+      throw e.getCause();
+    }
+    encoder.flushBuffer();
+  }
+
+  /**
+   * Decodes a map proof from the byte array.
+   *
+   * @throws IllegalArgumentException if the array does not contain exactly one valid
+   *     encoded map proof
+   */
+  public static UncheckedMapProof decodeMapProof(byte[] encodedProof) {
+    ByteBuffer buffer = ByteBuffer.wrap(encodedProof);
+    UncheckedMapProof proof = decodeMapProof(buffer);
+    checkArgument(!buffer.hasRemaining(), "%s trailing bytes after the proof",
+        buffer.remaining());
+    return proof;
+  }
+
+  /**
+   * Decodes a map proof from the buffer, starting at its current position.
+   * The position of the buffer is advanced past the encoded proof.
+   *
+   * @throws IllegalArgumentException if the buffer does not contain a valid encoded map proof
+   */
+  public static UncheckedMapProof decodeMapProof(ByteBuffer buffer) {
+    return decodeMapProofBody(decodeBody(buffer, MAP_PROOF));
+  }
+
+  /**
+   * Decodes a map proof from the input stream. Reads exactly the bytes of the encoded proof.
+   *
+   * @throws IOException if the stream fails to read the proof, or ends before its end
+   * @throws IllegalArgumentException if the stream does not contain a valid encoded map proof
+   */
+  public static UncheckedMapProof decodeMapProof(InputStream in) throws IOException {
+    return decodeMapProofBody(readBody(in, MAP_PROOF));
+  }
+
+  /**
+   * Decodes a list proof from the byte array.
+   *
+   * @throws IllegalArgumentException if the array does not contain exactly one valid
+   *     encoded list proof
+   */
+  public static FlatListProof decodeListProof(byte[] encodedProof) {
+    ByteBuffer buffer = ByteBuffer.wrap(encodedProof);
+    FlatListProof proof = decodeListProof(buffer);
+    checkArgument(!buffer.hasRemaining(), "%s trailing bytes after the proof",
+        buffer.remaining());
+    return proof;
+  }
+
+  /**
+   * Decodes a list proof from the buffer, starting at its current position.
+   * The position of the buffer is advanced past the encoded proof.
+   *
+   * @throws IllegalArgumentException if the buffer does not contain a valid encoded list proof
+   */
+  public static FlatListProof decodeListProof(ByteBuffer buffer) {
+    return decodeListProofBody(decodeBody(buffer, LIST_PROOF));
+  }
+
+  /**
+   * Decodes a list proof from the input stream. Reads exactly the bytes of the encoded proof.
+   *
+   * @throws IOException if the stream fails to read the proof, or ends before its end
+   * @throws IllegalArgumentException if the stream does not contain a valid encoded list proof
+   */
+  public static FlatListProof decodeListProof(InputStream in) throws IOException {
+    return decodeListProofBody(readBody(in, LIST_PROOF));
+  }
+
+  private static UncheckedFlatMapProof asFlatMapProof(UncheckedMapProof proof) {
+    checkArgument(checkNotNull(proof) instanceof UncheckedFlatMapProof,
+        "Unsupported type of map proof: %s", proof.getClass());
+    return (UncheckedFlatMapProof) proof;
+  }
+
+  private static int withHeaderSize(int bodySize) {
+    return Math.addExact(HEADER_SIZE + varintSize(bodySize), bodySize);
+  }
+
+  private static int getBodySize(UncheckedFlatMapProof proof) {
+    List<MapProofEntry> proofList = proof.getProofList();
+    List<MapEntry> entries = proof.getEntries();
+    List<byte[]> missingKeys = proof.getMissingKeys();
+    long size = varintSize(proofList.size())
+        + (long) proofList.size() * (DbKey.DB_KEY_SIZE + HASH_SIZE);
+    for (MapProofEntry proofEntry : proofList) {
+      checkHashSize(proofEntry.getHash());
+    }
+    size += varintSize(entries.size());
+    for (MapEntry entry : entries) {
+      size += byteStringSize(entry.getKey()) + byteStringSize(entry.getValue());
+    }
+    size += varintSize(missingKeys.size());
+    for (byte[] key : missingKeys) {
+      size += byteStringSize(key);
+    }
+    return Math.toIntExact(size);
+  }
+
+  private static int getBodySize(FlatListProof proof) {
+    long size = 1;
+    size += varintSize(proof.size());
+    long[] elementIndices = proof.getElementIndices();
+    for (int i = 0; i < proof.size(); i++) {
+      int elementSize = proof.getElementSize(i);
+      size += varintSize(indexDelta(elementIndices, i)) + varintSize(elementSize)
+          + (long) elementSize;
+    }
+    int numHashNodes = proof.getNumHashNodes();
+    size += varintSize(numHashNodes) + (long) numHashNodes * (1 + HASH_SIZE);
+    for (long index : proof.getHashNodeIndices()) {
+      size += varintSize(index);
+    }
+    return Math.toIntExact(size);
+  }
+
+  private static long indexDelta(long[] elementIndices, int i) {
+    return i == 0 ? elementIndices[0] : elementIndices[i] - elementIndices[i - 1] - 1;
+  }
+
+  private static void checkHashSize(HashCode hash) {
+    checkArgument(hash.bits() == HASH_SIZE * Byte.SIZE,
+        "Unsupported size of hash (%s bits): %s", hash.bits(), hash);
+  }
+
+  private static void encodeHeader(Encoder encoder, byte type, int bodySize) {
+    encoder.writeByte(VERSION);
+    encoder.writeByte(type);
+    encoder.writeVarint(bodySize);
+  }
+
+  private static void encodeBody(Encoder encoder, UncheckedFlatMapProof proof) {
+    List<MapProofEntry> proofList = proof.getProofList();
+    encoder.writeVarint(proofList.size());
+    for (MapProofEntry proofEntry : proofList) {
+      encoder.writeDbKey(proofEntry.getDbKey());
+      encoder.writeHash(proofEntry.getHash());
+    }
+    List<MapEntry> entries = proof.getEntries();
+    encoder.writeVarint(entries.size());
+    for (MapEntry entry : entries) {
+      encoder.writeByteString(entry.getKey());
+      encoder.writeByteString(entry.getValue());
+    }
+    List<byte[]> missingKeys = proof.getMissingKeys();
+    encoder.writeVarint(missingKeys.size());
+    for (byte[] key : missingKeys) {
+      encoder.writeByteString(key);
+    }
+  }
+
+  private static void encodeBody(Encoder encoder, FlatListProof proof) {
+    encoder.writeByte(proof.getHeight());
+    long[] elementIndices = proof.getElementIndices();
+    encoder.writeVarint(proof.size());
+    for (int i = 0; i < proof.size(); i++) {
+      encoder.writeVarint(indexDelta(elementIndices, i));
+      encoder.writeVarint(proof.getElementSize(i));
+      encoder.writeBytes(proof.getElementView(i));
+    }
+    int[] hashNodeDepths = proof.getHashNodeDepths();
+    long[] hashNodeIndices = proof.getHashNodeIndices();
+    encoder.writeVarint(hashNodeDepths.length);
+    for (int i = 0; i < hashNodeDepths.length; i++) {
+      encoder.writeByte(hashNodeDepths[i]);
+      encoder.writeVarint(hashNodeIndices[i]);
+      encoder.writeHash(proof.getHashNodeHash(i));
+    }
+  }
+
+  /**
+   * Decodes the header and returns a buffer with the body, advancing the position
+   * of the given buffer past the proof.
+   */
+  private static ByteBuffer decodeBody(ByteBuffer buffer, byte expectedType) {
+    Decoder decoder = new Decoder(buffer);
+    checkHeader(decoder.readByte(), decoder.readByte(), expectedType);
+    int bodySize = decoder.readSize(1);
+    ByteBuffer body = buffer.slice();
+    body.limit(bodySize);
+    buffer.position(buffer.position() + bodySize);
+    return body;
+  }
+
+  private static ByteBuffer readBody(InputStream in, byte expectedType) throws IOException {
+    byte[] header = new byte[HEADER_SIZE];
+    ByteStreams.readFully(in, header);
+    checkHeader(Byte.toUnsignedInt(header[0]), Byte.toUnsignedInt(header[1]), expectedType);
+    long bodySize = readVarint(in);
+    checkArgument(0 <= bodySize && bodySize <= Integer.MAX_VALUE, "Invalid body size: %s",
+        Long.toUnsignedString(bodySize));
+    // Read the body in chunks, so that the memory taken is proportional to the size
+    // of the input rather than to the declared size
+    byte[] body = ByteStreams.toByteArray(ByteStreams.limit(in, bodySize));
+    if (body.length != bodySize) {
+      throw new EOFException("The stream ended after " + body.length + " bytes of the body "
+          + "of " + bodySize + " bytes");
+    }
+    return ByteBuffer.wrap(body);
+  }
+
+  private static void checkHeader(int version, int type, byte expectedType) {
+    checkArgument(version == VERSION, "Unsupported format version: %s", version);
+    checkArgument(type == expectedType, "Unexpected proof type: %s, expected: %s",
+        type, expectedType);
+  }
+
+  private static long readVarint(InputStream in) throws IOException {
+    long value = 0;
+    for (int i = 0; i < MAX_VARINT_SIZE; i++) {
+      int b = in.read();
+      if (b == -1) {
+        throw new EOFException("The stream ended in the header");
+      }
+      value |= (long) (b & 0x7F) << (7 * i);
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint in the header");
+  }
+
+  private static UncheckedMapProof decodeMapProofBody(ByteBuffer body) {
+    Decoder decoder = new Decoder(body);
+    int numProofEntries = decoder.readSize(DbKey.DB_KEY_SIZE + HASH_SIZE);
+    List<MapProofEntry> proofList = new ArrayList<>(numProofEntries);
+    for (int i = 0; i < numProofEntries; i++) {
+      DbKey dbKey = DbKey.fromBytes(decoder.readBytes(DbKey.DB_KEY_SIZE));
+      HashCode hash = HashCode.fromBytes(decoder.readBytes(HASH_SIZE));
+      proofList.add(new MapProofEntry(dbKey, hash));
+    }
+    int numEntries = decoder.readSize(2);
+    List<MapEntry> entries = new ArrayList<>(numEntries);
+    for (int i = 0; i < numEntries; i++) {
+      byte[] key = decoder.readByteString();
+      byte[] value = decoder.readByteString();
+      entries.add(new MapEntry(key, value));
+    }
+    int numMissingKeys = decoder.readSize(1);
+    List<byte[]> missingKeys = new ArrayList<>(numMissingKeys);
+    for (int i = 0; i < numMissingKeys; i++) {
+      missingKeys.add(decoder.readByteString());
+    }
+    decoder.checkFullyRead();
+    return new UncheckedFlatMapProof(proofList, entries, missingKeys);
+  }
+
+  private static FlatListProof decodeListProofBody(ByteBuffer body) {
+    Decoder decoder = new Decoder(body);
+    int height = decoder.readByte();
+    int numElements = decoder.readSize(2);
+    long[] elementIndices = new long[numElements];
+    byte[][] elements = new byte[numElements][];
+    long index = -1;
+    for (int i = 0; i < numElements; i++) {
+      long delta = decoder.readVarint();
+      checkArgument(delta <= Long.MAX_VALUE - 1 - index,
+          "Element index overflows: previous=%s, delta=%s", index, delta);
+      index += delta + 1;
+      elementIndices[i] = index;
+      elements[i] = decoder.readByteString();
+    }
+    int numHashNodes = decoder.readSize(2 + HASH_SIZE);
+    int[] hashNodeDepths = new int[numHashNodes];
+    long[] hashNodeIndices = new long[numHashNodes];
+    byte[] hashes = new byte[numHashNodes * HASH_SIZE];
+    for (int i = 0; i < numHashNodes; i++) {
+      hashNodeDepths[i] = decoder.readByte();
+      hashNodeIndices[i] = decoder.readVarint();
+      decoder.readBytes(hashes, i * HASH_SIZE, HASH_SIZE);
+    }
+    decoder.checkFullyRead();
+    return new FlatListProof(height, elementIndices, elements, hashNodeDepths,
+        hashNodeIndices, hashes);
+  }
+
+  private static int byteStringSize(byte[] bytes) {
+    return varintSize(bytes.length) + bytes.length;
+  }
+
+  /**
+   * A writer of proof data.
+   */
+  private abstract static class Encoder {
+
+    /**
+     * The offset of the field in the array returned by {@link #reserveField(int)}.
+     */
+    int fieldOffset;
+
+    abstract void writeByte(int b);
+
+    abstract void writeBytes(byte[] bytes, int offset, int length);
+
+    void writeBytes(byte[] bytes) {
+      writeBytes(bytes, 0, bytes.length);
+    }
+
+    /** Writes the remaining bytes of the source buffer, advancing its position. */
+    abstract void writeBytes(ByteBuffer src);
+
+    void writeVarint(long value) {
+      assert value >= 0 : value;
+      while ((value & ~0x7FL) != 0) {
+        writeByte((int) (value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      writeByte((int) value);
+    }
+
+    void writeByteString(byte[] bytes) {
+      writeVarint(bytes.length);
+      writeBytes(bytes);
+    }
+
+    void writeHash(HashCode hash) {
+      byte[] dest = reserveField(HASH_SIZE);
+      hash.writeBytesTo(dest, fieldOffset, HASH_SIZE);
+      commitField(HASH_SIZE);
+    }
+
+    void writeDbKey(DbKey key) {
+      byte[] dest = reserveField(DbKey.DB_KEY_SIZE);
+      key.writeBytesTo(dest, fieldOffset);
+      commitField(DbKey.DB_KEY_SIZE);
+    }
+
+    /**
+     * Returns an array into which a fixed-size field of the given size is written in place,
+     * starting at {@link #fieldOffset}. The written field is then committed
+     * with {@link #commitField(int)}.
+     */
+    abstract byte[] reserveField(int length);
+
+    abstract void commitField(int length);
+  }
+
+  private static final class ByteBufferEncoder extends Encoder {
+
+    private final ByteBuffer buffer;
+
+    /**
+     * An array for the fixed-size fields, used only if the buffer is not backed
+     * by an accessible array.
+     */
+    private byte[] fieldBuffer;
+
+    ByteBufferEncoder(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    void writeByte(int b) {
+      buffer.put((byte) b);
+    }
+
+    @Override
+    void writeBytes(byte[] bytes, int offset, int length) {
+      buffer.put(bytes, offset, length);
+    }
+
+    @Override
+    void writeBytes(ByteBuffer src) {
+      buffer.put(src);
+    }
+
+    @Override
+    byte[] reserveField(int length) {
+      if (buffer.remaining() < length) {
+        throw new BufferOverflowException();
+      }
+      if (buffer.hasArray()) {
+        fieldOffset = buffer.arrayOffset() + buffer.position();
+        return buffer.array();
+      }
+      if (fieldBuffer == null) {
+        fieldBuffer = new byte[Math.max(HASH_SIZE, DbKey.DB_KEY_SIZE)];
+      }
+      fieldOffset = 0;
+      return fieldBuffer;
+    }
+
+    @Override
+    void commitField(int length) {
+      if (buffer.hasArray()) {
+        buffer.position(buffer.position() + length);
+      } else {
+        buffer.put(fieldBuffer, 0, length);
+      }
+    }
+  }
+
+  /**
+   * Writes proof data into an output stream through a buffer. Rethrows the exceptions
+   * of the stream unchecked, so that the encoding code is shared with {@link ByteBufferEncoder}.
+   */
+  private static final class StreamEncoder extends Encoder {
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+    private int position;
+
+    StreamEncoder(OutputStream out) {
+      this.out = checkNotNull(out);
+    }
+
+    @Override
+    void writeByte(int b) {
+      if (position == buffer.length) {
+        flushBufferUnchecked();
+      }
+      buffer[position++] = (byte) b;
+    }
+
+    @Override
+    void writeBytes(byte[] bytes, int offset, int length) {
+      if (length <= buffer.length - position) {
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+      } else {
+        flushBufferUnchecked();
+        try {
+          out.write(bytes, offset, length);
+        } catch (IOException e) {
+          throw new EncodingIoException(e);
+        }
+      }
+    }
+
+    @Override
+    void writeBytes(ByteBuffer src) {
+      while (src.hasRemaining()) {
+        if (position == buffer.length) {
+          flushBufferUnchecked();
+        }
+        int length = Math.min(src.remaining(), buffer.length - position);
+        src.get(buffer, position, length);
+        position += length;
+      }
+    }
+
+    @Override
+    byte[] reserveField(int length) {
+      if (buffer.length - position < length) {
+        flushBufferUnchecked();
+      }
+      fieldOffset = position;
+      return buffer;
+    }
+
+    @Override
+    void commitField(int length) {
+      position += length;
+    }
+
+    private void flushBufferUnchecked() {
+      try {
+        flushBuffer();
+      } catch (IOException e) {
+        throw new EncodingIoException(e);
+      }
+    }
+
+    void flushBuffer() throws IOException {
+      out.write(buffer, 0, position);
+      position = 0;
+    }
+  }
+
+  private static final class EncodingIoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    EncodingIoException(IOException cause) {
+      super(cause);
+    }
+
+    @Override
+    public synchronized IOException getCause() {
+      return (IOException) super.getCause();
+    }
+  }
+
+  /**
+   * A reader of proof data from a buffer, checking the bounds of every read.
+   */
+  private static final class Decoder {
+
+    private final ByteBuffer buffer;
+
+    Decoder(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    int readByte() {
+      checkRemaining(1);
+      return Byte.toUnsignedInt(buffer.get());
+    }
+
+    long readVarint() {
+      long value = PrimitiveCodecs.readVarint(buffer);
+      checkArgument(value >= 0, "Varint value exceeds the maximum: %s",
+          Long.toUnsignedString(value));
+      return value;
+    }
+
+    /**
+     * Reads a size or a number of items, each taking at least {@code minItemSize} bytes,
+     * which must fit in the rest of the buffer.
+     */
+    int readSize(int minItemSize) {
+      long size = readVarint();
+      checkArgument(size <= buffer.remaining() / minItemSize,
+          "Size (%s) exceeds the remaining data (%s bytes)", size, buffer.remaining());
+      return (int) size;
+    }
+
+    byte[] readBytes(int size) {
+      byte[] bytes = new byte[size];
+      readBytes(bytes, 0, size);
+      return bytes;
+    }
+
+    void readBytes(byte[] dest, int offset, int size) {
+      checkRemaining(size);
+      buffer.get(dest, offset, size);
+    }
+
+    byte[] readByteString() {
+      return readBytes(readSize(1));
+    }
+
+    private void checkRemaining(int size) {
+      checkArgument(size <= buffer.remaining(),
+          "Unexpected end of data: %s bytes required, %s remaining", size, buffer.remaining());
+    }
+
+    void checkFullyRead() {
+      checkArgument(!buffer.hasRemaining(), "%s unexpected bytes after the proof body",
+          buffer.remaining());
+    }
+  }
+
+  private ProofCodec() {}
+}
@@ -0,0 +1,453 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs.list;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.Hashing;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A proof that some elements exist in a ProofList at certain positions, represented
+ * as flat arrays of tree nodes rather than as a tree of node objects.
+ *
+ * <p>The proof consists of the requested elements, which are the leaves of the Merkle tree
+ * at the bottom level, and of the hashes of the sub-trees that do not contain any of them.
+ * Each node is stored with its position in the tree: a depth (the root is at depth 0,
+ * the leaves — at the depth equal to the {@linkplain #getHeight() height} of the proof)
+ * and an index among the nodes at that depth. The elements are ordered by their indices;
+ * the hash nodes — by depth, from the bottom level up, and by index within a level.
+ *
+ * <p>The proof takes a constant number of objects regardless of the number of tree nodes,
+ * and is checked by a {@link FlatListProofValidator} iteratively, level by level.
+ * If a {@link ListProofVisitor} is applied to it, the proof is converted into a tree
+ * of {@link ListProofBranch}, {@link HashNode} and {@link ProofListElement}.
+ */
+public final class FlatListProof implements ListProof {
+
+  private static final int HASH_SIZE = Hashing.DEFAULT_HASH_SIZE_BYTES;
+
+  private static final int MAX_HEIGHT = Long.SIZE - 1;
+
+  private final int height;
+
+  private final long[] elementIndices;
+
+  private final byte[][] elements;
+
+  private final int[] hashNodeDepths;
+
+  private final long[] hashNodeIndices;
+
+  /**
+   * The hashes of hash nodes, {@value #HASH_SIZE} bytes each, in the order of nodes.
+   */
+  private final byte[] hashes;
+
+  /**
+   * Creates a new flat proof. The arrays are not copied.
+   *
+   * @param height the height of the proof tree
+   * @param elementIndices the indices of the elements, in ascending order
+   * @param elements the elements, in the order of their indices
+   * @param hashNodeDepths the depths of the hash nodes, in descending order
+   * @param hashNodeIndices the indices of the hash nodes in their levels, in ascending order
+   *     within each level
+   * @param hashes the hashes of the hash nodes,
+   *     {@value Hashing#DEFAULT_HASH_SIZE_BYTES} bytes each, in the order of nodes
+   * @throws IllegalArgumentException if the nodes do not form a valid proof tree
+   *     of the given height: e.g., are not in the canonical order, overlap, or leave
+   *     a left child out
+   */
+  public FlatListProof(int height, long[] elementIndices, byte[][] elements,
+      int[] hashNodeDepths, long[] hashNodeIndices, byte[] hashes) {
+    this.height = height;
+    this.elementIndices = checkNotNull(elementIndices);
+    this.elements = checkNotNull(elements);
+    this.hashNodeDepths = checkNotNull(hashNodeDepths);
+    this.hashNodeIndices = checkNotNull(hashNodeIndices);
+    this.hashes = checkNotNull(hashes);
+    checkNodes();
+    walk(NoOpTreeBuilder.INSTANCE);
+  }
+
+  @SuppressWarnings("unused")  // native API
+  static FlatListProof fromNative(int height, long[] elementIndices, byte[][] elements,
+      int[] hashNodeDepths, long[] hashNodeIndices, byte[] hashes) {
+    return new FlatListProof(height, elementIndices, elements, hashNodeDepths, hashNodeIndices,
+        hashes);
+  }
+
+  private void checkNodes() {
+    checkArgument(0 <= height && height <= MAX_HEIGHT, "height (%s) must be in range [0, %s]",
+        height, MAX_HEIGHT);
+    checkArgument(elements.length != 0, "proof must contain at least one element");
+    checkArgument(elementIndices.length == elements.length,
+        "The number of element indices (%s) does not match the number of elements (%s)",
+        elementIndices.length, elements.length);
+    for (int i = 0; i < elements.length; i++) {
+      checkNotNull(elements[i], "elements[%s] is null", i);
+      checkIndex(height, elementIndices[i]);
+      checkArgument(i == 0 || elementIndices[i - 1] < elementIndices[i],
+          "Elements are not in ascending order of indices: %s",
+          Arrays.toString(elementIndices));
+    }
+
+    int numHashNodes = hashNodeDepths.length;
+    checkArgument(hashNodeIndices.length == numHashNodes,
+        "The number of hash node indices (%s) does not match the number of depths (%s)",
+        hashNodeIndices.length, numHashNodes);
+    checkArgument(hashes.length == numHashNodes * HASH_SIZE,
+        "The size of hashes (%s) does not match the number of hash nodes (%s)",
+        hashes.length, numHashNodes);
+    for (int i = 0; i < numHashNodes; i++) {
+      int depth = hashNodeDepths[i];
+      checkArgument(0 < depth && depth <= height,
+          "Hash node depth (%s) must be in range [1, %s]", depth, height);
+      checkIndex(depth, hashNodeIndices[i]);
+      checkArgument(i == 0 || hashNodeDepths[i - 1] > depth
+              || (hashNodeDepths[i - 1] == depth && hashNodeIndices[i - 1] < hashNodeIndices[i]),
+          "Hash nodes are not ordered by depth (descending), then by index (ascending): "
+              + "depths=%s, indices=%s",
+          Arrays.toString(hashNodeDepths), Arrays.toString(hashNodeIndices));
+    }
+  }
+
+  private static void checkIndex(int depth, long index) {
+    checkArgument((index >>> depth) == 0,
+        "Node index (%s) is out of range for depth %s", index, depth);
+  }
+
+  @Override
+  public void accept(ListProofVisitor visitor) {
+    visitor.visit(this);
+  }
+
+  /**
+   * Returns the height of the proof tree, i.e., the depth at which the elements are.
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Returns the number of elements in this proof.
+   */
+  public int size() {
+    return elements.length;
+  }
+
+  /**
+   * Returns the number of hash nodes in this proof.
+   */
+  public int getNumHashNodes() {
+    return hashNodeDepths.length;
+  }
+
+  /**
+   * Returns the element indices, in ascending order.
+   */
+  public long[] getElementIndices() {
+    return elementIndices.clone();
+  }
+
+  /**
+   * Returns the value of the element at the given position in this proof.
+   *
+   * @param i a position of the element in this proof, from 0 to {@code size() - 1}
+   */
+  public byte[] getElement(int i) {
+    return elements[i].clone();
+  }
+
+  /**
+   * Returns the size of the value of the element at the given position in this proof.
+   *
+   * @param i a position of the element in this proof, from 0 to {@code size() - 1}
+   */
+  public int getElementSize(int i) {
+    return elements[i].length;
+  }
+
+  /**
+   * Returns a read-only view of the value of the element at the given position in this proof.
+   * Unlike {@link #getElement(int)}, does not copy the value.
+   *
+   * @param i a position of the element in this proof, from 0 to {@code size() - 1}
+   */
+  public ByteBuffer getElementView(int i) {
+    return ByteBuffer.wrap(elements[i]).asReadOnlyBuffer();
+  }
+
+  /**
+   * Returns the depths of hash nodes, in the order of nodes in this proof.
+   */
+  public int[] getHashNodeDepths() {
+    return hashNodeDepths.clone();
+  }
+
+  /**
+   * Returns the indices of hash nodes in their levels, in the order of nodes in this proof.
+   */
+  public long[] getHashNodeIndices() {
+    return hashNodeIndices.clone();
+  }
+
+  /**
+   * Returns the hash of the hash node at the given position in this proof.
+   *
+   * @param i a position of the hash node in this proof, from 0 to {@code getNumHashNodes() - 1}
+   */
+  public HashCode getHashNodeHash(int i) {
+    checkArgument(0 <= i && i < getNumHashNodes(), "Invalid hash node position: %s", i);
+    return HashCode.fromBytes(hashes, i * HASH_SIZE, HASH_SIZE);
+  }
+
+  /**
+   * Returns the value of the element at the given position, without copying.
+   */
+  byte[] elementAt(int i) {
+    return elements[i];
+  }
+
+  /**
+   * Returns the index of the element at the given position.
+   */
+  long elementIndexAt(int i) {
+    return elementIndices[i];
+  }
+
+  /**
+   * Returns the index of the hash node at the given position.
+   */
+  long hashNodeIndexAt(int i) {
+    return hashNodeIndices[i];
+  }
+
+  /**
+   * Returns the hashes of all hash nodes, without copying.
+   */
+  byte[] hashes() {
+    return hashes;
+  }
+
+  /**
+   * Converts this proof into a tree of proof nodes.
+   */
+  ListProof toTree() {
+    ProofTreeBuilder builder = new ProofTreeBuilder(this);
+    walk(builder);
+    return builder.getRoot();
+  }
+
+  /**
+   * Builds the proof tree bottom-up, level by level, passing the nodes to the given builder.
+   *
+   * <p>Each level is built as the sequence of nodes ordered by their indices: the leaf level —
+   * of the elements and the hash nodes at that level; each upper level — of the parents
+   * of the nodes at the level below and the hash nodes at that level. The position of a node
+   * in the sequence is passed to the builder, so that it can keep any per-node data in an array.
+   *
+   * @throws IllegalArgumentException if any node does not have a left sibling,
+   *     or two nodes have the same position in the tree
+   */
+  void walk(TreeBuilder builder) {
+    int capacity = elements.length + hashNodeDepths.length;
+    long[] levelIndices = new long[capacity];
+    long[] nextLevelIndices = new long[capacity];
+    int hashNode = 0;
+    int hashNodesEnd = levelEnd(hashNode, height);
+
+    // Merge the elements with the hash nodes at the leaf level
+    int levelSize = 0;
+    int element = 0;
+    while (element < elements.length || hashNode < hashNodesEnd) {
+      if (hashNode == hashNodesEnd
+          || (element < elements.length
+              && elementIndices[element] <= hashNodeIndices[hashNode])) {
+        checkArgument(hashNode == hashNodesEnd
+                || elementIndices[element] != hashNodeIndices[hashNode],
+            "Element and hash node have the same position: depth=%s, index=%s",
+            height, elementIndices[element]);
+        nextLevelIndices[levelSize] = elementIndices[element];
+        builder.leaf(levelSize, element);
+        element++;
+      } else {
+        nextLevelIndices[levelSize] = hashNodeIndices[hashNode];
+        builder.hashNode(levelSize, hashNode);
+        hashNode++;
+      }
+      levelSize++;
+    }
+    builder.nextLevel();
+
+    // Merge the parents of the nodes at the level below with the hash nodes at each level
+    for (int depth = height - 1; depth >= 0; depth--) {
+      long[] t = levelIndices;
+      levelIndices = nextLevelIndices;
+      nextLevelIndices = t;
+      int childrenSize = levelSize;
+      hashNodesEnd = levelEnd(hashNode, depth);
+      levelSize = 0;
+      int child = 0;
+      while (child < childrenSize || hashNode < hashNodesEnd) {
+        long parentIndex = child < childrenSize ? levelIndices[child] >>> 1 : Long.MAX_VALUE;
+        if (hashNode < hashNodesEnd && hashNodeIndices[hashNode] <= parentIndex) {
+          checkArgument(hashNodeIndices[hashNode] != parentIndex,
+              "Hash node overlaps with other nodes: depth=%s, index=%s", depth, parentIndex);
+          nextLevelIndices[levelSize] = hashNodeIndices[hashNode];
+          builder.hashNode(levelSize, hashNode);
+          hashNode++;
+        } else {
+          long leftIndex = levelIndices[child];
+          checkArgument((leftIndex & 1) == 0,
+              "Node does not have a left sibling: depth=%s, index=%s", depth + 1, leftIndex);
+          boolean hasRight = child + 1 < childrenSize
+              && levelIndices[child + 1] == leftIndex + 1;
+          int right = hasRight ? child + 1 : TreeBuilder.NO_NODE;
+          nextLevelIndices[levelSize] = parentIndex;
+          builder.branch(levelSize, child, right, depth, parentIndex);
+          child += hasRight ? 2 : 1;
+        }
+        levelSize++;
+      }
+      builder.nextLevel();
+    }
+    assert levelSize == 1 : "The root level has " + levelSize + " nodes";
+  }
+
+  /**
+   * Returns the position after the last hash node at the given depth,
+   * starting from the given position.
+   */
+  private int levelEnd(int hashNode, int depth) {
+    while (hashNode < hashNodeDepths.length && hashNodeDepths[hashNode] == depth) {
+      hashNode++;
+    }
+    return hashNode;
+  }
+
+  @Override
+  public String toString() {
+    return "FlatListProof{"
+        + "height=" + height
+        + ", elementIndices=" + Arrays.toString(elementIndices)
+        + ", hashNodeDepths=" + Arrays.toString(hashNodeDepths)
+        + ", hashNodeIndices=" + Arrays.toString(hashNodeIndices)
+        + '}';
+  }
+
+  /**
+   * A receiver of the nodes of a flat proof, walked bottom-up.
+   *
+   * <p>Each method, except {@link #nextLevel()}, adds a node at the given position
+   * in the level being built. The positions of children refer to the level built before.
+   */
+  interface TreeBuilder {
+
+    /**
+     * A position of a node that is absent.
+     */
+    int NO_NODE = -1;
+
+    /**
+     * Adds a leaf node with the element at the given position in the proof.
+     */
+    void leaf(int position, int element);
+
+    /**
+     * Adds a hash node at the given position in the proof.
+     */
+    void hashNode(int position, int hashNode);
+
+    /**
+     * Adds a branch node.
+     *
+     * @param position a position of the node in the level being built
+     * @param left a position of the left child in the level below
+     * @param right a position of the right child in the level below, or {@link #NO_NODE}
+     * @param depth the depth of the branch node
+     * @param index the index of the branch node
+     */
+    void branch(int position, int left, int right, int depth, long index);
+
+    /**
+     * Finishes the level being built and starts the next one.
+     */
+    void nextLevel();
+  }
+
+  private enum NoOpTreeBuilder implements TreeBuilder {
+    INSTANCE;
+
+    @Override
+    public void leaf(int position, int element) {}
+
+    @Override
+    public void hashNode(int position, int hashNode) {}
+
+    @Override
+    public void branch(int position, int left, int right, int depth, long index) {}
+
+    @Override
+    public void nextLevel() {}
+  }
+
+  private static final class ProofTreeBuilder implements TreeBuilder {
+
+    private final FlatListProof proof;
+    private ListProof[] level;
+    private ListProof[] nextLevel;
+
+    ProofTreeBuilder(FlatListProof proof) {
+      this.proof = proof;
+      int capacity = proof.size() + proof.getNumHashNodes();
+      level = new ListProof[capacity];
+      nextLevel = new ListProof[capacity];
+    }
+
+    @Override
+    public void leaf(int position, int element) {
+      nextLevel[position] = new ProofListElement(proof.elementAt(element));
+    }
+
+    @Override
+    public void hashNode(int position, int hashNode) {
+      nextLevel[position] = new HashNode(proof.getHashNodeHash(hashNode));
+    }
+
+    @Override
+    public void branch(int position, int left, int right, int depth, long index) {
+      nextLevel[position] = new ListProofBranch(level[left],
+          right == NO_NODE ? null : level[right]);
+    }
+
+    @Override
+    public void nextLevel() {
+      ListProof[] t = level;
+      level = nextLevel;
+      nextLevel = t;
+    }
+
+    ListProof getRoot() {
+      return level[0];
+    }
+  }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs.list;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.HashFunction;
+import com.exonum.binding.common.hash.Hasher;
+import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
+import com.exonum.binding.common.serialization.Serializer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * A validator of flat list proofs.
+ *
+ * <p>Unlike {@link ListProofValidator}, computes the root hash iteratively, level by level,
+ * keeping the hashes of each level in a single array, and keeps the indices of the elements
+ * in a primitive array.
+ *
+ * @param <E> the type of elements in the corresponding list
+ */
+public final class FlatListProofValidator<E> {
+
+  private static final int HASH_SIZE = Hashing.DEFAULT_HASH_SIZE_BYTES;
+
+  private final HashCode expectedRootHash;
+
+  private final long numElements;
+
+  private final CheckingSerializerDecorator<E> serializer;
+
+  private final HashFunction hashFunction;
+
+  private final int expectedHeight;
+
+  @Nullable
+  private final Map<Long, HashCode> verifiedNodes;
+
+  private long[] indices;
+
+  private List<E> elements;
+
+  private HashCode hash;
+
+  private String reason;
+
+  /**
+   * Creates a new FlatListProofValidator.
+   *
+   * @param expectedRootHash an expected value of a root hash
+   * @param numElements the number of elements in the proof list.
+   *                    The same as the number of leaf nodes in the Merkle tree.
+   * @param serializer a serializer of list elements
+   */
+  public FlatListProofValidator(HashCode expectedRootHash, long numElements,
+      Serializer<E> serializer) {
+    this(expectedRootHash, numElements, serializer, null);
+  }
+
+  /**
+   * Creates a new FlatListProofValidator, that uses the given known nodes of the Merkle tree.
+   *
+   * <p>The root hash of each proof is still computed, but the hash of a branch node,
+   * which children are known nodes, is taken from the known nodes instead.
+   * The nodes of a proof that is found to be valid are added to the known nodes.
+   *
+   * @param verifiedNodes the hashes of the known nodes of the Merkle tree,
+   *     by their {@linkplain #nodeId(int, long) identifiers}; or null to compute
+   *     the root hash of each proof
+   */
+  FlatListProofValidator(HashCode expectedRootHash, long numElements, Serializer<E> serializer,
+      @Nullable Map<Long, HashCode> verifiedNodes) {
+    checkArgument(0 < numElements, "numElements (%s) must be positive", numElements);
+    this.expectedRootHash = checkNotNull(expectedRootHash);
+    this.numElements = numElements;
+    this.serializer = CheckingSerializerDecorator.from(serializer);
+    this.hashFunction = Hashing.defaultHashFunction();
+    this.verifiedNodes = verifiedNodes;
+    expectedHeight = Long.SIZE - Long.numberOfLeadingZeros(numElements - 1);
+    reset();
+  }
+
+  /**
+   * Returns the identifier of the Merkle tree node at the given depth and index, unique
+   * among all nodes of the tree.
+   */
+  static long nodeId(int depth, long index) {
+    return (1L << depth) | index;
+  }
+
+  private void reset() {
+    indices = new long[0];
+    elements = Collections.emptyList();
+    hash = null;
+    reason = "no proof has been validated";
+  }
+
+  /**
+   * Validates the given proof. The results are available through {@link #isValid()}
+   * and {@link #getElements()}; the results of any previous validation are discarded.
+   *
+   * @param proof a proof to validate
+   */
+  public void validate(FlatListProof proof) {
+    reset();
+    reason = checkStructure(proof);
+    if (reason != null) {
+      return;
+    }
+
+    RootHashBuilder rootHashBuilder = new RootHashBuilder(proof);
+    proof.walk(rootHashBuilder);
+    if (rootHashBuilder.missingRightChild != null) {
+      reason = "a branch node does not have a right child, that exists in the list: "
+          + rootHashBuilder.missingRightChild;
+      return;
+    }
+    hash = rootHashBuilder.getRootHash();
+    if (!expectedRootHash.equals(hash)) {
+      reason = "hash mismatch: expected=" + expectedRootHash + ", actual=" + hash;
+      return;
+    }
+    if (verifiedNodes != null) {
+      rootHashBuilder.addVerifiedNodes();
+    }
+
+    List<E> proofElements = new ArrayList<>(proof.size());
+    for (int i = 0; i < proof.size(); i++) {
+      proofElements.add(serializer.fromBytes(proof.elementAt(i)));
+    }
+    indices = proof.getElementIndices();
+    elements = Collections.unmodifiableList(proofElements);
+  }
+
+  /**
+   * Checks that the nodes of the proof are within the Merkle tree of the list.
+   *
+   * @return null if they are, or the reason if they are not
+   */
+  private String checkStructure(FlatListProof proof) {
+    if (proof.getHeight() != expectedHeight) {
+      return "the height of the proof tree (" + proof.getHeight()
+          + ") does not match the expected (" + expectedHeight + ")";
+    }
+    long[] elementIndices = proof.getElementIndices();
+    long lastIndex = elementIndices[elementIndices.length - 1];
+    if (lastIndex >= numElements) {
+      return "element index (" + lastIndex + ") is out of range [0, " + numElements + ")";
+    }
+    int[] hashNodeDepths = proof.getHashNodeDepths();
+    long[] hashNodeIndices = proof.getHashNodeIndices();
+    for (int i = 0; i < hashNodeDepths.length; i++) {
+      int depth = hashNodeDepths[i];
+      long index = hashNodeIndices[i];
+      if (index >= getLevelSize(depth)) {
+        return "hash node index (" + index + ") at depth " + depth
+            + " is out of range [0, " + getLevelSize(depth) + ")";
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the number of nodes at the given depth of the Merkle tree of the list.
+   */
+  private long getLevelSize(int depth) {
+    return ((numElements - 1) >>> (expectedHeight - depth)) + 1;
+  }
+
+  /**
+   * Returns true if the last validated proof is valid.
+   */
+  public boolean isValid() {
+    return reason == null;
+  }
+
+  /**
+   * Returns the indices of the proof elements, in ascending order.
+   *
+   * @throws IllegalStateException if proof is not valid
+   */
+  public long[] getIndices() {
+    checkValid();
+    return indices.clone();
+  }
+
+  /**
+   * Returns a non-empty list of proof elements, in the order of their
+   * {@linkplain #getIndices() indices}.
+   *
+   * @throws IllegalStateException if proof is not valid
+   */
+  public List<E> getElements() {
+    checkValid();
+    return elements;
+  }
+
+  private void checkValid() {
+    checkState(isValid(), "Proof is not valid: %s", reason);
+  }
+
+  @Override
+  public String toString() {
+    return "FlatListProofValidator{"
+        + "hash=" + hash
+        + ", expectedRootHash=" + expectedRootHash
+        + ", numElements=" + numElements
+        + ", indices=" + Arrays.toString(indices)
+        + ", reason=" + reason
+        + '}';
+  }
+
+  /**
+   * Computes the root hash, keeping the hashes of each level in a byte array.
+   *
+   * <p>If the validator has the known nodes, collects the computed nodes, and takes
+   * the hash of a branch node, which children are known nodes, from the known nodes
+   * instead of computing it.
+   */
+  private final class RootHashBuilder implements FlatListProof.TreeBuilder {
+
+    private final FlatListProof proof;
+    private final Map<Long, HashCode> nodes;
+    private byte[] level;
+    private byte[] nextLevel;
+    private boolean[] verified;
+    private boolean[] nextVerified;
+    private String missingRightChild;
+    private int levelDepth;
+
+    RootHashBuilder(FlatListProof proof) {
+      this.proof = proof;
+      this.nodes = (verifiedNodes == null) ? null : new HashMap<>();
+      int capacity = proof.size() + proof.getNumHashNodes();
+      level = new byte[capacity * HASH_SIZE];
+      nextLevel = new byte[capacity * HASH_SIZE];
+      verified = new boolean[capacity];
+      nextVerified = new boolean[capacity];
+      levelDepth = proof.getHeight();
+    }
+
+    @Override
+    public void leaf(int position, int element) {
+      byte[] value = proof.elementAt(element);
+      hashFunction.hashBytesTo(value, 0, value.length, nextLevel, position * HASH_SIZE);
+      addNode(position, proof.elementIndexAt(element));
+    }
+
+    @Override
+    public void hashNode(int position, int hashNode) {
+      System.arraycopy(proof.hashes(), hashNode * HASH_SIZE, nextLevel, position * HASH_SIZE,
+          HASH_SIZE);
+      addNode(position, proof.hashNodeIndexAt(hashNode));
+    }
+
+    @Override
+    public void branch(int position, int left, int right, int depth, long index) {
+      if (right == NO_NODE && 2 * index + 1 < getLevelSize(depth + 1)
+          && missingRightChild == null) {
+        // Only the right-most branch of a level may have no right child
+        missingRightChild = "depth=" + depth + ", index=" + index;
+      }
+      if (verified[left] && (right == NO_NODE || verified[right])) {
+        // The children are the nodes of the tree, hence so is their parent
+        HashCode knownHash = verifiedNodes.get(nodeId(levelDepth, index));
+        if (knownHash != null) {
+          knownHash.writeBytesTo(nextLevel, position * HASH_SIZE, HASH_SIZE);
+          nextVerified[position] = true;
+          return;
+        }
+      }
+      Hasher hasher = hashFunction.newHasher()
+          .putBytes(level, left * HASH_SIZE, HASH_SIZE);
+      if (right != NO_NODE) {
+        hasher.putBytes(level, right * HASH_SIZE, HASH_SIZE);
+      }
+      hasher.hashTo(nextLevel, position * HASH_SIZE);
+      addNode(position, index);
+    }
+
+    private void addNode(int position, long index) {
+      if (nodes == null) {
+        nextVerified[position] = false;
+        return;
+      }
+      long id = nodeId(levelDepth, index);
+      HashCode nodeHash = HashCode.fromBytes(nextLevel, position * HASH_SIZE, HASH_SIZE);
+      nodes.put(id, nodeHash);
+      nextVerified[position] = nodeHash.equals(verifiedNodes.get(id));
+    }
+
+    @Override
+    public void nextLevel() {
+      byte[] t = level;
+      level = nextLevel;
+      nextLevel = t;
+      boolean[] f = verified;
+      verified = nextVerified;
+      nextVerified = f;
+      levelDepth--;
+    }
+
+    HashCode getRootHash() {
+      return HashCode.fromBytes(level, 0, HASH_SIZE);
+    }
+
+    /**
+     * Adds the nodes of the proof, that is found to be valid, to the known nodes.
+     */
+    void addVerifiedNodes() {
+      nodes.forEach(verifiedNodes::putIfAbsent);
+    }
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs.list;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.proofs.BatchVerificationReport;
+import com.exonum.binding.common.serialization.Serializer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A verifier of flat list proofs from the same list, that validates them against its root hash.
+ *
+ * <p>A proof is valid if and only if it is valid on its own: the root hash of each proof
+ * is computed. The verifier memoizes the nodes of the proofs found to be valid, so that
+ * the hash of a branch node which children are already verified (e.g., of the nodes
+ * of the upper levels shared by most proofs) is not computed again. Such nodes are kept
+ * for the lifetime of the verifier; therefore, a verifier shall be used for a single
+ * root hash only.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @param <E> the type of elements in the corresponding list
+ * @see FlatListProofValidator
+ */
+public final class ListProofBatchVerifier<E> {
+
+  /**
+   * The maximum number of proofs that are validated sequentially in the parallel mode.
+   */
+  private static final int PARALLEL_THRESHOLD = 16;
+
+  private final HashCode expectedRootHash;
+
+  private final long numElements;
+
+  private final Serializer<E> serializer;
+
+  private final Map<Long, HashCode> verifiedNodes;
+
+  /**
+   * Creates a new verifier of proofs from the list with the given root hash.
+   *
+   * @param expectedRootHash the root hash of the list
+   * @param numElements the number of elements in the list
+   * @param serializer a serializer of list elements
+   */
+  public ListProofBatchVerifier(HashCode expectedRootHash, long numElements,
+      Serializer<E> serializer) {
+    checkArgument(0 < numElements, "numElements (%s) must be positive", numElements);
+    this.expectedRootHash = checkNotNull(expectedRootHash);
+    this.numElements = numElements;
+    this.serializer = checkNotNull(serializer);
+    this.verifiedNodes = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Validates the given proofs against the expected root hash, sequentially in the caller
+   * thread.
+   *
+   * @param proofs the proofs to validate
+   * @return the report, which results are the validators of the corresponding proofs
+   */
+  public BatchVerificationReport<FlatListProofValidator<E>> verify(List<FlatListProof> proofs) {
+    FlatListProofValidator<E>[] results = newResults(proofs.size());
+    for (int i = 0; i < results.length; i++) {
+      results[i] = validate(proofs.get(i));
+    }
+    return createReport(results);
+  }
+
+  /**
+   * Validates the given proofs against the expected root hash in the given pool.
+   *
+   * <p>The first proof is validated in the caller thread, so that the nodes shared
+   * by most proofs (the upper levels of the tree) are known before the rest of the proofs
+   * are validated in parallel.
+   *
+   * @param proofs the proofs to validate
+   * @param pool a pool to validate the proofs in
+   * @return the report, which results are the validators of the corresponding proofs
+   */
+  public BatchVerificationReport<FlatListProofValidator<E>> verify(List<FlatListProof> proofs,
+      ForkJoinPool pool) {
+    checkNotNull(pool);
+    FlatListProofValidator<E>[] results = newResults(proofs.size());
+    if (results.length != 0) {
+      results[0] = validate(proofs.get(0));
+      pool.invoke(new ValidateTask(proofs, results, 1, results.length));
+    }
+    return createReport(results);
+  }
+
+  /**
+   * Returns the number of verified nodes known to this verifier.
+   */
+  public int getNumVerifiedNodes() {
+    return verifiedNodes.size();
+  }
+
+  @SuppressWarnings("unchecked")
+  private FlatListProofValidator<E>[] newResults(int size) {
+    return (FlatListProofValidator<E>[]) new FlatListProofValidator<?>[size];
+  }
+
+  private FlatListProofValidator<E> validate(FlatListProof proof) {
+    FlatListProofValidator<E> validator =
+        new FlatListProofValidator<>(expectedRootHash, numElements, serializer, verifiedNodes);
+    validator.validate(proof);
+    return validator;
+  }
+
+  private BatchVerificationReport<FlatListProofValidator<E>> createReport(
+      FlatListProofValidator<E>[] results) {
+    BitSet valid = new BitSet(results.length);
+    for (int i = 0; i < results.length; i++) {
+      if (results[i].isValid()) {
+        valid.set(i);
+      }
+    }
+    return new BatchVerificationReport<>(Arrays.asList(results), valid);
+  }
+
+  @Override
+  public String toString() {
+    return "ListProofBatchVerifier{"
+        + "expectedRootHash=" + expectedRootHash
+        + ", numElements=" + numElements
+        + ", numVerifiedNodes=" + verifiedNodes.size()
+        + '}';
+  }
+
+  /**
+   * Validates a range of the proofs.
+   */
+  private final class ValidateTask extends RecursiveAction {
+
+    private final List<FlatListProof> proofs;
+    private final FlatListProofValidator<E>[] results;
+    private final int from;
+    private final int to;
+
+    ValidateTask(List<FlatListProof> proofs, FlatListProofValidator<E>[] results, int from,
+        int to) {
+      this.proofs = proofs;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= PARALLEL_THRESHOLD) {
+        for (int i = from; i < to; i++) {
+          results[i] = validate(proofs.get(i));
+        }
+      } else {
+        int mid = (from + to) >>> 1;
+        invokeAll(new ValidateTask(proofs, results, from, mid),
+            new ValidateTask(proofs, results, mid, to));
+      }
+    }
+  }
+}
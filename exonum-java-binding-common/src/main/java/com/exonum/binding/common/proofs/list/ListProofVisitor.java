@@ -23,4 +23,14 @@ public interface ListProofVisitor {
   void visit(HashNode hashNode);
 
   void visit(ProofListElement value);
+
+  /**
+   * Visits a flat proof.
+   *
+   * @implSpec The default implementation converts the flat proof into a tree of proof nodes
+   *     and applies this visitor to its root.
+   */
+  default void visit(FlatListProof proof) {
+    proof.toTree().accept(this);
+  }
 }
@@ -17,10 +17,11 @@
 package com.exonum.binding.common.proofs.map;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
 
+import com.exonum.binding.common.hash.PrimitiveSink;
+import com.exonum.binding.common.serialization.PrimitiveCodecs;
 import com.google.common.primitives.UnsignedBytes;
-import java.util.Arrays;
-import java.util.BitSet;
 
 /**
  * A MapProof database key.
@@ -39,6 +40,11 @@ import java.util.BitSet;
  *       Offset:   0           1 …                 32  33                   34
  * Database key: | node type | 32-byte long user key | common prefix size |
  * </pre>
+ *
+ * <p>The user key is stored as four {@code long} words, the bit <em>i</em> of the key being
+ * the bit <em>i % 64</em> of the word <em>i / 64</em> (i.e., the key bytes are read
+ * as little-endian words). All operations on keys work on these words and do not allocate
+ * any intermediate objects.
  */
 public final class DbKey implements Comparable<DbKey> {
 
@@ -89,11 +95,17 @@ public final class DbKey implements Comparable<DbKey> {
    */
   private static final int KEY_START_POSITION = 1;
 
-  private final byte[] rawDbKey;
+  /**
+   * Number of the 64-bit words in the user key.
+   */
+  private static final int KEY_SIZE_WORDS = KEY_SIZE / Long.BYTES;
 
   private final Type nodeType;
 
-  private final byte[] keySlice;
+  private final long word0;
+  private final long word1;
+  private final long word2;
+  private final long word3;
 
   private final int numSignificantBits;
 
@@ -105,42 +117,30 @@ public final class DbKey implements Comparable<DbKey> {
    * @throws IllegalArgumentException if the specified database key is not valid
    */
   public static DbKey fromBytes(byte[] rawDbKey) {
-    return new DbKey(rawDbKey);
-  }
-
-  private DbKey(byte[] rawDbKey) {
     checkArgument(rawDbKey.length == DB_KEY_SIZE,
         "Database key has illegal size: %s", rawDbKey.length);
-    this.rawDbKey = rawDbKey.clone();
-    nodeType = Type.from(rawDbKey[0]);
-    keySlice = Arrays.copyOfRange(rawDbKey, KEY_START_POSITION, KEY_START_POSITION + KEY_SIZE);
+    Type nodeType = Type.from(rawDbKey[0]);
     int numSignificantBits = Byte.toUnsignedInt(rawDbKey[DB_KEY_SIZE - 1]);
     switch (nodeType) {
       case BRANCH:
-        checkArgument(0 <= numSignificantBits && numSignificantBits < KEY_SIZE_BITS,
-            "Invalid end index: %s", numSignificantBits);
-        checkBranchKeySlice(keySlice, numSignificantBits);
-        this.numSignificantBits = numSignificantBits;
-        break;
+        return newBranchKey(rawDbKey, KEY_START_POSITION, numSignificantBits);
       case LEAF:
         checkArgument(numSignificantBits == 0,
-            "Invalid last byte: %s, must be zero" + numSignificantBits);
-        this.numSignificantBits = KEY_SIZE_BITS;
-        break;
+            "Invalid last byte: %s, must be zero", numSignificantBits);
+        return newLeafKey(rawDbKey, KEY_START_POSITION);
       default:
         throw new AssertionError("Unreachable");
     }
   }
 
-  private DbKey(DbKey.Type nodeType, byte[] keySlice, int numSignificantBits) {
+  private DbKey(Type nodeType, long word0, long word1, long word2, long word3,
+      int numSignificantBits) {
     this.nodeType = nodeType;
-    this.keySlice = keySlice;
+    this.word0 = word0;
+    this.word1 = word1;
+    this.word2 = word2;
+    this.word3 = word3;
     this.numSignificantBits = numSignificantBits;
-    this.rawDbKey = new byte[DB_KEY_SIZE];
-    rawDbKey[0] = nodeType.code;
-    System.arraycopy(keySlice, 0, rawDbKey, KEY_START_POSITION, KEY_SIZE);
-    rawDbKey[DB_KEY_SIZE - 1] = (numSignificantBits == KEY_SIZE_BITS) ? 0
-        : UnsignedBytes.checkedCast(numSignificantBits);
   }
 
   /**
@@ -148,7 +148,16 @@ public final class DbKey implements Comparable<DbKey> {
    */
   public static DbKey newLeafKey(byte[] keySlice) {
     checkArgument(keySlice.length == KEY_SIZE);
-    return new DbKey(Type.LEAF, keySlice, KEY_SIZE_BITS);
+    return newLeafKey(keySlice, 0);
+  }
+
+  private static DbKey newLeafKey(byte[] bytes, int keyOffset) {
+    return new DbKey(Type.LEAF,
+        readWord(bytes, keyOffset, 0),
+        readWord(bytes, keyOffset, 1),
+        readWord(bytes, keyOffset, 2),
+        readWord(bytes, keyOffset, 3),
+        KEY_SIZE_BITS);
   }
 
   /**
@@ -160,16 +169,73 @@ public final class DbKey implements Comparable<DbKey> {
    */
   public static DbKey newBranchKey(byte[] keySlice, int numSignificantBits) {
     checkArgument(keySlice.length == KEY_SIZE);
-    checkArgument(0 <= numSignificantBits && numSignificantBits < KEY_SIZE_BITS);
-    checkBranchKeySlice(keySlice, numSignificantBits);
-    return new DbKey(Type.BRANCH, keySlice, numSignificantBits);
+    return newBranchKey(keySlice, 0, numSignificantBits);
+  }
+
+  private static DbKey newBranchKey(byte[] bytes, int keyOffset, int numSignificantBits) {
+    checkArgument(0 <= numSignificantBits && numSignificantBits < KEY_SIZE_BITS,
+        "Invalid end index: %s", numSignificantBits);
+    long word0 = readWord(bytes, keyOffset, 0);
+    long word1 = readWord(bytes, keyOffset, 1);
+    long word2 = readWord(bytes, keyOffset, 2);
+    long word3 = readWord(bytes, keyOffset, 3);
+    checkArgument(word0 == prefixOf(word0, 0, numSignificantBits)
+            && word1 == prefixOf(word1, 1, numSignificantBits)
+            && word2 == prefixOf(word2, 2, numSignificantBits)
+            && word3 == prefixOf(word3, 3, numSignificantBits),
+        "Branch key slice contains set bits after its numSignificantBits (%s)",
+        numSignificantBits);
+    return new DbKey(Type.BRANCH, word0, word1, word2, word3, numSignificantBits);
+  }
+
+  /**
+   * Creates a branch key of the given size, which is the prefix of this key.
+   */
+  private DbKey branchPrefix(int prefixSize) {
+    assert 0 <= prefixSize && prefixSize < KEY_SIZE_BITS;
+    return new DbKey(Type.BRANCH,
+        prefixOf(word0, 0, prefixSize),
+        prefixOf(word1, 1, prefixSize),
+        prefixOf(word2, 2, prefixSize),
+        prefixOf(word3, 3, prefixSize),
+        prefixSize);
+  }
+
+  /**
+   * Reads a word of a key in the array as a little-endian long.
+   */
+  private static long readWord(byte[] bytes, int keyOffset, int wordIndex) {
+    return PrimitiveCodecs.readLongLe(bytes, keyOffset + wordIndex * Long.BYTES);
   }
 
-  private static void checkBranchKeySlice(byte[] keySlice, int numSignificantBits) {
-    BitSet keyBits = BitSet.valueOf(keySlice);
-    checkArgument(keyBits.length() <= numSignificantBits,
-        "Branch key slice contains set bits after its numSignificantBits (%s): "
-            + "length=%s, keyBits=%s", numSignificantBits, keyBits.length(), keyBits);
+  /**
+   * Returns the bits of the word with the given index that belong to the prefix
+   * of the given size, with all other bits cleared.
+   */
+  private static long prefixOf(long word, int wordIndex, int prefixSize) {
+    int numBitsInWord = prefixSize - wordIndex * Long.SIZE;
+    if (numBitsInWord >= Long.SIZE) {
+      return word;
+    } else if (numBitsInWord <= 0) {
+      return 0L;
+    } else {
+      return word & ((1L << numBitsInWord) - 1);
+    }
+  }
+
+  private long word(int wordIndex) {
+    switch (wordIndex) {
+      case 0:
+        return word0;
+      case 1:
+        return word1;
+      case 2:
+        return word2;
+      case 3:
+        return word3;
+      default:
+        throw new AssertionError("Invalid word index: " + wordIndex);
+    }
   }
 
   /**
@@ -182,11 +248,22 @@ public final class DbKey implements Comparable<DbKey> {
   /**
    * Returns the key slice. It's size is equal to {@link #KEY_SIZE}, but the number of significant
    * <em>bits</em> is equal to the {@link #getNumSignificantBits}.
+   *
+   * <p>Each invocation creates a new array.
    */
   public byte[] getKeySlice() {
+    byte[] keySlice = new byte[KEY_SIZE];
+    writeKeySlice(keySlice, 0);
     return keySlice;
   }
 
+  private void writeKeySlice(byte[] dest, int offset) {
+    for (int i = 0; i < KEY_SIZE; i++) {
+      long word = word(i / Long.BYTES);
+      dest[offset + i] = (byte) (word >>> ((i % Long.BYTES) * Byte.SIZE));
+    }
+  }
+
   /**
    * Returns the number of significant bits in the key slice.
    */
@@ -194,15 +271,54 @@ public final class DbKey implements Comparable<DbKey> {
     return numSignificantBits;
   }
 
+  /**
+   * Returns the raw database key. Each invocation creates a new array.
+   *
+   * @see #writeBytesTo(byte[], int)
+   * @see #writeTo(PrimitiveSink)
+   */
   public byte[] getRawDbKey() {
+    byte[] rawDbKey = new byte[DB_KEY_SIZE];
+    writeBytesTo(rawDbKey, 0);
     return rawDbKey;
   }
 
+  /**
+   * Writes the raw database key into the given array, starting at the given offset.
+   * Has the same effect as copying {@link #getRawDbKey()}, but does not create an array.
+   *
+   * @throws IndexOutOfBoundsException if there is not enough room in {@code dest}
+   */
+  public void writeBytesTo(byte[] dest, int offset) {
+    checkPositionIndexes(offset, offset + DB_KEY_SIZE, dest.length);
+    dest[offset] = nodeType.code;
+    writeKeySlice(dest, offset + KEY_START_POSITION);
+    dest[offset + DB_KEY_SIZE - 1] = getRawNumSignificantBits();
+  }
+
+  /**
+   * Puts the raw database key into the given sink. Has the same effect as
+   * {@code sink.putBytes(getRawDbKey())}, but does not create an array.
+   */
+  public void writeTo(PrimitiveSink sink) {
+    sink.putByte(nodeType.code)
+        .putLong(word0)
+        .putLong(word1)
+        .putLong(word2)
+        .putLong(word3)
+        .putByte(getRawNumSignificantBits());
+  }
+
+  private byte getRawNumSignificantBits() {
+    return (numSignificantBits == KEY_SIZE_BITS) ? 0
+        : UnsignedBytes.checkedCast(numSignificantBits);
+  }
+
   /**
    * Returns a key as a bit set.
    */
   public KeyBitSet keyBits() {
-    return new KeyBitSet(keySlice, numSignificantBits);
+    return new KeyBitSet(getKeySlice(), numSignificantBits);
   }
 
   /**
@@ -213,28 +329,41 @@ public final class DbKey implements Comparable<DbKey> {
     if (other.equals(this)) {
       return this;
     }
-    BitSet thisBits = this.keyBits().getKeyBits();
-    thisBits.xor(other.keyBits().getKeyBits());
-    int firstSetBitIndex = thisBits.nextSetBit(0);
+    return branchPrefix(commonPrefixSize(other));
+  }
 
+  /**
+   * Returns the size of the common prefix of this and another DbKey, in bits. Unlike
+   * {@link #commonPrefix(DbKey)}, does not create a new key.
+   */
+  public int commonPrefixSize(DbKey other) {
     int minPrefixSize = Math.min(this.numSignificantBits, other.numSignificantBits);
-
-    // firstSetBitIndex equals -1 when either both keys are equal or one is a prefix of another with
-    // trailing zeros in their prefixes
-    if (firstSetBitIndex == -1) {
-      return newBranchKey(this.keySlice, minPrefixSize);
-    }
-    int commonPrefixSize = Math.min(firstSetBitIndex, minPrefixSize);
-    byte[] commonPrefix = this.keyBits().getKeyBits().get(0, firstSetBitIndex).toByteArray();
-    byte[] newKeySlice = Arrays.copyOf(commonPrefix, DbKey.KEY_SIZE);
-    return newBranchKey(newKeySlice, commonPrefixSize);
+    return Math.min(firstDifferentBit(other), minPrefixSize);
   }
 
   /**
    * Returns true if this {@code DbKey} is a prefix of that {@code DbKey}.
    */
   public boolean isPrefixOf(DbKey other) {
-    return this.keyBits().isPrefixOf(other.keyBits());
+    if (other.numSignificantBits < this.numSignificantBits) {
+      return false;
+    }
+    return firstDifferentBit(other) >= this.numSignificantBits;
+  }
+
+  /**
+   * Returns the index of the first bit that differs in the keys of this and another DbKey,
+   * or {@link #KEY_SIZE_BITS} if the keys are equal. The bits after the significant part
+   * are compared too.
+   */
+  private int firstDifferentBit(DbKey other) {
+    for (int i = 0; i < KEY_SIZE_WORDS; i++) {
+      long diff = this.word(i) ^ other.word(i);
+      if (diff != 0) {
+        return i * Long.SIZE + Long.numberOfTrailingZeros(diff);
+      }
+    }
+    return KEY_SIZE_BITS;
   }
 
   @Override
@@ -246,12 +375,22 @@ public final class DbKey implements Comparable<DbKey> {
       return false;
     }
     DbKey dbKey = (DbKey) o;
-    return Arrays.equals(rawDbKey, dbKey.rawDbKey);
+    return numSignificantBits == dbKey.numSignificantBits
+        && nodeType == dbKey.nodeType
+        && word0 == dbKey.word0
+        && word1 == dbKey.word1
+        && word2 == dbKey.word2
+        && word3 == dbKey.word3;
   }
 
   @Override
   public int hashCode() {
-    return Arrays.hashCode(rawDbKey);
+    int result = nodeType.hashCode();
+    result = 31 * result + Long.hashCode(word0);
+    result = 31 * result + Long.hashCode(word1);
+    result = 31 * result + Long.hashCode(word2);
+    result = 31 * result + Long.hashCode(word3);
+    return 31 * result + numSignificantBits;
   }
 
   /**
@@ -264,20 +403,12 @@ public final class DbKey implements Comparable<DbKey> {
    */
   @Override
   public int compareTo(DbKey other) {
-    if (other.equals(this)) {
-      return 0;
-    }
     int commonPartSize = Math.min(this.numSignificantBits, other.numSignificantBits);
-    BitSet thisBits = this.keyBits().getKeyBits();
-    BitSet otherBits = other.keyBits().getKeyBits();
-    for (int i = 0; i < commonPartSize; i++) {
-      if (thisBits.get(i) ^ otherBits.get(i)) {
-        if (thisBits.get(i)) {
-          return 1;
-        } else {
-          return -1;
-        }
-      }
+    int firstDifferentBit = firstDifferentBit(other);
+    if (firstDifferentBit < commonPartSize) {
+      long thisWord = word(firstDifferentBit / Long.SIZE);
+      boolean thisBit = ((thisWord >>> (firstDifferentBit % Long.SIZE)) & 1L) != 0;
+      return thisBit ? 1 : -1;
     }
     return Integer.compare(this.numSignificantBits, other.numSignificantBits);
   }
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs.map.flat;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.proofs.BatchVerificationReport;
+import com.exonum.binding.common.proofs.map.flat.UncheckedFlatMapProof.BranchChildren;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A verifier of map proofs from the same map, that checks them against its root hash.
+ *
+ * <p>A proof is valid if and only if it is valid on its own: each proof tree is computed
+ * up to the root. The verifier memoizes the branch nodes of the proofs found to be correct,
+ * so that the hash of a branch node which children are the same as the children of a known
+ * node (e.g., of the nodes of the upper levels shared by most proofs) is not computed again.
+ * Such nodes are kept for the lifetime of the verifier; therefore, a verifier shall be used
+ * for a single root hash only.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @see UncheckedMapProof
+ */
+public final class MapProofBatchVerifier {
+
+  /**
+   * The maximum number of proofs that are checked sequentially in the parallel mode.
+   */
+  private static final int PARALLEL_THRESHOLD = 16;
+
+  private final HashCode expectedRootHash;
+
+  private final Map<BranchChildren, HashCode> verifiedBranches;
+
+  /**
+   * Creates a new verifier of proofs from the map with the given root hash.
+   *
+   * @param expectedRootHash the root hash of the map
+   */
+  public MapProofBatchVerifier(HashCode expectedRootHash) {
+    this.expectedRootHash = checkNotNull(expectedRootHash);
+    this.verifiedBranches = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Checks the given proofs against the expected root hash, sequentially in the caller thread.
+   *
+   * @param proofs the proofs to check
+   * @return the report, which results are the checked proofs
+   */
+  public BatchVerificationReport<CheckedMapProof> verify(List<? extends UncheckedMapProof> proofs) {
+    CheckedMapProof[] results = new CheckedMapProof[proofs.size()];
+    for (int i = 0; i < results.length; i++) {
+      results[i] = check(proofs.get(i));
+    }
+    return createReport(results);
+  }
+
+  /**
+   * Checks the given proofs against the expected root hash in the given pool.
+   *
+   * <p>The first proof is checked in the caller thread, so that the nodes shared
+   * by most proofs (the upper levels of the tree) are known before the rest of the proofs
+   * are checked in parallel.
+   *
+   * @param proofs the proofs to check
+   * @param pool a pool to check the proofs in
+   * @return the report, which results are the checked proofs
+   */
+  public BatchVerificationReport<CheckedMapProof> verify(List<? extends UncheckedMapProof> proofs,
+      ForkJoinPool pool) {
+    checkNotNull(pool);
+    CheckedMapProof[] results = new CheckedMapProof[proofs.size()];
+    if (results.length != 0) {
+      results[0] = check(proofs.get(0));
+      pool.invoke(new CheckTask(proofs, results, 1, results.length));
+    }
+    return createReport(results);
+  }
+
+  /**
+   * Returns the number of verified branch nodes known to this verifier.
+   */
+  public int getNumVerifiedNodes() {
+    return verifiedBranches.size();
+  }
+
+  private CheckedMapProof check(UncheckedMapProof proof) {
+    if (proof instanceof UncheckedFlatMapProof) {
+      return ((UncheckedFlatMapProof) proof).checkAgainst(expectedRootHash, verifiedBranches);
+    }
+    return proof.check();
+  }
+
+  private BatchVerificationReport<CheckedMapProof> createReport(CheckedMapProof[] results) {
+    BitSet valid = new BitSet(results.length);
+    for (int i = 0; i < results.length; i++) {
+      CheckedMapProof result = results[i];
+      if (result.getStatus() == ProofStatus.CORRECT
+          && result.compareWithRootHash(expectedRootHash)) {
+        valid.set(i);
+      }
+    }
+    return new BatchVerificationReport<>(Arrays.asList(results), valid);
+  }
+
+  @Override
+  public String toString() {
+    return "MapProofBatchVerifier{"
+        + "expectedRootHash=" + expectedRootHash
+        + ", numVerifiedNodes=" + verifiedBranches.size()
+        + '}';
+  }
+
+  /**
+   * Checks a range of the proofs.
+   */
+  private final class CheckTask extends RecursiveAction {
+
+    private final List<? extends UncheckedMapProof> proofs;
+    private final CheckedMapProof[] results;
+    private final int from;
+    private final int to;
+
+    CheckTask(List<? extends UncheckedMapProof> proofs, CheckedMapProof[] results, int from,
+        int to) {
+      this.proofs = proofs;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= PARALLEL_THRESHOLD) {
+        for (int i = from; i < to; i++) {
+          results[i] = check(proofs.get(i));
+        }
+      } else {
+        int mid = (from + to) >>> 1;
+        invokeAll(new CheckTask(proofs, results, from, mid),
+            new CheckTask(proofs, results, mid, to));
+      }
+    }
+  }
+}
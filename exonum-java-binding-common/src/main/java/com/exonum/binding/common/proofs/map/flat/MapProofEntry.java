@@ -39,7 +39,12 @@ public class MapProofEntry {
     this(DbKey.fromBytes(dbKey), HashCode.fromBytes(nodeHash));
   }
 
-  MapProofEntry(DbKey dbKey, HashCode nodeHash) {
+  /**
+   * Creates a new entry in a flat map proof corresponding to a branch or a leaf node.
+   * @param dbKey a database key of the corresponding node
+   * @param nodeHash a hash of the corresponding node
+   */
+  public MapProofEntry(DbKey dbKey, HashCode nodeHash) {
     this.dbKey = dbKey;
     this.hash = nodeHash;
   }
@@ -18,6 +18,7 @@ package com.exonum.binding.common.proofs.map.flat;
 
 import static com.exonum.binding.common.hash.Funnels.hashCodeFunnel;
 import static com.exonum.binding.common.proofs.DbKeyFunnel.dbKeyFunnel;
+import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.hash.HashFunction;
@@ -30,9 +31,14 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+import javax.annotation.Nullable;
 
 /**
  * An unchecked flat map proof, which does not include any intermediate nodes.
@@ -41,19 +47,36 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
 
   private static final HashFunction HASH_FUNCTION = Hashing.defaultHashFunction();
 
+  /**
+   * The maximum number of entries in a part of the proof that is processed sequentially
+   * in the parallel mode.
+   */
+  private static final int PARALLEL_THRESHOLD = 512;
+
+  private static final Comparator<MapProofEntry> DB_KEY_ORDER =
+      Comparator.comparing(MapProofEntry::getDbKey);
+
   private final List<MapProofEntry> proof;
 
   private final List<MapEntry> entries;
 
   private final List<byte[]> missingKeys;
 
-  UncheckedFlatMapProof(
+  /**
+   * Creates a new unchecked flat map proof. The lists are not copied.
+   *
+   * @param proof the proof entries: the nodes of the proof contour, that do not contain
+   *     any of the requested keys
+   * @param entries the requested entries that are present in the map
+   * @param missingKeys the requested keys that are not present in the map
+   */
+  public UncheckedFlatMapProof(
       List<MapProofEntry> proof,
       List<MapEntry> entries,
       List<byte[]> missingKeys) {
-    this.proof = proof;
-    this.entries = entries;
-    this.missingKeys = missingKeys;
+    this.proof = checkNotNull(proof);
+    this.entries = checkNotNull(entries);
+    this.missingKeys = checkNotNull(missingKeys);
   }
 
   @SuppressWarnings("unused") // Native API
@@ -67,8 +90,44 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
     return new UncheckedFlatMapProof(proof, entriesList, missingKeysList);
   }
 
+  /**
+   * Returns the proof entries.
+   */
+  public List<MapProofEntry> getProofList() {
+    return Collections.unmodifiableList(proof);
+  }
+
+  /**
+   * Returns the requested entries that are present in the map.
+   */
+  public List<MapEntry> getEntries() {
+    return Collections.unmodifiableList(entries);
+  }
+
+  /**
+   * Returns the requested keys that are not present in the map.
+   */
+  public List<byte[]> getMissingKeys() {
+    return Collections.unmodifiableList(missingKeys);
+  }
+
   @Override
   public CheckedMapProof check() {
+    return checkWith(null);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Computes the hashes of the values and of the independent subtrees in parallel.
+   * Proofs with few entries are checked sequentially.
+   */
+  @Override
+  public CheckedMapProof check(ForkJoinPool pool) {
+    return checkWith(checkNotNull(pool));
+  }
+
+  private CheckedMapProof checkWith(@Nullable ForkJoinPool pool) {
     ProofStatus orderCheckResult = orderCheck();
     if (orderCheckResult != ProofStatus.CORRECT) {
       return CheckedFlatMapProof.invalid(orderCheckResult);
@@ -80,8 +139,10 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
       return checkEmptyProof();
     } else if (isSingletonProof()) {
       return checkSingletonProof();
-    } else {
+    } else if (pool == null || proof.size() + entries.size() <= PARALLEL_THRESHOLD) {
       return checkProof();
+    } else {
+      return checkProofInParallel(pool);
     }
   }
 
@@ -120,21 +181,53 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
    * keys are checked.
    */
   private boolean prefixesIncluded() {
-    Stream<DbKey> requestedKeys =
-        Stream.concat(
-            entries.stream()
-                .map(MapEntry::getKey),
-            missingKeys.stream())
-        .map(DbKey::newLeafKey);
-
-    // TODO: proof entries are checked to be sorted at this stage, so it's possible …
-    // to use binary search here
-    return requestedKeys
-        .anyMatch(leafEntryKey -> proof.stream()
-            .map(MapProofEntry::getDbKey)
-            .anyMatch(proofEntryKey ->
-                proofEntryKey.isPrefixOf(leafEntryKey))
-        );
+    for (MapEntry entry : entries) {
+      if (hasPrefixInProof(entry.getKey())) {
+        return true;
+      }
+    }
+    for (byte[] missingKey : missingKeys) {
+      if (hasPrefixInProof(missingKey)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns true if any proof entry is a prefix of the given key.
+   *
+   * <p>As the proof entries are sorted and none of them is a prefix of another, only
+   * the greatest proof entry that is less than or equal to the key can be its prefix:
+   * any greater entry differs from such prefix in some bit, which is set in the entry
+   * and is not set in the key.
+   */
+  private boolean hasPrefixInProof(byte[] key) {
+    DbKey leafEntryKey = DbKey.newLeafKey(key);
+    int floorIndex = floorIndex(leafEntryKey);
+    return floorIndex >= 0
+        && proof.get(floorIndex).getDbKey().isPrefixOf(leafEntryKey);
+  }
+
+  /**
+   * Returns the index of the greatest proof entry which key is less than or equal
+   * to the given key; or -1 if there is no such entry.
+   */
+  private int floorIndex(DbKey key) {
+    int low = 0;
+    int high = proof.size() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int comparisonResult = proof.get(mid).getDbKey().compareTo(key);
+      if (comparisonResult < 0) {
+        low = mid + 1;
+      } else if (comparisonResult > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return high;
   }
 
   private boolean isEmptyProof() {
@@ -171,6 +264,86 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
 
   private CheckedMapProof checkProof() {
     List<MapProofEntry> proofList = mergeLeavesWithBranches();
+    HashCode rootHash = computeRootHash(proofList);
+    return CheckedFlatMapProof.correct(rootHash, entries, missingKeys);
+  }
+
+  private CheckedMapProof checkProofInParallel(ForkJoinPool pool) {
+    MapProofEntry[] leaves = new MapProofEntry[entries.size()];
+    pool.invoke(new LeafHashTask(entries, leaves, 0, leaves.length));
+
+    List<MapProofEntry> proofList = new ArrayList<>(proof.size() + leaves.length);
+    proofList.addAll(proof);
+    proofList.addAll(Arrays.asList(leaves));
+    proofList.sort(DB_KEY_ORDER);
+
+    HashCode rootHash = pool.invoke(new SubtreeHashTask(proofList));
+    return CheckedFlatMapProof.correct(rootHash, entries, missingKeys);
+  }
+
+  /**
+   * Checks this proof against the root hash of a tree, reusing the branch nodes
+   * of the proofs of that tree found to be correct.
+   *
+   * <p>The proof tree is computed up to the root, as in {@link #check()}; but if the children
+   * of a branch node are the same as the children of a known branch node, its hash
+   * is not computed again. The branch nodes of a proof that is found to be correct are added
+   * to the known nodes.
+   *
+   * @param expectedRootHash the root hash of the tree
+   * @param verifiedBranches the hashes of the known branch nodes of the tree, by their children
+   * @return a checked proof; it has the expected root hash if it is correct
+   */
+  CheckedMapProof checkAgainst(HashCode expectedRootHash,
+      Map<BranchChildren, HashCode> verifiedBranches) {
+    ProofStatus orderCheckResult = orderCheck();
+    if (orderCheckResult != ProofStatus.CORRECT) {
+      return CheckedFlatMapProof.invalid(orderCheckResult);
+    }
+    if (prefixesIncluded()) {
+      return CheckedFlatMapProof.invalid(ProofStatus.EMBEDDED_PATH);
+    }
+    if (isEmptyProof()) {
+      return checkEmptyProof();
+    } else if (isSingletonProof()) {
+      return checkSingletonProof();
+    }
+
+    List<MapProofEntry> proofList = mergeLeavesWithBranches();
+    Map<BranchChildren, HashCode> branches = new HashMap<>();
+    HashCode rootHash = foldContour(proofList, (leftChild, rightChild) -> {
+      BranchChildren children = new BranchChildren(leftChild, rightChild);
+      HashCode branchHash = verifiedBranches.get(children);
+      if (branchHash == null) {
+        branchHash = computeBranchHash(leftChild, rightChild);
+        branches.put(children, branchHash);
+      }
+      return branchHash;
+    });
+    if (expectedRootHash.equals(rootHash)) {
+      branches.forEach(verifiedBranches::putIfAbsent);
+    }
+    return CheckedFlatMapProof.correct(rootHash, entries, missingKeys);
+  }
+
+  /**
+   * Computes the root hash of a tree from its sorted contour, which includes at least two
+   * entries.
+   */
+  private static HashCode computeRootHash(List<MapProofEntry> proofList) {
+    return foldContour(proofList, UncheckedFlatMapProof::computeBranchHash);
+  }
+
+  /**
+   * Folds a sorted contour, which includes at least two entries, into the root node.
+   *
+   * @param proofList the contour
+   * @param branchHasher a function returning the hash of a branch node with the given
+   *     left and right children
+   * @return the root hash of the tree
+   */
+  private static HashCode foldContour(List<MapProofEntry> proofList,
+      BiFunction<MapProofEntry, MapProofEntry, HashCode> branchHasher) {
     Deque<MapProofEntry> contour = new ArrayDeque<>();
     MapProofEntry first = proofList.get(0);
     MapProofEntry second = proofList.get(1);
@@ -182,15 +355,15 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
       DbKey newPrefix = contour.peek().getDbKey().commonPrefix(currentEntry.getDbKey());
       while (contour.size() > 1
           && newPrefix.getNumSignificantBits() < lastPrefix.getNumSignificantBits()) {
-        lastPrefix = fold(contour, lastPrefix).orElse(lastPrefix);
+        lastPrefix = fold(contour, lastPrefix, branchHasher);
       }
       contour.push(currentEntry);
       lastPrefix = newPrefix;
     }
     while (contour.size() > 1) {
-      lastPrefix = fold(contour, lastPrefix).orElse(lastPrefix);
+      lastPrefix = fold(contour, lastPrefix, branchHasher);
     }
-    return CheckedFlatMapProof.correct(contour.peek().getHash(), entries, missingKeys);
+    return contour.peek().getHash();
   }
 
   /**
@@ -205,31 +378,32 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
     List<MapProofEntry> proofContour = new ArrayList<>(contourSize);
 
     proofContour.addAll(proof);
-    entries
-        .stream()
-        .map(e -> new MapProofEntry(DbKey.newLeafKey(e.getKey()), getMapEntryHash(e)))
-        .forEach(proofContour::add);
+    for (MapEntry e : entries) {
+      proofContour.add(createLeafEntry(e));
+    }
 
-    proofContour.sort(Comparator.comparing(MapProofEntry::getDbKey));
+    proofContour.sort(DB_KEY_ORDER);
 
     return proofContour;
   }
 
   /**
    * Folds two last entries in a contour and replaces them with the folded entry.
-   * Returns an updated common prefix between two last entries in the contour.
+   * Returns an updated common prefix between two last entries in the contour,
+   * or the given prefix if there is a single entry left in the contour.
    */
-  private Optional<DbKey> fold(Deque<MapProofEntry> contour, DbKey lastPrefix) {
+  private static DbKey fold(Deque<MapProofEntry> contour, DbKey lastPrefix,
+      BiFunction<MapProofEntry, MapProofEntry, HashCode> branchHasher) {
     MapProofEntry lastEntry = contour.pop();
     MapProofEntry penultimateEntry = contour.pop();
     MapProofEntry newEntry =
-        new MapProofEntry(lastPrefix, computeBranchHash(penultimateEntry, lastEntry));
-    Optional<DbKey> commonPrefix;
+        new MapProofEntry(lastPrefix, branchHasher.apply(penultimateEntry, lastEntry));
+    DbKey commonPrefix;
     if (!contour.isEmpty()) {
       MapProofEntry previousEntry = contour.peek();
-      commonPrefix = Optional.of(previousEntry.getDbKey().commonPrefix(lastPrefix));
+      commonPrefix = previousEntry.getDbKey().commonPrefix(lastPrefix);
     } else {
-      commonPrefix = Optional.empty();
+      commonPrefix = lastPrefix;
     }
 
     contour.push(newEntry);
@@ -258,6 +432,10 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
         .hash();
   }
 
+  private static MapProofEntry createLeafEntry(MapEntry entry) {
+    return new MapProofEntry(DbKey.newLeafKey(entry.getKey()), getMapEntryHash(entry));
+  }
+
   private static HashCode getMapEntryHash(MapEntry entry) {
     return HASH_FUNCTION.hashBytes(entry.getValue());
   }
@@ -271,4 +449,155 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
         .putObject(rightChild.getDbKey(), dbKeyFunnel())
         .hash();
   }
+
+  /**
+   * The children of a branch node, which determine its hash: their keys and hashes.
+   */
+  static final class BranchChildren {
+
+    private final DbKey leftKey;
+    private final HashCode leftHash;
+    private final DbKey rightKey;
+    private final HashCode rightHash;
+
+    BranchChildren(MapProofEntry leftChild, MapProofEntry rightChild) {
+      this.leftKey = leftChild.getDbKey();
+      this.leftHash = leftChild.getHash();
+      this.rightKey = rightChild.getDbKey();
+      this.rightHash = rightChild.getHash();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof BranchChildren)) {
+        return false;
+      }
+      BranchChildren that = (BranchChildren) o;
+      return leftKey.equals(that.leftKey)
+          && leftHash.equals(that.leftHash)
+          && rightKey.equals(that.rightKey)
+          && rightHash.equals(that.rightHash);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = leftHash.hashCode();
+      result = 31 * result + rightHash.hashCode();
+      result = 31 * result + leftKey.hashCode();
+      return 31 * result + rightKey.hashCode();
+    }
+  }
+
+  /**
+   * Computes the hashes of the map entries, creating the corresponding leaf entries
+   * of the contour.
+   */
+  private static final class LeafHashTask extends RecursiveAction {
+
+    private final List<MapEntry> entries;
+    private final MapProofEntry[] leaves;
+    private final int from;
+    private final int to;
+
+    LeafHashTask(List<MapEntry> entries, MapProofEntry[] leaves, int from, int to) {
+      this.entries = entries;
+      this.leaves = leaves;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= PARALLEL_THRESHOLD) {
+        for (int i = from; i < to; i++) {
+          leaves[i] = createLeafEntry(entries.get(i));
+        }
+      } else {
+        int mid = (from + to) >>> 1;
+        invokeAll(new LeafHashTask(entries, leaves, from, mid),
+            new LeafHashTask(entries, leaves, mid, to));
+      }
+    }
+  }
+
+  /**
+   * Computes the hash of a subtree from a range of the sorted contour.
+   *
+   * <p>The entries of a subtree which keys have the zero bit after their common prefix
+   * form the left child of the subtree, the rest — the right one. The children are independent
+   * and are computed in parallel, until the subtree is small enough to be computed
+   * sequentially from its contour.
+   */
+  private static final class SubtreeHashTask extends RecursiveTask<HashCode> {
+
+    private final List<MapProofEntry> contour;
+    private final int from;
+    private final int to;
+
+    SubtreeHashTask(List<MapProofEntry> contour) {
+      this(contour, 0, contour.size());
+    }
+
+    private SubtreeHashTask(List<MapProofEntry> contour, int from, int to) {
+      this.contour = contour;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected HashCode compute() {
+      if (to - from == 1) {
+        return contour.get(from).getHash();
+      }
+      DbKey firstKey = contour.get(from).getDbKey();
+      DbKey lastKey = contour.get(to - 1).getDbKey();
+      int prefixSize = firstKey.commonPrefixSize(lastKey);
+      int minKeySize = Math.min(firstKey.getNumSignificantBits(), lastKey.getNumSignificantBits());
+      if (to - from <= PARALLEL_THRESHOLD || prefixSize == minKeySize) {
+        // Either a small subtree, or one that cannot be split
+        // because one of the boundary keys is a prefix of another
+        return computeRootHash(contour.subList(from, to));
+      }
+      int split = findRightChildStart(firstKey, prefixSize);
+      SubtreeHashTask leftTask = new SubtreeHashTask(contour, from, split);
+      SubtreeHashTask rightTask = new SubtreeHashTask(contour, split, to);
+      leftTask.fork();
+      HashCode rightHash = rightTask.compute();
+      HashCode leftHash = leftTask.join();
+      return computeBranchHash(new MapProofEntry(leftTask.subtreeKey(), leftHash),
+          new MapProofEntry(rightTask.subtreeKey(), rightHash));
+    }
+
+    /**
+     * Returns the index of the first entry that has the set bit after the common prefix
+     * of the given size.
+     */
+    private int findRightChildStart(DbKey firstKey, int prefixSize) {
+      int low = from + 1;
+      int high = to - 1;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (firstKey.commonPrefixSize(contour.get(mid).getDbKey()) > prefixSize) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    /**
+     * Returns the key of the root node of this subtree.
+     */
+    private DbKey subtreeKey() {
+      DbKey firstKey = contour.get(from).getDbKey();
+      if (to - from == 1) {
+        return firstKey;
+      }
+      return firstKey.commonPrefix(contour.get(to - 1).getDbKey());
+    }
+  }
 }
@@ -16,6 +16,8 @@
 
 package com.exonum.binding.common.proofs.map.flat;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * An unchecked map proof.
  * It's used to get a checked map proof.
@@ -39,4 +41,15 @@ public interface UncheckedMapProof {
    * Checks that a proof has either correct or incorrect structure and returns a CheckedMapProof.
    */
   CheckedMapProof check();
+
+  /**
+   * Checks that a proof has either correct or incorrect structure and returns a CheckedMapProof.
+   * The independent parts of the proof may be checked in parallel in the given pool.
+   *
+   * @param pool a pool to perform the check in
+   * @implSpec Default implementation checks the proof sequentially in the caller thread
+   */
+  default CheckedMapProof check(ForkJoinPool pool) {
+    return check();
+  }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class, so that the annotation processor from {@code exonum-java-binding-processor}
+ * generates a Gson {@code TypeAdapter} converting its instances to and from JSON
+ * with the streaming API of Gson, without reflection.
+ *
+ * <p>The JSON object has the same properties as Gson writes by default: the non-static,
+ * non-transient fields of the class and its superclasses, named after the fields.
+ * The generated code reads each field directly if it is not private and declared
+ * in the package of the class; otherwise, through an accessor: a non-private method
+ * without parameters, named {@code getName}, {@code isName} or {@code name} for a field
+ * {@code name}, and returning the type of the field.
+ *
+ * <p>The fields may be of types {@code long}, {@code int}, {@code short}, {@code byte},
+ * {@code boolean}, {@code String}, {@link com.exonum.binding.common.crypto.PublicKey}
+ * and {@link com.exonum.binding.common.hash.HashCode}. The numbers of type {@code long}
+ * are written as strings, as Exonum does with 64-bit integers; keys and hashes —
+ * as hexadecimal strings. Null fields are omitted.
+ *
+ * <p>The generated adapter is a class {@code <ClassName>GsonAdapter} with a single
+ * {@code INSTANCE}, in the package of the class. If the class has a non-private constructor
+ * accepting all the fields, with parameters named after the fields, the adapter can also
+ * read the objects from JSON, ignoring unknown properties. Otherwise, the adapter is
+ * write-only, which suits the transactions that need a JSON representation
+ * in {@code Transaction#info()}.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface AutoGsonAdapter {
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a constructor or a static factory method of an immutable value class, so that
+ * the annotation processor from {@code exonum-java-binding-processor} generates a serializer
+ * of the class.
+ *
+ * <p>Each parameter of the annotated element must be annotated with {@link ProtobufField}
+ * and have a matching accessor in the class: a non-private method without parameters,
+ * named {@code getName}, {@code isName} or {@code name} for a parameter {@code name},
+ * and returning the type of the parameter.
+ *
+ * <p>The generated serializer is an enum {@code <ClassName>Serializer} with a single
+ * {@code INSTANCE}, in the package of the class. It is a {@link BufferSerializer} that
+ * uses the protocol buffers binary format, as if the class were a proto3 message with the
+ * given field numbers: {@code long}, {@code int}, {@code boolean}, {@code String} and
+ * {@code byte[]} are encoded as {@code int64}, {@code int32}, {@code bool}, {@code string}
+ * and {@code bytes}; {@link com.exonum.binding.common.crypto.PublicKey} and
+ * {@link com.exonum.binding.common.hash.HashCode} — as {@code bytes}. Keys and hashes
+ * are required: the serializer rejects a binary value that does not include them.
+ *
+ * <p>The generated code does not use reflection and does not create intermediate objects
+ * except the values of the fields.
+ *
+ * @see ProtobufField
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({
+    ElementType.CONSTRUCTOR,
+    ElementType.METHOD
+})
+public @interface AutoSerializer {
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+import java.util.OptionalInt;
+
+/**
+ * A serializer that writes values into byte buffers and reads them from byte buffers
+ * directly. It allows to serialize many values into the same buffer, including parts
+ * of a {@linkplain StandardSerializers#composite composite} value, without a separate
+ * array for each value.
+ *
+ * <p>The binary representation of a value in a buffer is the same as
+ * {@link #toBytes(Object)} produces.
+ *
+ * @param <T> a type of serializable object
+ * @see StandardSerializers
+ */
+public interface BufferSerializer<T> extends Serializer<T> {
+
+  /**
+   * Returns the size of the binary representation of the given value in bytes.
+   *
+   * @param value a value to serialize, must not be null
+   */
+  int getSerializedSize(T value);
+
+  /**
+   * Returns the size of the binary representation of any value, if it is the same
+   * for all values of the type; or an empty optional otherwise.
+   *
+   * @implSpec The default implementation returns an empty optional
+   */
+  default OptionalInt getFixedSize() {
+    return OptionalInt.empty();
+  }
+
+  /**
+   * Returns true if {@link #readFrom(ByteBuffer)} reads exactly the bytes of a single value,
+   * even if other data follows it in the buffer; false if it reads all the remaining bytes.
+   *
+   * @implSpec The default implementation returns true if the serializer has
+   *     a {@linkplain #getFixedSize() fixed size}
+   */
+  default boolean isSelfDelimiting() {
+    return getFixedSize().isPresent();
+  }
+
+  /**
+   * Writes the given value into the buffer, starting at its current position,
+   * and advances the position by the size of the value.
+   *
+   * @param value a value to serialize, must not be null
+   * @param buffer a buffer to write the value into
+   * @return the number of bytes written, equal to {@link #getSerializedSize(Object)}
+   * @throws java.nio.BufferOverflowException if the buffer does not have enough space remaining
+   */
+  int writeTo(T value, ByteBuffer buffer);
+
+  /**
+   * Reads a value from the buffer, starting at its current position, and advances
+   * the position past the value. A {@linkplain #isSelfDelimiting() self-delimiting}
+   * serializer reads the bytes of a single value; any other serializer — all
+   * the remaining bytes.
+   *
+   * @param buffer a buffer containing a serialized value of type T
+   * @return a value
+   * @throws IllegalArgumentException if the buffer cannot be decoded into a value of type T
+   */
+  T readFrom(ByteBuffer buffer);
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implSpec The default implementation writes the value into an array
+   *     of the {@linkplain #getSerializedSize(Object) serialized size}
+   */
+  @Override
+  default byte[] toBytes(T value) {
+    byte[] serializedValue = new byte[getSerializedSize(value)];
+    writeTo(value, ByteBuffer.wrap(serializedValue));
+    return serializedValue;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implSpec The default implementation reads the value from the array
+   *     with {@link #readFrom(ByteBuffer)} and checks that no bytes remain
+   */
+  @Override
+  default T fromBytes(byte[] serializedValue) {
+    ByteBuffer buffer = ByteBuffer.wrap(serializedValue);
+    T value = readFrom(buffer);
+    checkArgument(!buffer.hasRemaining(), "%s trailing bytes after the value",
+        buffer.remaining());
+    return value;
+  }
+}
@@ -19,6 +19,8 @@ package com.exonum.binding.common.serialization;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
+import com.exonum.binding.common.hash.PrimitiveSink;
+
 /**
  * A serializer decorator, that performs some extra checks to ensure that a user-supplied
  * serializer adheres to {@link Serializer} contract. These are required in Java code
@@ -58,6 +60,11 @@ public final class CheckingSerializerDecorator<T> implements Serializer<T> {
     return valueBytes;
   }
 
+  @Override
+  public void writeTo(T value, PrimitiveSink sink) {
+    delegate.writeTo(checkNotNull(value, "value is null"), checkNotNull(sink, "sink is null"));
+  }
+
   @Override
   public T fromBytes(byte[] serializedValue) {
     T value = delegate.fromBytes(checkNotNull(serializedValue, "serializedValue is null"));
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.nio.ByteBuffer;
+import java.util.OptionalInt;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A serializer of values composed of two parts.
+ *
+ * @param <T> a type of serializable object
+ * @param <A> a type of the first part
+ * @param <B> a type of the second part
+ * @see StandardSerializers#composite
+ */
+final class CompositeSerializer<T, A, B> implements BufferSerializer<T> {
+
+  private final BufferSerializer<A> firstSerializer;
+  private final Function<? super T, ? extends A> firstPart;
+  private final BufferSerializer<B> secondSerializer;
+  private final Function<? super T, ? extends B> secondPart;
+  private final BiFunction<? super A, ? super B, ? extends T> factory;
+  /** Whether the first part is prefixed with its size. */
+  private final boolean sizePrefixed;
+  private final OptionalInt fixedSize;
+
+  CompositeSerializer(BufferSerializer<A> firstSerializer,
+      Function<? super T, ? extends A> firstPart, BufferSerializer<B> secondSerializer,
+      Function<? super T, ? extends B> secondPart,
+      BiFunction<? super A, ? super B, ? extends T> factory) {
+    this.firstSerializer = checkNotNull(firstSerializer);
+    this.firstPart = checkNotNull(firstPart);
+    this.secondSerializer = checkNotNull(secondSerializer);
+    this.secondPart = checkNotNull(secondPart);
+    this.factory = checkNotNull(factory);
+    sizePrefixed = !firstSerializer.isSelfDelimiting();
+    OptionalInt firstSize = firstSerializer.getFixedSize();
+    OptionalInt secondSize = secondSerializer.getFixedSize();
+    fixedSize = firstSize.isPresent() && secondSize.isPresent()
+        ? OptionalInt.of(Math.addExact(firstSize.getAsInt(), secondSize.getAsInt()))
+        : OptionalInt.empty();
+  }
+
+  @Override
+  public int getSerializedSize(T value) {
+    int firstSize = firstSerializer.getSerializedSize(firstPart.apply(value));
+    if (sizePrefixed) {
+      firstSize += PrimitiveCodecs.varintSize(firstSize);
+    }
+    return Math.addExact(firstSize, secondSerializer.getSerializedSize(secondPart.apply(value)));
+  }
+
+  @Override
+  public OptionalInt getFixedSize() {
+    return fixedSize;
+  }
+
+  @Override
+  public boolean isSelfDelimiting() {
+    return secondSerializer.isSelfDelimiting();
+  }
+
+  @Override
+  public int writeTo(T value, ByteBuffer buffer) {
+    A first = firstPart.apply(value);
+    int size = 0;
+    if (sizePrefixed) {
+      size += PrimitiveCodecs.writeVarint(firstSerializer.getSerializedSize(first), buffer);
+    }
+    size += firstSerializer.writeTo(first, buffer);
+    size += secondSerializer.writeTo(secondPart.apply(value), buffer);
+    return size;
+  }
+
+  @Override
+  public T readFrom(ByteBuffer buffer) {
+    A first = sizePrefixed ? readSizePrefixed(buffer) : firstSerializer.readFrom(buffer);
+    B second = secondSerializer.readFrom(buffer);
+    return factory.apply(first, second);
+  }
+
+  private A readSizePrefixed(ByteBuffer buffer) {
+    long size = PrimitiveCodecs.readVarint(buffer);
+    checkArgument(0 <= size && size <= buffer.remaining(),
+        "Invalid size of the first part (%s), %s bytes remaining", size, buffer.remaining());
+    // Limit the buffer to the first part instead of slicing it
+    int limit = buffer.limit();
+    buffer.limit(buffer.position() + (int) size);
+    try {
+      A first = firstSerializer.readFrom(buffer);
+      checkArgument(!buffer.hasRemaining(), "%s trailing bytes after the first part",
+          buffer.remaining());
+      return first;
+    } finally {
+      buffer.limit(limit);
+    }
+  }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Codecs of primitive values that do not create intermediate objects. Multibyte values
+ * are written in little-endian byte order, regardless of the
+ * {@linkplain ByteBuffer#order() order} of the buffer, which is never modified.
+ *
+ * <p>All methods operate at the current position of the buffer and advance it
+ * by the number of bytes written or read. The methods reading values throw
+ * {@link IllegalArgumentException} if the buffer does not contain enough bytes,
+ * in which case the position of the buffer is unspecified.
+ *
+ * <p>Varints use the encoding of
+ * <a href="https://developers.google.com/protocol-buffers/docs/encoding#varints">protocol
+ * buffers</a>: seven bits of the value per byte, least significant group first.
+ * Negative values always take {@value #MAX_VARINT_SIZE} bytes. The varints are read
+ * only in the minimal encoding, which {@link #writeVarint(long, ByteBuffer)} produces,
+ * so that each value has a single representation.
+ */
+public final class PrimitiveCodecs {
+
+  /** The maximum size of a varint in bytes. */
+  public static final int MAX_VARINT_SIZE = 10;
+
+  /**
+   * Writes a long value in 8 bytes.
+   *
+   * @throws java.nio.BufferOverflowException if there are fewer than 8 bytes remaining
+   */
+  public static void writeLong(long value, ByteBuffer buffer) {
+    buffer.putLong(isLittleEndian(buffer) ? value : Long.reverseBytes(value));
+  }
+
+  /**
+   * Reads a long value written by {@link #writeLong(long, ByteBuffer)}.
+   *
+   * @throws IllegalArgumentException if there are fewer than 8 bytes remaining
+   */
+  public static long readLong(ByteBuffer buffer) {
+    checkRemaining(buffer, Long.BYTES);
+    long value = buffer.getLong();
+    return isLittleEndian(buffer) ? value : Long.reverseBytes(value);
+  }
+
+  /**
+   * Reads a little-endian long value from eight bytes of the array at the given offset.
+   * Unlike a {@link ByteBuffer} view, does not create any objects.
+   *
+   * @throws ArrayIndexOutOfBoundsException if there are fewer than 8 bytes at the offset
+   */
+  public static long readLongLe(byte[] bytes, int offset) {
+    return (bytes[offset] & 0xFFL)
+        | (bytes[offset + 1] & 0xFFL) << 8
+        | (bytes[offset + 2] & 0xFFL) << 16
+        | (bytes[offset + 3] & 0xFFL) << 24
+        | (bytes[offset + 4] & 0xFFL) << 32
+        | (bytes[offset + 5] & 0xFFL) << 40
+        | (bytes[offset + 6] & 0xFFL) << 48
+        | (bytes[offset + 7] & 0xFFL) << 56;
+  }
+
+  /**
+   * Writes a long value into eight bytes of the array at the given offset,
+   * in little-endian order.
+   *
+   * @throws ArrayIndexOutOfBoundsException if there are fewer than 8 bytes at the offset
+   */
+  public static void writeLongLe(long value, byte[] bytes, int offset) {
+    for (int i = 0; i < Long.BYTES; i++) {
+      bytes[offset + i] = (byte) (value >>> (i * 8));
+    }
+  }
+
+  /**
+   * Writes an int value in 4 bytes.
+   *
+   * @throws java.nio.BufferOverflowException if there are fewer than 4 bytes remaining
+   */
+  public static void writeInt(int value, ByteBuffer buffer) {
+    buffer.putInt(isLittleEndian(buffer) ? value : Integer.reverseBytes(value));
+  }
+
+  /**
+   * Reads an int value written by {@link #writeInt(int, ByteBuffer)}.
+   *
+   * @throws IllegalArgumentException if there are fewer than 4 bytes remaining
+   */
+  public static int readInt(ByteBuffer buffer) {
+    checkRemaining(buffer, Integer.BYTES);
+    int value = buffer.getInt();
+    return isLittleEndian(buffer) ? value : Integer.reverseBytes(value);
+  }
+
+  /**
+   * Writes a long value as a varint.
+   *
+   * @return the number of bytes written
+   * @throws java.nio.BufferOverflowException if the buffer does not have enough space remaining
+   */
+  public static int writeVarint(long value, ByteBuffer buffer) {
+    int size = 1;
+    while ((value & ~0x7FL) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+      size++;
+    }
+    buffer.put((byte) value);
+    return size;
+  }
+
+  /**
+   * Reads a varint written by {@link #writeVarint(long, ByteBuffer)}.
+   *
+   * @throws IllegalArgumentException if the buffer ends before the varint does,
+   *     or if the varint is not in the minimal encoding: has redundant trailing zero groups
+   *     or does not fit into 64 bits
+   */
+  public static long readVarint(ByteBuffer buffer) {
+    if (buffer.hasArray()) {
+      return readVarintFromArray(buffer);
+    }
+    long value = 0;
+    for (int i = 0; i < MAX_VARINT_SIZE; i++) {
+      checkRemaining(buffer, 1);
+      int b = buffer.get();
+      value |= (long) (b & 0x7F) << (7 * i);
+      if ((b & 0x80) == 0) {
+        checkLastVarintByte(b, i, buffer.position());
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint at " + buffer.position());
+  }
+
+  /**
+   * Reads a varint from the backing array of a heap buffer with indexed reads,
+   * and moves the position of the buffer once, past the varint.
+   */
+  private static long readVarintFromArray(ByteBuffer buffer) {
+    byte[] array = buffer.array();
+    int offset = buffer.arrayOffset();
+    int position = buffer.position();
+    int limit = buffer.limit();
+    long value = 0;
+    for (int i = 0; i < MAX_VARINT_SIZE; i++) {
+      if (position == limit) {
+        throw new IllegalArgumentException("Unexpected end of data: 1 bytes required, "
+            + "0 remaining");
+      }
+      int b = array[offset + position++];
+      value |= (long) (b & 0x7F) << (7 * i);
+      if ((b & 0x80) == 0) {
+        checkLastVarintByte(b, i, position);
+        buffer.position(position);
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint at " + position);
+  }
+
+  /**
+   * Checks that the last byte of a varint with the given index keeps it minimal:
+   * it is not a redundant zero group, and the last possible byte has no bits
+   * beyond the 64th.
+   */
+  private static void checkLastVarintByte(int b, int index, int position) {
+    if (b == 0 && index != 0) {
+      throw new IllegalArgumentException("Non-minimal varint ending at " + position);
+    }
+    if (index == MAX_VARINT_SIZE - 1 && b > 1) {
+      throw new IllegalArgumentException("Varint overflowing 64 bits ending at " + position);
+    }
+  }
+
+  /**
+   * Returns the size of the value encoded as a varint, in bytes.
+   */
+  public static int varintSize(long value) {
+    int size = 1;
+    while ((value >>>= 7) != 0) {
+      size++;
+    }
+    return size;
+  }
+
+  /**
+   * Reads a given number of bytes into a new array.
+   *
+   * @throws IllegalArgumentException if there are fewer than {@code size} bytes remaining
+   */
+  public static byte[] readBytes(ByteBuffer buffer, int size) {
+    checkRemaining(buffer, size);
+    byte[] bytes = new byte[size];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private static boolean isLittleEndian(ByteBuffer buffer) {
+    return buffer.order() == ByteOrder.LITTLE_ENDIAN;
+  }
+
+  private static void checkRemaining(ByteBuffer buffer, int size) {
+    checkArgument(size <= buffer.remaining(),
+        "Unexpected end of data: %s bytes required, %s remaining", size, buffer.remaining());
+  }
+
+  private PrimitiveCodecs() {}
+}
@@ -18,13 +18,19 @@ package com.exonum.binding.common.serialization;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.exonum.binding.common.hash.Funnels;
+import com.exonum.binding.common.hash.PrimitiveSink;
 import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
 import java.io.IOException;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 
 /**
  * A reflective serializer-adapter of protobuf messages.
@@ -32,26 +38,48 @@ import java.lang.invoke.MethodType;
  * <p>Uses {@linkplain CodedOutputStream#useDeterministicSerialization() deterministic}
  * protocol buffer serialization mode.
  *
+ * <p>The message parser is resolved once, when the serializer is created,
+ * so parsing does not involve any reflective calls.
+ *
  * @param <MessageT> a type of a protobuf message. Usually, autogenerated with protoc
+ * @see StandardSerializers#protobuf(Class)
  */
-class ProtobufReflectiveSerializer<MessageT extends MessageLite> implements Serializer<MessageT> {
+final class ProtobufReflectiveSerializer<MessageT extends MessageLite>
+    implements BufferSerializer<MessageT> {
 
   /**
-   * The handle to a static `MessageT#parseFrom(byte[]) -> MessageT`.
+   * The maximum size of the buffer used to write a message into a sink.
    */
-  private final MethodHandle messageParseFrom;
+  private static final int MAX_BUFFER_SIZE = 4096;
+
+  private final Parser<MessageT> parser;
 
+  @SuppressWarnings("unchecked")
   ProtobufReflectiveSerializer(Class<MessageT> messageType) {
     MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+    MethodHandle getDefaultInstance;
     try {
-      messageParseFrom = lookup
-          .findStatic(messageType, "parseFrom", MethodType.methodType(messageType, byte[].class));
+      getDefaultInstance = lookup
+          .findStatic(messageType, "getDefaultInstance", MethodType.methodType(messageType));
     } catch (NoSuchMethodException | IllegalAccessException e) {
-      throw new IllegalArgumentException("Invalid message: cannot find public static parseFrom "
-          + "method in " + messageType, e);
+      throw new IllegalArgumentException("Invalid message: cannot find public static "
+          + "getDefaultInstance method in " + messageType, e);
+    }
+
+    try {
+      MessageLite defaultInstance = (MessageLite) getDefaultInstance.invoke();
+      parser = (Parser<MessageT>) defaultInstance.getParserForType();
+    } catch (Throwable throwable) {
+      throw new IllegalArgumentException("Invalid message: failed to get the parser of "
+          + messageType, throwable);
     }
   }
 
+  @Override
+  public int getSerializedSize(MessageT value) {
+    return value.getSerializedSize();
+  }
+
   @Override
   public byte[] toBytes(MessageT value) {
     // Essentially, the same as com.google.protobuf.AbstractMessageLite.toByteArray,
@@ -71,18 +99,88 @@ class ProtobufReflectiveSerializer<MessageT extends MessageLite> implements Seri
     }
   }
 
-  @SuppressWarnings("unchecked")
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Writes the message through a {@link CodedOutputStream} in the deterministic mode,
+   * which buffer is at most {@value #MAX_BUFFER_SIZE} bytes.
+   */
+  @Override
+  public void writeTo(MessageT value, PrimitiveSink sink) {
+    int bufferSize = Math.max(1, Math.min(value.getSerializedSize(), MAX_BUFFER_SIZE));
+    CodedOutputStream output =
+        CodedOutputStream.newInstance(Funnels.asOutputStream(sink), bufferSize);
+    output.useDeterministicSerialization();
+
+    try {
+      value.writeTo(output);
+      output.flush();
+    } catch (IOException e) {
+      throw new AssertionError("Failed to serialize " + value
+          + " to a sink (should never happen)", e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Writes the message in the deterministic mode into a heap or a direct buffer.
+   * If this method throws, the buffer is not modified.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough space remaining
+   * @throws ReadOnlyBufferException if the buffer is read-only
+   */
+  @Override
+  public int writeTo(MessageT value, ByteBuffer buffer) {
+    checkNotNull(buffer);
+    if (buffer.isReadOnly()) {
+      throw new ReadOnlyBufferException();
+    }
+    int size = value.getSerializedSize();
+    if (buffer.remaining() < size) {
+      throw new BufferOverflowException();
+    }
+
+    CodedOutputStream output = CodedOutputStream.newInstance(buffer);
+    output.useDeterministicSerialization();
+
+    try {
+      value.writeTo(output);
+      // Updates the position of the buffer
+      output.flush();
+      return size;
+    } catch (IOException e) {
+      throw new AssertionError("Failed to serialize " + value
+          + " to a byte buffer (should never happen)", e);
+    }
+  }
+
   @Override
   public MessageT fromBytes(byte[] serializedValue) {
     checkNotNull(serializedValue);
     try {
-      return (MessageT) messageParseFrom.invoke(serializedValue);
+      return parser.parseFrom(serializedValue);
+    } catch (InvalidProtocolBufferException e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Parses the message from all the remaining bytes of a heap or a direct buffer.
+   * Heap buffers are parsed without copying. If this method throws, the buffer
+   * is not modified.
+   */
+  @Override
+  public MessageT readFrom(ByteBuffer buffer) {
+    checkNotNull(buffer);
+    try {
+      MessageT message = parser.parseFrom(buffer.duplicate());
+      buffer.position(buffer.limit());
+      return message;
     } catch (InvalidProtocolBufferException e) {
       throw new IllegalArgumentException(e);
-    } catch (Throwable throwable) {
-      // MessageT#parseFrom is not supposed to throw anything but NPE
-      // and InvalidProtocolBufferException
-      throw new AssertionError("Unexpected exception in MessageT#parseFrom", throwable);
     }
   }
 }
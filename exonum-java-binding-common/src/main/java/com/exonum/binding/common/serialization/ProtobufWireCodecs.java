@@ -0,0 +1,265 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.exonum.binding.common.crypto.PublicKey;
+import com.exonum.binding.common.hash.HashCode;
+import com.google.common.base.Utf8;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nullable;
+
+/**
+ * Codecs of the fields in the
+ * <a href="https://developers.google.com/protocol-buffers/docs/encoding">protocol buffers
+ * binary format</a>, used by the {@linkplain AutoSerializer generated serializers}.
+ *
+ * <p>The methods operate at the current position of the buffer and advance it,
+ * as {@link PrimitiveCodecs} do. The sizes and the values of length-delimited fields
+ * include their length prefix, but not the tag.
+ */
+public final class ProtobufWireCodecs {
+
+  public static final int WIRETYPE_VARINT = 0;
+  public static final int WIRETYPE_FIXED64 = 1;
+  public static final int WIRETYPE_LENGTH_DELIMITED = 2;
+  public static final int WIRETYPE_FIXED32 = 5;
+
+  private static final int TAG_TYPE_BITS = 3;
+  private static final int TAG_TYPE_MASK = (1 << TAG_TYPE_BITS) - 1;
+
+  /**
+   * Returns the tag of a field with the given number and wire type.
+   */
+  public static int makeTag(int fieldNumber, int wireType) {
+    return (fieldNumber << TAG_TYPE_BITS) | wireType;
+  }
+
+  /**
+   * Reads the tag of the next field.
+   *
+   * @throws IllegalArgumentException if the tag is not valid
+   */
+  public static int readTag(ByteBuffer buffer) {
+    long tag = PrimitiveCodecs.readVarint(buffer);
+    // The tag is checked without formatting the message, as this method is called
+    // for each field
+    if ((tag >>> TAG_TYPE_BITS) == 0 || (tag >>> (Integer.SIZE - 1)) != 0) {
+      throw new IllegalArgumentException("Invalid tag: " + Long.toUnsignedString(tag));
+    }
+    return (int) tag;
+  }
+
+  /**
+   * Skips the value of a field with the given tag, e.g., a field unknown to the serializer.
+   *
+   * @throws IllegalArgumentException if the tag has unsupported wire type (e.g., a group),
+   *     or the buffer ends before the value does
+   */
+  public static void skipField(int tag, ByteBuffer buffer) {
+    int wireType = tag & TAG_TYPE_MASK;
+    switch (wireType) {
+      case WIRETYPE_VARINT:
+        PrimitiveCodecs.readVarint(buffer);
+        break;
+      case WIRETYPE_FIXED64:
+        skipBytes(buffer, Long.BYTES);
+        break;
+      case WIRETYPE_LENGTH_DELIMITED:
+        skipBytes(buffer, readLength(buffer));
+        break;
+      case WIRETYPE_FIXED32:
+        skipBytes(buffer, Integer.BYTES);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported wire type (" + wireType
+            + ") of the field " + (tag >>> TAG_TYPE_BITS));
+    }
+  }
+
+  /**
+   * Returns the size of an {@code int32} value. Negative values are sign-extended
+   * to 64 bits and take ten bytes.
+   */
+  public static int int32Size(int value) {
+    return PrimitiveCodecs.varintSize(value);
+  }
+
+  /**
+   * Returns the size of a {@code string} value.
+   */
+  public static int stringSize(String value) {
+    return lengthDelimitedSize(Utf8.encodedLength(value));
+  }
+
+  /**
+   * Writes a {@code string} value in UTF-8.
+   */
+  public static void writeString(String value, ByteBuffer buffer) {
+    writeBytes(value.getBytes(StandardCharsets.UTF_8), buffer);
+  }
+
+  /**
+   * Reads a {@code string} value.
+   *
+   * @throws IllegalArgumentException if the value is not a valid UTF-8 string
+   */
+  public static String readString(ByteBuffer buffer) {
+    int length = readLength(buffer);
+    if (!buffer.hasArray()) {
+      return StandardSerializers.string().fromBytes(PrimitiveCodecs.readBytes(buffer, length));
+    }
+    // Decode the string from the backing array without copying the bytes
+    byte[] array = buffer.array();
+    int position = buffer.position();
+    int start = buffer.arrayOffset() + position;
+    checkArgument(Utf8.isWellFormed(array, start, length), "Cannot decode the input");
+    buffer.position(position + length);
+    return new String(array, start, length, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Returns the size of a {@code bytes} value.
+   */
+  public static int bytesSize(byte[] value) {
+    return lengthDelimitedSize(value.length);
+  }
+
+  /**
+   * Writes a {@code bytes} value.
+   */
+  public static void writeBytes(byte[] value, ByteBuffer buffer) {
+    PrimitiveCodecs.writeVarint(value.length, buffer);
+    buffer.put(value);
+  }
+
+  /**
+   * Reads a {@code bytes} value into a new array.
+   */
+  public static byte[] readBytes(ByteBuffer buffer) {
+    return PrimitiveCodecs.readBytes(buffer, readLength(buffer));
+  }
+
+  /**
+   * Returns the size of a public key as a {@code bytes} value.
+   */
+  public static int publicKeySize(PublicKey value) {
+    return lengthDelimitedSize(value.size());
+  }
+
+  /**
+   * Writes a public key as a {@code bytes} value.
+   */
+  public static void writePublicKey(PublicKey value, ByteBuffer buffer) {
+    int size = value.size();
+    PrimitiveCodecs.writeVarint(size, buffer);
+    if (buffer.hasArray() && size <= buffer.remaining()) {
+      // Write directly into the backing array
+      int position = buffer.position();
+      value.writeBytesTo(buffer.array(), buffer.arrayOffset() + position);
+      buffer.position(position + size);
+    } else {
+      buffer.put(value.toBytes());
+    }
+  }
+
+  /**
+   * Reads a public key written by {@link #writePublicKey(PublicKey, ByteBuffer)}.
+   */
+  public static PublicKey readPublicKey(ByteBuffer buffer) {
+    int length = readLength(buffer);
+    if (!buffer.hasArray()) {
+      return PublicKey.fromBytes(PrimitiveCodecs.readBytes(buffer, length));
+    }
+    int position = buffer.position();
+    PublicKey key = PublicKey.fromBytes(buffer.array(), buffer.arrayOffset() + position, length);
+    buffer.position(position + length);
+    return key;
+  }
+
+  /**
+   * Returns the size of a hash code as a {@code bytes} value.
+   */
+  public static int hashCodeSize(HashCode value) {
+    return lengthDelimitedSize(value.bits() / Byte.SIZE);
+  }
+
+  /**
+   * Writes a hash code as a {@code bytes} value.
+   */
+  public static void writeHashCode(HashCode value, ByteBuffer buffer) {
+    int size = value.bits() / Byte.SIZE;
+    PrimitiveCodecs.writeVarint(size, buffer);
+    if (buffer.hasArray() && size <= buffer.remaining()) {
+      int position = buffer.position();
+      value.writeBytesTo(buffer.array(), buffer.arrayOffset() + position, size);
+      buffer.position(position + size);
+    } else {
+      buffer.put(value.asBytes());
+    }
+  }
+
+  /**
+   * Reads a hash code written by {@link #writeHashCode(HashCode, ByteBuffer)}.
+   *
+   * @throws IllegalArgumentException if the value is empty
+   */
+  public static HashCode readHashCode(ByteBuffer buffer) {
+    int length = readLength(buffer);
+    if (!buffer.hasArray()) {
+      return HashCode.fromBytes(PrimitiveCodecs.readBytes(buffer, length));
+    }
+    int position = buffer.position();
+    HashCode hash = HashCode.fromBytes(buffer.array(), buffer.arrayOffset() + position, length);
+    buffer.position(position + length);
+    return hash;
+  }
+
+  /**
+   * Checks that the value of a required field is present in the binary value.
+   *
+   * @param value the value of the field; null if it is missing
+   * @param fieldName the name of the field
+   * @return the value of the field
+   * @throws IllegalArgumentException if the value is null
+   */
+  public static <T> T checkRequired(@Nullable T value, String fieldName) {
+    checkArgument(value != null, "The required field %s is missing", fieldName);
+    return value;
+  }
+
+  private static int lengthDelimitedSize(int length) {
+    return PrimitiveCodecs.varintSize(length) + length;
+  }
+
+  private static int readLength(ByteBuffer buffer) {
+    long length = PrimitiveCodecs.readVarint(buffer);
+    checkArgument(0 <= length && length <= buffer.remaining(),
+        "Invalid length of a field (%s), %s bytes remaining", length, buffer.remaining());
+    return (int) length;
+  }
+
+  private static void skipBytes(ByteBuffer buffer, int size) {
+    checkArgument(size <= buffer.remaining(),
+        "Unexpected end of data: %s bytes required, %s remaining", size, buffer.remaining());
+    buffer.position(buffer.position() + size);
+  }
+
+  private ProtobufWireCodecs() {}
+}
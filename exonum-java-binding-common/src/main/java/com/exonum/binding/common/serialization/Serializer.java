@@ -16,6 +16,9 @@
 
 package com.exonum.binding.common.serialization;
 
+import com.exonum.binding.common.hash.Hasher;
+import com.exonum.binding.common.hash.PrimitiveSink;
+
 /**
  * Converts Java objects into a binary representation in some format, and vice versa.
  *
@@ -50,4 +53,23 @@ public interface Serializer<T> {
    *     (e.g., contains 2 bytes when 4 are expected)
    */
   T fromBytes(byte[] serializedValue);
+
+  /**
+   * Writes a given value in the serialized form into the sink, e.g., a {@link Hasher}.
+   * The sink receives the same bytes as {@link #toBytes(Object)} produces.
+   *
+   * <p>Allows to hash a value in one pass, without its binary representation
+   * in a separate array, if the serializer supports writing a value in parts.
+   *
+   * @implSpec The default implementation puts the array produced by {@link #toBytes(Object)}
+   *     into the sink
+   *
+   * @param value a value to serialize, must not be null
+   * @param sink a sink to write the value into
+   * @throws NullPointerException if value is null
+   * @see SerializerFunnel
+   */
+  default void writeTo(T value, PrimitiveSink sink) {
+    sink.putBytes(toBytes(value));
+  }
 }
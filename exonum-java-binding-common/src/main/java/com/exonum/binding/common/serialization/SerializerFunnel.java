@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.common.hash.Funnel;
+import com.exonum.binding.common.hash.PrimitiveSink;
+
+/**
+ * A funnel of values, that puts their serialized form into the sink. Allows to hash values
+ * as {@code hashFunction.hashObject(value, serializerFunnel(serializer))}, without creating
+ * their binary representation in memory, if the serializer
+ * {@linkplain Serializer#writeTo(Object, PrimitiveSink) supports} that.
+ *
+ * @param <T> a type of values
+ */
+public final class SerializerFunnel<T> implements Funnel<T> {
+
+  private static final long serialVersionUID = 1L;
+
+  @SuppressWarnings("serial") // Serializers are not required to be serializable
+  private final Serializer<T> serializer;
+
+  private SerializerFunnel(Serializer<T> serializer) {
+    this.serializer = checkNotNull(serializer);
+  }
+
+  /**
+   * Returns a funnel putting the values, serialized with the given serializer, into the sink.
+   *
+   * @param serializer a serializer of values
+   * @param <T> a type of values
+   */
+  public static <T> Funnel<T> serializerFunnel(Serializer<T> serializer) {
+    return new SerializerFunnel<>(serializer);
+  }
+
+  @Override
+  public void funnel(T from, PrimitiveSink into) {
+    serializer.writeTo(from, into);
+  }
+
+  @Override
+  public String toString() {
+    return "SerializerFunnel{"
+        + "serializer=" + serializer
+        + '}';
+  }
+}
@@ -18,7 +18,9 @@ package com.exonum.binding.common.serialization;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import com.exonum.binding.common.hash.Funnels;
 import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.PrimitiveSink;
 import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.MessageLite;
 import java.nio.ByteBuffer;
@@ -28,6 +30,9 @@ import java.nio.charset.CharacterCodingException;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.util.OptionalInt;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * A collection of pre-defined serializers.
@@ -36,11 +41,74 @@ import java.nio.charset.StandardCharsets;
 // (ECR-642)
 public final class StandardSerializers {
 
-  /** Returns a serializer of longs in little-endian byte order. */
-  public static Serializer<Long> longs() {
+  /**
+   * Returns a serializer of longs in little-endian byte order.
+   *
+   * <p>As any serializer, it accepts and returns boxed values, therefore,
+   * {@link BufferSerializer#readFrom(ByteBuffer)} may allocate a {@code Long}.
+   * Use {@link PrimitiveCodecs} to write and read primitive values without allocation.
+   */
+  public static BufferSerializer<Long> longs() {
     return LongSerializer.INSTANCE;
   }
 
+  /**
+   * Returns a serializer of integers in little-endian byte order.
+   *
+   * <p>As {@link #longs()}, it reads boxed values.
+   */
+  public static BufferSerializer<Integer> ints() {
+    return IntSerializer.INSTANCE;
+  }
+
+  /**
+   * Returns a serializer of longs as varints, which take from one byte for values
+   * in range [0, 127] to ten bytes for negative values. It reads only the minimal
+   * encodings of values and, as {@link #longs()}, reads boxed values.
+   *
+   * @see PrimitiveCodecs#writeVarint(long, ByteBuffer)
+   */
+  public static BufferSerializer<Long> varints() {
+    return VarintSerializer.INSTANCE;
+  }
+
+  /**
+   * Returns a serializer of byte arrays of the given size, e.g., public keys or other
+   * identifiers. The serializer rejects arrays of any other size.
+   *
+   * @param size the size of arrays in bytes
+   * @throws IllegalArgumentException if the size is negative
+   */
+  public static BufferSerializer<byte[]> fixedBytes(int size) {
+    return new FixedBytesSerializer(size);
+  }
+
+  /**
+   * Returns a serializer of a value composed of two parts, e.g., a multi-part key of an index.
+   * The value is serialized as its first part followed by its second part. If the first
+   * part is not {@linkplain BufferSerializer#isSelfDelimiting() self-delimiting}, it is
+   * prefixed with its size as a varint.
+   *
+   * <p>Values of three and more parts can be serialized by composite serializers of
+   * composite parts.
+   *
+   * @param firstSerializer a serializer of the first part
+   * @param firstPart a function returning the first part of a value
+   * @param secondSerializer a serializer of the second part
+   * @param secondPart a function returning the second part of a value
+   * @param factory a function creating a value from its parts
+   * @param <T> a type of serializable object
+   * @param <A> a type of the first part
+   * @param <B> a type of the second part
+   */
+  public static <T, A, B> BufferSerializer<T> composite(
+      BufferSerializer<A> firstSerializer, Function<? super T, ? extends A> firstPart,
+      BufferSerializer<B> secondSerializer, Function<? super T, ? extends B> secondPart,
+      BiFunction<? super A, ? super B, ? extends T> factory) {
+    return new CompositeSerializer<>(firstSerializer, firstPart, secondSerializer, secondPart,
+        factory);
+  }
+
   /** Returns a serializer of strings in UTF-8. */
   public static Serializer<String> string() {
     return StringSerializer.INSTANCE;
@@ -56,20 +124,35 @@ public final class StandardSerializers {
    * uses {@linkplain CodedOutputStream#useDeterministicSerialization() deterministic}
    * serialization mode.
    *
+   * <p>The returned serializer can also write messages into reusable byte buffers and parse
+   * them from byte buffers. It reads all the remaining bytes of a buffer as a single message.
+   *
    * @param messageType the class of a protobuf message
    * @param <MessageT> the type of a message; must have a public static
-   *     {@code #parseFrom(byte[])} method — as any auto-generated protobuf message does
+   *     {@code #getDefaultInstance()} method — as any auto-generated protobuf message does
    * @throws IllegalArgumentException if {@code MessageT} does not contain the static
-   *     factory method {@code #parseFrom(byte[])}
+   *     factory method {@code #getDefaultInstance()}
    */
-  public static <MessageT extends MessageLite> Serializer<MessageT> protobuf(
+  public static <MessageT extends MessageLite> BufferSerializer<MessageT> protobuf(
       Class<MessageT> messageType) {
     return new ProtobufReflectiveSerializer<>(messageType);
   }
 
-  enum LongSerializer implements Serializer<Long> {
+  enum LongSerializer implements BufferSerializer<Long> {
     INSTANCE;
 
+    private static final OptionalInt SIZE = OptionalInt.of(Long.BYTES);
+
+    @Override
+    public int getSerializedSize(Long value) {
+      return Long.BYTES;
+    }
+
+    @Override
+    public OptionalInt getFixedSize() {
+      return SIZE;
+    }
+
     @Override
     public byte[] toBytes(Long value) {
       ByteBuffer buf = ByteBuffer.allocate(Long.BYTES)
@@ -78,6 +161,23 @@ public final class StandardSerializers {
       return buf.array();
     }
 
+    @Override
+    public void writeTo(Long value, PrimitiveSink sink) {
+      // The sinks put multibyte values in little-endian order
+      sink.putLong(value);
+    }
+
+    @Override
+    public int writeTo(Long value, ByteBuffer buffer) {
+      PrimitiveCodecs.writeLong(value, buffer);
+      return Long.BYTES;
+    }
+
+    @Override
+    public Long readFrom(ByteBuffer buffer) {
+      return PrimitiveCodecs.readLong(buffer);
+    }
+
     @Override
     public Long fromBytes(byte[] serializedValue) {
       checkArgument(serializedValue.length == Long.BYTES,
@@ -89,6 +189,105 @@ public final class StandardSerializers {
     }
   }
 
+  enum IntSerializer implements BufferSerializer<Integer> {
+    INSTANCE;
+
+    private static final OptionalInt SIZE = OptionalInt.of(Integer.BYTES);
+
+    @Override
+    public int getSerializedSize(Integer value) {
+      return Integer.BYTES;
+    }
+
+    @Override
+    public OptionalInt getFixedSize() {
+      return SIZE;
+    }
+
+    @Override
+    public void writeTo(Integer value, PrimitiveSink sink) {
+      sink.putInt(value);
+    }
+
+    @Override
+    public int writeTo(Integer value, ByteBuffer buffer) {
+      PrimitiveCodecs.writeInt(value, buffer);
+      return Integer.BYTES;
+    }
+
+    @Override
+    public Integer readFrom(ByteBuffer buffer) {
+      return PrimitiveCodecs.readInt(buffer);
+    }
+  }
+
+  enum VarintSerializer implements BufferSerializer<Long> {
+    INSTANCE;
+
+    @Override
+    public int getSerializedSize(Long value) {
+      return PrimitiveCodecs.varintSize(value);
+    }
+
+    @Override
+    public boolean isSelfDelimiting() {
+      return true;
+    }
+
+    @Override
+    public int writeTo(Long value, ByteBuffer buffer) {
+      return PrimitiveCodecs.writeVarint(value, buffer);
+    }
+
+    @Override
+    public Long readFrom(ByteBuffer buffer) {
+      return PrimitiveCodecs.readVarint(buffer);
+    }
+  }
+
+  static final class FixedBytesSerializer implements BufferSerializer<byte[]> {
+
+    private final int size;
+
+    FixedBytesSerializer(int size) {
+      checkArgument(size >= 0, "Size is negative: %s", size);
+      this.size = size;
+    }
+
+    @Override
+    public int getSerializedSize(byte[] value) {
+      return size;
+    }
+
+    @Override
+    public OptionalInt getFixedSize() {
+      return OptionalInt.of(size);
+    }
+
+    @Override
+    public void writeTo(byte[] value, PrimitiveSink sink) {
+      checkSize(value);
+      sink.putBytes(value);
+    }
+
+    @Override
+    public int writeTo(byte[] value, ByteBuffer buffer) {
+      checkSize(value);
+      buffer.put(value);
+      return size;
+    }
+
+    @Override
+    public byte[] readFrom(ByteBuffer buffer) {
+      return PrimitiveCodecs.readBytes(buffer, size);
+    }
+
+    private void checkSize(byte[] value) {
+      checkArgument(value.length == size, "Expected an array of size %s, but was %s",
+          size, value.length);
+    }
+  }
+
   enum StringSerializer implements Serializer<String> {
     INSTANCE;
 
@@ -97,6 +296,11 @@ public final class StandardSerializers {
       return value.getBytes(StandardCharsets.UTF_8);
     }
 
+    @Override
+    public void writeTo(String value, PrimitiveSink sink) {
+      sink.putString(value, StandardCharsets.UTF_8);
+    }
+
     @Override
     public String fromBytes(byte[] serializedValue) {
       try {
@@ -130,6 +334,11 @@ public final class StandardSerializers {
       return value.asBytes();
     }
 
+    @Override
+    public void writeTo(HashCode value, PrimitiveSink sink) {
+      Funnels.hashCodeFunnel().funnel(value, sink);
+    }
+
     @Override
     public HashCode fromBytes(byte[] serializedValue) {
       return HashCode.fromBytes(serializedValue);
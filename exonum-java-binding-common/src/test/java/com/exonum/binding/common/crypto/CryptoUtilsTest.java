@@ -1,6 +1,9 @@
 package com.exonum.binding.common.crypto;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -30,4 +33,25 @@ class CryptoUtilsTest {
     assertEquals("abcd", hex);
   }
 
+  @Test
+  void copyOfRange() {
+    byte[] bytes = new byte[]{1, 2, 3, 4};
+
+    assertArrayEquals(new byte[]{2, 3}, CryptoUtils.copyOfRange(bytes, 1, 2));
+  }
+
+  @Test
+  void copyOfRangeReturnsWholeArray() {
+    byte[] bytes = new byte[]{1, 2, 3, 4};
+
+    assertSame(bytes, CryptoUtils.copyOfRange(bytes, 0, 4));
+  }
+
+  @Test
+  void copyOfRangeRejectsInvalidRange() {
+    byte[] bytes = new byte[]{1, 2, 3, 4};
+
+    assertThrows(IndexOutOfBoundsException.class, () -> CryptoUtils.copyOfRange(bytes, 2, 3));
+  }
+
 }
@@ -30,6 +30,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.exonum.binding.test.Bytes;
+import java.nio.ByteBuffer;
 import org.junit.jupiter.api.Test;
 
 class Ed25519CryptoFunctionTest {
@@ -143,4 +144,75 @@ class Ed25519CryptoFunctionTest {
     byte[] anotherMessage = bytes("anotherMessage");
     assertFalse(CRYPTO_FUNCTION.verify(anotherMessage, signature, publicKey));
   }
+
+  @Test
+  void signVerifyMessageRange() {
+    KeyPair keyPair = CRYPTO_FUNCTION.generateKeyPair();
+    byte[] message = bytes("myMessage");
+    byte[] prefixedMessage = Bytes.createPrefixed(message, message.length + 3);
+    byte[] expectedSignature = CRYPTO_FUNCTION.signMessage(message, keyPair.getPrivateKey());
+
+    byte[] signature = CRYPTO_FUNCTION.signMessage(prefixedMessage, 0, message.length,
+        keyPair.getPrivateKey());
+
+    assertThat(signature, equalTo(expectedSignature));
+    assertTrue(CRYPTO_FUNCTION.verify(prefixedMessage, 0, message.length, signature,
+        keyPair.getPublicKey()));
+    assertFalse(CRYPTO_FUNCTION.verify(prefixedMessage, 0, prefixedMessage.length, signature,
+        keyPair.getPublicKey()));
+  }
+
+  @Test
+  void signVerifyMessageRangeWithOffset() {
+    KeyPair keyPair = CRYPTO_FUNCTION.generateKeyPair();
+    byte[] message = bytes("myMessage");
+    byte[] paddedMessage = new byte[message.length + 3];
+    System.arraycopy(message, 0, paddedMessage, 2, message.length);
+
+    byte[] signature = CRYPTO_FUNCTION.signMessage(paddedMessage, 2, message.length,
+        keyPair.getPrivateKey());
+
+    assertTrue(CRYPTO_FUNCTION.verify(message, signature, keyPair.getPublicKey()));
+    assertTrue(CRYPTO_FUNCTION.verify(paddedMessage, 2, message.length, signature,
+        keyPair.getPublicKey()));
+  }
+
+  @Test
+  void verifyMessageRangeOutOfBounds() {
+    KeyPair keyPair = CRYPTO_FUNCTION.generateKeyPair();
+    byte[] message = bytes("myMessage");
+    byte[] signature = CRYPTO_FUNCTION.signMessage(message, keyPair.getPrivateKey());
+
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> CRYPTO_FUNCTION.verify(message, 1, message.length, signature,
+            keyPair.getPublicKey()));
+  }
+
+  @Test
+  void signVerifyHeapByteBuffer() {
+    byte[] message = bytes("myMessage");
+    signVerifyByteBuffer(ByteBuffer.allocate(message.length + 2), message);
+  }
+
+  @Test
+  void signVerifyDirectByteBuffer() {
+    byte[] message = bytes("myMessage");
+    signVerifyByteBuffer(ByteBuffer.allocateDirect(message.length + 2), message);
+  }
+
+  private static void signVerifyByteBuffer(ByteBuffer buffer, byte[] message) {
+    KeyPair keyPair = CRYPTO_FUNCTION.generateKeyPair();
+    buffer.put((byte) 0x01)
+        .put(message)
+        .put((byte) 0x02);
+    buffer.position(1);
+    buffer.limit(1 + message.length);
+
+    byte[] signature = CRYPTO_FUNCTION.signMessage(buffer, keyPair.getPrivateKey());
+
+    assertTrue(CRYPTO_FUNCTION.verify(message, signature, keyPair.getPublicKey()));
+    assertTrue(CRYPTO_FUNCTION.verify(buffer, signature, keyPair.getPublicKey()));
+    assertThat(buffer.position(), equalTo(1));
+    assertThat(buffer.limit(), equalTo(1 + message.length));
+  }
 }
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.crypto;
+
+import static com.exonum.binding.test.Bytes.bytes;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PublicKeyTest {
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 31, 32, 33, 64})
+  void toBytes(int size) {
+    byte[] bytes = keyBytes(size);
+    PublicKey key = PublicKey.fromBytes(bytes);
+
+    assertThat(key.size(), equalTo(size));
+    assertThat(key.toBytes(), equalTo(bytes));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 31, 32, 33, 64})
+  void writeBytesTo(int size) {
+    byte[] bytes = keyBytes(size);
+    PublicKey key = PublicKey.fromBytes(bytes);
+    byte[] dest = new byte[size + 2];
+
+    int written = key.writeBytesTo(dest, 1);
+
+    assertThat(written, equalTo(size));
+    assertThat(Arrays.copyOfRange(dest, 1, size + 1), equalTo(bytes));
+    assertThat(dest[0], equalTo((byte) 0));
+    assertThat(dest[size + 1], equalTo((byte) 0));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 31, 64})
+  void toBytesNoCopyReturnsKeyArray(int size) {
+    byte[] bytes = keyBytes(size);
+    PublicKey key = PublicKey.fromBytesNoCopy(bytes);
+
+    assertThat(key.toBytesNoCopy(), sameInstance(bytes));
+  }
+
+  @Test
+  void fromBytesNoCopyDoesNotKeep256BitKeyArray() {
+    byte[] bytes = keyBytes(32);
+    PublicKey key = PublicKey.fromBytesNoCopy(bytes);
+
+    bytes[0]++;
+
+    assertThat(key.toBytes(), equalTo(keyBytes(32)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 32, 64})
+  void writeBytesToRejectsSmallArray(int size) {
+    PublicKey key = PublicKey.fromBytes(keyBytes(size));
+    byte[] dest = new byte[size];
+
+    assertThrows(IndexOutOfBoundsException.class, () -> key.writeBytesTo(dest, 1));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 32, 64})
+  void fromBytesCopiesArray(int size) {
+    byte[] bytes = keyBytes(size);
+    PublicKey key = PublicKey.fromBytes(bytes);
+
+    bytes[0]++;
+
+    assertThat(key.toBytes(), equalTo(keyBytes(size)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 32, 64})
+  void toStringIsHex(int size) {
+    byte[] bytes = keyBytes(size);
+    PublicKey key = PublicKey.fromBytes(bytes);
+
+    assertThat(key.toString(), equalTo(CryptoUtils.byteArrayToHex(bytes)));
+    assertThat(PublicKey.fromHexString(key.toString()), equalTo(key));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 7, 8, 15, 31})
+  void compareTo256BitKeys(int differentByte) {
+    byte[] bytes = keyBytes(32);
+    PublicKey key = PublicKey.fromBytes(bytes);
+    // Set the most significant bit, so that the byte is greater when compared as unsigned
+    bytes[differentByte] = (byte) 0x80;
+    PublicKey greaterKey = PublicKey.fromBytes(bytes);
+
+    assertThat(key.compareTo(greaterKey), lessThan(0));
+    assertThat(greaterKey.compareTo(key), greaterThan(0));
+    assertThat(key.compareTo(PublicKey.fromBytes(keyBytes(32))), equalTo(0));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 31, 33})
+  void compareToKeysOfDifferentSizes(int size) {
+    PublicKey key = PublicKey.fromBytes(keyBytes(32));
+    PublicKey otherKey = PublicKey.fromBytes(keyBytes(size));
+
+    assertThat(Integer.signum(key.compareTo(otherKey)), equalTo(Integer.compare(32, size)));
+    assertThat(Integer.signum(otherKey.compareTo(key)), equalTo(Integer.compare(size, 32)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 32})
+  void compareToUnsignedBytes(int size) {
+    byte[] bytes = new byte[size];
+    PublicKey key = PublicKey.fromBytes(bytes);
+    bytes[0] = (byte) 0xFF;
+    PublicKey greaterKey = PublicKey.fromBytes(bytes);
+
+    assertThat(key.compareTo(greaterKey), lessThan(0));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 32, 64})
+  void equalKeysHaveEqualHashCodes(int size) {
+    PublicKey key1 = PublicKey.fromBytes(keyBytes(size));
+    PublicKey key2 = PublicKey.fromBytes(keyBytes(size));
+
+    assertThat(key1, equalTo(key2));
+    assertThat(key1.hashCode(), equalTo(key2.hashCode()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 32, 64})
+  void keysAreNotEqualToPrivateKeys(int size) {
+    PublicKey publicKey = PublicKey.fromBytes(keyBytes(size));
+    PrivateKey privateKey = PrivateKey.fromBytes(keyBytes(size));
+
+    assertThat(publicKey.equals(privateKey), equalTo(false));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 32, 64})
+  void fromBytesRange(int size) {
+    byte[] bytes = keyBytes(size + 2);
+    PublicKey key = PublicKey.fromBytes(bytes, 1, size);
+
+    assertThat(key, equalTo(PublicKey.fromBytes(Arrays.copyOfRange(bytes, 1, size + 1))));
+
+    bytes[1] = 0;
+    assertThat(key.toBytes()[0], equalTo((byte) 2));
+  }
+
+  @Test
+  void fromBytesRangeOutOfBounds() {
+    assertThrows(IndexOutOfBoundsException.class, () -> PublicKey.fromBytes(bytes(1, 2), 1, 2));
+  }
+
+  @Test
+  void fromBytesRejectsEmpty() {
+    assertThrows(IllegalArgumentException.class, () -> PublicKey.fromBytes(bytes()));
+  }
+
+  private static byte[] keyBytes(int size) {
+    byte[] bytes = new byte[size];
+    for (int i = 0; i < size; i++) {
+      bytes[i] = (byte) (i + 1);
+    }
+    return bytes;
+  }
+}
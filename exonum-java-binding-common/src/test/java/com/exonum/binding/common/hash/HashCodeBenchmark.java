@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.hash;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the conversions of 256-bit hash codes to and from byte arrays and hexadecimal strings.
+ *
+ * <p>See {@link HashFunctionBenchmark} on how to run the benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashCodeBenchmark {
+
+  private HashCode hash;
+
+  private HashCode equalHash;
+
+  private byte[] bytes;
+
+  private String hex;
+
+  private byte[] dest;
+
+  /**
+   * Creates a random hash code and its representations.
+   */
+  @Setup
+  public void setUp() {
+    bytes = new byte[Hashing.DEFAULT_HASH_SIZE_BYTES];
+    new Random(1).nextBytes(bytes);
+    hash = HashCode.fromBytes(bytes);
+    equalHash = HashCode.fromBytes(bytes);
+    hex = hash.toString();
+    dest = new byte[Hashing.DEFAULT_HASH_SIZE_BYTES];
+  }
+
+  @Benchmark
+  public HashCode fromBytes() {
+    return HashCode.fromBytes(bytes);
+  }
+
+  @Benchmark
+  public byte[] asBytes() {
+    return hash.asBytes();
+  }
+
+  @Benchmark
+  public byte[] writeBytesTo() {
+    hash.writeBytesTo(dest, 0, dest.length);
+    return dest;
+  }
+
+  @Benchmark
+  public HashCode fromString() {
+    return HashCode.fromString(hex);
+  }
+
+  @Benchmark
+  public String toHexString() {
+    return hash.toString();
+  }
+
+  @Benchmark
+  public boolean equalsEqualHash() {
+    return hash.equals(equalHash);
+  }
+}
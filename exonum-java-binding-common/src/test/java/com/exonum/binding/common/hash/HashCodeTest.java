@@ -90,7 +90,21 @@ class HashCodeTest {
               },
               0x00abcdef,
               0x0000000000abcdefL,
-              "efcdab0000000000"));
+              "efcdab0000000000"),
+          new ExpectedHashCode(
+              new byte[]{
+                  (byte) 0xef, (byte) 0xcd, (byte) 0xab, (byte) 0x89,
+                  (byte) 0x67, (byte) 0x45, (byte) 0x23, (byte) 0x01,
+                  (byte) 0x01, (byte) 0x02, (byte) 0x03, (byte) 0x04,
+                  (byte) 0x05, (byte) 0x06, (byte) 0x07, (byte) 0x08,
+                  (byte) 0x11, (byte) 0x12, (byte) 0x13, (byte) 0x14,
+                  (byte) 0x15, (byte) 0x16, (byte) 0x17, (byte) 0x18,
+                  (byte) 0x80, (byte) 0x90, (byte) 0xa0, (byte) 0xb0,
+                  (byte) 0xc0, (byte) 0xd0, (byte) 0xe0, (byte) 0xff
+              },
+              0x89abcdef,
+              0x0123456789abcdefL,
+              "efcdab8967452301010203040506070811121314151617188090a0b0c0d0e0ff"));
 
   // expectedHashCodes must contain at least one hash code with 4 bytes
   @Test
@@ -138,6 +152,50 @@ class HashCodeTest {
     assertEquals(expectedToString, hashCode.toString());
   }
 
+  @Test
+  void testFromBytesRange() {
+    for (ExpectedHashCode expected : expectedHashCodes) {
+      byte[] bytes = new byte[expected.bytes.length + 2];
+      System.arraycopy(expected.bytes, 0, bytes, 1, expected.bytes.length);
+      HashCode fromBytes = HashCode.fromBytes(bytes, 1, expected.bytes.length);
+      assertExpectedHashCode(expected, fromBytes);
+    }
+  }
+
+  @Test
+  void testFromBytesRange_256Bits() {
+    byte[] bytes = new byte[34];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) i;
+    }
+    HashCode hashCode = HashCode.fromBytes(bytes, 1, 32);
+
+    assertTrue(Arrays.equals(Arrays.copyOfRange(bytes, 1, 33), hashCode.asBytes()));
+    assertEquals(HashCode.fromBytes(Arrays.copyOfRange(bytes, 1, 33)), hashCode);
+  }
+
+  @Test
+  void testFromBytesRange_copyOccurs() {
+    byte[] bytes = new byte[]{(byte) 0xcd, (byte) 0xab, (byte) 0x00, (byte) 0x00};
+    HashCode hashCode = HashCode.fromBytes(bytes, 0, bytes.length);
+
+    bytes[0] = (byte) 0x00;
+
+    assertEquals(0x0000abcd, hashCode.asInt());
+  }
+
+  @Test
+  void testFromBytesRange_outOfBounds() {
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> HashCode.fromBytes(new byte[4], 2, 3));
+  }
+
+  @Test
+  void testFromBytesRange_empty() {
+    assertThrows(IllegalArgumentException.class,
+        () -> HashCode.fromBytes(new byte[4], 2, 0));
+  }
+
   @Test
   void testFromBytesNoCopy_noCopyOccurs() {
     byte[] bytes = new byte[]{(byte) 0xcd, (byte) 0xab, (byte) 0x00, (byte) 0x00};
@@ -195,6 +253,81 @@ class HashCodeTest {
     return bytez;
   }
 
+  @Test
+  void test256BitHashCodesEqual() {
+    byte[] bytes = bytes256(0x1f);
+    HashCode hash1 = HashCode.fromBytes(bytes);
+    HashCode hash2 = HashCode.fromBytes(bytes);
+    bytes[31]++;
+    HashCode hash3 = HashCode.fromBytes(bytes);
+
+    assertEquals(hash1, hash2);
+    assertEquals(hash1.hashCode(), hash2.hashCode());
+    assertFalse(hash1.equals(hash3));
+    assertFalse(hash1.equals(HashCode.fromBytes(Arrays.copyOf(bytes, 31))));
+  }
+
+  @Test
+  void test256BitHashCodeDoesNotShareArray() {
+    byte[] bytes = bytes256(0x1f);
+    HashCode hash = HashCode.fromBytesNoCopy(bytes);
+
+    bytes[0] = 0;
+
+    assertEquals(0x1f, hash.asBytes()[0]);
+  }
+
+  @Test
+  void testCompareTo() {
+    HashCode hash = HashCode.fromBytes(bytes256(0x10));
+    byte[] greaterBytes = bytes256(0x10);
+    greaterBytes[31] = (byte) 0x80;
+    HashCode greaterHash = HashCode.fromBytes(greaterBytes);
+    byte[] lesserBytes = bytes256(0x10);
+    lesserBytes[8] = 0x0f;
+    HashCode lesserHash = HashCode.fromBytes(lesserBytes);
+
+    assertEquals(0, hash.compareTo(HashCode.fromBytes(bytes256(0x10))));
+    assertTrue(hash.compareTo(greaterHash) < 0);
+    assertTrue(greaterHash.compareTo(hash) > 0);
+    assertTrue(hash.compareTo(lesserHash) > 0);
+    assertTrue(lesserHash.compareTo(hash) < 0);
+  }
+
+  @Test
+  void testCompareToDifferentSizes() {
+    HashCode hash = HashCode.fromBytes(bytes256(0x10));
+    HashCode prefix = HashCode.fromBytes(Arrays.copyOf(bytes256(0x10), 16));
+    HashCode greaterPrefix = HashCode.fromBytes(new byte[] {0x11});
+
+    assertTrue(prefix.compareTo(hash) < 0);
+    assertTrue(hash.compareTo(prefix) > 0);
+    assertTrue(hash.compareTo(greaterPrefix) < 0);
+    assertTrue(greaterPrefix.compareTo(hash) > 0);
+  }
+
+  @Test
+  void testHashCodeFunnelPutsBytes() {
+    HashFunction hashFunction = Hashing.sha256();
+    for (ExpectedHashCode expected : expectedHashCodes) {
+      HashCode hash = HashCode.fromBytes(expected.bytes);
+
+      HashCode actual = hashFunction.newHasher()
+          .putObject(hash, Funnels.hashCodeFunnel())
+          .hash();
+
+      assertEquals(hashFunction.hashBytes(expected.bytes), actual);
+    }
+  }
+
+  private static byte[] bytes256(int firstByte) {
+    byte[] bytes = new byte[32];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) (firstByte + i);
+    }
+    return bytes;
+  }
+
   @Test
   void testToString() {
     byte[] data = new byte[]{127, -128, 5, -1, 14};
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.hash;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the SHA-256 hash function re-using the message digests
+ * ({@link ThreadLocalDigestHashFunction}) with the one creating a new digest
+ * for each hasher ({@link MessageDigestHashFunction}), on inputs from the size of a pair
+ * of hashes, which the proofs hash most often, to 1 MiB.
+ *
+ * <p>To run the benchmark, compile the tests and launch the JMH runner:
+ * <pre>
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main \
+ *     HashFunctionBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashFunctionBenchmark {
+
+  @Param({"64", "256", "4096", "1048576"})
+  private int inputSize;
+
+  private final HashFunction messageDigestFunction =
+      new MessageDigestHashFunction("SHA-256", "MessageDigestHashFunction");
+
+  private final HashFunction threadLocalDigestFunction =
+      new ThreadLocalDigestHashFunction("SHA-256", "ThreadLocalDigestHashFunction");
+
+  private byte[] input;
+
+  private byte[] dest;
+
+  @Setup
+  public void setUp() {
+    input = new byte[inputSize];
+    new Random(1).nextBytes(input);
+    dest = new byte[Hashing.DEFAULT_HASH_SIZE_BYTES];
+  }
+
+  @Benchmark
+  public HashCode messageDigestHashBytes() {
+    return messageDigestFunction.hashBytes(input);
+  }
+
+  @Benchmark
+  public HashCode messageDigestHasher() {
+    return messageDigestFunction.newHasher()
+        .putBytes(input)
+        .hash();
+  }
+
+  @Benchmark
+  public HashCode threadLocalDigestHashBytes() {
+    return threadLocalDigestFunction.hashBytes(input);
+  }
+
+  @Benchmark
+  public HashCode threadLocalDigestHasher() {
+    return threadLocalDigestFunction.newHasher()
+        .putBytes(input)
+        .hash();
+  }
+
+  @Benchmark
+  public byte[] threadLocalDigestHashBytesTo() {
+    threadLocalDigestFunction.hashBytesTo(input, 0, input.length, dest, 0);
+    return dest;
+  }
+}
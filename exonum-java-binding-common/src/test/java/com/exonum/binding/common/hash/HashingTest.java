@@ -36,7 +36,10 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -73,6 +76,20 @@ class HashingTest {
     assertEquals("Hashing.sha256()", Hashing.sha256().toString());
   }
 
+  @Test
+  void testHasherAsOutputStream() throws IOException {
+    byte[] input = bytes("An input written to a stream in several chunks");
+    Hasher hasher = Hashing.defaultHashFunction().newHasher();
+
+    try (OutputStream stream = hasher.asOutputStream()) {
+      stream.write(input[0]);
+      stream.write(input, 1, 10);
+      stream.write(Arrays.copyOfRange(input, 11, input.length));
+    }
+
+    assertThat(hasher.hash(), equalTo(Hashing.defaultHashFunction().hashBytes(input)));
+  }
+
   @Test
   void testSha384() {
     HashTestUtils.checkAvalanche(Hashing.sha384(), 100, 0.4);
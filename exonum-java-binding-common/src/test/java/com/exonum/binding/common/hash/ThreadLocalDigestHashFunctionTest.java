@@ -0,0 +1,169 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.hash;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.testing.SerializableTester;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class ThreadLocalDigestHashFunctionTest {
+
+  private static final HashFunction SHA_256 =
+      new ThreadLocalDigestHashFunction("SHA-256", "sha256");
+
+  private static final HashFunction REFERENCE = new MessageDigestHashFunction("SHA-256", "ref");
+
+  @Test
+  void invariants() {
+    HashTestUtils.assertInvariants(SHA_256);
+    HashTestUtils.assertHashByteBufferMatchesBytes(SHA_256);
+    HashTestUtils.assertHashByteBufferExhaustsBuffer(SHA_256);
+  }
+
+  @Test
+  void hashBytesSameAsMessageDigest() throws Exception {
+    Random random = new Random(1);
+    for (int size : new int[] {0, 1, 64, 1000}) {
+      byte[] input = new byte[size];
+      random.nextBytes(input);
+
+      byte[] expected = MessageDigest.getInstance("SHA-256").digest(input);
+
+      assertThat(SHA_256.hashBytes(input), equalTo(HashCode.fromBytes(expected)));
+      assertThat(SHA_256.newHasher().putBytes(input).hash(), equalTo(HashCode.fromBytes(expected)));
+    }
+  }
+
+  @Test
+  void hashBytesTo() {
+    byte[] input = HashTestUtils.ascii("foobar");
+    byte[] dest = new byte[40];
+    int offset = 5;
+
+    int length = SHA_256.hashBytesTo(input, 1, 4, dest, offset);
+
+    byte[] expected = REFERENCE.hashBytes(input, 1, 4).asBytes();
+    assertThat(length, equalTo(expected.length));
+    assertThat(Arrays.copyOfRange(dest, offset, offset + length), equalTo(expected));
+  }
+
+  @Test
+  void hashBytesToThrowsIfNoRoomInDest() {
+    byte[] input = HashTestUtils.ascii("foobar");
+    byte[] dest = new byte[32];
+
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> SHA_256.hashBytesTo(input, 0, input.length, dest, 1));
+  }
+
+  @Test
+  void hasherHashTo() {
+    byte[] dest = new byte[32];
+
+    int length = SHA_256.newHasher()
+        .putLong(1L)
+        .hashTo(dest, 0);
+
+    assertThat(length, equalTo(32));
+    assertThat(dest, equalTo(REFERENCE.hashLong(1L).asBytes()));
+  }
+
+  @Test
+  void hasherHashToThrowsIfNoRoomInDest() {
+    Hasher hasher = SHA_256.newHasher();
+    byte[] dest = new byte[31];
+
+    assertThrows(IndexOutOfBoundsException.class, () -> hasher.hashTo(dest, 0));
+  }
+
+  @Test
+  void hasherThrowsIfUsedAfterHashTo() {
+    Hasher hasher = SHA_256.newHasher();
+    hasher.hashTo(new byte[32], 0);
+
+    assertThrows(IllegalStateException.class, () -> hasher.putInt(1));
+    assertThrows(IllegalStateException.class, hasher::hash);
+  }
+
+  @Test
+  void nestedHashers() {
+    Funnel<Long> nestedFunnel = (from, into) -> into.putBytes(SHA_256.hashLong(from).asBytes());
+
+    HashCode hash = SHA_256.newHasher()
+        .putObject(2L, nestedFunnel)
+        .putObject(3L, nestedFunnel)
+        .hash();
+
+    HashCode expected = REFERENCE.newHasher()
+        .putBytes(REFERENCE.hashLong(2L).asBytes())
+        .putBytes(REFERENCE.hashLong(3L).asBytes())
+        .hash();
+    assertThat(hash, equalTo(expected));
+  }
+
+  @Test
+  void abandonedHashersDoNotAffectOthers() {
+    for (int i = 0; i < 10; i++) {
+      SHA_256.newHasher().putInt(i);
+    }
+
+    assertThat(SHA_256.hashInt(1), equalTo(REFERENCE.hashInt(1)));
+  }
+
+  @Test
+  void concurrentHashing() throws Exception {
+    int numThreads = 4;
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    try {
+      Future<?>[] results = new Future<?>[numThreads];
+      for (int t = 0; t < numThreads; t++) {
+        results[t] = executor.submit(() -> {
+          for (long i = 0; i < 1000; i++) {
+            assertThat(SHA_256.hashLong(i), equalTo(REFERENCE.hashLong(i)));
+          }
+        });
+      }
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void serialization() {
+    HashFunction deserialized = SerializableTester.reserialize(SHA_256);
+
+    assertThat(deserialized.toString(), equalTo(SHA_256.toString()));
+    assertThat(deserialized.hashInt(1), equalTo(REFERENCE.hashInt(1)));
+  }
+
+  @Test
+  void bits() {
+    assertThat(SHA_256.bits(), equalTo(256));
+  }
+}
@@ -22,6 +22,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -35,6 +36,7 @@ import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.hash.Hashing;
 import com.exonum.binding.test.Bytes;
+import java.nio.ByteBuffer;
 import org.junit.jupiter.api.Test;
 
 class BinaryMessageTest {
@@ -82,7 +84,8 @@ class BinaryMessageTest {
 
     PublicKey publicKey = PublicKey.fromHexString("ab");
     CryptoFunction cf = mock(CryptoFunction.class);
-    when(cf.verify(eq(message.getMessageNoSignature()), eq(message.getSignature()), eq(publicKey)))
+    when(cf.verify(eq(message.getMessageNoSignatureView()), eq(message.getSignature()),
+        eq(publicKey)))
         .thenReturn(true);
 
     assertTrue(message.verify(cf, publicKey));
@@ -96,7 +99,8 @@ class BinaryMessageTest {
 
     PublicKey publicKey = PublicKey.fromHexString("ab");
     CryptoFunction cf = mock(CryptoFunction.class);
-    when(cf.verify(eq(message.getMessageNoSignature()), eq(message.getSignature()), eq(publicKey)))
+    when(cf.verify(eq(message.getMessageNoSignatureView()), eq(message.getSignature()),
+        eq(publicKey)))
         .thenReturn(false);
 
     assertFalse(message.verify(cf, publicKey));
@@ -113,13 +117,26 @@ class BinaryMessageTest {
 
     PrivateKey privateKey = PrivateKey.fromHexString("cd");
     CryptoFunction cf = mock(CryptoFunction.class);
-    when(cf.signMessage(eq(unsignedMessage.getMessageNoSignature()), eq(privateKey)))
+    byte[] messageNoSignature = unsignedMessage.getMessageNoSignature();
+    when(cf.signMessage(any(byte[].class), eq(0), eq(messageNoSignature.length), eq(privateKey)))
         .thenReturn(expectedSignature);
 
     BinaryMessage signedMessage = unsignedMessage.sign(cf, privateKey);
 
     assertThat(signedMessage.getSignature(), equalTo(expectedSignature));
-    verify(cf).signMessage(any(), any());
+    assertThat(signedMessage.getMessageNoSignature(), equalTo(messageNoSignature));
+    verify(cf).signMessage(any(byte[].class), anyInt(), anyInt(), any());
+  }
+
+  @Test
+  void getMessageNoSignatureView() {
+    BinaryMessage message = new Message.Builder()
+        .mergeFrom(MESSAGE_TEMPLATE)
+        .buildRaw();
+
+    ByteBuffer messageView = message.getMessageNoSignatureView();
+
+    assertThat(messageView, equalTo(ByteBuffer.wrap(message.getMessageNoSignature())));
   }
 
   @Test
@@ -135,4 +152,21 @@ class BinaryMessageTest {
 
     assertTrue(signedMessage.verify(cf, keyPair.getPublicKey()));
   }
+
+  @Test
+  void verifyDetectsModifiedBody() {
+    CryptoFunction cf = CryptoFunctions.ed25519();
+    KeyPair keyPair = cf.generateKeyPair();
+
+    BinaryMessage signedMessage = new Message.Builder()
+        .mergeFrom(MESSAGE_TEMPLATE)
+        .buildRaw()
+        .sign(cf, keyPair.getPrivateKey());
+
+    ByteBuffer signedBytes = signedMessage.getSignedMessage();
+    signedBytes.put(Message.BODY_OFFSET, (byte) 0x01);
+    BinaryMessage modifiedMessage = MessageReader.wrap(signedBytes);
+
+    assertFalse(modifiedMessage.verify(cf, keyPair.getPublicKey()));
+  }
 }
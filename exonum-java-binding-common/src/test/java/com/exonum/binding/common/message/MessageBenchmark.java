@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.message;
+
+import com.exonum.binding.common.crypto.CryptoFunction;
+import com.exonum.binding.common.crypto.CryptoFunctions;
+import com.exonum.binding.common.crypto.KeyPair;
+import com.exonum.binding.common.hash.HashCode;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the operations on binary transaction messages with bodies of the given size:
+ * reading a message from a buffer, computing its hash, signing and verifying it
+ * with the Ed25519 signature scheme.
+ *
+ * <p>See {@link com.exonum.binding.common.hash.HashFunctionBenchmark} on how to run
+ * the benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageBenchmark {
+
+  private static final CryptoFunction CRYPTO_FUNCTION = CryptoFunctions.ed25519();
+
+  @Param({"64", "1024"})
+  private int bodySize;
+
+  private KeyPair keyPair;
+
+  private BinaryMessage unsignedMessage;
+
+  private BinaryMessage signedMessage;
+
+  private byte[] signedMessageBytes;
+
+  /**
+   * Creates a message with a random body, and signs it with a key pair from a fixed seed.
+   */
+  @Setup
+  public void setUp() {
+    Random random = new Random(1);
+    byte[] seed = new byte[32];
+    random.nextBytes(seed);
+    keyPair = CRYPTO_FUNCTION.generateKeyPair(seed);
+
+    byte[] body = new byte[bodySize];
+    random.nextBytes(body);
+    unsignedMessage = new Message.Builder()
+        .setNetworkId((byte) 0)
+        .setVersion((byte) 0)
+        .setServiceId((short) 1)
+        .setMessageType((short) 2)
+        .setBody(body)
+        .setSignature(new byte[Message.SIGNATURE_SIZE])
+        .buildRaw();
+    signedMessage = unsignedMessage.sign(CRYPTO_FUNCTION, keyPair.getPrivateKey());
+    ByteBuffer signedMessageBuffer = signedMessage.getSignedMessage();
+    signedMessageBytes = new byte[signedMessageBuffer.remaining()];
+    signedMessageBuffer.get(signedMessageBytes);
+  }
+
+  /**
+   * Wraps the bytes of a message received from the network, e.g., in a request.
+   */
+  @Benchmark
+  public BinaryMessage wrap() {
+    return MessageReader.wrap(ByteBuffer.wrap(signedMessageBytes));
+  }
+
+  /**
+   * Wraps the bytes of a message and computes its hash, which is not cached yet.
+   */
+  @Benchmark
+  public HashCode wrapAndHash() {
+    return MessageReader.wrap(ByteBuffer.wrap(signedMessageBytes))
+        .hash();
+  }
+
+  @Benchmark
+  public BinaryMessage sign() {
+    return unsignedMessage.sign(CRYPTO_FUNCTION, keyPair.getPrivateKey());
+  }
+
+  @Benchmark
+  public boolean verify() {
+    return signedMessage.verify(CRYPTO_FUNCTION, keyPair.getPublicKey());
+  }
+}
@@ -28,10 +28,13 @@ import static com.exonum.binding.common.message.MessageReader.MIN_MESSAGE_BUFFER
 import static com.exonum.binding.test.Bytes.bytes;
 import static com.exonum.binding.test.Bytes.createPrefixed;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.Hashing;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import org.junit.jupiter.api.Test;
@@ -229,6 +232,39 @@ class MessageReaderTest {
     assertThat(m.size(), equalTo(bufferSize));
   }
 
+  @Test
+  void hashIsCached() {
+    ByteBuffer buf = allocateMessageBuffer(MIN_MESSAGE_BUFFER_SIZE);
+
+    MessageReader m = MessageReader.wrap(buf);
+
+    HashCode hash = m.hash();
+    assertThat(hash, equalTo(Hashing.defaultHashFunction().hashBytes(buf)));
+    assertThat(m.hash(), sameInstance(hash));
+  }
+
+  @Test
+  void wrapWithHash() {
+    ByteBuffer buf = allocateMessageBuffer(MIN_MESSAGE_BUFFER_SIZE);
+    HashCode hash = HashCode.fromBytes(createPrefixed(bytes(0x01),
+        Hashing.DEFAULT_HASH_SIZE_BYTES));
+
+    MessageReader m = MessageReader.wrap(buf, hash);
+
+    assertThat(m.hash(), sameInstance(hash));
+  }
+
+  @Test
+  void wrapWithHashThrowsIfHashHasInvalidSize() {
+    ByteBuffer buf = allocateMessageBuffer(MIN_MESSAGE_BUFFER_SIZE);
+    HashCode hash = HashCode.fromBytes(bytes(0x01, 0x02));
+
+    IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+        () -> MessageReader.wrap(buf, hash));
+    assertEquals("The message hash has invalid size (16 bits), must be 256 bits",
+        thrown.getMessage());
+  }
+
   /**
    * Allocates a byte buffer of the given size and sets its "payload_length" field.
    */
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BatchVerificationReportTest {
+
+  private static final List<String> RESULTS = Arrays.asList("r0", "r1", "r2", "r3");
+
+  @Test
+  void constructorRejectsValidIndexOutOfRange() {
+    BitSet valid = new BitSet();
+    valid.set(RESULTS.size());
+
+    assertThrows(IllegalArgumentException.class,
+        () -> new BatchVerificationReport<>(RESULTS, valid));
+  }
+
+  @Test
+  void reportWithInvalidProofs() {
+    BitSet valid = new BitSet();
+    valid.set(0);
+    valid.set(2);
+
+    BatchVerificationReport<String> report = new BatchVerificationReport<>(RESULTS, valid);
+
+    assertThat(report.size(), equalTo(4));
+    assertTrue(report.isValid(0));
+    assertFalse(report.isValid(1));
+    assertFalse(report.allValid());
+    assertThat(report.getNumValid(), equalTo(2));
+    assertThat(report.getInvalidIndices(), equalTo(new int[] {1, 3}));
+    assertThat(report.getResult(3), equalTo("r3"));
+  }
+
+  @Test
+  void reportWithAllValidProofs() {
+    BitSet valid = new BitSet();
+    valid.set(0, RESULTS.size());
+
+    BatchVerificationReport<String> report = new BatchVerificationReport<>(RESULTS, valid);
+
+    assertTrue(report.allValid());
+    assertThat(report.getInvalidIndices(), equalTo(new int[0]));
+    assertThat(report.getResults(), equalTo(RESULTS));
+  }
+
+  @Test
+  void reportIsNotAffectedByChangesOfValidSet() {
+    BitSet valid = new BitSet();
+    BatchVerificationReport<String> report = new BatchVerificationReport<>(RESULTS, valid);
+
+    valid.set(0);
+
+    assertFalse(report.isValid(0));
+  }
+
+  @Test
+  void isValidRejectsIndexOutOfRange() {
+    BatchVerificationReport<String> report = new BatchVerificationReport<>(RESULTS, new BitSet());
+
+    assertThrows(IndexOutOfBoundsException.class, () -> report.isValid(-1));
+    assertThrows(IndexOutOfBoundsException.class, () -> report.isValid(RESULTS.size()));
+  }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.common.proofs.list.FlatListProof;
+import com.exonum.binding.common.proofs.map.DbKey;
+import com.exonum.binding.common.proofs.map.flat.CheckedMapProof;
+import com.exonum.binding.common.proofs.map.flat.MapEntry;
+import com.exonum.binding.common.proofs.map.flat.MapProofEntry;
+import com.exonum.binding.common.proofs.map.flat.ProofStatus;
+import com.exonum.binding.common.proofs.map.flat.UncheckedFlatMapProof;
+import com.exonum.binding.common.proofs.map.flat.UncheckedMapProof;
+import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ProofCodecTest {
+
+  private static final int HASH_SIZE = Hashing.DEFAULT_HASH_SIZE_BYTES;
+
+  private final Random random = new Random(17);
+
+  @Test
+  void encodeDecodeMapProof() {
+    UncheckedFlatMapProof proof = mapProof();
+
+    byte[] encoded = ProofCodec.encode(proof);
+
+    assertThat(encoded.length, equalTo(ProofCodec.getEncodedSize(proof)));
+    assertThat(encoded[0], equalTo(ProofCodec.VERSION));
+    assertThat(encoded[1], equalTo(ProofCodec.MAP_PROOF));
+    assertMapProofEquals(ProofCodec.decodeMapProof(encoded), proof);
+  }
+
+  @Test
+  void encodeDecodeMapProofWithSingleEntry() {
+    byte[] key = bytes(DbKey.KEY_SIZE);
+    UncheckedMapProof proof = new UncheckedFlatMapProof(Collections.emptyList(),
+        ImmutableList.of(new MapEntry(key, bytes(10))), Collections.emptyList());
+
+    UncheckedMapProof decoded = ProofCodec.decodeMapProof(ProofCodec.encode(proof));
+
+    CheckedMapProof expected = proof.check();
+    CheckedMapProof actual = decoded.check();
+    assertThat(actual.getStatus(), equalTo(ProofStatus.CORRECT));
+    assertThat(actual.getRootHash(), equalTo(expected.getRootHash()));
+    assertArrayEquals(expected.get(key), actual.get(key));
+  }
+
+  @Test
+  void encodeDecodeMapProofWithStreams() throws IOException {
+    UncheckedFlatMapProof proof = mapProof();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ProofCodec.encode(proof, out);
+    // Another proof follows in the stream
+    ProofCodec.encode(proof, out);
+
+    InputStream in = new ByteArrayInputStream(out.toByteArray());
+    assertMapProofEquals(ProofCodec.decodeMapProof(in), proof);
+    assertMapProofEquals(ProofCodec.decodeMapProof(in), proof);
+    assertThat(in.read(), equalTo(-1));
+  }
+
+  @Test
+  void encodeMapProofWithLargeEntriesToStream() throws IOException {
+    // Entries larger than the buffer of the stream encoder
+    UncheckedFlatMapProof proof = new UncheckedFlatMapProof(Collections.emptyList(),
+        ImmutableList.of(new MapEntry(bytes(DbKey.KEY_SIZE), bytes(10_000)),
+            new MapEntry(bytes(DbKey.KEY_SIZE), bytes(5_000))),
+        Collections.emptyList());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    ProofCodec.encode(proof, out);
+
+    assertArrayEquals(ProofCodec.encode(proof), out.toByteArray());
+  }
+
+  @Test
+  void encodeDecodeMapProofWithByteBuffers() {
+    UncheckedFlatMapProof proof = mapProof();
+    int size = ProofCodec.getEncodedSize(proof);
+    ByteBuffer buffer = ByteBuffer.allocate(size + 2);
+    buffer.put((byte) 1);
+
+    ProofCodec.encode(proof, buffer);
+
+    assertThat(buffer.position(), equalTo(size + 1));
+    buffer.flip();
+    buffer.get();
+    assertMapProofEquals(ProofCodec.decodeMapProof(buffer), proof);
+    assertThat(buffer.remaining(), equalTo(0));
+  }
+
+  @Test
+  void encodeMapProofToDirectBuffer() {
+    UncheckedFlatMapProof proof = mapProof();
+    ByteBuffer buffer = ByteBuffer.allocateDirect(ProofCodec.getEncodedSize(proof));
+
+    ProofCodec.encode(proof, buffer);
+
+    buffer.flip();
+    assertArrayEquals(ProofCodec.encode(proof), getBytes(buffer));
+  }
+
+  @Test
+  void encodeMapProofToBufferSlice() {
+    // A buffer with a non-zero offset in its array
+    UncheckedFlatMapProof proof = mapProof();
+    int size = ProofCodec.getEncodedSize(proof);
+    ByteBuffer buffer = ByteBuffer.allocate(size + 3);
+    buffer.position(3);
+    ByteBuffer slice = buffer.slice();
+
+    ProofCodec.encode(proof, slice);
+
+    slice.flip();
+    assertArrayEquals(ProofCodec.encode(proof), getBytes(slice));
+  }
+
+  @Test
+  void encodeMapProofToTooSmallBuffer() {
+    UncheckedFlatMapProof proof = mapProof();
+    ByteBuffer buffer = ByteBuffer.allocate(ProofCodec.getEncodedSize(proof) - 1);
+
+    assertThrows(BufferOverflowException.class, () -> ProofCodec.encode(proof, buffer));
+  }
+
+  @Test
+  void encodeDecodeListProof() {
+    FlatListProof proof = listProof();
+
+    byte[] encoded = ProofCodec.encode(proof);
+
+    assertThat(encoded.length, equalTo(ProofCodec.getEncodedSize(proof)));
+    assertThat(encoded[1], equalTo(ProofCodec.LIST_PROOF));
+    assertListProofEquals(ProofCodec.decodeListProof(encoded), proof);
+  }
+
+  @Test
+  void encodeDecodeListProofWithStreams() throws IOException {
+    FlatListProof proof = listProof();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    ProofCodec.encode(proof, out);
+
+    InputStream in = new ByteArrayInputStream(out.toByteArray());
+    assertListProofEquals(ProofCodec.decodeListProof(in), proof);
+  }
+
+  @Test
+  void encodeListProofWithLargeElementsToStream() throws IOException {
+    // Elements larger than the buffer of the stream encoder
+    FlatListProof proof = new FlatListProof(1, new long[] {0, 1},
+        new byte[][] {bytes(10_000), bytes(5_000)}, new int[0], new long[0], new byte[0]);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    ProofCodec.encode(proof, out);
+
+    assertArrayEquals(ProofCodec.encode(proof), out.toByteArray());
+  }
+
+  @Test
+  void encodeListProofToDirectBuffer() {
+    FlatListProof proof = listProof();
+    ByteBuffer buffer = ByteBuffer.allocateDirect(ProofCodec.getEncodedSize(proof));
+
+    ProofCodec.encode(proof, buffer);
+
+    buffer.flip();
+    assertArrayEquals(ProofCodec.encode(proof), getBytes(buffer));
+  }
+
+  @Test
+  void encodeDecodeListProofWithLargeIndices() {
+    // The elements at indices 2^40 and 2^40 + 1 of a list of 2^40 + 2 elements
+    long first = 1L << 40;
+    FlatListProof proof = new FlatListProof(41, new long[] {first, first + 1},
+        new byte[][] {bytes(3), bytes(0)}, new int[] {40, 1}, new long[] {(first >> 1) + 1, 0},
+        bytes(2 * HASH_SIZE));
+
+    FlatListProof decoded = ProofCodec.decodeListProof(ProofCodec.encode(proof));
+
+    assertListProofEquals(decoded, proof);
+  }
+
+  @Test
+  void decodeRejectsUnsupportedVersion() {
+    byte[] encoded = ProofCodec.encode(listProof());
+    encoded[0] = 2;
+
+    assertThrows(IllegalArgumentException.class, () -> ProofCodec.decodeListProof(encoded));
+  }
+
+  @Test
+  void decodeRejectsOtherProofType() {
+    byte[] encoded = ProofCodec.encode(listProof());
+
+    assertThrows(IllegalArgumentException.class, () -> ProofCodec.decodeMapProof(encoded));
+  }
+
+  @Test
+  void decodeRejectsTruncatedProof() {
+    byte[] encoded = ProofCodec.encode(mapProof());
+
+    for (int size = 0; size < encoded.length; size++) {
+      byte[] truncated = Arrays.copyOf(encoded, size);
+      assertThrows(IllegalArgumentException.class, () -> ProofCodec.decodeMapProof(truncated));
+    }
+  }
+
+  @Test
+  void decodeRejectsTruncatedStream() {
+    byte[] encoded = ProofCodec.encode(listProof());
+    InputStream in = new ByteArrayInputStream(Arrays.copyOf(encoded, encoded.length - 1));
+
+    assertThrows(EOFException.class, () -> ProofCodec.decodeListProof(in));
+  }
+
+  @Test
+  void decodeRejectsTrailingBytes() {
+    byte[] encoded = ProofCodec.encode(listProof());
+    byte[] withTrailingByte = Arrays.copyOf(encoded, encoded.length + 1);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> ProofCodec.decodeListProof(withTrailingByte));
+  }
+
+  @Test
+  void decodeRejectsHugeNumberOfEntries() {
+    byte[] encoded = {
+        ProofCodec.VERSION, ProofCodec.MAP_PROOF,
+        6, // the body size
+        (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, // the number of proof entries
+        0
+    };
+
+    assertThrows(IllegalArgumentException.class, () -> ProofCodec.decodeMapProof(encoded));
+  }
+
+  @Test
+  void decodeRejectsInvalidListProofStructure() {
+    FlatListProof proof = listProof();
+    byte[] encoded = ProofCodec.encode(proof);
+    // The height follows the header and the body size, which takes two bytes
+    assertThat(ProofCodec.getEncodedSize(proof) - 4, equalTo(encoded[2] & 0x7F | encoded[3] << 7));
+    encoded[4] = 1;
+
+    assertThrows(IllegalArgumentException.class, () -> ProofCodec.decodeListProof(encoded));
+  }
+
+  private UncheckedFlatMapProof mapProof() {
+    List<MapProofEntry> proofList = ImmutableList.of(
+        new MapProofEntry(DbKey.newLeafKey(bytes(DbKey.KEY_SIZE)), hash()),
+        new MapProofEntry(DbKey.fromBytes(branchKey(10)), hash()));
+    List<MapEntry> entries = ImmutableList.of(
+        new MapEntry(bytes(DbKey.KEY_SIZE), bytes(200)),
+        new MapEntry(bytes(DbKey.KEY_SIZE), bytes(0)));
+    List<byte[]> missingKeys = ImmutableList.of(bytes(DbKey.KEY_SIZE));
+    return new UncheckedFlatMapProof(proofList, entries, missingKeys);
+  }
+
+  private byte[] branchKey(int numSignificantBits) {
+    byte[] key = new byte[DbKey.DB_KEY_SIZE];
+    key[0] = DbKey.Type.BRANCH.code;
+    key[1] = (byte) random.nextInt(4);
+    key[DbKey.DB_KEY_SIZE - 1] = (byte) numSignificantBits;
+    return key;
+  }
+
+  /**
+   * Returns a proof of the elements 1–3 of a list of 6 elements.
+   */
+  private FlatListProof listProof() {
+    return new FlatListProof(3, new long[] {1, 2, 3},
+        new byte[][] {bytes(1), bytes(2), bytes(130)},
+        new int[] {3, 2}, new long[] {0, 2}, bytes(2 * HASH_SIZE));
+  }
+
+  private HashCode hash() {
+    return HashCode.fromBytes(bytes(HASH_SIZE));
+  }
+
+  private byte[] bytes(int size) {
+    byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+
+  private static byte[] getBytes(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private static void assertMapProofEquals(UncheckedMapProof actual,
+      UncheckedFlatMapProof expected) {
+    UncheckedFlatMapProof actualProof = (UncheckedFlatMapProof) actual;
+    List<MapProofEntry> actualProofList = actualProof.getProofList();
+    List<MapProofEntry> expectedProofList = expected.getProofList();
+    assertThat(actualProofList.size(), equalTo(expectedProofList.size()));
+    for (int i = 0; i < expectedProofList.size(); i++) {
+      assertThat(actualProofList.get(i).getDbKey(),
+          equalTo(expectedProofList.get(i).getDbKey()));
+      assertThat(actualProofList.get(i).getHash(), equalTo(expectedProofList.get(i).getHash()));
+    }
+    assertThat(actualProof.getEntries(), equalTo(expected.getEntries()));
+    assertArrayEquals(expected.getMissingKeys().toArray(),
+        actualProof.getMissingKeys().toArray());
+  }
+
+  private static void assertListProofEquals(FlatListProof actual, FlatListProof expected) {
+    assertThat(actual.getHeight(), equalTo(expected.getHeight()));
+    assertArrayEquals(expected.getElementIndices(), actual.getElementIndices());
+    for (int i = 0; i < expected.size(); i++) {
+      assertArrayEquals(expected.getElement(i), actual.getElement(i));
+    }
+    assertArrayEquals(expected.getHashNodeDepths(), actual.getHashNodeDepths());
+    assertArrayEquals(expected.getHashNodeIndices(), actual.getHashNodeIndices());
+    for (int i = 0; i < expected.getNumHashNodes(); i++) {
+      assertThat(actual.getHashNodeHash(i), equalTo(expected.getHashNodeHash(i)));
+    }
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs.list;
+
+import static com.exonum.binding.common.proofs.list.FlatListProofTestUtils.SERIALIZER;
+import static com.exonum.binding.common.proofs.list.FlatListProofTestUtils.rangeProof;
+import static com.exonum.binding.common.proofs.list.FlatListProofTestUtils.rootHash;
+import static com.google.common.collect.ImmutableMap.of;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.Hashing;
+import com.google.common.collect.ImmutableList;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FlatListProofTest {
+
+  private static final List<String> LIST = ImmutableList.of("v1", "v2", "v3");
+
+  private static final byte[] ELEMENT = SERIALIZER.toBytes("v1");
+
+  private static final int HASH_SIZE = Hashing.DEFAULT_HASH_SIZE_BYTES;
+
+  @Test
+  void constructorRejectsNoElements() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new FlatListProof(0, new long[0], new byte[0][], new int[0], new long[0],
+            new byte[0]));
+  }
+
+  @Test
+  void constructorRejectsElementIndexOutOfRange() {
+    assertThrows(IllegalArgumentException.class,
+        () -> proofOfElements(1, 2));
+  }
+
+  @Test
+  void constructorRejectsElementsInWrongOrder() {
+    assertThrows(IllegalArgumentException.class,
+        () -> proofOfElements(2, 1, 0));
+  }
+
+  @Test
+  void constructorRejectsDuplicateElements() {
+    assertThrows(IllegalArgumentException.class,
+        () -> proofOfElements(2, 1, 1));
+  }
+
+  @Test
+  void constructorRejectsHashNodeAtRoot() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new FlatListProof(1, new long[] {0}, new byte[][] {ELEMENT}, new int[] {0},
+            new long[] {0}, new byte[HASH_SIZE]));
+  }
+
+  @Test
+  void constructorRejectsHashNodesInWrongOrder() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new FlatListProof(2, new long[] {0}, new byte[][] {ELEMENT}, new int[] {1, 2},
+            new long[] {1, 1}, new byte[2 * HASH_SIZE]));
+  }
+
+  @Test
+  void constructorRejectsInvalidHashesSize() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new FlatListProof(1, new long[] {0}, new byte[][] {ELEMENT}, new int[] {1},
+            new long[] {1}, new byte[HASH_SIZE - 1]));
+  }
+
+  @Test
+  void constructorRejectsOverlappingNodes() {
+    // The hash node at (1, 0) is the parent of the element at index 0
+    assertThrows(IllegalArgumentException.class,
+        () -> new FlatListProof(2, new long[] {0}, new byte[][] {ELEMENT}, new int[] {2, 1},
+            new long[] {1, 0}, new byte[2 * HASH_SIZE]));
+  }
+
+  @Test
+  void constructorRejectsElementAndHashNodeAtSamePosition() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new FlatListProof(1, new long[] {0}, new byte[][] {ELEMENT}, new int[] {1},
+            new long[] {0}, new byte[HASH_SIZE]));
+  }
+
+  @Test
+  void constructorRejectsNodeWithoutLeftSibling() {
+    assertThrows(IllegalArgumentException.class,
+        () -> proofOfElements(1, 1));
+  }
+
+  @Test
+  void getHashNodeHash() {
+    FlatListProof proof = rangeProof(LIST, 0, 1);
+
+    // The proof includes the hashes of v2 (at depth 2) and of v3 (at depth 1)
+    assertThat(proof.getHashNodeDepths(), equalTo(new int[] {2, 1}));
+    assertThat(proof.getHashNodeIndices(), equalTo(new long[] {1, 1}));
+    assertThat(proof.getHashNodeHash(0),
+        equalTo(Hashing.defaultHashFunction().hashBytes(SERIALIZER.toBytes("v2"))));
+  }
+
+  @Test
+  void getElementView() {
+    FlatListProof proof = rangeProof(LIST, 0, 1);
+    byte[] expected = SERIALIZER.toBytes("v1");
+
+    ByteBuffer view = proof.getElementView(0);
+
+    assertTrue(view.isReadOnly());
+    assertThat(view, equalTo(ByteBuffer.wrap(expected)));
+    assertThat(proof.getElementSize(0), equalTo(expected.length));
+  }
+
+  @Test
+  void toTree() {
+    FlatListProof proof = rangeProof(LIST, 0, 1);
+
+    ListProof root = proof.toTree();
+
+    assertThat(root, instanceOf(ListProofBranch.class));
+    ListProofBranch rootBranch = (ListProofBranch) root;
+    ListProofBranch left = (ListProofBranch) rootBranch.getLeft();
+    assertThat(left.getLeft(), instanceOf(ProofListElement.class));
+    assertThat(left.getRight().orElse(null), instanceOf(HashNode.class));
+    assertThat(rootBranch.getRight().orElse(null), instanceOf(HashNode.class));
+  }
+
+  @Test
+  void acceptConvertsToTree() {
+    FlatListProof proof = rangeProof(LIST, 1, 3);
+    HashCode rootHash = rootHash(LIST);
+    ListProofValidator<String> validator = new ListProofValidator<>(rootHash, LIST.size(),
+        SERIALIZER);
+
+    proof.accept(validator);
+
+    assertTrue(validator.isValid());
+    assertThat(validator.getElements(), equalTo(of(1L, "v2", 2L, "v3")));
+  }
+
+  private static FlatListProof proofOfElements(int height, long... indices) {
+    byte[][] elements = new byte[indices.length][];
+    for (int i = 0; i < indices.length; i++) {
+      elements[i] = ELEMENT;
+    }
+    return new FlatListProof(height, indices, elements, new int[0], new long[0], new byte[0]);
+  }
+}
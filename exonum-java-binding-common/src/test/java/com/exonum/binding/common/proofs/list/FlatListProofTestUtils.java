@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs.list;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.HashFunction;
+import com.exonum.binding.common.hash.Hasher;
+import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.common.serialization.Serializer;
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Computes the Merkle trees of lists of strings and builds their flat proofs
+ * independently of {@link FlatListProof}.
+ */
+final class FlatListProofTestUtils {
+
+  private static final HashFunction HASH_FUNCTION = Hashing.defaultHashFunction();
+
+  static final Serializer<String> SERIALIZER = StandardSerializers.string();
+
+  /**
+   * Returns the root hash of the list.
+   */
+  static HashCode rootHash(List<String> list) {
+    return nodeHash(list, height(list.size()), 0, 0);
+  }
+
+  /**
+   * Returns a flat proof of the elements of the list in the range [from, to).
+   */
+  static FlatListProof rangeProof(List<String> list, long from, long to) {
+    int height = height(list.size());
+    List<long[]> elements = new ArrayList<>();
+    List<long[]> hashNodes = new ArrayList<>();
+    addProofNodes(list, height, 0, 0, from, to, elements, hashNodes);
+    hashNodes.sort(Comparator.<long[]>comparingLong(node -> -node[0])
+        .thenComparingLong(node -> node[1]));
+
+    long[] elementIndices = new long[elements.size()];
+    byte[][] elementValues = new byte[elements.size()][];
+    for (int i = 0; i < elements.size(); i++) {
+      long index = elements.get(i)[1];
+      elementIndices[i] = index;
+      elementValues[i] = SERIALIZER.toBytes(list.get(Math.toIntExact(index)));
+    }
+    List<Integer> depths = new ArrayList<>();
+    List<Long> indices = new ArrayList<>();
+    ByteArrayOutputStream hashes = new ByteArrayOutputStream();
+    for (long[] node : hashNodes) {
+      int depth = (int) node[0];
+      depths.add(depth);
+      indices.add(node[1]);
+      byte[] hash = nodeHash(list, height, depth, node[1]).asBytes();
+      hashes.write(hash, 0, hash.length);
+    }
+    return new FlatListProof(height, elementIndices, elementValues, Ints.toArray(depths),
+        Longs.toArray(indices), hashes.toByteArray());
+  }
+
+  static int height(long size) {
+    int height = 0;
+    while ((1L << height) < size) {
+      height++;
+    }
+    return height;
+  }
+
+  private static void addProofNodes(List<String> list, int height, int depth, long index,
+      long from, long to, List<long[]> elements, List<long[]> hashNodes) {
+    long first = index << (height - depth);
+    long last = ((index + 1) << (height - depth)) - 1;
+    if (last < from || to <= first) {
+      hashNodes.add(new long[] {depth, index});
+    } else if (depth == height) {
+      elements.add(new long[] {depth, index});
+    } else {
+      addProofNodes(list, height, depth + 1, 2 * index, from, to, elements, hashNodes);
+      if (exists(list, height, depth + 1, 2 * index + 1)) {
+        addProofNodes(list, height, depth + 1, 2 * index + 1, from, to, elements, hashNodes);
+      }
+    }
+  }
+
+  private static HashCode nodeHash(List<String> list, int height, int depth, long index) {
+    if (depth == height) {
+      return HASH_FUNCTION.hashBytes(SERIALIZER.toBytes(list.get(Math.toIntExact(index))));
+    }
+    Hasher hasher = HASH_FUNCTION.newHasher()
+        .putBytes(nodeHash(list, height, depth + 1, 2 * index).asBytes());
+    if (exists(list, height, depth + 1, 2 * index + 1)) {
+      hasher.putBytes(nodeHash(list, height, depth + 1, 2 * index + 1).asBytes());
+    }
+    return hasher.hash();
+  }
+
+  private static boolean exists(List<String> list, int height, int depth, long index) {
+    return (index << (height - depth)) < list.size();
+  }
+
+  private FlatListProofTestUtils() {}
+}
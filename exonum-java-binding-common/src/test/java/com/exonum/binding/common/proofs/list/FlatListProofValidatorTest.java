@@ -0,0 +1,204 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs.list;
+
+import static com.exonum.binding.common.proofs.list.FlatListProofTestUtils.SERIALIZER;
+import static com.exonum.binding.common.proofs.list.FlatListProofTestUtils.rangeProof;
+import static com.exonum.binding.common.proofs.list.FlatListProofTestUtils.rootHash;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.Hashing;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class FlatListProofValidatorTest {
+
+  private static final List<String> LIST = listOf(4);
+
+  @Test
+  void constructorRejectsZeroSize() {
+    assertThrows(IllegalArgumentException.class, () -> createValidator(LIST, 0));
+  }
+
+  @Test
+  void validateSingletonList() {
+    List<String> list = listOf(1);
+    FlatListProofValidator<String> validator = createValidator(list);
+
+    validator.validate(rangeProof(list, 0, 1));
+
+    assertTrue(validator.isValid());
+    assertThat(validator.getIndices(), equalTo(new long[] {0}));
+    assertThat(validator.getElements(), equalTo(list));
+  }
+
+  @Test
+  void validateAllRangeProofs() {
+    for (int size = 1; size <= 9; size++) {
+      List<String> list = listOf(size);
+      for (int from = 0; from < size; from++) {
+        for (int to = from + 1; to <= size; to++) {
+          FlatListProof proof = rangeProof(list, from, to);
+          FlatListProofValidator<String> validator = createValidator(list);
+
+          validator.validate(proof);
+
+          String message = "size=" + size + ", from=" + from + ", to=" + to;
+          assertTrue(validator.isValid(), message + ", validator=" + validator);
+          assertThat(message, validator.getIndices(),
+              equalTo(LongStream.range(from, to).toArray()));
+          assertThat(message, validator.getElements(), equalTo(list.subList(from, to)));
+        }
+      }
+    }
+  }
+
+  @Test
+  void validateGivesSameResultAsTreeValidator() {
+    List<String> list = listOf(13);
+    FlatListProof proof = rangeProof(list, 5, 11);
+    FlatListProofValidator<String> validator = createValidator(list);
+    validator.validate(proof);
+
+    ListProofValidator<String> treeValidator = new ListProofValidator<>(rootHash(list),
+        list.size(), SERIALIZER);
+    proof.accept(treeValidator);
+
+    assertTrue(treeValidator.isValid());
+    Map<Long, String> elements = new TreeMap<>();
+    long[] indices = validator.getIndices();
+    for (int i = 0; i < indices.length; i++) {
+      elements.put(indices[i], validator.getElements().get(i));
+    }
+    assertThat(treeValidator.getElements(), equalTo(elements));
+  }
+
+  @Test
+  void validateDiscardsPreviousResults() {
+    FlatListProofValidator<String> validator = createValidator(LIST);
+    validator.validate(rangeProof(LIST, 0, 2));
+
+    validator.validate(new FlatListProof(2, new long[] {0}, new byte[][] {bytes("x")},
+        new int[] {2, 1}, new long[] {1, 1}, new byte[2 * Hashing.DEFAULT_HASH_SIZE_BYTES]));
+
+    assertFalse(validator.isValid());
+  }
+
+  @Test
+  void validateRejectsHashMismatch() {
+    FlatListProof proof = rangeProof(LIST, 1, 3);
+    FlatListProofValidator<String> validator = new FlatListProofValidator<>(
+        HashCode.fromBytes(new byte[Hashing.DEFAULT_HASH_SIZE_BYTES]), LIST.size(), SERIALIZER);
+
+    validator.validate(proof);
+
+    assertFalse(validator.isValid());
+    assertThat(validator.toString(), containsString("hash mismatch"));
+  }
+
+  @Test
+  void validateRejectsWrongHeight() {
+    // A proof from the list of 4 elements has height 2, but a list of 5 elements — 3.
+    FlatListProof proof = rangeProof(LIST, 0, 1);
+    FlatListProofValidator<String> validator = createValidator(LIST, 5);
+
+    validator.validate(proof);
+
+    assertFalse(validator.isValid());
+    assertThat(validator.toString(), containsString("height"));
+  }
+
+  @Test
+  void validateRejectsElementOutOfRange() {
+    // Both lists have height 2
+    FlatListProof proof = rangeProof(LIST, 2, 4);
+    FlatListProofValidator<String> validator = createValidator(LIST, 3);
+
+    validator.validate(proof);
+
+    assertFalse(validator.isValid());
+    assertThat(validator.toString(), containsString("out of range"));
+  }
+
+  @Test
+  void validateRejectsHashNodeOutOfRange() {
+    // Both lists have height 3, but the proof of the 5th element of the list of 8 elements
+    // includes the hash of the 6th element at (3, 5), which does not exist in the list of 5
+    List<String> list = listOf(8);
+    FlatListProof proof = rangeProof(list, 4, 5);
+    FlatListProofValidator<String> validator = createValidator(list, 5);
+
+    validator.validate(proof);
+
+    assertFalse(validator.isValid());
+    assertThat(validator.toString(), containsString("hash node index (5) at depth 3"));
+  }
+
+  @Test
+  void validateRejectsMissingRightChild() {
+    // The proof of the first element of the list of 3 elements
+    // without the hash of the right sub-tree
+    List<String> list = listOf(3);
+    FlatListProof full = rangeProof(list, 0, 1);
+    FlatListProof proof = new FlatListProof(2, new long[] {0}, new byte[][] {bytes(list.get(0))},
+        new int[] {2}, new long[] {1}, full.getHashNodeHash(0).asBytes());
+    FlatListProofValidator<String> validator = createValidator(list);
+
+    validator.validate(proof);
+
+    assertFalse(validator.isValid());
+    assertThat(validator.toString(), containsString("right child"));
+  }
+
+  @Test
+  void getElementsThrowsIfNotValid() {
+    FlatListProofValidator<String> validator = createValidator(LIST);
+
+    assertThrows(IllegalStateException.class, validator::getElements);
+    assertThrows(IllegalStateException.class, validator::getIndices);
+  }
+
+  private static FlatListProofValidator<String> createValidator(List<String> list) {
+    return createValidator(list, list.size());
+  }
+
+  private static FlatListProofValidator<String> createValidator(List<String> list,
+      long numElements) {
+    return new FlatListProofValidator<>(rootHash(list), numElements, SERIALIZER);
+  }
+
+  private static List<String> listOf(int size) {
+    return LongStream.range(0, size)
+        .mapToObj(i -> "v" + i)
+        .collect(Collectors.toCollection(ArrayList::new));
+  }
+
+  private static byte[] bytes(String value) {
+    return SERIALIZER.toBytes(value);
+  }
+}
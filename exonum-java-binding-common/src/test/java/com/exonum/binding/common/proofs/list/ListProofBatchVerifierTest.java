@@ -0,0 +1,237 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs.list;
+
+import static com.exonum.binding.common.proofs.list.FlatListProofTestUtils.SERIALIZER;
+import static com.exonum.binding.common.proofs.list.FlatListProofTestUtils.rangeProof;
+import static com.exonum.binding.common.proofs.list.FlatListProofTestUtils.rootHash;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.exonum.binding.common.proofs.BatchVerificationReport;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class ListProofBatchVerifierTest {
+
+  private static final List<String> LIST = listOf(100);
+
+  @Test
+  void constructorRejectsZeroSize() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new ListProofBatchVerifier<>(rootHash(LIST), 0, SERIALIZER));
+  }
+
+  @Test
+  void verifyNoProofs() {
+    ListProofBatchVerifier<String> verifier = createVerifier(LIST);
+
+    BatchVerificationReport<FlatListProofValidator<String>> report = verifier.verify(emptyList());
+
+    assertThat(report.size(), equalTo(0));
+    assertTrue(report.allValid());
+  }
+
+  @Test
+  void verifyElementProofs() {
+    ListProofBatchVerifier<String> verifier = createVerifier(LIST);
+    List<FlatListProof> proofs = elementProofs(LIST);
+
+    BatchVerificationReport<FlatListProofValidator<String>> report = verifier.verify(proofs);
+
+    assertTrue(report.allValid());
+    for (int i = 0; i < LIST.size(); i++) {
+      FlatListProofValidator<String> validator = report.getResult(i);
+      assertThat(validator.getIndices(), equalTo(new long[] {i}));
+      assertThat(validator.getElements(), equalTo(singletonList(LIST.get(i))));
+    }
+  }
+
+  @Test
+  void verifyElementProofsInParallel() {
+    ListProofBatchVerifier<String> verifier = createVerifier(LIST);
+    List<FlatListProof> proofs = elementProofs(LIST);
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      BatchVerificationReport<FlatListProofValidator<String>> report =
+          verifier.verify(proofs, pool);
+
+      assertTrue(report.allValid());
+      for (int i = 0; i < LIST.size(); i++) {
+        assertThat(report.getResult(i).getElements(), equalTo(singletonList(LIST.get(i))));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void verifyRangeProofs() {
+    ListProofBatchVerifier<String> verifier = createVerifier(LIST);
+    List<FlatListProof> proofs = Arrays.asList(
+        rangeProof(LIST, 0, 100),
+        rangeProof(LIST, 10, 20),
+        rangeProof(LIST, 96, 100),
+        rangeProof(LIST, 99, 100));
+
+    BatchVerificationReport<FlatListProofValidator<String>> report = verifier.verify(proofs);
+
+    assertTrue(report.allValid());
+    assertThat(report.getResult(1).getElements(), equalTo(LIST.subList(10, 20)));
+    assertThat(report.getResult(3).getElements(), equalTo(LIST.subList(99, 100)));
+  }
+
+  @Test
+  void verifyRejectsTamperedElementOfVerifiedSubtree() {
+    ListProofBatchVerifier<String> verifier = createVerifier(LIST);
+    FlatListProof proof = rangeProof(LIST, 8, 16);
+    FlatListProof tamperedProof = withElement(rangeProof(LIST, 8, 9), "v9");
+
+    BatchVerificationReport<FlatListProofValidator<String>> report =
+        verifier.verify(Arrays.asList(proof, tamperedProof));
+
+    assertTrue(report.isValid(0));
+    assertFalse(report.isValid(1));
+    assertThat(report.getInvalidIndices(), equalTo(new int[] {1}));
+  }
+
+  @Test
+  void verifyRejectsTamperedHashNodeAboveVerifiedSubtree() {
+    ListProofBatchVerifier<String> verifier = createVerifier(LIST);
+    FlatListProof proof = rangeProof(LIST, 0, 1);
+    // Replace the hash of the root-level hash node, which is not in the subtree
+    // of the element
+    FlatListProof otherProof = withHashNode(proof, proof.getNumHashNodes() - 1,
+        new byte[32]);
+
+    BatchVerificationReport<FlatListProofValidator<String>> report =
+        verifier.verify(Arrays.asList(proof, otherProof));
+
+    // The proof must be rejected, as when it is validated on its own
+    assertTrue(report.isValid(0));
+    assertFalse(report.isValid(1));
+  }
+
+  @Test
+  void verifyRejectsProofOfOtherList() {
+    ListProofBatchVerifier<String> verifier = createVerifier(LIST);
+    List<String> otherList = new ArrayList<>(LIST);
+    otherList.set(50, "other");
+
+    BatchVerificationReport<FlatListProofValidator<String>> report = verifier.verify(
+        Arrays.asList(rangeProof(LIST, 50, 51), rangeProof(otherList, 50, 51)));
+
+    assertTrue(report.isValid(0));
+    assertFalse(report.isValid(1));
+  }
+
+  @Test
+  void verifyDoesNotMemoizeNodesOfInvalidProofs() {
+    ListProofBatchVerifier<String> verifier = createVerifier(LIST);
+    FlatListProof tamperedProof = withElement(rangeProof(LIST, 8, 9), "v9");
+
+    BatchVerificationReport<FlatListProofValidator<String>> report =
+        verifier.verify(singletonList(tamperedProof));
+
+    assertFalse(report.isValid(0));
+    assertThat(verifier.getNumVerifiedNodes(), equalTo(0));
+  }
+
+  @Test
+  void verifyMemoizesNodesOfValidProofs() {
+    ListProofBatchVerifier<String> verifier = createVerifier(LIST);
+    FlatListProof proof = rangeProof(LIST, 0, 1);
+
+    verifier.verify(singletonList(proof));
+
+    // A leaf, and a hash node and a branch node at each level above
+    int height = proof.getHeight();
+    assertThat(verifier.getNumVerifiedNodes(), equalTo(2 * height + 1));
+  }
+
+  @Test
+  void verifyReusesVerifiedNodes() {
+    ListProofBatchVerifier<String> verifier = createVerifier(LIST);
+    verifier.verify(singletonList(rangeProof(LIST, 0, LIST.size())));
+    int numVerifiedNodes = verifier.getNumVerifiedNodes();
+
+    BatchVerificationReport<FlatListProofValidator<String>> report =
+        verifier.verify(elementProofs(LIST));
+
+    // All nodes of the element proofs are already known
+    assertTrue(report.allValid());
+    assertThat(verifier.getNumVerifiedNodes(), equalTo(numVerifiedNodes));
+  }
+
+  private static ListProofBatchVerifier<String> createVerifier(List<String> list) {
+    return new ListProofBatchVerifier<>(rootHash(list), list.size(), SERIALIZER);
+  }
+
+  private static List<FlatListProof> elementProofs(List<String> list) {
+    return LongStream.range(0, list.size())
+        .mapToObj(i -> rangeProof(list, i, i + 1))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Returns a copy of the proof of a single element, that has the given element instead.
+   */
+  private static FlatListProof withElement(FlatListProof proof, String element) {
+    return new FlatListProof(proof.getHeight(), proof.getElementIndices(),
+        new byte[][] {element.getBytes(StandardCharsets.UTF_8)}, proof.getHashNodeDepths(),
+        proof.getHashNodeIndices(), hashes(proof));
+  }
+
+  /**
+   * Returns a copy of the proof of a single element, that has the given hash
+   * of the hash node at the given position.
+   */
+  private static FlatListProof withHashNode(FlatListProof proof, int hashNode, byte[] hash) {
+    byte[] hashes = hashes(proof);
+    System.arraycopy(hash, 0, hashes, hashNode * hash.length, hash.length);
+    return new FlatListProof(proof.getHeight(), proof.getElementIndices(),
+        new byte[][] {proof.getElement(0)}, proof.getHashNodeDepths(),
+        proof.getHashNodeIndices(), hashes);
+  }
+
+  private static byte[] hashes(FlatListProof proof) {
+    int numHashNodes = proof.getNumHashNodes();
+    byte[] hashes = new byte[numHashNodes * 32];
+    for (int i = 0; i < numHashNodes; i++) {
+      System.arraycopy(proof.getHashNodeHash(i).asBytes(), 0, hashes, i * 32, 32);
+    }
+    return hashes;
+  }
+
+  private static List<String> listOf(int size) {
+    return LongStream.range(0, size)
+        .mapToObj(i -> "v" + i)
+        .collect(Collectors.toCollection(ArrayList::new));
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs.list;
+
+import static com.exonum.binding.common.proofs.list.FlatListProofTestUtils.SERIALIZER;
+
+import com.exonum.binding.common.hash.HashCode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time to validate a proof of all elements of a list of the given size
+ * with the validator of flat proofs and with the validator of proof trees, and the time
+ * to validate a proof of a single element of the list, e.g., a transaction in a block.
+ *
+ * <p>See {@link com.exonum.binding.common.hash.HashFunctionBenchmark} on how to run
+ * the benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListProofValidatorBenchmark {
+
+  @Param({"1", "10", "1000", "10000", "100000"})
+  private int numElements;
+
+  private HashCode rootHash;
+
+  private FlatListProof flatProof;
+
+  private ListProof treeProof;
+
+  private FlatListProof elementProof;
+
+  /**
+   * Creates the flat proof and the proof tree of all elements of a list,
+   * and the flat proof of its middle element.
+   */
+  @Setup
+  public void setUp() {
+    List<String> list = new ArrayList<>(numElements);
+    for (int i = 0; i < numElements; i++) {
+      list.add("element #" + i);
+    }
+    rootHash = FlatListProofTestUtils.rootHash(list);
+    flatProof = FlatListProofTestUtils.rangeProof(list, 0, numElements);
+    treeProof = flatProof.toTree();
+    long middle = numElements / 2;
+    elementProof = FlatListProofTestUtils.rangeProof(list, middle, middle + 1);
+  }
+
+  /**
+   * Validates the flat proof.
+   */
+  @Benchmark
+  public List<String> validateFlatProof() {
+    FlatListProofValidator<String> validator = new FlatListProofValidator<>(rootHash,
+        numElements, SERIALIZER);
+    validator.validate(flatProof);
+    return validator.getElements();
+  }
+
+  /**
+   * Validates the flat proof of a single element.
+   */
+  @Benchmark
+  public List<String> validateElementProof() {
+    FlatListProofValidator<String> validator = new FlatListProofValidator<>(rootHash,
+        numElements, SERIALIZER);
+    validator.validate(elementProof);
+    return validator.getElements();
+  }
+
+  /**
+   * Validates the proof tree, which is created beforehand.
+   */
+  @Benchmark
+  public Object validateProofTree() {
+    ListProofValidator<String> validator = new ListProofValidator<>(rootHash, numElements,
+        SERIALIZER);
+    treeProof.accept(validator);
+    return validator.getElements();
+  }
+}
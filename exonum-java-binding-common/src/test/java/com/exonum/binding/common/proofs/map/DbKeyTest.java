@@ -22,10 +22,16 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.exonum.binding.common.hash.HashFunction;
+import com.exonum.binding.common.hash.Hasher;
+import com.exonum.binding.common.hash.Hashing;
 import com.exonum.binding.common.proofs.map.DbKey.Type;
 import com.google.common.primitives.UnsignedBytes;
+import java.util.Arrays;
 import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
@@ -338,10 +344,79 @@ class DbKeyTest {
     assertThat(keyBits, equalTo(expectedKeyBits));
   }
 
+  @Test
+  void getRawDbKey_Leaf() {
+    byte[] rawDbKey = createDbKey(Type.LEAF.code, bytes("abcdefghijklmnopqrstuvwxyz012345"), 0);
+    DbKey dbKey = DbKey.fromBytes(rawDbKey);
+
+    assertThat(dbKey.getRawDbKey(), equalTo(rawDbKey));
+  }
+
+  @Test
+  void getRawDbKey_Branch() {
+    byte[] rawDbKey = createDbKey(Type.BRANCH.code, bytes("abcdefghijklm"), 13 * Byte.SIZE);
+    DbKey dbKey = DbKey.fromBytes(rawDbKey);
+
+    assertThat(dbKey.getRawDbKey(), equalTo(rawDbKey));
+  }
+
+  @Test
+  void writeBytesToWritesRawDbKeyAtOffset() {
+    byte[] rawDbKey = createDbKey(Type.BRANCH.code, bytes("abcdefghijklm"), 13 * Byte.SIZE);
+    DbKey dbKey = DbKey.fromBytes(rawDbKey);
+    byte[] dest = new byte[DbKey.DB_KEY_SIZE + 2];
+
+    dbKey.writeBytesTo(dest, 1);
+
+    assertThat(Arrays.copyOfRange(dest, 1, DbKey.DB_KEY_SIZE + 1), equalTo(rawDbKey));
+    assertThat(dest[0], equalTo((byte) 0));
+    assertThat(dest[DbKey.DB_KEY_SIZE + 1], equalTo((byte) 0));
+  }
+
+  @Test
+  void writeBytesToRejectsTooSmallArray() {
+    DbKey dbKey = DbKey.fromBytes(createDbKey(Type.LEAF.code, bytes("abc"), 0));
+
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> dbKey.writeBytesTo(new byte[DbKey.DB_KEY_SIZE], 1));
+  }
+
+  @Test
+  void writeToPutsRawDbKey() {
+    byte[] rawDbKey = createDbKey(Type.BRANCH.code, bytes(0x01, 0x02, 0x03, 0x04, 0x05, 0x06,
+        0x07, 0x08, 0x09, 0x0A, 0x0B, 0x0C, 0x0D, 0x0E, 0x0F, 0x10, 0x11, 0x12), 141);
+    DbKey dbKey = DbKey.fromBytes(rawDbKey);
+    HashFunction hashFunction = Hashing.defaultHashFunction();
+
+    Hasher hasher = hashFunction.newHasher();
+    dbKey.writeTo(hasher);
+
+    assertThat(hasher.hash(), equalTo(hashFunction.hashBytes(rawDbKey)));
+  }
+
+  @Test
+  void commonPrefixOfKeysDifferentInLastWord() {
+    byte[] firstKey = new byte[DbKey.KEY_SIZE];
+    firstKey[30] = 0x01;
+    byte[] secondKey = firstKey.clone();
+    secondKey[31] = 0x40;
+    DbKey first = DbKey.newLeafKey(firstKey);
+    DbKey second = DbKey.newLeafKey(secondKey);
+
+    DbKey commonPrefix = first.commonPrefix(second);
+
+    int expectedPrefixSize = 31 * Byte.SIZE + 6;
+    assertThat(commonPrefix, equalTo(DbKey.newBranchKey(firstKey, expectedPrefixSize)));
+    assertTrue(commonPrefix.isPrefixOf(first));
+    assertTrue(commonPrefix.isPrefixOf(second));
+    assertThat(first.compareTo(second), equalTo(-1));
+    assertThat(second.compareTo(first), equalTo(1));
+  }
+
   @Test
   void verifyEquals() {
     EqualsVerifier.forClass(DbKey.class)
-        .withOnlyTheseFields("rawDbKey")
+        .suppress(Warning.NULL_FIELDS)
         .verify();
   }
 }
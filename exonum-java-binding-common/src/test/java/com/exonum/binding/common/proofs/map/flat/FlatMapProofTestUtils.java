@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs.map.flat;
+
+import static java.util.Collections.emptyList;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.common.proofs.map.DbKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+final class FlatMapProofTestUtils {
+
+  /**
+   * Creates the given number of map entries with random keys and values.
+   */
+  static List<MapEntry> randomEntries(int numEntries, Random random) {
+    List<MapEntry> entries = new ArrayList<>(numEntries);
+    for (int i = 0; i < numEntries; i++) {
+      entries.add(new MapEntry(randomBytes(DbKey.KEY_SIZE, random), randomBytes(16, random)));
+    }
+    return entries;
+  }
+
+  /**
+   * Creates the given number of sorted proof entries, corresponding to leaves with random keys
+   * and value hashes.
+   */
+  static List<MapProofEntry> randomLeafProofEntries(int numEntries, Random random) {
+    List<MapProofEntry> proof = new ArrayList<>(numEntries);
+    for (int i = 0; i < numEntries; i++) {
+      DbKey key = DbKey.newLeafKey(randomBytes(DbKey.KEY_SIZE, random));
+      HashCode valueHash = HashCode.fromBytes(
+          randomBytes(Hashing.DEFAULT_HASH_SIZE_BYTES, random));
+      proof.add(new MapProofEntry(key, valueHash));
+    }
+    proof.sort(Comparator.comparing(MapProofEntry::getDbKey));
+    return proof;
+  }
+
+  /**
+   * Creates a proof of the given keys from the map with the given entries.
+   *
+   * @param mapEntries the entries of the map, at least two
+   * @param keys the requested keys, some of which may be absent in the map
+   */
+  static UncheckedFlatMapProof proofFor(List<MapEntry> mapEntries, byte[]... keys) {
+    List<MapProofEntry> leaves = new ArrayList<>(mapEntries.size());
+    for (MapEntry e : mapEntries) {
+      leaves.add(new MapProofEntry(DbKey.newLeafKey(e.getKey()),
+          Hashing.defaultHashFunction().hashBytes(e.getValue())));
+    }
+    leaves.sort(Comparator.comparing(MapProofEntry::getDbKey));
+
+    List<DbKey> requestedKeys = new ArrayList<>();
+    for (byte[] key : keys) {
+      requestedKeys.add(DbKey.newLeafKey(key));
+    }
+    List<MapProofEntry> proof = new ArrayList<>();
+    addProofEntries(leaves, requestedKeys, proof);
+
+    List<MapEntry> entries = new ArrayList<>();
+    List<byte[]> missingKeys = new ArrayList<>();
+    for (byte[] key : keys) {
+      Optional<MapEntry> entry = mapEntries.stream()
+          .filter(e -> Arrays.equals(e.getKey(), key))
+          .findFirst();
+      if (entry.isPresent()) {
+        entries.add(entry.get());
+      } else {
+        missingKeys.add(key);
+      }
+    }
+    return new UncheckedFlatMapProof(proof, entries, missingKeys);
+  }
+
+  /**
+   * Adds the proof entries of the given keys from the subtree with the given sorted leaves.
+   */
+  private static void addProofEntries(List<MapProofEntry> leaves, List<DbKey> requestedKeys,
+      List<MapProofEntry> proof) {
+    DbKey subtreeKey = subtreeKey(leaves);
+    boolean requested = requestedKeys.stream()
+        .anyMatch(subtreeKey::isPrefixOf);
+    if (!requested) {
+      proof.add(new MapProofEntry(subtreeKey, subtreeHash(leaves)));
+    } else if (leaves.size() > 1) {
+      int prefixSize = subtreeKey.getNumSignificantBits();
+      int split = 1;
+      while (leaves.get(0).getDbKey().commonPrefixSize(leaves.get(split).getDbKey())
+          > prefixSize) {
+        split++;
+      }
+      addProofEntries(leaves.subList(0, split), requestedKeys, proof);
+      addProofEntries(leaves.subList(split, leaves.size()), requestedKeys, proof);
+    }
+  }
+
+  private static DbKey subtreeKey(List<MapProofEntry> leaves) {
+    return leaves.get(0).getDbKey().commonPrefix(leaves.get(leaves.size() - 1).getDbKey());
+  }
+
+  private static HashCode subtreeHash(List<MapProofEntry> leaves) {
+    if (leaves.size() == 1) {
+      return leaves.get(0).getHash();
+    }
+    return new UncheckedFlatMapProof(leaves, emptyList(), emptyList())
+        .check()
+        .getRootHash();
+  }
+
+  private static byte[] randomBytes(int size, Random random) {
+    byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+
+  private FlatMapProofTestUtils() {}
+}
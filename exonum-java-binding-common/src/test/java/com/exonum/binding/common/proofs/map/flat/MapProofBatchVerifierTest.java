@@ -0,0 +1,219 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs.map.flat;
+
+import static com.exonum.binding.common.proofs.map.flat.FlatMapProofTestUtils.proofFor;
+import static com.exonum.binding.common.proofs.map.flat.FlatMapProofTestUtils.randomEntries;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.proofs.BatchVerificationReport;
+import com.exonum.binding.common.proofs.map.DbKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MapProofBatchVerifierTest {
+
+  private List<MapEntry> mapEntries;
+
+  private HashCode rootHash;
+
+  @BeforeEach
+  void setUp() {
+    mapEntries = randomEntries(200, new Random(1));
+    rootHash = new UncheckedFlatMapProof(emptyList(), mapEntries, emptyList())
+        .check()
+        .getRootHash();
+  }
+
+  @Test
+  void verifyNoProofs() {
+    MapProofBatchVerifier verifier = new MapProofBatchVerifier(rootHash);
+
+    BatchVerificationReport<CheckedMapProof> report = verifier.verify(emptyList());
+
+    assertThat(report.size(), equalTo(0));
+    assertTrue(report.allValid());
+  }
+
+  @Test
+  void verifyProofsOfSingleEntries() {
+    MapProofBatchVerifier verifier = new MapProofBatchVerifier(rootHash);
+    List<UncheckedFlatMapProof> proofs = singleEntryProofs();
+
+    BatchVerificationReport<CheckedMapProof> report = verifier.verify(proofs);
+
+    assertTrue(report.allValid());
+    for (int i = 0; i < proofs.size(); i++) {
+      CheckedMapProof checkedProof = report.getResult(i);
+      MapEntry entry = mapEntries.get(i);
+      assertThat(checkedProof.getRootHash(), equalTo(rootHash));
+      assertThat(checkedProof.get(entry.getKey()), equalTo(entry.getValue()));
+    }
+  }
+
+  @Test
+  void verifyProofsOfSingleEntriesInParallel() {
+    MapProofBatchVerifier verifier = new MapProofBatchVerifier(rootHash);
+    List<UncheckedFlatMapProof> proofs = singleEntryProofs();
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      BatchVerificationReport<CheckedMapProof> report = verifier.verify(proofs, pool);
+
+      assertTrue(report.allValid());
+      for (int i = 0; i < proofs.size(); i++) {
+        MapEntry entry = mapEntries.get(i);
+        assertThat(report.getResult(i).get(entry.getKey()), equalTo(entry.getValue()));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void verifyProofsOfSeveralAndMissingKeys() {
+    MapProofBatchVerifier verifier = new MapProofBatchVerifier(rootHash);
+    byte[] missingKey = new byte[DbKey.KEY_SIZE];
+    List<UncheckedFlatMapProof> proofs = Arrays.asList(
+        proofFor(mapEntries, mapEntries.get(0).getKey()),
+        proofFor(mapEntries, mapEntries.get(1).getKey(), mapEntries.get(2).getKey()),
+        proofFor(mapEntries, missingKey),
+        proofFor(mapEntries, mapEntries.get(0).getKey(), missingKey));
+
+    BatchVerificationReport<CheckedMapProof> report = verifier.verify(proofs);
+
+    assertTrue(report.allValid());
+    assertFalse(report.getResult(2).containsKey(missingKey));
+    assertFalse(report.getResult(3).containsKey(missingKey));
+  }
+
+  @Test
+  void verifyRejectsTamperedEntryOfVerifiedSubtree() {
+    MapProofBatchVerifier verifier = new MapProofBatchVerifier(rootHash);
+    MapEntry entry = mapEntries.get(0);
+    List<MapEntry> tamperedEntries = new ArrayList<>(mapEntries);
+    tamperedEntries.set(0, new MapEntry(entry.getKey(), new byte[] {1, 2, 3}));
+
+    BatchVerificationReport<CheckedMapProof> report = verifier.verify(Arrays.asList(
+        proofFor(mapEntries, entry.getKey()),
+        proofFor(tamperedEntries, entry.getKey()),
+        proofFor(mapEntries, mapEntries.get(1).getKey())));
+
+    assertThat(report.getInvalidIndices(), equalTo(new int[] {1}));
+    assertThat(report.getNumValid(), equalTo(2));
+  }
+
+  @Test
+  void verifyRejectsTamperedEntryAboveVerifiedSubtree() {
+    MapProofBatchVerifier verifier = new MapProofBatchVerifier(rootHash);
+    UncheckedFlatMapProof proof = proofFor(mapEntries, mapEntries.get(0).getKey());
+    // Replace the hash of a proof entry, which is not in the subtree of the requested key
+    List<MapProofEntry> proofList = new ArrayList<>(proof.getProofList());
+    int last = proofList.size() - 1;
+    proofList.set(last, new MapProofEntry(proofList.get(last).getDbKey(),
+        HashCode.fromBytes(new byte[32])));
+    UncheckedFlatMapProof otherProof = new UncheckedFlatMapProof(proofList, proof.getEntries(),
+        proof.getMissingKeys());
+
+    BatchVerificationReport<CheckedMapProof> report =
+        verifier.verify(Arrays.asList(proof, otherProof));
+
+    // The proof must be rejected, as when it is checked on its own
+    assertTrue(report.isValid(0));
+    assertFalse(report.isValid(1));
+  }
+
+  @Test
+  void verifyReportsProofsWithInvalidStructure() {
+    MapProofBatchVerifier verifier = new MapProofBatchVerifier(rootHash);
+    UncheckedFlatMapProof proof = proofFor(mapEntries, mapEntries.get(0).getKey());
+    List<MapProofEntry> reversedProofList = new ArrayList<>(proof.getProofList());
+    reversedProofList.sort(Comparator.comparing(MapProofEntry::getDbKey).reversed());
+    UncheckedFlatMapProof invalidProof = new UncheckedFlatMapProof(reversedProofList,
+        proof.getEntries(), proof.getMissingKeys());
+
+    BatchVerificationReport<CheckedMapProof> report =
+        verifier.verify(Arrays.asList(proof, invalidProof));
+
+    assertTrue(report.isValid(0));
+    assertFalse(report.isValid(1));
+    assertThat(report.getResult(1).getStatus(), equalTo(ProofStatus.INVALID_ORDER));
+  }
+
+  @Test
+  void verifyDoesNotMemoizeNodesOfInvalidProofs() {
+    MapProofBatchVerifier verifier = new MapProofBatchVerifier(rootHash);
+    MapEntry entry = mapEntries.get(0);
+    List<MapEntry> tamperedEntries = new ArrayList<>(mapEntries);
+    tamperedEntries.set(0, new MapEntry(entry.getKey(), new byte[] {1, 2, 3}));
+
+    BatchVerificationReport<CheckedMapProof> report =
+        verifier.verify(singletonList(proofFor(tamperedEntries, entry.getKey())));
+
+    assertFalse(report.isValid(0));
+    assertThat(verifier.getNumVerifiedNodes(), equalTo(0));
+  }
+
+  @Test
+  void verifyMemoizesNodesOfValidProofs() {
+    MapProofBatchVerifier verifier = new MapProofBatchVerifier(rootHash);
+    UncheckedFlatMapProof proof = proofFor(mapEntries, mapEntries.get(0).getKey());
+
+    verifier.verify(singletonList(proof));
+
+    // The branch nodes on the path to the requested entry, one per contour entry
+    // but the requested entry
+    int contourSize = proof.getProofList().size() + 1;
+    assertThat(verifier.getNumVerifiedNodes(), equalTo(contourSize - 1));
+  }
+
+  @Test
+  void verifyReusesVerifiedNodes() {
+    MapProofBatchVerifier verifier = new MapProofBatchVerifier(rootHash);
+    byte[][] keys = mapEntries.stream()
+        .map(MapEntry::getKey)
+        .toArray(byte[][]::new);
+    verifier.verify(singletonList(proofFor(mapEntries, keys)));
+    int numVerifiedNodes = verifier.getNumVerifiedNodes();
+
+    BatchVerificationReport<CheckedMapProof> report = verifier.verify(singleEntryProofs());
+
+    // All branch nodes of the single entry proofs are already known
+    assertTrue(report.allValid());
+    assertThat(verifier.getNumVerifiedNodes(), equalTo(numVerifiedNodes));
+  }
+
+  private List<UncheckedFlatMapProof> singleEntryProofs() {
+    List<UncheckedFlatMapProof> proofs = new ArrayList<>();
+    for (MapEntry entry : mapEntries) {
+      proofs.add(proofFor(mapEntries, entry.getKey()));
+    }
+    return proofs;
+  }
+}
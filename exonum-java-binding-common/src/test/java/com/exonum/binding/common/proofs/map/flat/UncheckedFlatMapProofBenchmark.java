@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs.map.flat;
+
+import static java.util.Collections.emptyList;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time to check a flat map proof of the given number of requested keys,
+ * sequentially and in the common fork-join pool. Half of the proof entries are the requested
+ * keys, the other half — the leaves of other keys.
+ * See {@link UncheckedFlatMapProofOfMapBenchmark} for the proofs created from a map.
+ *
+ * <p>See {@link com.exonum.binding.common.hash.HashFunctionBenchmark} on how to run
+ * the benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UncheckedFlatMapProofBenchmark {
+
+  @Param({"1", "10", "1000", "10000", "100000"})
+  private int numKeys;
+
+  private UncheckedMapProof proof;
+
+  /**
+   * Creates a proof of {@code numKeys} requested entries and {@code numKeys} other leaves.
+   */
+  @Setup
+  public void setUp() {
+    Random random = new Random(1);
+    List<MapProofEntry> proofEntries =
+        FlatMapProofTestUtils.randomLeafProofEntries(numKeys, random);
+    List<MapEntry> entries = FlatMapProofTestUtils.randomEntries(numKeys, random);
+    proof = new UncheckedFlatMapProof(proofEntries, entries, emptyList());
+  }
+
+  @Benchmark
+  public CheckedMapProof check() {
+    return proof.check();
+  }
+
+  @Benchmark
+  public CheckedMapProof checkInParallel() {
+    return proof.check(ForkJoinPool.commonPool());
+  }
+}
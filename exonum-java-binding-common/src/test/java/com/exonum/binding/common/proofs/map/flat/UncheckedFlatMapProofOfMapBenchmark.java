@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs.map.flat;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time to check a proof of the given number of keys from a map
+ * of {@value #MAP_SIZE} entries. Unlike {@link UncheckedFlatMapProofBenchmark}, the proof
+ * has the same structure as the proofs of a proof map index: it contains the hashes
+ * of the subtrees at various heights that have no requested keys.
+ *
+ * <p>See {@link com.exonum.binding.common.hash.HashFunctionBenchmark} on how to run
+ * the benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UncheckedFlatMapProofOfMapBenchmark {
+
+  private static final int MAP_SIZE = 10_000;
+
+  @Param({"1", "10", "100", "1000", "10000"})
+  private int numKeys;
+
+  private UncheckedMapProof proof;
+
+  /**
+   * Creates a map of random entries and a proof of {@code numKeys} of them.
+   */
+  @Setup
+  public void setUp() {
+    Random random = new Random(1);
+    List<MapEntry> mapEntries = FlatMapProofTestUtils.randomEntries(MAP_SIZE, random);
+    byte[][] keys = mapEntries.stream()
+        .limit(numKeys)
+        .map(MapEntry::getKey)
+        .toArray(byte[][]::new);
+    proof = FlatMapProofTestUtils.proofFor(mapEntries, keys);
+  }
+
+  @Benchmark
+  public CheckedMapProof check() {
+    return proof.check();
+  }
+}
@@ -31,8 +31,12 @@ import com.exonum.binding.common.hash.HashFunction;
 import com.exonum.binding.common.hash.Hashing;
 import com.exonum.binding.common.proofs.map.DbKey;
 import com.exonum.binding.common.proofs.map.DbKeyTestUtils;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
 
 class UncheckedFlatMapProofTest {
@@ -260,6 +264,90 @@ class UncheckedFlatMapProofTest {
     assertThat(checkedMapProof.getStatus(), equalTo(ProofStatus.EMBEDDED_PATH));
   }
 
+  @Test
+  void mapProofWithIncludedPrefixAmongManyProofEntriesShouldBeInvalid() {
+    List<MapProofEntry> proof = Arrays.asList(
+        createMapProofEntry(DbKeyTestUtils.branchKeyFromPrefix("000")),
+        createMapProofEntry(DbKeyTestUtils.branchKeyFromPrefix("0010")),
+        createMapProofEntry(DbKeyTestUtils.branchKeyFromPrefix("01")),
+        createMapProofEntry(DbKeyTestUtils.branchKeyFromPrefix("100")),
+        createMapProofEntry(DbKeyTestUtils.branchKeyFromPrefix("1011")),
+        createMapProofEntry(DbKeyTestUtils.branchKeyFromPrefix("11")));
+    byte[] absentKey = DbKeyTestUtils.keyFromString("1011_0101");
+
+    UncheckedMapProof uncheckedFlatMapProof =
+        new UncheckedFlatMapProof(proof, emptyList(), singletonList(absentKey));
+
+    CheckedMapProof checkedMapProof = uncheckedFlatMapProof.check();
+    assertThat(checkedMapProof.getStatus(), equalTo(ProofStatus.EMBEDDED_PATH));
+  }
+
+  @Test
+  void mapProofWithoutIncludedPrefixAmongManyProofEntriesShouldBeCorrect() {
+    List<MapProofEntry> proof = Arrays.asList(
+        createMapProofEntry(DbKeyTestUtils.branchKeyFromPrefix("000")),
+        createMapProofEntry(DbKeyTestUtils.branchKeyFromPrefix("01")),
+        createMapProofEntry(DbKeyTestUtils.branchKeyFromPrefix("100")),
+        createMapProofEntry(DbKeyTestUtils.branchKeyFromPrefix("1011")),
+        createMapProofEntry(DbKeyTestUtils.branchKeyFromPrefix("11")));
+    // The key is between "000" and "01", but has neither of them as a prefix
+    byte[] absentKey = DbKeyTestUtils.keyFromString("0010_0101");
+
+    UncheckedMapProof uncheckedFlatMapProof =
+        new UncheckedFlatMapProof(proof, emptyList(), singletonList(absentKey));
+
+    CheckedMapProof checkedMapProof = uncheckedFlatMapProof.check();
+    assertThat(checkedMapProof.getStatus(), equalTo(ProofStatus.CORRECT));
+  }
+
+  @Test
+  void mapProofCheckedInParallelHasSameRootHash() {
+    Random random = new Random(1);
+    List<MapProofEntry> proof = FlatMapProofTestUtils.randomLeafProofEntries(3000, random);
+    List<MapEntry> entries = FlatMapProofTestUtils.randomEntries(2000, random);
+    UncheckedMapProof uncheckedFlatMapProof = new UncheckedFlatMapProof(proof, entries,
+        emptyList());
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      CheckedMapProof expected = uncheckedFlatMapProof.check();
+      CheckedMapProof actual = uncheckedFlatMapProof.check(pool);
+
+      assertThat(actual.getStatus(), equalTo(ProofStatus.CORRECT));
+      assertThat(actual.getRootHash(), equalTo(expected.getRootHash()));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void mapProofWithLeafProofEntriesHasSameRootHashAsWithEntries() {
+    Random random = new Random(2);
+    List<MapEntry> entries = FlatMapProofTestUtils.randomEntries(2000, random);
+    // Replace some of the requested entries with the proof entries of their leaves
+    List<MapEntry> requestedEntries = entries.subList(0, 100);
+    List<MapProofEntry> proof = new ArrayList<>();
+    for (MapEntry e : entries.subList(100, entries.size())) {
+      proof.add(new MapProofEntry(DbKey.newLeafKey(e.getKey()),
+          HASH_FUNCTION.hashBytes(e.getValue())));
+    }
+    proof.sort(Comparator.comparing(MapProofEntry::getDbKey));
+
+    HashCode expectedRootHash = new UncheckedFlatMapProof(emptyList(), entries, emptyList())
+        .check()
+        .getRootHash();
+
+    UncheckedMapProof uncheckedFlatMapProof = new UncheckedFlatMapProof(proof, requestedEntries,
+        emptyList());
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      assertThat(uncheckedFlatMapProof.check().getRootHash(), equalTo(expectedRootHash));
+      assertThat(uncheckedFlatMapProof.check(pool).getRootHash(), equalTo(expectedRootHash));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
   private static MapProofEntry createMapProofEntry(DbKey dbKey) {
     return new MapProofEntry(dbKey, HashCode.fromBytes(dbKey.getKeySlice()));
   }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import static com.exonum.binding.common.serialization.StandardSerializersRoundtripTest.roundTripTest;
+import static com.exonum.binding.test.Bytes.bytes;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Map.Entry;
+import java.util.OptionalInt;
+import org.junit.jupiter.api.Test;
+
+class CompositeSerializerTest {
+
+  @Test
+  void fixedSizeParts() {
+    BufferSerializer<Entry<Long, Integer>> serializer = StandardSerializers.composite(
+        StandardSerializers.longs(), Entry::getKey,
+        StandardSerializers.ints(), Entry::getValue,
+        SimpleImmutableEntry::new);
+
+    assertThat(serializer.getFixedSize(), equalTo(OptionalInt.of(Long.BYTES + Integer.BYTES)));
+    assertTrue(serializer.isSelfDelimiting());
+    assertThat(serializer.toBytes(new SimpleImmutableEntry<>(1L, 2)),
+        equalTo(bytes(1, 0, 0, 0, 0, 0, 0, 0, 2, 0, 0, 0)));
+  }
+
+  @Test
+  void variableSizeParts() {
+    BufferSerializer<Entry<Long, Long>> serializer = StandardSerializers.composite(
+        StandardSerializers.varints(), Entry::getKey,
+        StandardSerializers.varints(), Entry::getValue,
+        SimpleImmutableEntry::new);
+
+    assertThat(serializer.getFixedSize(), equalTo(OptionalInt.empty()));
+    assertTrue(serializer.isSelfDelimiting());
+    // A self-delimiting first part is not prefixed with its size
+    assertThat(serializer.toBytes(new SimpleImmutableEntry<>(300L, 1L)),
+        equalTo(bytes(0xAC, 0x02, 0x01)));
+  }
+
+  @Test
+  void firstPartIsPrefixedWithSize() {
+    BufferSerializer<Entry<byte[], Long>> serializer = StandardSerializers.composite(
+        RemainingBytesSerializer.INSTANCE, Entry::getKey,
+        StandardSerializers.longs(), Entry::getValue,
+        SimpleImmutableEntry::new);
+    Entry<byte[], Long> value = new SimpleImmutableEntry<>(bytes(1, 2, 3), 4L);
+
+    byte[] serializedValue = serializer.toBytes(value);
+
+    assertThat(serializedValue,
+        equalTo(bytes(3, 1, 2, 3, 4, 0, 0, 0, 0, 0, 0, 0)));
+    Entry<byte[], Long> actual = serializer.fromBytes(serializedValue);
+    assertThat(actual.getKey(), equalTo(value.getKey()));
+    assertThat(actual.getValue(), equalTo(value.getValue()));
+  }
+
+  @Test
+  void notSelfDelimitingIfLastPartIsNot() {
+    BufferSerializer<Entry<Long, byte[]>> serializer = StandardSerializers.composite(
+        StandardSerializers.longs(), Entry::getKey,
+        RemainingBytesSerializer.INSTANCE, Entry::getValue,
+        SimpleImmutableEntry::new);
+
+    assertFalse(serializer.isSelfDelimiting());
+    Entry<Long, byte[]> actual = serializer.fromBytes(bytes(1, 0, 0, 0, 0, 0, 0, 0, 2, 3));
+    assertThat(actual.getValue(), equalTo(bytes(2, 3)));
+  }
+
+  @Test
+  void nestedComposites() {
+    BufferSerializer<Entry<Long, Long>> inner = StandardSerializers.composite(
+        StandardSerializers.varints(), Entry::getKey,
+        StandardSerializers.longs(), Entry::getValue,
+        SimpleImmutableEntry::new);
+    BufferSerializer<Entry<Entry<Long, Long>, Integer>> serializer =
+        StandardSerializers.composite(
+            inner, Entry::getKey,
+            StandardSerializers.ints(), Entry::getValue,
+            SimpleImmutableEntry::new);
+
+    roundTripTest(new SimpleImmutableEntry<>(new SimpleImmutableEntry<>(-1L, 2L), 3), serializer);
+  }
+
+  @Test
+  void readFromInvalidSizePrefix() {
+    BufferSerializer<Entry<byte[], Long>> serializer = StandardSerializers.composite(
+        RemainingBytesSerializer.INSTANCE, Entry::getKey,
+        StandardSerializers.longs(), Entry::getValue,
+        SimpleImmutableEntry::new);
+    // The size of the first part exceeds the input
+    byte[] input = bytes(10, 1, 2);
+
+    assertThrows(IllegalArgumentException.class, () -> serializer.fromBytes(input));
+  }
+
+  @Test
+  void fromBytesTrailingBytes() {
+    BufferSerializer<Entry<Long, Long>> serializer = StandardSerializers.composite(
+        StandardSerializers.varints(), Entry::getKey,
+        StandardSerializers.varints(), Entry::getValue,
+        SimpleImmutableEntry::new);
+
+    assertThrows(IllegalArgumentException.class, () -> serializer.fromBytes(bytes(1, 2, 3)));
+  }
+
+  /**
+   * A serializer of byte arrays of any size, which reads all the remaining bytes.
+   */
+  private enum RemainingBytesSerializer implements BufferSerializer<byte[]> {
+    INSTANCE;
+
+    @Override
+    public int getSerializedSize(byte[] value) {
+      return value.length;
+    }
+
+    @Override
+    public int writeTo(byte[] value, ByteBuffer buffer) {
+      buffer.put(value);
+      return value.length;
+    }
+
+    @Override
+    public byte[] readFrom(ByteBuffer buffer) {
+      return PrimitiveCodecs.readBytes(buffer, buffer.remaining());
+    }
+  }
+}
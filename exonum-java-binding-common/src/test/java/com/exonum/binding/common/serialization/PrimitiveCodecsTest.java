@@ -0,0 +1,221 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import static com.exonum.binding.test.Bytes.bytes;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PrimitiveCodecsTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {"BIG_ENDIAN", "LITTLE_ENDIAN"})
+  void writeLongIsLittleEndian(String order) {
+    ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES)
+        .order(byteOrder(order));
+
+    PrimitiveCodecs.writeLong(0x0807060504030201L, buffer);
+
+    assertThat(buffer.array(), equalTo(bytes(1, 2, 3, 4, 5, 6, 7, 8)));
+    assertThat(buffer.order(), equalTo(byteOrder(order)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"BIG_ENDIAN", "LITTLE_ENDIAN"})
+  void readLong(String order) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes(1, 2, 3, 4, 5, 6, 7, 8))
+        .order(byteOrder(order));
+
+    assertThat(PrimitiveCodecs.readLong(buffer), equalTo(0x0807060504030201L));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"BIG_ENDIAN", "LITTLE_ENDIAN"})
+  void writeIntIsLittleEndian(String order) {
+    ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES)
+        .order(byteOrder(order));
+
+    PrimitiveCodecs.writeInt(0x04030201, buffer);
+
+    assertThat(buffer.array(), equalTo(bytes(1, 2, 3, 4)));
+  }
+
+  @Test
+  void readIntNotEnoughBytes() {
+    ByteBuffer buffer = ByteBuffer.allocate(3);
+
+    assertThrows(IllegalArgumentException.class, () -> PrimitiveCodecs.readInt(buffer));
+  }
+
+  @Test
+  void readLongLe() {
+    byte[] bytes = bytes(0xFF, 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x88);
+
+    assertThat(PrimitiveCodecs.readLongLe(bytes, 1), equalTo(0x8807060504030201L));
+  }
+
+  @Test
+  void writeLongLe() {
+    byte[] bytes = new byte[Long.BYTES + 2];
+
+    PrimitiveCodecs.writeLongLe(0x8807060504030201L, bytes, 1);
+
+    assertThat(bytes, equalTo(bytes(0x00, 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x88, 0x00)));
+  }
+
+  @Test
+  void writeVarint() {
+    ByteBuffer buffer = ByteBuffer.allocate(PrimitiveCodecs.MAX_VARINT_SIZE);
+
+    int size = PrimitiveCodecs.writeVarint(300, buffer);
+
+    assertThat(size, equalTo(2));
+    assertThat(buffer.position(), equalTo(2));
+    assertThat(buffer.get(0), equalTo((byte) 0xAC));
+    assertThat(buffer.get(1), equalTo((byte) 0x02));
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {0L, 1L, 127L, 128L, 300L, 1L << 35, Long.MAX_VALUE, -1L, Long.MIN_VALUE})
+  void varintRoundtrip(long value) {
+    ByteBuffer buffer = ByteBuffer.allocate(PrimitiveCodecs.MAX_VARINT_SIZE + 1);
+
+    int size = PrimitiveCodecs.writeVarint(value, buffer);
+    assertThat(size, equalTo(PrimitiveCodecs.varintSize(value)));
+
+    buffer.flip();
+    assertThat(PrimitiveCodecs.readVarint(buffer), equalTo(value));
+    assertThat(buffer.position(), equalTo(size));
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {0L, 300L, Long.MAX_VALUE, -1L})
+  void varintRoundtripDirectBuffer(long value) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(PrimitiveCodecs.MAX_VARINT_SIZE + 1);
+
+    int size = PrimitiveCodecs.writeVarint(value, buffer);
+
+    buffer.flip();
+    assertThat(PrimitiveCodecs.readVarint(buffer), equalTo(value));
+    assertThat(buffer.position(), equalTo(size));
+  }
+
+  @Test
+  void readVarintFromArrayOffset() {
+    byte[] input = bytes(0x01, 0xAC, 0x02, 0x03);
+    ByteBuffer buffer = ByteBuffer.wrap(input, 1, 3).slice();
+
+    assertThat(PrimitiveCodecs.readVarint(buffer), equalTo(300L));
+    assertThat(buffer.position(), equalTo(2));
+  }
+
+  @Test
+  void varintSizeNegative() {
+    assertThat(PrimitiveCodecs.varintSize(-1L), equalTo(PrimitiveCodecs.MAX_VARINT_SIZE));
+  }
+
+  @Test
+  void readVarintTruncated() {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes(0x80, 0x80));
+
+    assertThrows(IllegalArgumentException.class, () -> PrimitiveCodecs.readVarint(buffer));
+  }
+
+  @Test
+  void readVarintTooLong() {
+    byte[] input = new byte[PrimitiveCodecs.MAX_VARINT_SIZE + 1];
+    Arrays.fill(input, (byte) 0x80);
+    ByteBuffer buffer = ByteBuffer.wrap(input);
+
+    assertThrows(IllegalArgumentException.class, () -> PrimitiveCodecs.readVarint(buffer));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"HEAP", "DIRECT"})
+  void readVarintRejectsRedundantZeroGroup(String bufferType) {
+    // 1 encoded in two bytes instead of one
+    ByteBuffer buffer = buffer(bufferType, bytes(0x81, 0x00));
+
+    assertThrows(IllegalArgumentException.class, () -> PrimitiveCodecs.readVarint(buffer));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"HEAP", "DIRECT"})
+  void readVarintRejectsRedundantZeroGroups(String bufferType) {
+    // 300 with two extra zero groups
+    ByteBuffer buffer = buffer(bufferType, bytes(0xAC, 0x82, 0x80, 0x00));
+
+    assertThrows(IllegalArgumentException.class, () -> PrimitiveCodecs.readVarint(buffer));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"HEAP", "DIRECT"})
+  void readVarintRejectsOverflow(String bufferType) {
+    // The last of ten bytes has bits beyond the 64th
+    byte[] input = new byte[PrimitiveCodecs.MAX_VARINT_SIZE];
+    Arrays.fill(input, (byte) 0xFF);
+    input[input.length - 1] = 0x02;
+    ByteBuffer buffer = buffer(bufferType, input);
+
+    assertThrows(IllegalArgumentException.class, () -> PrimitiveCodecs.readVarint(buffer));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"HEAP", "DIRECT"})
+  void readVarintAcceptsMinimalZero(String bufferType) {
+    ByteBuffer buffer = buffer(bufferType, bytes(0x00));
+
+    assertThat(PrimitiveCodecs.readVarint(buffer), equalTo(0L));
+  }
+
+  @Test
+  void readBytes() {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes(1, 2, 3));
+
+    assertThat(PrimitiveCodecs.readBytes(buffer, 2), equalTo(bytes(1, 2)));
+    assertThat(buffer.remaining(), equalTo(1));
+  }
+
+  @Test
+  void readBytesNotEnoughBytes() {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes(1, 2, 3));
+
+    assertThrows(IllegalArgumentException.class, () -> PrimitiveCodecs.readBytes(buffer, 4));
+  }
+
+  private static ByteBuffer buffer(String bufferType, byte[] bytes) {
+    if (bufferType.equals("HEAP")) {
+      return ByteBuffer.wrap(bytes);
+    }
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes);
+    buffer.flip();
+    return buffer;
+  }
+
+  private static ByteOrder byteOrder(String order) {
+    return order.equals("BIG_ENDIAN") ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import com.exonum.binding.common.serialization.TestProtos.Point;
+import com.exonum.binding.common.serialization.TestProtos.Targets;
+import com.exonum.binding.common.serialization.TestProtos.Wallet;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the protobuf serializer with the methods of the messages themselves,
+ * on a small message (similar to a wallet of the cryptocurrency service)
+ * and a large one (a map of 1000 entries, ~25 KiB).
+ *
+ * <p>To run the benchmark, compile the tests and launch the JMH runner:
+ * <pre>
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main \
+ *     ProtobufReflectiveSerializerBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtobufReflectiveSerializerBenchmark {
+
+  @Param({"SMALL", "LARGE"})
+  private MessageSize messageSize;
+
+  private ProtobufReflectiveSerializer<MessageLite> serializer;
+
+  private MessageLite message;
+
+  private byte[] serializedMessage;
+
+  private ByteBuffer buffer;
+
+  /**
+   * Creates the message of the given size and its serializer.
+   */
+  @Setup
+  public void setUp() {
+    message = messageSize.messageFactory.get();
+    @SuppressWarnings("unchecked")
+    Class<MessageLite> messageType = (Class<MessageLite>) message.getClass();
+    serializer = new ProtobufReflectiveSerializer<>(messageType);
+    serializedMessage = serializer.toBytes(message);
+    buffer = ByteBuffer.wrap(serializedMessage.clone());
+  }
+
+  @Benchmark
+  public byte[] messageToByteArray() {
+    return message.toByteArray();
+  }
+
+  @Benchmark
+  public byte[] serializerToBytes() {
+    return serializer.toBytes(message);
+  }
+
+  /**
+   * Serializes the message into the same buffer on each invocation.
+   */
+  @Benchmark
+  public ByteBuffer serializerWriteToBuffer() {
+    buffer.clear();
+    serializer.writeTo(message, buffer);
+    return buffer;
+  }
+
+  @Benchmark
+  public MessageLite messageParseFrom() throws InvalidProtocolBufferException {
+    return message.getParserForType().parseFrom(serializedMessage);
+  }
+
+  @Benchmark
+  public MessageLite serializerFromBytes() {
+    return serializer.fromBytes(serializedMessage);
+  }
+
+  /**
+   * Parses the message from the buffer, which the setup fills with the serialized message.
+   */
+  @Benchmark
+  public MessageLite serializerFromBuffer() {
+    buffer.clear();
+    return serializer.readFrom(buffer);
+  }
+
+  public enum MessageSize {
+    SMALL(() -> Wallet.newBuilder()
+        .setBalance(100_000L)
+        .build()),
+    LARGE(() -> {
+      Targets.Builder targets = Targets.newBuilder();
+      IntStream.range(0, 1000)
+          .forEach(i -> targets.putTargets("target #" + i, Point.newBuilder()
+              .setX(i)
+              .setY(-i)
+              .build()));
+      return targets.build();
+    });
+
+    private final Supplier<MessageLite> messageFactory;
+
+    MessageSize(Supplier<MessageLite> messageFactory) {
+      this.messageFactory = messageFactory;
+    }
+  }
+}
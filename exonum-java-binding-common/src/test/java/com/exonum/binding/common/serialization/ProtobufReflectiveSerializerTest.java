@@ -16,6 +16,7 @@
 
 package com.exonum.binding.common.serialization;
 
+import static com.exonum.binding.common.serialization.SerializerFunnel.serializerFunnel;
 import static com.exonum.binding.common.serialization.StandardSerializersRoundtripTest.roundTripTest;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -24,16 +25,27 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 
+import com.exonum.binding.common.hash.Funnel;
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.HashFunction;
+import com.exonum.binding.common.hash.Hashing;
 import com.exonum.binding.common.serialization.TestProtos.Point;
 import com.exonum.binding.common.serialization.TestProtos.Targets;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.protobuf.MessageLite;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class ProtobufReflectiveSerializerTest {
 
@@ -42,12 +54,13 @@ class ProtobufReflectiveSerializerTest {
 
   @Test
   void constructorRejectsInvalidMessages() {
-    MessageLite m = mock(MessageLite.class); // Does not have a public static parseFrom method.
+    // Does not have a public static getDefaultInstance method.
+    MessageLite m = mock(MessageLite.class);
     IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
         () -> new ProtobufReflectiveSerializer<>(m.getClass()));
 
     assertThat(e.getMessage(),
-        containsString("Invalid message: cannot find public static parseFrom"));
+        containsString("Invalid message: cannot find public static getDefaultInstance"));
 
     assertThat(e.getCause(), instanceOf(NoSuchMethodException.class));
   }
@@ -75,6 +88,130 @@ class ProtobufReflectiveSerializerTest {
         serializer.toBytes(t1), equalTo(serializer.toBytes(t2)));
   }
 
+  @Test
+  void writeToIsDeterministic() {
+    Point[] points = IntStream.range(0, 1000)
+        .mapToObj(i -> createPoint(i, -i))
+        .toArray(Point[]::new);
+    Targets t1 = pointsAsTargetsInOrder(points);
+    Targets t2 = pointsAsTargetsInOrder(Lists.reverse(Arrays.asList(points))
+        .toArray(new Point[0]));
+
+    ProtobufReflectiveSerializer<Targets> serializer =
+        new ProtobufReflectiveSerializer<>(Targets.class);
+    HashFunction hashFunction = Hashing.defaultHashFunction();
+    Funnel<Targets> funnel = serializerFunnel(serializer);
+
+    // The message is larger than the buffer of the serializer, so it is written in several chunks
+    HashCode expected = hashFunction.hashBytes(serializer.toBytes(t1));
+    assertThat(hashFunction.hashObject(t1, funnel), equalTo(expected));
+    assertThat(hashFunction.hashObject(t2, funnel), equalTo(expected));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"heap", "direct"})
+  void writeToBuffer(String bufferType) {
+    Point p = createPoint(-1, 1);
+    byte[] expected = serializer.toBytes(p);
+    int offset = 3;
+    ByteBuffer buffer = allocate(expected.length + offset + 2, bufferType);
+    buffer.position(offset);
+
+    int size = serializer.writeTo(p, buffer);
+
+    assertThat(size, equalTo(expected.length));
+    assertThat(buffer.position(), equalTo(offset + expected.length));
+    byte[] actual = new byte[size];
+    buffer.position(offset);
+    buffer.get(actual);
+    assertThat(actual, equalTo(expected));
+  }
+
+  @Test
+  void writeToBufferReusesBuffer() {
+    ByteBuffer buffer = ByteBuffer.allocate(16);
+    for (Point p : testPoints()) {
+      buffer.clear();
+      serializer.writeTo(p, buffer);
+      buffer.flip();
+
+      assertThat(serializer.readFrom(buffer), equalTo(p));
+    }
+  }
+
+  @Test
+  void writeToBufferIsDeterministic() {
+    Point p1 = createPoint(-1, -1);
+    Point p2 = createPoint(1, 1);
+    Targets t1 = pointsAsTargetsInOrder(p1, p2);
+    Targets t2 = pointsAsTargetsInOrder(p2, p1);
+    ProtobufReflectiveSerializer<Targets> serializer =
+        new ProtobufReflectiveSerializer<>(Targets.class);
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+
+    serializer.writeTo(t2, buffer);
+    buffer.flip();
+
+    assertThat(ByteBuffer.wrap(serializer.toBytes(t1)), equalTo(buffer));
+  }
+
+  @Test
+  void writeToBufferNotEnoughSpace() {
+    Point p = createPoint(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    ByteBuffer buffer = ByteBuffer.allocate(p.getSerializedSize() - 1);
+
+    assertThrows(BufferOverflowException.class, () -> serializer.writeTo(p, buffer));
+    assertThat(buffer.position(), equalTo(0));
+  }
+
+  @Test
+  void writeToBufferReadOnly() {
+    Point p = createPoint(1, 1);
+    ByteBuffer buffer = ByteBuffer.allocate(16).asReadOnlyBuffer();
+
+    assertThrows(ReadOnlyBufferException.class, () -> serializer.writeTo(p, buffer));
+  }
+
+  @Test
+  void getSerializedSize() {
+    Point p = createPoint(-1, 1);
+
+    assertThat(serializer.getSerializedSize(p), equalTo(serializer.toBytes(p).length));
+  }
+
+  @Test
+  void readFromArrayRange() {
+    Point p = createPoint(-1, 1);
+    byte[] message = serializer.toBytes(p);
+    byte[] input = new byte[message.length + 3];
+    System.arraycopy(message, 0, input, 1, message.length);
+
+    assertThat(serializer.readFrom(ByteBuffer.wrap(input, 1, message.length)), equalTo(p));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"heap", "direct"})
+  void readFrom(String bufferType) {
+    Point p = createPoint(-1, 1);
+    byte[] message = serializer.toBytes(p);
+    ByteBuffer buffer = allocate(message.length + 2, bufferType);
+    buffer.position(1);
+    buffer.put(message);
+    buffer.position(1);
+    buffer.limit(1 + message.length);
+
+    assertThat(serializer.readFrom(buffer), equalTo(p));
+    assertThat(buffer.position(), equalTo(buffer.limit()));
+  }
+
+  @Test
+  void readFromInvalidInput() {
+    ByteBuffer buffer = ByteBuffer.allocate(32); // Too big for a Point message
+
+    assertThrows(IllegalArgumentException.class, () -> serializer.readFrom(buffer));
+    assertThat(buffer.position(), equalTo(0));
+  }
+
   @Test
   void toBytesNullMessage() {
     assertThrows(NullPointerException.class, () -> serializer.toBytes(null));
@@ -107,6 +244,11 @@ class ProtobufReflectiveSerializerTest {
     );
   }
 
+  private static ByteBuffer allocate(int capacity, String bufferType) {
+    return bufferType.equals("direct") ? ByteBuffer.allocateDirect(capacity)
+        : ByteBuffer.allocate(capacity);
+  }
+
   private static Point createPoint(int x, int y) {
     return Point.newBuilder()
         .setX(x)
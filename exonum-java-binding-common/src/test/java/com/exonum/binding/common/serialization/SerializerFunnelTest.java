@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import static com.exonum.binding.common.serialization.SerializerFunnel.serializerFunnel;
+import static com.exonum.binding.test.Bytes.bytes;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.HashFunction;
+import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.common.hash.PrimitiveSink;
+import org.junit.jupiter.api.Test;
+
+class SerializerFunnelTest {
+
+  @Test
+  void funnelUsesDefaultWriteTo() {
+    byte[] valueBytes = bytes(1, 2, 3);
+    Serializer<String> serializer = new Serializer<String>() {
+      @Override
+      public byte[] toBytes(String value) {
+        return valueBytes;
+      }
+
+      @Override
+      public String fromBytes(byte[] serializedValue) {
+        throw new UnsupportedOperationException();
+      }
+    };
+    PrimitiveSink sink = mock(PrimitiveSink.class);
+
+    serializerFunnel(serializer).funnel("v", sink);
+
+    verify(sink).putBytes(valueBytes);
+  }
+
+  @Test
+  void hashObjectMatchesHashOfBytes() {
+    Serializer<String> serializer = StandardSerializers.string();
+    HashFunction hashFunction = Hashing.defaultHashFunction();
+    String value = "Some value";
+
+    HashCode hash = hashFunction.hashObject(value, serializerFunnel(serializer));
+
+    assertThat(hash, equalTo(hashFunction.hashBytes(serializer.toBytes(value))));
+  }
+}
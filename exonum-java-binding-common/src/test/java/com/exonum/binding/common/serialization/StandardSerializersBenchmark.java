@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.serialization;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.Hashing;
+import com.google.common.base.Strings;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the serialization of typical keys and values of the storage indices
+ * with the {@link StandardSerializers}.
+ *
+ * <p>See {@link com.exonum.binding.common.hash.HashFunctionBenchmark} on how to run
+ * the benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StandardSerializersBenchmark {
+
+  @Param
+  private SerializedValue serializedValue;
+
+  private Serializer<Object> serializer;
+
+  private Object value;
+
+  private byte[] serializedBytes;
+
+  /**
+   * Serializes the value.
+   */
+  @Setup
+  public void setUp() {
+    serializer = serializedValue.serializer;
+    value = serializedValue.value;
+    serializedBytes = serializer.toBytes(value);
+  }
+
+  @Benchmark
+  public byte[] toBytes() {
+    return serializer.toBytes(value);
+  }
+
+  @Benchmark
+  public Object fromBytes() {
+    return serializer.fromBytes(serializedBytes);
+  }
+
+  public enum SerializedValue {
+    LONG(StandardSerializers.longs(), 1_000_000_000L),
+    VARINT(StandardSerializers.varints(), 1_000_000_000L),
+    STRING(StandardSerializers.string(), Strings.repeat("Exonum", 10)),
+    HASH(StandardSerializers.hash(), Hashing.sha256().hashInt(1)),
+    FIXED_BYTES(StandardSerializers.fixedBytes(32), new byte[32]),
+    /** A key of a history entry: an account id and the hash of a transaction. */
+    COMPOSITE(StandardSerializers.<Entry<Long, HashCode>, Long, byte[]>composite(
+        StandardSerializers.longs(), Entry::getKey,
+        StandardSerializers.fixedBytes(Hashing.DEFAULT_HASH_SIZE_BYTES),
+        e -> e.getValue().asBytes(),
+        (id, hash) -> new SimpleImmutableEntry<>(id, HashCode.fromBytes(hash))),
+        new SimpleImmutableEntry<>(1L, Hashing.sha256().hashInt(1)));
+
+    private final Serializer<Object> serializer;
+
+    private final Object value;
+
+    @SuppressWarnings("unchecked")
+    <T> SerializedValue(Serializer<T> serializer, T value) {
+      this.serializer = (Serializer<Object>) serializer;
+      this.value = value;
+    }
+  }
+}
@@ -1,12 +1,19 @@
 package com.exonum.binding.common.serialization;
 
+import static com.exonum.binding.common.serialization.SerializerFunnel.serializerFunnel;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.HashFunction;
 import com.exonum.binding.common.hash.Hashing;
 import com.google.common.collect.Streams;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Arrays;
+import java.util.Map.Entry;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -21,6 +28,37 @@ class StandardSerializersRoundtripTest {
     roundTripTest(value, StandardSerializers.longs());
   }
 
+  @ParameterizedTest
+  @ValueSource(ints = {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE})
+  void roundtripIntTest(Integer value) {
+    roundTripTest(value, StandardSerializers.ints());
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {Long.MIN_VALUE, -1L, 0L, 1L, 127L, 128L, 16384L, Long.MAX_VALUE})
+  void roundtripVarintTest(Long value) {
+    roundTripTest(value, StandardSerializers.varints());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 32})
+  void roundtripFixedBytesTest(int size) {
+    byte[] value = new byte[size];
+    Arrays.fill(value, (byte) 0xAB);
+    roundTripTest(value, StandardSerializers.fixedBytes(size));
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {Long.MIN_VALUE, -1L, 0L, 1L, Long.MAX_VALUE})
+  void roundtripCompositeTest(Long value) {
+    BufferSerializer<Entry<Long, Long>> serializer = StandardSerializers.composite(
+        StandardSerializers.varints(), Entry::getKey,
+        StandardSerializers.longs(), Entry::getValue,
+        SimpleImmutableEntry::new);
+
+    roundTripTest(new SimpleImmutableEntry<>(value, -value), serializer);
+  }
+
   @ParameterizedTest
   @ValueSource(strings = {
       "",
@@ -41,7 +79,8 @@ class StandardSerializersRoundtripTest {
   }
 
   /**
-   * Performs a round trip test: ObjectT -> Binary -> ObjectT.
+   * Performs a round trip test: ObjectT -> Binary -> ObjectT. Also checks that the serializer
+   * writes the same binary representation into a sink.
    */
   static <ObjectT, SerializerT extends Serializer<ObjectT>> void roundTripTest(
       ObjectT expected, SerializerT serializer) {
@@ -49,6 +88,44 @@ class StandardSerializersRoundtripTest {
     ObjectT actual = serializer.fromBytes(bytes);
 
     assertThat(actual, equalTo(expected));
+
+    HashFunction hashFunction = Hashing.defaultHashFunction();
+    HashCode streamingHash = hashFunction.hashObject(expected, serializerFunnel(serializer));
+    assertThat(streamingHash, equalTo(hashFunction.hashBytes(bytes)));
+
+    if (serializer instanceof BufferSerializer) {
+      @SuppressWarnings("unchecked")
+      BufferSerializer<ObjectT> bufferSerializer = (BufferSerializer<ObjectT>) serializer;
+      bufferRoundTripTest(expected, bufferSerializer, bytes);
+    }
+  }
+
+  /**
+   * Checks that a buffer serializer writes the same binary representation into a buffer
+   * at some offset and reads it back. The buffer uses big-endian byte order to check that
+   * the serializer does not depend on it.
+   */
+  private static <ObjectT> void bufferRoundTripTest(ObjectT expected,
+      BufferSerializer<ObjectT> serializer, byte[] expectedBytes) {
+    int size = expectedBytes.length;
+    assertThat(serializer.getSerializedSize(expected), equalTo(size));
+
+    int offset = 2;
+    int trailingSize = serializer.isSelfDelimiting() ? 3 : 0;
+    ByteBuffer buffer = ByteBuffer.allocate(offset + size + trailingSize)
+        .order(ByteOrder.BIG_ENDIAN);
+    buffer.position(offset);
+    assertThat(serializer.writeTo(expected, buffer), equalTo(size));
+    assertThat(buffer.position(), equalTo(offset + size));
+
+    byte[] actualBytes = new byte[size];
+    buffer.position(offset);
+    buffer.get(actualBytes);
+    assertThat(actualBytes, equalTo(expectedBytes));
+
+    buffer.position(offset);
+    assertThat(serializer.readFrom(buffer), equalTo(expected));
+    assertThat(buffer.position(), equalTo(offset + size));
   }
 
   private static Stream<HashCode> testHashes() {
@@ -29,7 +29,7 @@ use std::sync::Arc;
 use test::{black_box, Bencher};
 
 lazy_static! {
-    pub static ref VM: Arc<JavaVM> = Arc::new(create_vm_for_benchmarks());
+    pub static ref VM: Arc<JavaVM> = create_vm_for_benchmarks();
     pub static ref EXECUTOR: DumbExecutor = DumbExecutor { vm: VM.clone() };
 }
 
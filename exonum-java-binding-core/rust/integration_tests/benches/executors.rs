@@ -0,0 +1,68 @@
+// Copyright 2018 The Exonum Team
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//! Compares the `JniExecutor`s on a call of a Java method from a native thread,
+//! which is the overhead of each call of a Java transaction or service.
+
+#![feature(test)]
+
+extern crate integration_tests;
+extern crate java_bindings;
+#[macro_use]
+extern crate lazy_static;
+extern crate test;
+
+use integration_tests::mock::transaction::create_mock_transaction;
+use integration_tests::vm::create_vm_for_benchmarks_with_fake_classes;
+use java_bindings::jni::JavaVM;
+use java_bindings::{DumbExecutor, HackyExecutor, JniExecutor, MainExecutor};
+
+use std::sync::Arc;
+use test::{black_box, Bencher};
+
+/// The benchmarks may run in different threads, each of which the `HackyExecutor`
+/// attaches permanently.
+const HACKY_EXECUTOR_ATTACH_LIMIT: usize = 16;
+
+lazy_static! {
+    static ref VM: Arc<JavaVM> = create_vm_for_benchmarks_with_fake_classes();
+    pub static ref MAIN_EXECUTOR: MainExecutor = MainExecutor::new(VM.clone());
+}
+
+#[bench]
+pub fn dumb_executor_call(b: &mut Bencher) {
+    bench_is_valid_call(b, DumbExecutor::new(VM.clone()));
+}
+
+#[bench]
+pub fn hacky_executor_call(b: &mut Bencher) {
+    bench_is_valid_call(b, HackyExecutor::new(VM.clone(), HACKY_EXECUTOR_ATTACH_LIMIT));
+}
+
+#[bench]
+pub fn main_executor_call(b: &mut Bencher) {
+    bench_is_valid_call(b, MAIN_EXECUTOR.clone());
+}
+
+/// Calls `Transaction#isValid` of a Java transaction, as `TransactionProxy#verify` does.
+fn bench_is_valid_call<E: JniExecutor>(b: &mut Bencher, executor: E) {
+    let (java_transaction, _) = create_mock_transaction(&MAIN_EXECUTOR, true);
+    let transaction = java_transaction.as_obj();
+    b.iter(|| {
+        black_box(
+            executor
+                .with_attached(|env| env.call_method(transaction, "isValid", "()Z", &[])?.z())
+                .unwrap(),
+        )
+    });
+}
@@ -0,0 +1,76 @@
+// Copyright 2018 The Exonum Team
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//! Benchmarks of the calls of a Java service through `ServiceProxy`.
+
+#![feature(test)]
+
+extern crate integration_tests;
+extern crate java_bindings;
+#[macro_use]
+extern crate lazy_static;
+extern crate test;
+
+use integration_tests::mock::service::ServiceMockBuilder;
+use integration_tests::mock::transaction::create_mock_transaction;
+use integration_tests::test_service::create_test_service;
+use integration_tests::vm::create_vm_for_benchmarks_with_fake_classes;
+use java_bindings::exonum::blockchain::Service;
+use java_bindings::exonum::crypto::hash;
+use java_bindings::exonum::storage::{Database, MemoryDB};
+use java_bindings::jni::JavaVM;
+use java_bindings::MainExecutor;
+
+use std::sync::Arc;
+use test::{black_box, Bencher};
+
+lazy_static! {
+    static ref VM: Arc<JavaVM> = create_vm_for_benchmarks_with_fake_classes();
+    pub static ref EXECUTOR: MainExecutor = MainExecutor::new(VM.clone());
+}
+
+/// Gets the state hashes of a service mock, which returns them without accessing the database.
+#[bench]
+pub fn state_hash(b: &mut Bencher) {
+    let db = MemoryDB::new();
+    let snapshot = db.snapshot();
+    let service = ServiceMockBuilder::new(EXECUTOR.clone())
+        .state_hashes(&[hash(&[1])])
+        .build();
+    b.iter(|| black_box(service.state_hash(&*snapshot)));
+}
+
+/// Gets the state hashes of the test service, which computes the root hash
+/// of its proof map in the database.
+#[bench]
+pub fn state_hash_test_service(b: &mut Bencher) {
+    let db = MemoryDB::new();
+    let service = create_test_service(EXECUTOR.clone());
+    let mut fork = db.fork();
+    service.initialize(&mut fork);
+    db.merge(fork.into_patch())
+        .expect("Failed to merge the initial state");
+    let snapshot = db.snapshot();
+    b.iter(|| black_box(service.state_hash(&*snapshot)));
+}
+
+/// Converts a message into a transaction. The service mock converts any message
+/// into the same Java transaction.
+#[bench]
+pub fn tx_from_raw(b: &mut Bencher) {
+    let (java_transaction, raw_message) = create_mock_transaction(&EXECUTOR, true);
+    let service = ServiceMockBuilder::new(EXECUTOR.clone())
+        .convert_transaction(java_transaction)
+        .build();
+    b.iter(|| black_box(service.tx_from_raw(raw_message.clone()).unwrap()));
+}
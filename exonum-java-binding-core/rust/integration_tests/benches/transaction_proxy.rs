@@ -0,0 +1,61 @@
+// Copyright 2018 The Exonum Team
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//! Benchmarks of the calls of a Java transaction through `TransactionProxy`,
+//! which include the native-to-Java transition and, for `execute`, the access
+//! of the Java code to the native fork.
+
+#![feature(test)]
+
+extern crate integration_tests;
+extern crate java_bindings;
+#[macro_use]
+extern crate lazy_static;
+extern crate test;
+
+use integration_tests::mock::transaction::create_mock_transaction_proxy;
+use integration_tests::vm::create_vm_for_benchmarks_with_fake_classes;
+use java_bindings::exonum::blockchain::Transaction;
+use java_bindings::exonum::encoding::serialize::json::ExonumJson;
+use java_bindings::exonum::storage::{Database, MemoryDB};
+use java_bindings::jni::JavaVM;
+use java_bindings::MainExecutor;
+
+use std::sync::Arc;
+use test::{black_box, Bencher};
+
+lazy_static! {
+    static ref VM: Arc<JavaVM> = create_vm_for_benchmarks_with_fake_classes();
+    pub static ref EXECUTOR: MainExecutor = MainExecutor::new(VM.clone());
+}
+
+#[bench]
+pub fn verify(b: &mut Bencher) {
+    let tx = create_mock_transaction_proxy(EXECUTOR.clone(), true);
+    b.iter(|| black_box(tx.verify()));
+}
+
+/// Executes a transaction writing a value into an entry of the same fork.
+#[bench]
+pub fn execute(b: &mut Bencher) {
+    let tx = create_mock_transaction_proxy(EXECUTOR.clone(), true);
+    let db = MemoryDB::new();
+    let mut fork = db.fork();
+    b.iter(|| black_box(tx.execute(&mut fork).unwrap()));
+}
+
+#[bench]
+pub fn serialize_field(b: &mut Bencher) {
+    let tx = create_mock_transaction_proxy(EXECUTOR.clone(), true);
+    b.iter(|| black_box(tx.serialize_field().unwrap()));
+}
@@ -1,7 +1,7 @@
 use exonum::blockchain::{ApiContext, Service, Transaction};
 use exonum::crypto::Hash;
 use exonum::encoding::Error as MessageError;
-use exonum::messages::RawMessage;
+use exonum::messages::{Message, RawMessage};
 use exonum::storage::{Fork, Snapshot};
 use iron::Handler;
 use jni::objects::{GlobalRef, JObject, JValue};
@@ -13,8 +13,8 @@ use std::fmt;
 use proxy::node::NodeContext;
 use storage::View;
 use utils::{
-    check_error_on_exception, convert_to_hash, convert_to_string, panic_on_exception, to_handle,
-    unwrap_jni,
+    check_error_on_exception, convert_hash, convert_to_hash, convert_to_string,
+    panic_on_exception, to_handle, unwrap_jni,
 };
 use {JniExecutor, MainExecutor, TransactionProxy};
 
@@ -97,12 +97,16 @@ impl Service for ServiceProxy {
 
     fn tx_from_raw(&self, raw: RawMessage) -> Result<Box<Transaction>, MessageError> {
         unwrap_jni(self.exec.with_attached(|env| {
+            // The hash is passed to Java so that it does not compute it again.
+            let message_hash = JObject::from(convert_hash(env, &raw.hash())?);
+            // A single call: the service returns the transaction it has already converted
+            // from the message with this hash, or converts the message on a cache miss.
             let transaction_message = JObject::from(env.byte_array_from_slice(raw.as_ref())?);
             let res = env.call_method(
                 self.service.as_obj(),
                 "convertTransaction",
-                "([B)Lcom/exonum/binding/service/adapters/UserTransactionAdapter;",
-                &[JValue::from(transaction_message)],
+                "([B[B)Lcom/exonum/binding/service/adapters/UserTransactionAdapter;",
+                &[JValue::from(transaction_message), JValue::from(message_hash)],
             );
             // TODO consider whether `NullPointerException` should raise a panic:
             // [https://jira.bf.local/browse/ECR-944]
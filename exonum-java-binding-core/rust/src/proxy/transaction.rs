@@ -21,6 +21,7 @@ use {JniErrorKind, JniExecutor, JniResult, MainExecutor};
 
 const CLASS_TRANSACTION_EXCEPTION: &str =
     "com/exonum/binding/transaction/TransactionExecutionException";
+const EXECUTE_FOR_RESULT_SIG: &str = "(J)Lcom/exonum/binding/transaction/TransactionResult;";
 
 /// A proxy for `Transaction`s.
 #[derive(Clone)]
@@ -96,11 +97,12 @@ impl Transaction for TransactionProxy {
             let res = env
                 .call_method(
                     self.transaction.as_obj(),
-                    "execute",
-                    "(J)V",
+                    "executeForResult",
+                    EXECUTE_FOR_RESULT_SIG,
                     &[JValue::from(view_handle)],
-                ).and_then(JValue::v);
-            Ok(check_transaction_execution_result(env, res))
+                ).and_then(JValue::l);
+            Ok(check_transaction_execution_result(env, res)
+                .and_then(|result| unwrap_jni(convert_transaction_result(env, result))))
         });
         unwrap_jni(res)
     }
@@ -151,6 +153,28 @@ fn check_transaction_execution_result<T>(
     })
 }
 
+/// Converts the `TransactionResult` returned by the `UserTransactionAdapter#executeForResult`
+/// into the `ExecutionResult`.
+///
+/// A successful execution is reported with `null`, so that it does not require any
+/// further calls to Java. The error code and the description of a failed execution
+/// are read from the fields of the result, without calling its Java methods.
+fn convert_transaction_result(env: &JNIEnv, result: JObject) -> JniResult<ExecutionResult> {
+    if result.is_null() {
+        return Ok(Ok(()));
+    }
+    let err_code = env.get_field(result, "errorCode", "B")?.b()? as u8;
+    let description = env
+        .get_field(result, "description", "Ljava/lang/String;")?
+        .l()?;
+    if description.is_null() {
+        Ok(Err(ExecutionError::new(err_code)))
+    } else {
+        let description = convert_to_string(env, description)?;
+        Ok(Err(ExecutionError::with_description(err_code, description)))
+    }
+}
+
 /// Returns the error code of the `TransactionExecutionException` instance.
 fn get_tx_error_code(env: &JNIEnv, exception: JObject) -> JniResult<i8> {
     let err_code = env.call_method(exception, "getErrorCode", "()B", &[])?;
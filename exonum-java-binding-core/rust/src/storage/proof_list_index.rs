@@ -12,12 +12,12 @@
 // See the License for the specific language governing permissions and
 // limitations under the License.
 
-use exonum::crypto::Hash;
+use exonum::crypto::{Hash, HASH_SIZE};
 use exonum::storage::proof_list_index::{ListProof, ProofListIndexIter};
 use exonum::storage::{Fork, ProofListIndex, Snapshot};
 use jni::errors::Result;
-use jni::objects::{JClass, JObject, JString};
-use jni::sys::{jboolean, jbyteArray, jint, jlong, jobject};
+use jni::objects::{JClass, JObject, JString, JValue};
+use jni::sys::{jboolean, jbyteArray, jint, jlong, jobject, jsize};
 use jni::JNIEnv;
 
 use std::panic;
@@ -28,6 +28,11 @@ use utils::{self, Handle};
 
 type Index<T> = ProofListIndex<T, Value>;
 
+const FLAT_LIST_PROOF: &str = "com/exonum/binding/common/proofs/list/FlatListProof";
+const FLAT_LIST_PROOF_SIG: &str =
+    "(I[J[[B[I[J[B)Lcom/exonum/binding/common/proofs/list/FlatListProof;";
+const BYTE_ARRAY: &str = "[B";
+
 enum IndexType {
     SnapshotIndex(Index<&'static Snapshot>),
     ForkIndex(Index<&'static mut Fork>),
@@ -361,60 +366,91 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexPro
     utils::drop_handle::<ProofListIndexIter<Value>>(&env, iter_handle);
 }
 
-fn make_java_proof<'a>(env: &JNIEnv<'a>, proof: &ListProof<Value>) -> Result<JObject<'a>> {
+/// A list proof, flattened into the nodes it contains along with their positions in the tree.
+#[derive(Default)]
+struct FlatProof<'p> {
+    height: jint,
+    element_indices: Vec<jlong>,
+    elements: Vec<&'p Value>,
+    /// Hash nodes: (depth, index, hash).
+    hash_nodes: Vec<(jint, jlong, &'p Hash)>,
+}
+
+fn flatten_proof<'p>(
+    proof: &'p ListProof<Value>,
+    depth: jint,
+    index: jlong,
+    flat: &mut FlatProof<'p>,
+) {
+    let child_depth = depth + 1;
+    let left_index = 2 * index;
+    let right_index = left_index + 1;
     match *proof {
         ListProof::Full(ref left, ref right) => {
-            let left = make_java_proof(env, left.as_ref())?;
-            let right = make_java_proof(env, right.as_ref())?;
-            make_java_proof_branch(env, left, right)
+            flatten_proof(left.as_ref(), child_depth, left_index, flat);
+            flatten_proof(right.as_ref(), child_depth, right_index, flat);
         }
         ListProof::Left(ref left, ref hash) => {
-            let left = make_java_proof(env, left.as_ref())?;
-            let right = hash.map_or(Ok((ptr::null_mut() as jobject).into()), |hash| {
-                make_java_hash_node(env, &hash)
-            })?;
-            make_java_proof_branch(env, left, right)
+            flatten_proof(left.as_ref(), child_depth, left_index, flat);
+            if let Some(ref hash) = *hash {
+                flat.hash_nodes.push((child_depth, right_index, hash));
+            }
         }
         ListProof::Right(ref hash, ref right) => {
-            let left = make_java_hash_node(env, hash)?;
-            let right = make_java_proof(env, right.as_ref())?;
-            make_java_proof_branch(env, left, right)
+            flat.hash_nodes.push((child_depth, left_index, hash));
+            flatten_proof(right.as_ref(), child_depth, right_index, flat);
+        }
+        ListProof::Leaf(ref value) => {
+            flat.height = depth;
+            flat.element_indices.push(index);
+            flat.elements.push(value);
         }
-        ListProof::Leaf(ref value) => make_java_proof_element(env, value),
     }
 }
 
-// TODO: Remove attribute (https://github.com/rust-lang-nursery/rust-clippy/issues/1981).
-#[cfg_attr(feature = "cargo-clippy", allow(ptr_arg))]
-fn make_java_proof_element<'a>(env: &JNIEnv<'a>, value: &Value) -> Result<JObject<'a>> {
-    let value = env.auto_local(env.byte_array_from_slice(value)?.into());
-    env.new_object(
-        "com/exonum/binding/common/proofs/list/ProofListElement",
-        "([B)V",
-        &[value.as_obj().into()],
-    )
-}
+/// Creates a Java `FlatListProof`, taking a constant number of JNI objects
+/// regardless of the size of the proof.
+fn make_java_proof<'a>(env: &JNIEnv<'a>, proof: &ListProof<Value>) -> Result<JObject<'a>> {
+    let mut flat = FlatProof::default();
+    flatten_proof(proof, 0, 0, &mut flat);
+    // The elements are collected in the order of indices; the Java proof expects
+    // the hash nodes to be ordered by depth from the bottom level up, then by index.
+    flat.hash_nodes.sort_by(|a, b| b.0.cmp(&a.0).then(a.1.cmp(&b.1)));
 
-fn make_java_proof_branch<'a>(
-    env: &JNIEnv<'a>,
-    left: JObject,
-    right: JObject,
-) -> Result<JObject<'a>> {
-    let left = env.auto_local(left);
-    let right = env.auto_local(right);
-    env.new_object(
-        "com/exonum/binding/common/proofs/list/ListProofBranch",
-        "(Lcom/exonum/binding/common/proofs/list/ListProof;\
-         Lcom/exonum/binding/common/proofs/list/ListProof;)V",
-        &[left.as_obj().into(), right.as_obj().into()],
-    )
-}
+    let element_indices = env.new_long_array(flat.element_indices.len() as jsize)?;
+    env.set_long_array_region(element_indices, 0, &flat.element_indices)?;
+    let elements =
+        env.new_object_array(flat.elements.len() as jsize, BYTE_ARRAY, JObject::null())?;
+    for (i, value) in flat.elements.iter().enumerate() {
+        let java_value: JObject = env.byte_array_from_slice(value)?.into();
+        env.set_object_array_element(elements, i as jsize, java_value)?;
+        env.delete_local_ref(java_value)?;
+    }
+
+    let hash_node_depths: Vec<jint> = flat.hash_nodes.iter().map(|node| node.0).collect();
+    let hash_node_indices: Vec<jlong> = flat.hash_nodes.iter().map(|node| node.1).collect();
+    let mut hashes = Vec::with_capacity(flat.hash_nodes.len() * HASH_SIZE);
+    for &(_, _, hash) in &flat.hash_nodes {
+        hashes.extend_from_slice(hash.as_ref());
+    }
+    let java_hash_node_depths = env.new_int_array(hash_node_depths.len() as jsize)?;
+    env.set_int_array_region(java_hash_node_depths, 0, &hash_node_depths)?;
+    let java_hash_node_indices = env.new_long_array(hash_node_indices.len() as jsize)?;
+    env.set_long_array_region(java_hash_node_indices, 0, &hash_node_indices)?;
+    let java_hashes = env.byte_array_from_slice(&hashes)?;
 
-fn make_java_hash_node<'a>(env: &JNIEnv<'a>, hash: &Hash) -> Result<JObject<'a>> {
-    let hash = env.auto_local(utils::convert_hash(env, hash)?.into());
-    env.new_object(
-        "com/exonum/binding/common/proofs/list/HashNode",
-        "([B)V",
-        &[hash.as_obj().into()],
-    )
+    let java_proof = env.call_static_method(
+        FLAT_LIST_PROOF,
+        "fromNative",
+        FLAT_LIST_PROOF_SIG,
+        &[
+            JValue::from(flat.height),
+            JObject::from(element_indices).into(),
+            JObject::from(elements).into(),
+            JObject::from(java_hash_node_depths).into(),
+            JObject::from(java_hash_node_indices).into(),
+            JObject::from(java_hashes).into(),
+        ],
+    )?;
+    java_proof.l()
 }
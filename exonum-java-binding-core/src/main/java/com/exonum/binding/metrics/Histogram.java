@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of non-negative values with the bucket bounds that are powers of two.
+ *
+ * <p>The values are counted in striped counters, so that they can be recorded
+ * concurrently without locks and contention.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class Histogram {
+
+  private final int minBoundBits;
+  private final int numBounds;
+  private final LongAdder[] buckets;
+  private final LongAdder sum = new LongAdder();
+
+  /**
+   * Creates a histogram with the bucket bounds from 2<sup>minBoundBits</sup>
+   * to 2<sup>maxBoundBits</sup>, and a bucket of all larger values.
+   *
+   * @param minBoundBits the binary logarithm of the upper bound of the first bucket
+   * @param maxBoundBits the binary logarithm of the upper bound of the last finite bucket
+   * @throws IllegalArgumentException if the bounds are not in range [0, 62]
+   *     or the minimal bound is greater than the maximal one
+   */
+  public Histogram(int minBoundBits, int maxBoundBits) {
+    checkArgument(0 <= minBoundBits && minBoundBits <= maxBoundBits
+            && maxBoundBits < Long.SIZE - 1, "Invalid bounds: 2^%s, 2^%s",
+        minBoundBits, maxBoundBits);
+    this.minBoundBits = minBoundBits;
+    this.numBounds = maxBoundBits - minBoundBits + 1;
+    this.buckets = new LongAdder[numBounds + 1];
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records a value. Negative values are counted in the first bucket.
+   */
+  public void record(long value) {
+    buckets[bucketIndex(value)].increment();
+    sum.add(value);
+  }
+
+  /** Returns the number of recorded values. */
+  public long getCount() {
+    return sum(buckets);
+  }
+
+  /** Returns the sum of recorded values. */
+  public long getSum() {
+    return sum.sum();
+  }
+
+  /**
+   * Writes the histogram as a Prometheus histogram: the cumulative counts of its buckets,
+   * the sum and the count of the recorded values. The metadata of the histogram are not written.
+   *
+   * @param writer a writer of metrics
+   * @param name the name of the histogram
+   * @param labels the labels of the histogram, see {@link PrometheusWriter#label(String, String)}
+   * @param unit the unit of the recorded values in the exported unit, e.g., 1e-9 to export
+   *     durations in nanoseconds as seconds
+   */
+  public void writeTo(PrometheusWriter writer, String name, String labels, double unit) {
+    String labelsPrefix = labels.isEmpty() ? "" : labels + ",";
+    long count = 0;
+    for (int i = 0; i < buckets.length; i++) {
+      count += buckets[i].sum();
+      String bound = (i < numBounds)
+          ? Double.toString((1L << (minBoundBits + i)) * unit)
+          : "+Inf";
+      writer.writeSample(name + "_bucket", labelsPrefix + PrometheusWriter.label("le", bound),
+          count);
+    }
+    writer.writeSample(name + "_sum", labels, sum.sum() * unit);
+    writer.writeSample(name + "_count", labels, count);
+  }
+
+  private int bucketIndex(long value) {
+    if (value <= (1L << minBoundBits)) {
+      return 0;
+    }
+    // The binary logarithm of value, rounded up
+    int log2 = Long.SIZE - Long.numberOfLeadingZeros(value - 1);
+    return Math.min(log2 - minBoundBits, numBounds);
+  }
+
+  private static long sum(LongAdder[] adders) {
+    long sum = 0;
+    for (LongAdder adder : adders) {
+      sum += adder.sum();
+    }
+    return sum;
+  }
+}
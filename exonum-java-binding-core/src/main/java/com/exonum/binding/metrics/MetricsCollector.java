@@ -0,0 +1,31 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics;
+
+/**
+ * A collector of metrics, which writes their current values on each scrape.
+ */
+@FunctionalInterface
+public interface MetricsCollector {
+
+  /**
+   * Writes the metrics of this collector.
+   *
+   * @param writer a writer of metrics
+   */
+  void collect(PrometheusWriter writer);
+}
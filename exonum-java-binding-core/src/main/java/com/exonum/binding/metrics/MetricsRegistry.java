@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A registry of the metrics collectors, which are exported together.
+ *
+ * <p>The metrics of the framework are registered in the {@linkplain #getDefault() default}
+ * registry, which is exported at {@value #METRICS_PATH} by the HTTP server of the node
+ * if any of them are {@linkplain #isDefaultEnabled() enabled}.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class MetricsRegistry {
+
+  /** The path at which the metrics of the default registry are exported. */
+  public static final String METRICS_PATH = "/api/metrics";
+
+  private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+  private final List<MetricsCollector> collectors = new CopyOnWriteArrayList<>();
+
+  /** Returns the default registry. */
+  public static MetricsRegistry getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Returns true if any metrics of the framework are enabled, i.e., the default registry
+   * has something to export.
+   */
+  public static boolean isDefaultEnabled() {
+    return NativeCallMetrics.isEnabled()
+        || TransactionProfiler.getInstance().isEnabled()
+        || NativeResourceMetrics.getInstance().isEnabled()
+        || TransactionCacheMetrics.getInstance().isEnabled();
+  }
+
+  /**
+   * Registers a collector of metrics.
+   */
+  public void register(MetricsCollector collector) {
+    collectors.add(collector);
+  }
+
+  /**
+   * Returns the current values of the metrics of all collectors in the Prometheus text format.
+   */
+  public String scrape() {
+    PrometheusWriter writer = new PrometheusWriter();
+    for (MetricsCollector collector : collectors) {
+      collector.collect(writer);
+    }
+    return writer.toString();
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The metrics of a native method: the number of its calls and the histogram of their durations.
+ *
+ * <p>The metrics are disabled by default and enabled with the {@value #ENABLED_PROPERTY}
+ * system property. When they are disabled, {@link #start()} and {@link #stop(long)} do nothing
+ * and are eliminated by the JIT compiler. When enabled, the metrics of all methods are exported
+ * by the {@linkplain MetricsRegistry#getDefault() default registry} as the
+ * {@value #METRIC_NAME} histogram with the {@code method} label.
+ *
+ * <p>The metrics of a call are recorded as follows:
+ * <pre>{@code
+ * private static final NativeCallMetrics GET_METRICS =
+ *     NativeCallMetrics.forMethod(MapIndexProxy.class, "nativeGet");
+ *
+ * long start = GET_METRICS.start();
+ * byte[] value = nativeGet(nativeHandle, key);
+ * GET_METRICS.stop(start);
+ * }</pre>
+ *
+ * <p>This class is thread-safe.
+ */
+public final class NativeCallMetrics {
+
+  /** A system property enabling the metrics of native calls. */
+  public static final String ENABLED_PROPERTY = "exonum.binding.nativeCallMetrics";
+
+  private static final String METRIC_NAME = "exonum_native_call_duration_seconds";
+
+  private static final double SECONDS_PER_NANO = 1e-9;
+
+  /** The upper bound of the first bucket: 256 ns. */
+  private static final int MIN_BOUND_BITS = 8;
+
+  /** The upper bound of the last finite bucket: ~8.6 s. */
+  private static final int MAX_BOUND_BITS = 33;
+
+  private static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+  private static final NativeCallMetrics DISABLED = new NativeCallMetrics();
+
+  private static final ConcurrentMap<String, NativeCallMetrics> metricsByMethod =
+      new ConcurrentSkipListMap<>();
+
+  static {
+    if (ENABLED) {
+      MetricsRegistry.getDefault().register(NativeCallMetrics::collect);
+    }
+  }
+
+  private final Histogram durations = new Histogram(MIN_BOUND_BITS, MAX_BOUND_BITS);
+
+  private NativeCallMetrics() {}
+
+  /**
+   * Returns the metrics of the given native method. If the metrics are disabled,
+   * returns an instance that records nothing.
+   *
+   * @param nativeClass the class declaring the native method
+   * @param methodName the name of the native method
+   */
+  public static NativeCallMetrics forMethod(Class<?> nativeClass, String methodName) {
+    if (!ENABLED) {
+      return DISABLED;
+    }
+    String method = nativeClass.getSimpleName() + "." + methodName;
+    return metricsByMethod.computeIfAbsent(method, m -> new NativeCallMetrics());
+  }
+
+  /** Returns true if the metrics of native calls are enabled. */
+  public static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  /**
+   * Returns the start time of a call to pass to {@link #stop(long)}, or zero if the metrics
+   * are disabled.
+   */
+  public long start() {
+    return ENABLED ? System.nanoTime() : 0L;
+  }
+
+  /**
+   * Records a completed call.
+   *
+   * @param startNanos the start time of the call returned by {@link #start()}
+   */
+  public void stop(long startNanos) {
+    if (ENABLED) {
+      durations.record(System.nanoTime() - startNanos);
+    }
+  }
+
+  /** Returns the number of recorded calls. */
+  public long getCount() {
+    return durations.getCount();
+  }
+
+  private static void collect(PrometheusWriter writer) {
+    if (metricsByMethod.isEmpty()) {
+      return;
+    }
+    writer.writeMetadata(METRIC_NAME, "histogram", "The duration of native method calls.");
+    for (Map.Entry<String, NativeCallMetrics> entry : metricsByMethod.entrySet()) {
+      String labels = PrometheusWriter.label("method", entry.getKey());
+      entry.getValue().durations.writeTo(writer, METRIC_NAME, labels, SECONDS_PER_NANO);
+    }
+  }
+}
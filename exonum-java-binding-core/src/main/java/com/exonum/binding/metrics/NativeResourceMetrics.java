@@ -0,0 +1,231 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics;
+
+import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.ProxyDestructor;
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.StorageAccessCounter;
+import com.exonum.binding.storage.database.View;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The gauges of the native resources held by the Java side: the live native proxies by type,
+ * the open database views and the approximate native memory they hold, and the histogram
+ * of the number of clean actions performed by {@link Cleaner}s.
+ *
+ * <p>A live native proxy is one with a registered, but not yet performed,
+ * {@link ProxyDestructor} of an owning handle; the proxies that do not own their native objects
+ * are not counted. An open view is one which proxy is not yet destroyed. The native memory
+ * held by a fork is approximated by the total size of the keys and values written through it,
+ * as the native fork keeps the changes in memory; snapshots are considered to hold no memory.
+ * The approximation has two limitations:
+ * <ul>
+ *   <li>It counts the bytes written, not the memory held: repeated writes of the same key
+ *   increase it each time, though the fork keeps only the last value. It is an upper bound
+ *   of the size of the changes, not including the overhead of the native structures.</li>
+ *   <li>The views are confined to other threads, and their {@linkplain
+ *   StorageAccessCounter#getWrittenBytes() written bytes} are published without
+ *   synchronizing with them, so the gauge might lag behind the latest writes.</li>
+ * </ul>
+ * It requires the {@linkplain StorageAccessCounter access counters} of the views, which
+ * these metrics enable.
+ *
+ * <p>The metrics are disabled by default and enabled with the {@value #ENABLED_PROPERTY}
+ * system property. When enabled, they are exported by the
+ * {@linkplain MetricsRegistry#getDefault() default registry}.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class NativeResourceMetrics {
+
+  /** A system property enabling the metrics of native resources. */
+  public static final String ENABLED_PROPERTY = "exonum.binding.nativeResourceMetrics";
+
+  private static final String LIVE_PROXIES_METRIC = "exonum_native_proxies";
+  private static final String OPEN_VIEWS_METRIC = "exonum_open_views";
+  private static final String VIEWS_NATIVE_BYTES_METRIC = "exonum_open_views_native_bytes";
+  private static final String CLEANER_ACTIONS_METRIC = "exonum_cleaner_close_actions";
+
+  /** The upper bound of the last finite bucket of the number of clean actions: 65536. */
+  private static final int MAX_ACTIONS_BOUND_BITS = 16;
+
+  private static final NativeResourceMetrics instance = createInstance();
+
+  private final boolean enabled;
+  private final ConcurrentMap<Class<?>, LongAdder> liveProxies = new ConcurrentHashMap<>();
+  private final Set<View> openViews = ConcurrentHashMap.newKeySet();
+  private final Histogram cleanerActions = new Histogram(0, MAX_ACTIONS_BOUND_BITS);
+
+  /** Creates enabled metrics. */
+  NativeResourceMetrics() {
+    this(true);
+  }
+
+  private NativeResourceMetrics(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  private static NativeResourceMetrics createInstance() {
+    if (!Boolean.getBoolean(ENABLED_PROPERTY)) {
+      return new NativeResourceMetrics(false);
+    }
+    NativeResourceMetrics metrics = new NativeResourceMetrics();
+    MetricsRegistry.getDefault().register(metrics::collect);
+    return metrics;
+  }
+
+  /**
+   * Returns the metrics of native resources. If they are disabled, returns an instance
+   * that records nothing.
+   */
+  public static NativeResourceMetrics getInstance() {
+    return instance;
+  }
+
+  /** Returns true if these metrics record the native resources. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Records a creation of a native proxy.
+   *
+   * @param proxyClass the class of the proxy
+   */
+  public void proxyCreated(Class<?> proxyClass) {
+    if (enabled) {
+      liveProxies.computeIfAbsent(proxyClass, c -> new LongAdder())
+          .increment();
+    }
+  }
+
+  /**
+   * Records a destruction of a native proxy.
+   *
+   * @param proxyClass the class of the proxy
+   */
+  public void proxyDestroyed(Class<?> proxyClass) {
+    if (enabled) {
+      liveProxies.computeIfAbsent(proxyClass, c -> new LongAdder())
+          .decrement();
+    }
+  }
+
+  /**
+   * Records an opened view. The view is considered open till {@link #viewClosed(View)}
+   * is invoked.
+   *
+   * @param view an opened view
+   */
+  public void viewOpened(View view) {
+    if (enabled) {
+      openViews.add(view);
+    }
+  }
+
+  /**
+   * Records a closing of a view, i.e., a destruction of its proxy.
+   *
+   * @param view a closed view
+   */
+  public void viewClosed(View view) {
+    if (enabled) {
+      openViews.remove(view);
+    }
+  }
+
+  /**
+   * Records a closing of a cleaner.
+   *
+   * @param numActions the number of the clean actions performed by the cleaner
+   */
+  public void cleanerClosed(int numActions) {
+    if (enabled) {
+      cleanerActions.record(numActions);
+    }
+  }
+
+  /**
+   * Returns the number of live native proxies of the given class.
+   *
+   * @param proxyClass the class of native proxies
+   */
+  public long getLiveProxies(Class<?> proxyClass) {
+    LongAdder count = liveProxies.get(proxyClass);
+    return (count == null) ? 0L : count.sum();
+  }
+
+  /** Returns the number of open views. */
+  public int getOpenViews() {
+    return openViews.size();
+  }
+
+  /** Returns the histogram of the number of actions performed by the closed cleaners. */
+  public Histogram getCleanerActions() {
+    return cleanerActions;
+  }
+
+  void collect(PrometheusWriter writer) {
+    writer.writeMetadata(LIVE_PROXIES_METRIC, "gauge", "The number of live native proxies.");
+    SortedMap<String, Long> proxiesByType = new TreeMap<>();
+    for (Map.Entry<Class<?>, LongAdder> entry : liveProxies.entrySet()) {
+      proxiesByType.merge(entry.getKey().getSimpleName(), entry.getValue().sum(), Long::sum);
+    }
+    proxiesByType.forEach((type, count) ->
+        writer.writeSample(LIVE_PROXIES_METRIC, PrometheusWriter.label("type", type), count));
+
+    SortedMap<String, Long> viewsByType = new TreeMap<>();
+    SortedMap<String, Long> bytesByType = new TreeMap<>();
+    for (View view : openViews) {
+      String type = view.getClass().getSimpleName();
+      viewsByType.merge(type, 1L, Long::sum);
+      bytesByType.merge(type, getApproximateNativeBytes(view), Long::sum);
+    }
+    writer.writeMetadata(OPEN_VIEWS_METRIC, "gauge", "The number of open database views.");
+    viewsByType.forEach((type, count) ->
+        writer.writeSample(OPEN_VIEWS_METRIC, PrometheusWriter.label("type", type), count));
+    writer.writeMetadata(VIEWS_NATIVE_BYTES_METRIC, "gauge",
+        "The total size of the keys and values written through the open database views, "
+            + "approximating their native memory.");
+    bytesByType.forEach((type, bytes) ->
+        writer.writeSample(VIEWS_NATIVE_BYTES_METRIC, PrometheusWriter.label("type", type),
+            bytes));
+
+    writer.writeMetadata(CLEANER_ACTIONS_METRIC, "histogram",
+        "The number of clean actions performed by a cleaner.");
+    cleanerActions.writeTo(writer, CLEANER_ACTIONS_METRIC, "", 1);
+  }
+
+  /**
+   * Returns the bytes written through the view, an upper bound of the changes a fork
+   * keeps in memory. Safe to call from the metrics thread, see
+   * {@link StorageAccessCounter#getWrittenBytes()}.
+   */
+  private static long getApproximateNativeBytes(View view) {
+    if (view instanceof Fork) {
+      return view.getAccessCounter().getWrittenBytes();
+    }
+    return 0L;
+  }
+}
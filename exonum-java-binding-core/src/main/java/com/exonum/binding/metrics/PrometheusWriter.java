@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics;
+
+/**
+ * A writer of metrics in the
+ * <a href="https://prometheus.io/docs/instrumenting/exposition_formats/">Prometheus text
+ * format</a>.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class PrometheusWriter {
+
+  /** The content type of the written metrics. */
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private final StringBuilder out = new StringBuilder();
+
+  /**
+   * Writes the metadata of a metric. Must precede the samples of the metric.
+   *
+   * @param name the name of the metric
+   * @param type the type of the metric: counter, gauge, histogram, summary or untyped
+   * @param help the description of the metric
+   */
+  public void writeMetadata(String name, String type, String help) {
+    out.append("# HELP ").append(name).append(' ')
+        .append(help.replace("\\", "\\\\").replace("\n", "\\n"))
+        .append('\n');
+    out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  /**
+   * Writes a sample of a metric.
+   *
+   * @param name the name of the metric
+   * @param labels the labels of the sample, separated by commas, or an empty string
+   * @param value the value of the sample
+   */
+  public void writeSample(String name, String labels, long value) {
+    writeName(name, labels);
+    out.append(value).append('\n');
+  }
+
+  /**
+   * Writes a sample of a metric.
+   *
+   * @param name the name of the metric
+   * @param labels the labels of the sample, separated by commas, or an empty string
+   * @param value the value of the sample
+   */
+  public void writeSample(String name, String labels, double value) {
+    writeName(name, labels);
+    out.append(value).append('\n');
+  }
+
+  private void writeName(String name, String labels) {
+    out.append(name);
+    if (!labels.isEmpty()) {
+      out.append('{').append(labels).append('}');
+    }
+    out.append(' ');
+  }
+
+  /**
+   * Returns a label of a sample, e.g., {@code method="get"}.
+   */
+  public static String label(String name, String value) {
+    String escapedValue = value.replace("\\", "\\\\")
+        .replace("\"", "\\\"")
+        .replace("\n", "\\n");
+    return name + "=\"" + escapedValue + "\"";
+  }
+
+  /** Returns the written metrics. */
+  @Override
+  public String toString() {
+    return out.toString();
+  }
+}
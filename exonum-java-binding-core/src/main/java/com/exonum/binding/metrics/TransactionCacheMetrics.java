@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.cache.CacheStats;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * The statistics of the caches of converted transactions of the services: the number
+ * of hits and misses and the hit rate, per service.
+ *
+ * <p>The metrics are disabled by default and enabled with the {@value #ENABLED_PROPERTY}
+ * system property. When enabled, they are exported by the
+ * {@linkplain MetricsRegistry#getDefault() default registry} with the {@code service_id} label.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class TransactionCacheMetrics {
+
+  /** A system property enabling the metrics of the transaction caches. */
+  public static final String ENABLED_PROPERTY = "exonum.binding.transactionCacheMetrics";
+
+  private static final String HITS_METRIC = "exonum_transaction_cache_hits_total";
+  private static final String MISSES_METRIC = "exonum_transaction_cache_misses_total";
+  private static final String HIT_RATE_METRIC = "exonum_transaction_cache_hit_rate";
+
+  private static final TransactionCacheMetrics instance = createInstance();
+
+  private final boolean enabled;
+  private final ConcurrentMap<Short, Supplier<CacheStats>> cacheStats =
+      new ConcurrentSkipListMap<>();
+
+  /** Creates enabled metrics. */
+  TransactionCacheMetrics() {
+    this(true);
+  }
+
+  private TransactionCacheMetrics(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  private static TransactionCacheMetrics createInstance() {
+    if (!Boolean.getBoolean(ENABLED_PROPERTY)) {
+      return new TransactionCacheMetrics(false);
+    }
+    TransactionCacheMetrics metrics = new TransactionCacheMetrics();
+    MetricsRegistry.getDefault().register(metrics::collect);
+    return metrics;
+  }
+
+  /**
+   * Returns the metrics of the transaction caches. If they are disabled, returns an instance
+   * that records nothing.
+   */
+  public static TransactionCacheMetrics getInstance() {
+    return instance;
+  }
+
+  /** Returns true if these metrics export the statistics of the transaction caches. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Registers the transaction cache of a service. The statistics are requested each time
+   * the metrics are collected. A cache registered later replaces the previous cache
+   * of the same service.
+   *
+   * @param serviceId the id of the service
+   * @param stats a supplier of the current statistics of the cache
+   */
+  public void register(short serviceId, Supplier<CacheStats> stats) {
+    checkNotNull(stats);
+    if (enabled) {
+      cacheStats.put(serviceId, stats);
+    }
+  }
+
+  void collect(PrometheusWriter writer) {
+    if (cacheStats.isEmpty()) {
+      return;
+    }
+    SortedMap<Short, CacheStats> stats = new TreeMap<>();
+    cacheStats.forEach((serviceId, supplier) -> stats.put(serviceId, supplier.get()));
+
+    writer.writeMetadata(HITS_METRIC, "counter",
+        "The number of transactions found in the cache of converted transactions.");
+    stats.forEach((serviceId, s) ->
+        writer.writeSample(HITS_METRIC, label(serviceId), s.hitCount()));
+    writer.writeMetadata(MISSES_METRIC, "counter",
+        "The number of transactions not found in the cache of converted transactions.");
+    stats.forEach((serviceId, s) ->
+        writer.writeSample(MISSES_METRIC, label(serviceId), s.missCount()));
+    writer.writeMetadata(HIT_RATE_METRIC, "gauge",
+        "The ratio of the hits to the requests of the cache of converted transactions.");
+    stats.forEach((serviceId, s) ->
+        writer.writeSample(HIT_RATE_METRIC, label(serviceId), s.hitRate()));
+  }
+
+  private static String label(short serviceId) {
+    return PrometheusWriter.label("service_id", Short.toString(serviceId));
+  }
+}
@@ -0,0 +1,409 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Comparator.comparingLong;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.StorageAccessCounter;
+import com.google.common.base.MoreObjects;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * The execution profile of transactions: the durations of their verification and execution,
+ * and the reads and writes of the storage indices they perform through the fork,
+ * per service and transaction message type. The profiler also keeps the slowest executed
+ * transactions to find the ones that inflate the block time.
+ *
+ * <p>The profiler is disabled by default and enabled with the {@value #ENABLED_PROPERTY}
+ * system property; the number of the slowest transactions to keep is set with
+ * the {@value #NUM_SLOWEST_PROPERTY} property ({@value #DEFAULT_NUM_SLOWEST} by default).
+ * When enabled, the profiles are exported by the
+ * {@linkplain MetricsRegistry#getDefault() default registry} as histograms
+ * with the {@code service_id} and {@code message_type} labels.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class TransactionProfiler {
+
+  /** A system property enabling the transaction profiler. */
+  public static final String ENABLED_PROPERTY = "exonum.binding.transactionProfiler";
+
+  /** A system property setting the number of the slowest transactions to keep. */
+  public static final String NUM_SLOWEST_PROPERTY = "exonum.binding.transactionProfiler.numSlowest";
+
+  private static final int DEFAULT_NUM_SLOWEST = 10;
+
+  private static final String EXECUTION_METRIC = "exonum_transaction_execution_duration_seconds";
+  private static final String VERIFICATION_METRIC =
+      "exonum_transaction_verification_duration_seconds";
+  private static final String READS_METRIC = "exonum_transaction_storage_reads";
+  private static final String READ_BYTES_METRIC = "exonum_transaction_storage_read_bytes";
+  private static final String WRITES_METRIC = "exonum_transaction_storage_writes";
+  private static final String WRITTEN_BYTES_METRIC = "exonum_transaction_storage_written_bytes";
+  private static final String SLOWEST_METRIC =
+      "exonum_transaction_slowest_execution_duration_seconds";
+
+  private static final double SECONDS_PER_NANO = 1e-9;
+
+  private static final TransactionProfiler instance = createInstance();
+
+  private final boolean enabled;
+  private final int numSlowest;
+  private final ConcurrentMap<Integer, TransactionTypeProfile> profiles =
+      new ConcurrentSkipListMap<>();
+
+  /** The slowest executions, the fastest of them first. */
+  private final PriorityQueue<SlowExecution> slowest =
+      new PriorityQueue<>(comparingLong(SlowExecution::getDurationNanos));
+
+  /**
+   * The duration of the fastest of the slowest executions, once there are enough of them
+   * to keep. Allows to skip the synchronization for most executions.
+   */
+  private volatile long slowestThreshold = -1L;
+
+  /**
+   * Creates an enabled profiler.
+   *
+   * @param numSlowest the number of the slowest transactions to keep
+   */
+  TransactionProfiler(int numSlowest) {
+    this(true, numSlowest);
+  }
+
+  private TransactionProfiler(boolean enabled, int numSlowest) {
+    checkArgument(numSlowest >= 0, "numSlowest must be non-negative: %s", numSlowest);
+    this.enabled = enabled;
+    this.numSlowest = numSlowest;
+  }
+
+  private static TransactionProfiler createInstance() {
+    if (!Boolean.getBoolean(ENABLED_PROPERTY)) {
+      return new TransactionProfiler(false, 0);
+    }
+    int numSlowest = Integer.getInteger(NUM_SLOWEST_PROPERTY, DEFAULT_NUM_SLOWEST);
+    TransactionProfiler profiler = new TransactionProfiler(numSlowest);
+    MetricsRegistry.getDefault().register(profiler::collect);
+    return profiler;
+  }
+
+  /**
+   * Returns the transaction profiler. If it is disabled, returns an instance that records nothing.
+   */
+  public static TransactionProfiler getInstance() {
+    return instance;
+  }
+
+  /** Returns true if this profiler records the transactions. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the start time of a verification or an execution, or zero if this profiler
+   * is disabled.
+   */
+  public long start() {
+    return enabled ? System.nanoTime() : 0L;
+  }
+
+  /**
+   * Records a completed verification of a transaction.
+   *
+   * <p>The profiler takes the type of the transaction message instead of the transaction
+   * so that the recording does not call the user code.
+   *
+   * @param serviceId the identifier of the service of the verified transaction
+   * @param messageType the message type of the verified transaction
+   * @param startNanos the start time of the verification returned by {@link #start()}
+   */
+  public void recordVerification(short serviceId, short messageType, long startNanos) {
+    if (!enabled) {
+      return;
+    }
+    long duration = System.nanoTime() - startNanos;
+    getOrCreateProfile(serviceId, messageType).verificationTimes.record(duration);
+  }
+
+  /**
+   * Records a completed execution of a transaction.
+   *
+   * @param serviceId the identifier of the service of the executed transaction
+   * @param messageType the message type of the executed transaction
+   * @param messageHash the hash of the transaction message, if known; it identifies
+   *     the transaction among the slowest executions
+   * @param startNanos the start time of the execution returned by {@link #start()}
+   * @param fork the fork the transaction was executed with; its
+   *     {@linkplain Fork#getAccessCounter() access counter} must count the reads and writes
+   *     of this transaction only
+   */
+  public void recordExecution(short serviceId, short messageType,
+      @Nullable HashCode messageHash, long startNanos, Fork fork) {
+    if (!enabled) {
+      return;
+    }
+    long duration = System.nanoTime() - startNanos;
+    StorageAccessCounter accessCounter = fork.getAccessCounter();
+    TransactionTypeProfile profile = getOrCreateProfile(serviceId, messageType);
+    profile.executionTimes.record(duration);
+    profile.reads.record(accessCounter.getReads());
+    profile.readBytes.record(accessCounter.getReadBytes());
+    profile.writes.record(accessCounter.getWrites());
+    profile.writtenBytes.record(accessCounter.getWrittenBytes());
+
+    if (duration > slowestThreshold) {
+      recordSlowExecution(new SlowExecution(serviceId, messageType, messageHash, duration,
+          accessCounter.getReads(), accessCounter.getWrites()));
+    }
+  }
+
+  private TransactionTypeProfile getOrCreateProfile(short serviceId, short messageType) {
+    return profiles.computeIfAbsent(profileKey(serviceId, messageType),
+        k -> new TransactionTypeProfile(serviceId, messageType));
+  }
+
+  private void recordSlowExecution(SlowExecution execution) {
+    if (numSlowest == 0) {
+      return;
+    }
+    synchronized (slowest) {
+      if (slowest.size() == numSlowest) {
+        if (execution.durationNanos <= slowest.peek().durationNanos) {
+          return;
+        }
+        slowest.poll();
+      }
+      slowest.add(execution);
+      if (slowest.size() == numSlowest) {
+        slowestThreshold = slowest.peek().durationNanos;
+      }
+    }
+  }
+
+  /**
+   * Returns the profile of the transactions of the given type, or null if no such transactions
+   * were recorded.
+   *
+   * @param serviceId the identifier of the service
+   * @param messageType the message type of the transaction
+   */
+  public @Nullable TransactionTypeProfile getProfile(short serviceId, short messageType) {
+    return profiles.get(profileKey(serviceId, messageType));
+  }
+
+  /**
+   * Returns the slowest recorded executions, the slowest first.
+   */
+  public List<SlowExecution> getSlowestExecutions() {
+    List<SlowExecution> executions;
+    synchronized (slowest) {
+      executions = new ArrayList<>(slowest);
+    }
+    executions.sort(comparingLong(SlowExecution::getDurationNanos).reversed());
+    return executions;
+  }
+
+  private static Integer profileKey(short serviceId, short messageType) {
+    return (serviceId << Short.SIZE) | (messageType & 0xFFFF);
+  }
+
+  void collect(PrometheusWriter writer) {
+    if (profiles.isEmpty()) {
+      return;
+    }
+    writeHistograms(writer, EXECUTION_METRIC, "The duration of transaction execution.",
+        p -> p.executionTimes, SECONDS_PER_NANO);
+    writeHistograms(writer, VERIFICATION_METRIC, "The duration of transaction verification.",
+        p -> p.verificationTimes, SECONDS_PER_NANO);
+    writeHistograms(writer, READS_METRIC, "The number of index reads of a transaction.",
+        p -> p.reads, 1);
+    writeHistograms(writer, READ_BYTES_METRIC, "The bytes read from indices by a transaction.",
+        p -> p.readBytes, 1);
+    writeHistograms(writer, WRITES_METRIC, "The number of index writes of a transaction.",
+        p -> p.writes, 1);
+    writeHistograms(writer, WRITTEN_BYTES_METRIC,
+        "The bytes written to indices by a transaction.", p -> p.writtenBytes, 1);
+
+    List<SlowExecution> executions = getSlowestExecutions();
+    if (executions.isEmpty()) {
+      return;
+    }
+    writer.writeMetadata(SLOWEST_METRIC, "gauge",
+        "The duration of the slowest transaction executions.");
+    for (SlowExecution execution : executions) {
+      String labels = labels(execution.serviceId, execution.messageType);
+      if (execution.hash != null) {
+        labels += "," + PrometheusWriter.label("hash", execution.hash.toString());
+      }
+      writer.writeSample(SLOWEST_METRIC, labels, execution.durationNanos * SECONDS_PER_NANO);
+    }
+  }
+
+  private void writeHistograms(PrometheusWriter writer, String name, String help,
+      Function<TransactionTypeProfile, Histogram> histogram, double unit) {
+    writer.writeMetadata(name, "histogram", help);
+    for (Map.Entry<Integer, TransactionTypeProfile> entry : profiles.entrySet()) {
+      TransactionTypeProfile profile = entry.getValue();
+      histogram.apply(profile).writeTo(writer, name, profile.labels, unit);
+    }
+  }
+
+  private static String labels(short serviceId, short messageType) {
+    return PrometheusWriter.label("service_id", Short.toString(serviceId)) + ","
+        + PrometheusWriter.label("message_type", Short.toString(messageType));
+  }
+
+  /**
+   * The profile of the transactions of a certain service and message type.
+   */
+  public static final class TransactionTypeProfile {
+
+    /** The upper bound of the first duration bucket: 1 μs. */
+    private static final int MIN_DURATION_BOUND_BITS = 10;
+
+    /** The upper bound of the last finite duration bucket: ~34 s. */
+    private static final int MAX_DURATION_BOUND_BITS = 35;
+
+    private static final int MAX_COUNT_BOUND_BITS = 20;
+
+    private static final int MIN_BYTES_BOUND_BITS = 5;
+
+    private static final int MAX_BYTES_BOUND_BITS = 30;
+
+    private final String labels;
+    private final Histogram executionTimes =
+        new Histogram(MIN_DURATION_BOUND_BITS, MAX_DURATION_BOUND_BITS);
+    private final Histogram verificationTimes =
+        new Histogram(MIN_DURATION_BOUND_BITS, MAX_DURATION_BOUND_BITS);
+    private final Histogram reads = new Histogram(0, MAX_COUNT_BOUND_BITS);
+    private final Histogram readBytes =
+        new Histogram(MIN_BYTES_BOUND_BITS, MAX_BYTES_BOUND_BITS);
+    private final Histogram writes = new Histogram(0, MAX_COUNT_BOUND_BITS);
+    private final Histogram writtenBytes =
+        new Histogram(MIN_BYTES_BOUND_BITS, MAX_BYTES_BOUND_BITS);
+
+    private TransactionTypeProfile(short serviceId, short messageType) {
+      this.labels = TransactionProfiler.labels(serviceId, messageType);
+    }
+
+    /** Returns the histogram of the execution durations, in nanoseconds. */
+    public Histogram getExecutionTimes() {
+      return executionTimes;
+    }
+
+    /** Returns the histogram of the verification durations, in nanoseconds. */
+    public Histogram getVerificationTimes() {
+      return verificationTimes;
+    }
+
+    /** Returns the histogram of the number of index reads per execution. */
+    public Histogram getReads() {
+      return reads;
+    }
+
+    /** Returns the histogram of the bytes read from indices per execution. */
+    public Histogram getReadBytes() {
+      return readBytes;
+    }
+
+    /** Returns the histogram of the number of index writes per execution. */
+    public Histogram getWrites() {
+      return writes;
+    }
+
+    /** Returns the histogram of the bytes written to indices per execution. */
+    public Histogram getWrittenBytes() {
+      return writtenBytes;
+    }
+  }
+
+  /**
+   * An execution of a transaction, one of the slowest ones.
+   */
+  public static final class SlowExecution {
+
+    private final short serviceId;
+    private final short messageType;
+    @Nullable
+    private final HashCode hash;
+    private final long durationNanos;
+    private final long reads;
+    private final long writes;
+
+    SlowExecution(short serviceId, short messageType, @Nullable HashCode hash, long durationNanos,
+        long reads, long writes) {
+      this.serviceId = serviceId;
+      this.messageType = messageType;
+      this.hash = hash;
+      this.durationNanos = durationNanos;
+      this.reads = reads;
+      this.writes = writes;
+    }
+
+    /** Returns the identifier of the service of the transaction. */
+    public short getServiceId() {
+      return serviceId;
+    }
+
+    /** Returns the message type of the transaction. */
+    public short getMessageType() {
+      return messageType;
+    }
+
+    /** Returns the hash of the transaction message, or null if it was not known. */
+    public @Nullable HashCode getHash() {
+      return hash;
+    }
+
+    /** Returns the duration of the execution, in nanoseconds. */
+    public long getDurationNanos() {
+      return durationNanos;
+    }
+
+    /** Returns the number of index reads performed by the transaction. */
+    public long getReads() {
+      return reads;
+    }
+
+    /** Returns the number of index writes performed by the transaction. */
+    public long getWrites() {
+      return writes;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("serviceId", serviceId)
+          .add("messageType", messageType)
+          .add("hash", hash)
+          .add("durationNanos", durationNanos)
+          .add("reads", reads)
+          .add("writes", writes)
+          .toString();
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A closing of a {@link com.exonum.binding.proxy.Cleaner}, which destroys the native objects
+ * registered in it.
+ */
+@Name("com.exonum.binding.CleanerClose")
+@Label("Cleaner Close")
+@Description("The clean actions of a cleaner, e.g., destruction of native proxies")
+@Category({"Exonum", "Native Resources"})
+@StackTrace(false)
+public final class CleanerCloseEvent extends jdk.jfr.Event {
+
+  @Label("Description")
+  String description;
+
+  @Label("Clean Actions")
+  int actionCount;
+
+  @Label("Failed Actions")
+  int failureCount;
+
+  CleanerCloseEvent() {}
+
+  /**
+   * Commits this event if it passes the recording settings.
+   *
+   * @param description the description of the cleaner
+   * @param actionCount the number of the performed clean actions
+   * @param failureCount the number of the clean actions that failed
+   */
+  public void commit(String description, int actionCount, int failureCount) {
+    end();
+    if (shouldCommit()) {
+      this.description = description;
+      this.actionCount = actionCount;
+      this.failureCount = failureCount;
+      commit();
+    }
+  }
+}
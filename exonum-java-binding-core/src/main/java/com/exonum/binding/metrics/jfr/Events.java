@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics.jfr;
+
+import java.util.Iterator;
+import javax.annotation.Nullable;
+import jdk.jfr.Event;
+
+/**
+ * Creates the events. Unlike {@link FlightRecorderEvents}, references the Flight Recorder API,
+ * hence is loaded only if it is available.
+ */
+final class Events {
+
+  static @Nullable TransactionExecutionEvent beginTransactionExecution() {
+    return begin(new TransactionExecutionEvent());
+  }
+
+  static @Nullable TransactionVerificationEvent beginTransactionVerification() {
+    return begin(new TransactionVerificationEvent());
+  }
+
+  static @Nullable ViewCreationEvent beginViewCreation() {
+    return begin(new ViewCreationEvent());
+  }
+
+  static @Nullable CleanerCloseEvent beginCleanerClose() {
+    return begin(new CleanerCloseEvent());
+  }
+
+  static @Nullable ProofCreationEvent beginProofCreation() {
+    return begin(new ProofCreationEvent());
+  }
+
+  static <E> Iterator<E> recordIteration(Iterator<E> iterator, String indexName,
+      Class<?> indexType) {
+    IndexIterationEvent event = begin(new IndexIterationEvent());
+    if (event == null) {
+      return iterator;
+    }
+    return new RecordingIterator<>(iterator, event, indexName, indexType);
+  }
+
+  private static @Nullable <EventT extends Event> EventT begin(EventT event) {
+    if (!event.isEnabled()) {
+      return null;
+    }
+    event.begin();
+    return event;
+  }
+
+  private Events() {}
+}
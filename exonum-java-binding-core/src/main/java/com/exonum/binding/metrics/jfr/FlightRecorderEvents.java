@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics.jfr;
+
+import java.util.Iterator;
+import javax.annotation.Nullable;
+
+/**
+ * Creates the Java Flight Recorder events of the binding.
+ *
+ * <p>The events are begun when created, and are committed with their {@code commit} methods
+ * taking the event data. If the JVM does not support Flight Recorder, or the event is disabled
+ * in all recordings, the methods creating the events return null, and the caller shall
+ * skip the event:
+ * <pre>{@code
+ * ViewCreationEvent event = FlightRecorderEvents.beginViewCreation();
+ * long forkHandle = nativeCreateFork(dbHandle);
+ * if (event != null) {
+ *   event.commit(Fork.class, MemoryDb.class);
+ * }
+ * }</pre>
+ *
+ * <p>The event classes are loaded only if the JVM supports Flight Recorder, therefore,
+ * the callers must not reference them in any other way, except for their
+ * compile-time constants.
+ */
+public final class FlightRecorderEvents {
+
+  private static final boolean AVAILABLE = isFlightRecorderAvailable();
+
+  private static boolean isFlightRecorderAvailable() {
+    try {
+      Class.forName("jdk.jfr.Event", false, FlightRecorderEvents.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  /** Returns true if the JVM supports Flight Recorder events. */
+  public static boolean isAvailable() {
+    return AVAILABLE;
+  }
+
+  /** Begins a transaction execution event. */
+  public static @Nullable TransactionExecutionEvent beginTransactionExecution() {
+    return AVAILABLE ? Events.beginTransactionExecution() : null;
+  }
+
+  /** Begins a transaction verification event. */
+  public static @Nullable TransactionVerificationEvent beginTransactionVerification() {
+    return AVAILABLE ? Events.beginTransactionVerification() : null;
+  }
+
+  /** Begins a view creation event. */
+  public static @Nullable ViewCreationEvent beginViewCreation() {
+    return AVAILABLE ? Events.beginViewCreation() : null;
+  }
+
+  /** Begins a cleaner close event. */
+  public static @Nullable CleanerCloseEvent beginCleanerClose() {
+    return AVAILABLE ? Events.beginCleanerClose() : null;
+  }
+
+  /** Begins a proof creation event. */
+  public static @Nullable ProofCreationEvent beginProofCreation() {
+    return AVAILABLE ? Events.beginProofCreation() : null;
+  }
+
+  /**
+   * Returns an iterator that records an {@link IndexIterationEvent} when the given iterator
+   * is exhausted, or the given iterator if the event is disabled.
+   *
+   * @param iterator an iterator over an index
+   * @param indexName the name of the index
+   * @param indexType the type of the index
+   */
+  public static <E> Iterator<E> recordIteration(Iterator<E> iterator, String indexName,
+      Class<?> indexType) {
+    return AVAILABLE ? Events.recordIteration(iterator, indexName, indexType) : iterator;
+  }
+
+  private FlightRecorderEvents() {}
+}
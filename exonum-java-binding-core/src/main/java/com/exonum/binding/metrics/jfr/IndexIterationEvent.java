@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * An iteration over an index, from the creation of the iterator till it is exhausted.
+ * The iterations that are not completed are not recorded.
+ */
+@Name("com.exonum.binding.IndexIteration")
+@Label("Index Iteration")
+@Description("The iteration over all the elements of an index")
+@Category({"Exonum", "Storage"})
+public final class IndexIterationEvent extends jdk.jfr.Event {
+
+  @Label("Index Name")
+  String indexName;
+
+  @Label("Index Type")
+  String indexType;
+
+  @Label("Elements")
+  long elementCount;
+
+  IndexIterationEvent() {}
+
+  /**
+   * Commits this event if it passes the recording settings.
+   *
+   * @param indexName the name of the index
+   * @param indexType the type of the index
+   * @param elementCount the number of the elements returned by the iterator
+   */
+  public void commit(String indexName, Class<?> indexType, long elementCount) {
+    end();
+    if (shouldCommit()) {
+      this.indexName = indexName;
+      this.indexType = indexType.getSimpleName();
+      this.elementCount = elementCount;
+      commit();
+    }
+  }
+}
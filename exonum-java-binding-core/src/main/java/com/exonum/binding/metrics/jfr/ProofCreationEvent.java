@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A creation of a proof of the elements of a proof index.
+ */
+@Name("com.exonum.binding.ProofCreation")
+@Label("Proof Creation")
+@Description("The creation of a proof of the elements of a proof map or a proof list")
+@Category({"Exonum", "Storage"})
+public final class ProofCreationEvent extends jdk.jfr.Event {
+
+  @Label("Index Name")
+  String indexName;
+
+  @Label("Index Type")
+  String indexType;
+
+  @Label("Elements")
+  @Description("The number of the elements or keys requested in the proof")
+  long elementCount;
+
+  ProofCreationEvent() {}
+
+  /**
+   * Commits this event if it passes the recording settings.
+   *
+   * @param indexName the name of the index
+   * @param indexType the type of the index
+   * @param elementCount the number of the requested elements or keys
+   */
+  public void commit(String indexName, Class<?> indexType, long elementCount) {
+    end();
+    if (shouldCommit()) {
+      this.indexName = indexName;
+      this.indexType = indexType.getSimpleName();
+      this.elementCount = elementCount;
+      commit();
+    }
+  }
+}
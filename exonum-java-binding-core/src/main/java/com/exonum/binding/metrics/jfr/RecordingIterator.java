@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics.jfr;
+
+import java.util.Iterator;
+
+/**
+ * An iterator that commits an index iteration event once the underlying iterator is exhausted.
+ */
+final class RecordingIterator<E> implements Iterator<E> {
+
+  private final Iterator<E> iterator;
+  private final String indexName;
+  private final Class<?> indexType;
+  private IndexIterationEvent event;
+  private long elementCount;
+
+  RecordingIterator(Iterator<E> iterator, IndexIterationEvent event, String indexName,
+      Class<?> indexType) {
+    this.iterator = iterator;
+    this.event = event;
+    this.indexName = indexName;
+    this.indexType = indexType;
+  }
+
+  @Override
+  public boolean hasNext() {
+    boolean hasNext = iterator.hasNext();
+    if (!hasNext && event != null) {
+      event.commit(indexName, indexType, elementCount);
+      event = null;
+    }
+    return hasNext;
+  }
+
+  @Override
+  public E next() {
+    E next = iterator.next();
+    elementCount++;
+    return next;
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics.jfr;
+
+import com.exonum.binding.storage.database.StorageAccessCounter;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An execution of a transaction.
+ */
+@Name("com.exonum.binding.TransactionExecution")
+@Label("Transaction Execution")
+@Description("The execution of a transaction, and the index reads and writes it performed")
+@Category({"Exonum", "Transactions"})
+@StackTrace(false)
+public final class TransactionExecutionEvent extends jdk.jfr.Event {
+
+  /** The outcome of a successful execution. */
+  public static final String SUCCESS = "success";
+
+  /** The outcome of an execution that failed with an error result or an expected exception. */
+  public static final String ERROR = "error";
+
+  /** The outcome of an execution that failed with an unexpected exception. */
+  public static final String PANIC = "panic";
+
+  @Label("Service ID")
+  short serviceId;
+
+  @Label("Message Type")
+  short messageType;
+
+  @Label("Outcome")
+  @Description("success, error or panic")
+  String outcome;
+
+  @Label("Index Reads")
+  long indexReads;
+
+  @Label("Index Read Bytes")
+  @DataAmount
+  long indexReadBytes;
+
+  @Label("Index Writes")
+  long indexWrites;
+
+  @Label("Index Written Bytes")
+  @DataAmount
+  long indexWrittenBytes;
+
+  TransactionExecutionEvent() {}
+
+  /**
+   * Commits this event if it passes the recording settings.
+   *
+   * @param serviceId the identifier of the service of the executed transaction
+   * @param messageType the message type of the executed transaction
+   * @param outcome the outcome of the execution: {@link #SUCCESS}, {@link #ERROR}
+   *     or {@link #PANIC}
+   * @param accessCounter the counter of the reads and writes of the transaction fork
+   */
+  public void commit(short serviceId, short messageType, String outcome,
+      StorageAccessCounter accessCounter) {
+    end();
+    if (shouldCommit()) {
+      this.serviceId = serviceId;
+      this.messageType = messageType;
+      this.outcome = outcome;
+      indexReads = accessCounter.getReads();
+      indexReadBytes = accessCounter.getReadBytes();
+      indexWrites = accessCounter.getWrites();
+      indexWrittenBytes = accessCounter.getWrittenBytes();
+      commit();
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A verification of a transaction.
+ */
+@Name("com.exonum.binding.TransactionVerification")
+@Label("Transaction Verification")
+@Description("The check of the internal consistency of a transaction")
+@Category({"Exonum", "Transactions"})
+@StackTrace(false)
+public final class TransactionVerificationEvent extends jdk.jfr.Event {
+
+  /** The outcome of the verification of a valid transaction. */
+  public static final String VALID = "valid";
+
+  /** The outcome of the verification of an invalid transaction. */
+  public static final String INVALID = "invalid";
+
+  /** The outcome of a verification that failed with an exception. */
+  public static final String PANIC = "panic";
+
+  @Label("Service ID")
+  short serviceId;
+
+  @Label("Message Type")
+  short messageType;
+
+  @Label("Outcome")
+  @Description("valid, invalid or panic")
+  String outcome;
+
+  TransactionVerificationEvent() {}
+
+  /**
+   * Commits this event if it passes the recording settings.
+   *
+   * @param serviceId the identifier of the service of the verified transaction
+   * @param messageType the message type of the verified transaction
+   * @param outcome the outcome of the verification: {@link #VALID}, {@link #INVALID}
+   *     or {@link #PANIC}
+   */
+  public void commit(short serviceId, short messageType, String outcome) {
+    end();
+    if (shouldCommit()) {
+      this.serviceId = serviceId;
+      this.messageType = messageType;
+      this.outcome = outcome;
+      commit();
+    }
+  }
+}
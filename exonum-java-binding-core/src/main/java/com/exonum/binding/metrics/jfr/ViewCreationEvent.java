@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A creation of a database view: a snapshot or a fork.
+ */
+@Name("com.exonum.binding.ViewCreation")
+@Label("View Creation")
+@Description("The creation of a database snapshot or fork")
+@Category({"Exonum", "Storage"})
+public final class ViewCreationEvent extends jdk.jfr.Event {
+
+  @Label("View Type")
+  @Description("Snapshot or Fork")
+  String viewType;
+
+  @Label("Database")
+  @Description("The class of the database that created the view")
+  String database;
+
+  ViewCreationEvent() {}
+
+  /**
+   * Commits this event if it passes the recording settings.
+   *
+   * @param viewType the type of the created view
+   * @param database the type of the database that created the view
+   */
+  public void commit(Class<?> viewType, Class<?> database) {
+    end();
+    if (shouldCommit()) {
+      this.viewType = viewType.getSimpleName();
+      this.database = database.getSimpleName();
+      commit();
+    }
+  }
+}
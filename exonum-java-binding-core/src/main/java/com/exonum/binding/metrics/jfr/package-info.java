@@ -0,0 +1,28 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Java Flight Recorder events of the binding: the verification and execution of transactions,
+ * the creation of database views, the closing of cleaners, the creation of proofs
+ * and the iteration over indices.
+ *
+ * <p>The events are recorded by the JVMs that support the {@code jdk.jfr} API
+ * (OpenJDK 8u262 and newer); on other JVMs the event classes are never loaded.
+ * Use {@link com.exonum.binding.metrics.jfr.FlightRecorderEvents} to create the events.
+ * The events are enabled by default when a recording is started, e.g., with
+ * {@code -XX:StartFlightRecording} flag.
+ */
+package com.exonum.binding.metrics.jfr;
@@ -16,8 +16,12 @@
 
 package com.exonum.binding.proxy;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.exonum.binding.metrics.NativeResourceMetrics;
+import com.exonum.binding.metrics.jfr.CleanerCloseEvent;
+import com.exonum.binding.metrics.jfr.FlightRecorderEvents;
 import com.google.common.base.MoreObjects;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -46,8 +50,21 @@ import org.apache.logging.log4j.Logger;
  */
 public final class Cleaner implements AutoCloseable {
 
+  /**
+   * A system property setting the maximum number of clean actions that can be registered
+   * in a context. Unlimited by default.
+   *
+   * @see #add(CleanAction)
+   */
+  public static final String MAX_ACTIONS_PROPERTY = "exonum.binding.cleaner.maxActions";
+
   private static final Logger logger = LogManager.getLogger(Cleaner.class);
 
+  private static final int DEFAULT_MAX_ACTIONS =
+      Integer.getInteger(MAX_ACTIONS_PROPERTY, Integer.MAX_VALUE);
+
+  private static final NativeResourceMetrics resourceMetrics = NativeResourceMetrics.getInstance();
+
   /**
    * The number of registered clean actions at which we start to log warnings when more are added
    * at {@link #TOO_MANY_CLEAN_ACTIONS_LOG_FREQUENCY}.
@@ -59,6 +76,7 @@ public final class Cleaner implements AutoCloseable {
 
   private final Deque<CleanAction<?>> registeredCleanActions;
   private final String description;
+  private final int maxActions;
   private boolean closed;
 
   /**
@@ -75,8 +93,20 @@ public final class Cleaner implements AutoCloseable {
    *                    and is included in {@link #toString()}
    */
   public Cleaner(String description) {
+    this(description, DEFAULT_MAX_ACTIONS);
+  }
+
+  /**
+   * Creates a new cleaner.
+   *
+   * @param description a description of this context
+   * @param maxActions the maximum number of clean actions that can be registered
+   */
+  Cleaner(String description, int maxActions) {
+    checkArgument(maxActions > 0, "maxActions must be positive: %s", maxActions);
     registeredCleanActions = new ArrayDeque<>();
     this.description = checkNotNull(description);
+    this.maxActions = maxActions;
     closed = false;
   }
 
@@ -89,9 +119,15 @@ public final class Cleaner implements AutoCloseable {
    * Registers a new clean action with this context. If the context is already closed,
    * the clean action will be executed immediately.
    *
+   * <p>If the number of the registered clean actions exceeds the maximum set with
+   * the {@value #MAX_ACTIONS_PROPERTY} system property, the clean action is registered,
+   * but an exception is thrown to fail the operation that leaks the native resources,
+   * e.g., creates proxies in an unbounded loop.
+   *
    * @param cleanAction a clean action to register; must not be null
    *
-   * @throws IllegalStateException if it’s attempted to add a clean action to a closed context
+   * @throws IllegalStateException if it’s attempted to add a clean action to a closed context,
+   *     or if the maximum number of clean actions is exceeded
    */
   public void add(CleanAction<?> cleanAction) {
     if (closed) {
@@ -115,11 +151,25 @@ public final class Cleaner implements AutoCloseable {
 
     registeredCleanActions.push(cleanAction);
 
+    checkMaxActions();
+
     // As this class is used to automatically (from the user perspective) manage resources,
     // we log if there is an unusually high number of resource cleaners.
     logIfTooManyCleaners();
   }
 
+  private void checkMaxActions() {
+    int numRegisteredCleaners = getNumRegisteredActions();
+    if (numRegisteredCleaners > maxActions) {
+      String proxiesByTypeFrequency =
+          FrequencyStatsFormatter.itemsFrequency(registeredCleanActions, Cleaner::getActionType);
+      String message = String.format("Too many clean actions (%d) are registered in a context "
+              + "(%s), the maximum is %d (see %s system property): %s",
+          numRegisteredCleaners, this, maxActions, MAX_ACTIONS_PROPERTY, proxiesByTypeFrequency);
+      throw new IllegalStateException(message);
+    }
+  }
+
   private void logIfTooManyCleaners() {
     int numRegisteredCleaners = getNumRegisteredActions();
 
@@ -152,6 +202,8 @@ public final class Cleaner implements AutoCloseable {
    *
    * <p>The implementation is idempotent — subsequent invocations have no effect.
    *
+   * <p>Each closing is recorded as a {@link CleanerCloseEvent} Flight Recorder event.
+   *
    * @throws CloseFailuresException if any clean action failed. The exception includes all
    *     thrown exceptions as suppressed
    */
@@ -163,6 +215,8 @@ public final class Cleaner implements AutoCloseable {
 
     closed = true;
 
+    CleanerCloseEvent event = FlightRecorderEvents.beginCleanerClose();
+    int numActions = registeredCleanActions.size();
     // Currently only the number of failures is recorded. If extra context is needed,
     // the clean actions might be included as well.
     List<Throwable> suppressedExceptions = new ArrayList<>(0);
@@ -179,6 +233,11 @@ public final class Cleaner implements AutoCloseable {
       }
     }
 
+    resourceMetrics.cleanerClosed(numActions);
+    if (event != null) {
+      event.commit(description, numActions, suppressedExceptions.size());
+    }
+
     // If there have been any failures, throw an exception with a detailed error message.
     if (!suppressedExceptions.isEmpty()) {
       String message = String.format("%d exception(s) occurred when closing this context (%s), "
@@ -18,6 +18,7 @@ package com.exonum.binding.proxy;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.exonum.binding.metrics.NativeResourceMetrics;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.util.Optional;
 import java.util.function.LongConsumer;
@@ -35,9 +36,12 @@ import java.util.function.LongConsumer;
  */
 public final class ProxyDestructor implements CleanAction<Class<?>> {
 
+  private static final NativeResourceMetrics resourceMetrics = NativeResourceMetrics.getInstance();
+
   private final NativeHandle nativeHandle;
   private final LongConsumer cleanFunction;
   private final Class<?> proxyClass;
+  private final boolean owningHandle;
   private boolean destroyed;
 
   /**
@@ -53,7 +57,27 @@ public final class ProxyDestructor implements CleanAction<Class<?>> {
                                               NativeHandle nativeHandle,
                                               Class<?> proxyClass,
                                               LongConsumer destructorFunction) {
-    ProxyDestructor d = new ProxyDestructor(nativeHandle, proxyClass, destructorFunction);
+    return newRegistered(cleaner, nativeHandle, proxyClass, true, destructorFunction);
+  }
+
+  /**
+   * Creates a new destructor of a native proxy, registered in the given cleaner.
+   *
+   * @param cleaner a cleaner to register the destructor in
+   * @param nativeHandle a handle to the native object
+   * @param proxyClass a class of proxy
+   * @param owningHandle whether a proxy owns the corresponding native object; only the proxies
+   *     owning their native objects are counted in {@link NativeResourceMetrics}
+   * @param destructorFunction a clean function to perform
+   */
+  @CanIgnoreReturnValue
+  public static ProxyDestructor newRegistered(Cleaner cleaner,
+                                              NativeHandle nativeHandle,
+                                              Class<?> proxyClass,
+                                              boolean owningHandle,
+                                              LongConsumer destructorFunction) {
+    ProxyDestructor d = new ProxyDestructor(nativeHandle, proxyClass, owningHandle,
+        destructorFunction);
     cleaner.add(d);
     return d;
   }
@@ -67,10 +91,19 @@ public final class ProxyDestructor implements CleanAction<Class<?>> {
    */
   public ProxyDestructor(NativeHandle nativeHandle, Class<?> proxyClass,
                          LongConsumer destructorFunction) {
+    this(nativeHandle, proxyClass, true, destructorFunction);
+  }
+
+  private ProxyDestructor(NativeHandle nativeHandle, Class<?> proxyClass, boolean owningHandle,
+                          LongConsumer destructorFunction) {
     this.nativeHandle = checkNotNull(nativeHandle);
     this.cleanFunction = checkNotNull(destructorFunction);
     this.proxyClass = checkNotNull(proxyClass);
+    this.owningHandle = owningHandle;
     destroyed = false;
+    if (owningHandle) {
+      resourceMetrics.proxyCreated(proxyClass);
+    }
   }
 
   /**
@@ -88,6 +121,9 @@ public final class ProxyDestructor implements CleanAction<Class<?>> {
     }
 
     destroyed = true;
+    if (owningHandle) {
+      resourceMetrics.proxyDestroyed(proxyClass);
+    }
 
     // Do not perform the destructor if the native handle is not valid.
     if (!nativeHandle.isValid()) {
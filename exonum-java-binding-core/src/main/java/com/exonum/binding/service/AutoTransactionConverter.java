@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.service;
+
+import com.exonum.binding.transaction.Transaction;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a transaction converter of a service, so that the annotation processor
+ * from {@code exonum-java-binding-processor} generates the code converting the transaction
+ * messages of the service.
+ *
+ * <p>Each transaction class must have a single static method annotated with
+ * {@link TransactionFactory}, which creates a transaction from its message.
+ *
+ * <p>The generated class is an enum {@code <ClassName>Dispatcher} with a single
+ * {@code INSTANCE}, in the package of the annotated class. It is a {@link TransactionConverter}
+ * that checks the service id of the message and passes it to the factory of the transaction
+ * with its message id in a {@code switch} statement. The annotated converter may delegate
+ * to it:
+ *
+ * <pre><code>
+ * &#64;AutoTransactionConverter(
+ *     serviceId = MyService.ID,
+ *     transactions = {CreateTx.class, TransferTx.class})
+ * public final class MyTransactionConverter implements TransactionConverter {
+ *
+ *   &#64;Override
+ *   public Transaction toTransaction(BinaryMessage message) {
+ *     return MyTransactionConverterDispatcher.INSTANCE.toTransaction(message);
+ *   }
+ * }
+ * </code></pre>
+ *
+ * <p>If some transactions have a static method annotated with {@link TransactionJsonBody},
+ * the dispatcher also has static {@code readJsonBody(short txId, JsonReader)} and
+ * {@code readJsonBody(short txId, JsonElement)} methods, which convert the body
+ * of a message in JSON into its binary body with that method.
+ *
+ * @see TransactionFactory
+ * @see TransactionJsonBody
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface AutoTransactionConverter {
+
+  /**
+   * The id of the service, which transactions the converter accepts.
+   */
+  short serviceId();
+
+  /**
+   * The classes of all transactions of the service.
+   */
+  Class<? extends Transaction>[] transactions();
+}
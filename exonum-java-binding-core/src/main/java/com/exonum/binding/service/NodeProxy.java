@@ -19,6 +19,9 @@ package com.exonum.binding.service;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.exonum.binding.common.message.BinaryMessage;
+import com.exonum.binding.metrics.NativeCallMetrics;
+import com.exonum.binding.metrics.jfr.FlightRecorderEvents;
+import com.exonum.binding.metrics.jfr.ViewCreationEvent;
 import com.exonum.binding.proxy.AbstractCloseableNativeProxy;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.CloseFailuresException;
@@ -38,6 +41,12 @@ import org.apache.logging.log4j.Logger;
 public final class NodeProxy extends AbstractCloseableNativeProxy implements Node {
 
   private static final Logger logger = LogManager.getLogger(NodeProxy.class);
+
+  private static final NativeCallMetrics SUBMIT_METRICS =
+      NativeCallMetrics.forMethod(NodeProxy.class, "nativeSubmit");
+  private static final NativeCallMetrics CREATE_SNAPSHOT_METRICS =
+      NativeCallMetrics.forMethod(NodeProxy.class, "nativeCreateSnapshot");
+
   private final ViewFactory viewFactory;
 
   /**
@@ -72,9 +81,16 @@ public final class NodeProxy extends AbstractCloseableNativeProxy implements Nod
     int offset = messageBuffer.arrayOffset();
     int size = messageBuffer.remaining();
 
-    UserTransactionAdapter txAdapter = new UserTransactionAdapter(transaction, viewFactory);
+    UserTransactionAdapter txAdapter = new UserTransactionAdapter(transaction,
+        message.getServiceId(), message.getMessageType(), null, viewFactory);
 
-    nativeSubmit(getNativeHandle(), txAdapter, data, offset, size);
+    // Record the rejected transactions too
+    long start = SUBMIT_METRICS.start();
+    try {
+      nativeSubmit(getNativeHandle(), txAdapter, data, offset, size);
+    } finally {
+      SUBMIT_METRICS.stop(start);
+    }
   }
 
   /**
@@ -99,7 +115,13 @@ public final class NodeProxy extends AbstractCloseableNativeProxy implements Nod
   public <ResultT> ResultT withSnapshot(Function<Snapshot, ResultT> snapshotFunction) {
     try (Cleaner cleaner = new Cleaner("NodeProxy#withSnapshot")) {
       long nodeNativeHandle = getNativeHandle();
+      ViewCreationEvent event = FlightRecorderEvents.beginViewCreation();
+      long start = CREATE_SNAPSHOT_METRICS.start();
       long snapshotNativeHandle = nativeCreateSnapshot(nodeNativeHandle);
+      CREATE_SNAPSHOT_METRICS.stop(start);
+      if (event != null) {
+        event.commit(Snapshot.class, NodeProxy.class);
+      }
       Snapshot snapshot = Snapshot.newInstance(snapshotNativeHandle, cleaner);
       return snapshotFunction.apply(snapshot);
     } catch (CloseFailuresException e) {
@@ -16,17 +16,17 @@
 
 package com.exonum.binding.service;
 
-import com.exonum.binding.annotations.AutoGenerationCandidate;
 import com.exonum.binding.common.message.BinaryMessage;
 import com.exonum.binding.transaction.Transaction;
 
 /**
  * A converter of a binary Exonum message, which contains transaction data,
  * into an executable transaction.
+ *
+ * <p>A converter of the transactions of a service can be generated at compile time,
+ * see {@link AutoTransactionConverter}.
  */
 @FunctionalInterface
-@AutoGenerationCandidate(reason = "Perfectly viable given a service id "
-    + "and description of all transactions (ids & implementing classes")
 public interface TransactionConverter {
 
   /**
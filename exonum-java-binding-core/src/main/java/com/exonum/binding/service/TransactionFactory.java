@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a static factory method creating a transaction from its message,
+ * for a transaction converter generated with {@link AutoTransactionConverter}.
+ *
+ * <p>The method must be non-private, accept a single parameter of type
+ * {@link com.exonum.binding.common.message.BinaryMessage} or one of its supertypes,
+ * and return a transaction. It may throw {@link IllegalArgumentException} if the message
+ * is not a valid message of this transaction.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface TransactionFactory {
+
+  /**
+   * The message id of the transaction.
+   */
+  short value();
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a static method creating the binary body of a transaction message from
+ * the transaction parameters in JSON, for a transaction converter generated
+ * with {@link AutoTransactionConverter}.
+ *
+ * <p>The method must be non-private, accept a single parameter of a class annotated with
+ * {@link com.exonum.binding.common.serialization.AutoGsonAdapter}, which generated adapter
+ * can read it, and return the body as a byte array. It may throw
+ * {@link IllegalArgumentException} if the parameters are not valid.
+ *
+ * <p>The method must be declared in the same class as the {@link TransactionFactory}.
+ * The {@code readJsonBody} methods of the generated dispatcher read the parameters
+ * with the generated adapter and pass them to the method of the transaction
+ * with the given message id.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface TransactionJsonBody {
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.service.adapters;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.exonum.binding.transaction.Transaction;
+import com.exonum.binding.transaction.TransactionResult;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A logger of failed transactions, which limits the number of entries written per second.
+ *
+ * <p>Failed transactions are logged at INFO level; their stack traces, if any, are logged
+ * at DEBUG level only. Failures above the limit are counted, and the count is reported
+ * with the next logged failure.
+ *
+ * <p>The limit is configured with the {@value #LOG_LIMIT_PROPERTY} system property.
+ * Logging of failed transactions can be disabled completely by setting the level
+ * of the {@link UserTransactionAdapter} logger above INFO.
+ *
+ * <p>This class is thread-safe.
+ */
+final class TransactionFailureLogger {
+
+  /**
+   * A system property specifying the maximum number of failed transactions logged per second.
+   */
+  static final String LOG_LIMIT_PROPERTY = "exonum.binding.transactionFailureLogLimit";
+
+  private static final int DEFAULT_LOG_LIMIT = 10;
+
+  private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final Logger logger;
+  private final int logLimit;
+  private final Ticker ticker;
+
+  private long windowStart;
+  private int loggedInWindow;
+  private long suppressed;
+
+  /**
+   * Creates a failure logger with the limit from the {@value #LOG_LIMIT_PROPERTY} property.
+   */
+  static TransactionFailureLogger create(Logger logger) {
+    int logLimit = Integer.getInteger(LOG_LIMIT_PROPERTY, DEFAULT_LOG_LIMIT);
+    return new TransactionFailureLogger(logger, logLimit, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  TransactionFailureLogger(Logger logger, int logLimit, Ticker ticker) {
+    checkArgument(logLimit > 0, "logLimit (%s) must be positive", logLimit);
+    this.logger = logger;
+    this.logLimit = logLimit;
+    this.ticker = ticker;
+    this.windowStart = ticker.read();
+  }
+
+  /**
+   * Logs a failed transaction, unless the limit of log entries is exceeded.
+   *
+   * @param transaction a failed transaction
+   * @param result an error result of the transaction
+   * @param cause an exception thrown by the transaction, if any
+   */
+  void logFailure(Transaction transaction, TransactionResult result, @Nullable Throwable cause) {
+    if (!logger.isInfoEnabled()) {
+      return;
+    }
+    long suppressedFailures;
+    synchronized (this) {
+      if (!tryAcquire()) {
+        suppressed++;
+        return;
+      }
+      suppressedFailures = suppressed;
+      suppressed = 0;
+    }
+    if (suppressedFailures == 0) {
+      logger.info("Transaction {} failed: {}", transaction, result);
+    } else {
+      logger.info("Transaction {} failed: {} ({} more failures were not logged)", transaction,
+          result, suppressedFailures);
+    }
+    if (cause != null) {
+      logger.debug("Transaction {} failure stack trace:", transaction, cause);
+    }
+  }
+
+  private boolean tryAcquire() {
+    long now = ticker.read();
+    if (now - windowStart >= WINDOW_NANOS) {
+      windowStart = now;
+      loggedInWindow = 0;
+    }
+    if (loggedInWindow < logLimit) {
+      loggedInWindow++;
+      return true;
+    }
+    return false;
+  }
+}
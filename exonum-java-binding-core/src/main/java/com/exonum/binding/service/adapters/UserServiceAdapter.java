@@ -21,6 +21,7 @@ import static com.google.common.base.Preconditions.checkState;
 
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.message.BinaryMessage;
+import com.exonum.binding.metrics.TransactionCacheMetrics;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.CloseFailuresException;
 import com.exonum.binding.service.NodeProxy;
@@ -29,6 +30,10 @@ import com.exonum.binding.storage.database.Fork;
 import com.exonum.binding.storage.database.Snapshot;
 import com.exonum.binding.transaction.Transaction;
 import com.exonum.binding.transport.Server;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.inject.Inject;
 import io.vertx.ext.web.Router;
 import java.util.List;
@@ -42,18 +47,45 @@ public class UserServiceAdapter {
 
   private static final String API_ROOT_PATH = "/api";
 
+  /**
+   * The default maximum number of converted transactions kept in the cache.
+   */
+  @VisibleForTesting
+  static final int DEFAULT_TRANSACTION_CACHE_SIZE = 4096;
+
   private final Service service;
   private final Server server;
   private final ViewFactory viewFactory;
 
+  /**
+   * A cache of converted transactions, keyed by the hash of the transaction message.
+   * The native code requests the conversion of the same message several times
+   * (e.g., on admission, and then on execution), which this cache makes cheap.
+   */
+  private final Cache<HashCode, UserTransactionAdapter> transactionCache;
+
   @Nullable
   private NodeProxy node;
 
   @Inject
   public UserServiceAdapter(Service service, Server server, ViewFactory viewFactory) {
+    this(service, server, viewFactory, DEFAULT_TRANSACTION_CACHE_SIZE);
+  }
+
+  @VisibleForTesting
+  UserServiceAdapter(Service service, Server server, ViewFactory viewFactory,
+      long transactionCacheSize) {
     this.service = checkNotNull(service, "service");
     this.server = checkNotNull(server, "server");
     this.viewFactory = checkNotNull(viewFactory, "viewFactory");
+    this.transactionCache = CacheBuilder.newBuilder()
+        .maximumSize(transactionCacheSize)
+        .recordStats()
+        .build();
+    TransactionCacheMetrics cacheMetrics = TransactionCacheMetrics.getInstance();
+    if (cacheMetrics.isEnabled()) {
+      cacheMetrics.register(service.getId(), transactionCache::stats);
+    }
   }
 
   public short getId() {
@@ -77,6 +109,51 @@ public class UserServiceAdapter {
    */
   public UserTransactionAdapter convertTransaction(byte[] transactionMessage) {
     BinaryMessage message = BinaryMessage.fromBytes(transactionMessage);
+    return toTransactionAdapter(message, null);
+  }
+
+  /**
+   * Converts a transaction messages into an executable transaction of this service.
+   * The hash of the message, already computed by the native code, is passed along,
+   * so that the transaction does not have to compute it again.
+   *
+   * <p>If a message with the same hash has already been converted, returns the cached
+   * transaction without parsing the message again; otherwise, puts the converted
+   * transaction in the cache. The native code makes a single call in either case.
+   *
+   * <p>The callee must handle the declared exceptions.
+   *
+   * @param transactionMessage a transaction message to be converted
+   * @param messageHash a SHA-256 hash of the transaction message
+   * @return an executable transaction of this service
+   * @throws NullPointerException if any argument is null, or a user service returns
+   *     a null transaction
+   * @throws IllegalArgumentException if message is not a valid transaction message of this service
+   */
+  public UserTransactionAdapter convertTransaction(byte[] transactionMessage,
+      byte[] messageHash) {
+    checkNotNull(transactionMessage, "transactionMessage");
+    HashCode hash = HashCode.fromBytes(messageHash);
+    UserTransactionAdapter cachedTransaction = transactionCache.getIfPresent(hash);
+    if (cachedTransaction != null) {
+      return cachedTransaction;
+    }
+    BinaryMessage message = BinaryMessage.fromBytes(transactionMessage, hash);
+    UserTransactionAdapter transaction = toTransactionAdapter(message, hash);
+    transactionCache.put(hash, transaction);
+    return transaction;
+  }
+
+  /**
+   * Returns the statistics of the cache of converted transactions. They are also exported
+   * by {@link TransactionCacheMetrics}, if enabled.
+   */
+  public CacheStats getTransactionCacheStats() {
+    return transactionCache.stats();
+  }
+
+  private UserTransactionAdapter toTransactionAdapter(BinaryMessage message,
+      @Nullable HashCode messageHash) {
     assert message.getServiceId() == getId() :
         "Message id is distinct from the service id";
 
@@ -85,7 +162,8 @@ public class UserServiceAdapter {
             + "Service#convertToTransaction must never return null.\n"
             + "Throw an exception if your service does not recognize this message id (%s)",
         message.getMessageType());
-    return new UserTransactionAdapter(transaction, viewFactory);
+    return new UserTransactionAdapter(transaction, message.getServiceId(),
+        message.getMessageType(), messageHash, viewFactory);
   }
 
   /**
@@ -18,39 +18,83 @@ package com.exonum.binding.service.adapters;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.metrics.TransactionProfiler;
+import com.exonum.binding.metrics.jfr.FlightRecorderEvents;
+import com.exonum.binding.metrics.jfr.TransactionExecutionEvent;
+import com.exonum.binding.metrics.jfr.TransactionVerificationEvent;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.CloseFailuresException;
 import com.exonum.binding.storage.database.Fork;
 import com.exonum.binding.transaction.Transaction;
 import com.exonum.binding.transaction.TransactionExecutionException;
+import com.exonum.binding.transaction.TransactionResult;
 import com.google.common.annotations.VisibleForTesting;
+import javax.annotation.Nullable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
  * An adapter of a user-facing interface {@link Transaction} to an interface with a native code.
+ *
+ * <p>The verification and execution of transactions are recorded by
+ * the {@linkplain TransactionProfiler transaction profiler}, if it is enabled,
+ * and as Flight Recorder events. Both are recorded with the service id and the message type
+ * passed to the adapter, so that the profiling does not call the transaction.
  */
 @SuppressWarnings({"unused", "WeakerAccess"})  // Methods are called from the native proxy
 public final class UserTransactionAdapter {
 
   private static final Logger logger = LogManager.getLogger(UserTransactionAdapter.class);
 
+  private static final TransactionFailureLogger failureLogger =
+      TransactionFailureLogger.create(logger);
+
+  private static final TransactionProfiler profiler = TransactionProfiler.getInstance();
+
   @VisibleForTesting
   final Transaction transaction;
 
+  private final short serviceId;
+  private final short messageType;
+  @Nullable
+  private final HashCode messageHash;
   private final ViewFactory viewFactory;
 
-  public UserTransactionAdapter(Transaction transaction, ViewFactory viewFactory) {
+  /**
+   * Creates an adapter of a transaction.
+   *
+   * @param transaction a transaction to adapt
+   * @param serviceId the identifier of the service of the transaction message
+   * @param messageType the type of the transaction message
+   * @param messageHash the hash of the transaction message, if it is already known
+   * @param viewFactory a factory of the views passed to the transaction
+   */
+  public UserTransactionAdapter(Transaction transaction, short serviceId, short messageType,
+      @Nullable HashCode messageHash, ViewFactory viewFactory) {
     this.transaction = checkNotNull(transaction, "Transaction must not be null");
+    this.serviceId = serviceId;
+    this.messageType = messageType;
+    this.messageHash = messageHash;
     this.viewFactory = checkNotNull(viewFactory, "viewFactory");
   }
 
   public boolean isValid() {
+    long start = profiler.start();
+    TransactionVerificationEvent event = FlightRecorderEvents.beginTransactionVerification();
+    String outcome = TransactionVerificationEvent.PANIC;
     try {
-      return transaction.isValid();
+      boolean valid = transaction.isValid();
+      outcome = valid ? TransactionVerificationEvent.VALID : TransactionVerificationEvent.INVALID;
+      return valid;
     } catch (Throwable e) {
       logUnexpectedException(e);
       throw e;
+    } finally {
+      profiler.recordVerification(serviceId, messageType, start);
+      if (event != null) {
+        event.commit(serviceId, messageType, outcome);
+      }
     }
   }
 
@@ -60,15 +104,70 @@ public final class UserTransactionAdapter {
 
       try (Cleaner cleaner = new Cleaner("Transaction#execute")) {
         Fork view = viewFactory.createFork(forkNativeHandle, cleaner);
-        transaction.execute(view);
+        long start = profiler.start();
+        TransactionExecutionEvent event = FlightRecorderEvents.beginTransactionExecution();
+        String outcome = TransactionExecutionEvent.PANIC;
+        try {
+          transaction.execute(view);
+          outcome = TransactionExecutionEvent.SUCCESS;
+        } catch (TransactionExecutionException e) {
+          outcome = TransactionExecutionEvent.ERROR;
+          throw e;
+        } finally {
+          recordExecution(view, start, event, outcome);
+        }
       }
 
     } catch (TransactionExecutionException e) {
-      logger.info("Transaction {} failed:", transaction, e);
+      TransactionResult result = TransactionResult.error(e.getErrorCode(), e.getMessage());
+      failureLogger.logFailure(transaction, result, e);
+      throw e;
+    } catch (CloseFailuresException e) {
+      logCloseFailures(e);
+      throw new RuntimeException(e);
+    } catch (Throwable e) {
+      logUnexpectedException(e);
       throw e;
+    }
+  }
+
+  /**
+   * Executes the transaction and returns the result of its execution.
+   *
+   * <p>Unlike {@link #execute(long)}, reports the expected failures of a transaction
+   * with a return value instead of an exception, therefore, the native code has to make
+   * just a single call in case of success.
+   *
+   * @param forkNativeHandle a handle to a native fork object
+   * @return null if the transaction is executed successfully; an error result otherwise
+   */
+  public @Nullable TransactionResult executeForResult(long forkNativeHandle) {
+    try {
+      assert forkNativeHandle != 0L : "Fork handle must not be 0";
+
+      TransactionResult result;
+      try (Cleaner cleaner = new Cleaner("Transaction#execute")) {
+        Fork view = viewFactory.createFork(forkNativeHandle, cleaner);
+        long start = profiler.start();
+        TransactionExecutionEvent event = FlightRecorderEvents.beginTransactionExecution();
+        String outcome = TransactionExecutionEvent.PANIC;
+        try {
+          result = transaction.executeForResult(view);
+          outcome = getOutcome(result);
+        } finally {
+          recordExecution(view, start, event, outcome);
+        }
+      }
+      checkNotNull(result, "Invalid transaction implementation: %s#executeForResult "
+          + "must not return null", transaction.getClass().getName());
+
+      if (result.isSuccessful()) {
+        return null;
+      }
+      failureLogger.logFailure(transaction, result, null);
+      return result;
     } catch (CloseFailuresException e) {
-      logger.error("Failed to close some resources during transaction {} execution:",
-          transaction, e);
+      logCloseFailures(e);
       throw new RuntimeException(e);
     } catch (Throwable e) {
       logUnexpectedException(e);
@@ -85,6 +184,28 @@ public final class UserTransactionAdapter {
     }
   }
 
+  private void recordExecution(Fork view, long startNanos,
+      @Nullable TransactionExecutionEvent event, String outcome) {
+    profiler.recordExecution(serviceId, messageType, messageHash, startNanos, view);
+    if (event != null) {
+      event.commit(serviceId, messageType, outcome, view.getAccessCounter());
+    }
+  }
+
+  private static String getOutcome(@Nullable TransactionResult result) {
+    if (result == null) {
+      // An invalid implementation, see executeForResult
+      return TransactionExecutionEvent.PANIC;
+    }
+    return result.isSuccessful() ? TransactionExecutionEvent.SUCCESS
+        : TransactionExecutionEvent.ERROR;
+  }
+
+  private void logCloseFailures(CloseFailuresException e) {
+    logger.error("Failed to close some resources during transaction {} execution:",
+        transaction, e);
+  }
+
   private void logUnexpectedException(Throwable e) {
     logger.error("Unexpected exception:", e);
   }
@@ -18,6 +18,8 @@ package com.exonum.binding.storage.database;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.exonum.binding.metrics.NativeCallMetrics;
+import com.exonum.binding.metrics.NativeResourceMetrics;
 import com.exonum.binding.proxy.CleanAction;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.NativeHandle;
@@ -31,6 +33,9 @@ import com.exonum.binding.proxy.ProxyDestructor;
  */
 public final class Fork extends View {
 
+  private static final NativeCallMetrics FREE_METRICS =
+      NativeCallMetrics.forMethod(Views.class, "nativeFree");
+
   /**
    * Creates a new owning Fork proxy.
    *
@@ -53,20 +58,24 @@ public final class Fork extends View {
     checkNotNull(cleaner, "cleaner");
 
     NativeHandle h = new NativeHandle(nativeHandle);
+    Fork f = new Fork(h, cleaner);
+
     // Add an action destroying the native peer if necessary.
-    ProxyDestructor.newRegistered(cleaner, h, Fork.class, nh -> {
+    NativeResourceMetrics resourceMetrics = NativeResourceMetrics.getInstance();
+    ProxyDestructor.newRegistered(cleaner, h, Fork.class, owningHandle, nh -> {
+      resourceMetrics.viewClosed(f);
       if (owningHandle) {
+        long start = FREE_METRICS.start();
         Views.nativeFree(nh);
+        FREE_METRICS.stop(start);
       }
     });
 
-    // Create the fork
-    Fork f = new Fork(h, cleaner);
-
     // Add the action that unregisters the fork separately so that it is always invoked.
     cleaner.add(CleanAction.from(() -> ViewModificationCounter.getInstance().remove(f),
         "Fork in modification counter")
     );
+    resourceMetrics.viewOpened(f);
 
     return f;
   }
@@ -18,6 +18,9 @@ package com.exonum.binding.storage.database;
 
 import static com.exonum.binding.proxy.NativeHandle.INVALID_NATIVE_HANDLE;
 
+import com.exonum.binding.metrics.NativeCallMetrics;
+import com.exonum.binding.metrics.jfr.FlightRecorderEvents;
+import com.exonum.binding.metrics.jfr.ViewCreationEvent;
 import com.exonum.binding.proxy.AbstractCloseableNativeProxy;
 import com.exonum.binding.proxy.Cleaner;
 import com.google.common.annotations.VisibleForTesting;
@@ -31,6 +34,11 @@ import com.google.common.annotations.VisibleForTesting;
  */
 public final class MemoryDb extends AbstractCloseableNativeProxy implements Database {
 
+  private static final NativeCallMetrics CREATE_SNAPSHOT_METRICS =
+      NativeCallMetrics.forMethod(MemoryDb.class, "nativeCreateSnapshot");
+  private static final NativeCallMetrics CREATE_FORK_METRICS =
+      NativeCallMetrics.forMethod(MemoryDb.class, "nativeCreateFork");
+
   /**
    * Creates a new empty MemoryDb.
    */
@@ -54,13 +62,25 @@ public final class MemoryDb extends AbstractCloseableNativeProxy implements Data
 
   @Override
   public Snapshot createSnapshot(Cleaner cleaner) {
+    ViewCreationEvent event = FlightRecorderEvents.beginViewCreation();
+    long start = CREATE_SNAPSHOT_METRICS.start();
     long snapshotHandle = nativeCreateSnapshot(getNativeHandle());
+    CREATE_SNAPSHOT_METRICS.stop(start);
+    if (event != null) {
+      event.commit(Snapshot.class, MemoryDb.class);
+    }
     return Snapshot.newInstance(snapshotHandle, cleaner);
   }
 
   @Override
   public Fork createFork(Cleaner cleaner) {
+    ViewCreationEvent event = FlightRecorderEvents.beginViewCreation();
+    long start = CREATE_FORK_METRICS.start();
     long forkHandle = nativeCreateFork(getNativeHandle());
+    CREATE_FORK_METRICS.stop(start);
+    if (event != null) {
+      event.commit(Fork.class, MemoryDb.class);
+    }
     return Fork.newInstance(forkHandle, cleaner);
   }
 
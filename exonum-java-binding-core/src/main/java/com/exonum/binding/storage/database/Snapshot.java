@@ -18,6 +18,8 @@ package com.exonum.binding.storage.database;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.exonum.binding.metrics.NativeCallMetrics;
+import com.exonum.binding.metrics.NativeResourceMetrics;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.proxy.ProxyDestructor;
@@ -36,6 +38,9 @@ import com.exonum.binding.proxy.ProxyDestructor;
  */
 public final class Snapshot extends View {
 
+  private static final NativeCallMetrics FREE_METRICS =
+      NativeCallMetrics.forMethod(Views.class, "nativeFree");
+
   /**
    * Creates a new owning Snapshot proxy.
    *
@@ -60,13 +65,19 @@ public final class Snapshot extends View {
     checkNotNull(cleaner, "cleaner");
 
     NativeHandle h = new NativeHandle(nativeHandle);
-    ProxyDestructor.newRegistered(cleaner, h, Snapshot.class, nh -> {
+    Snapshot snapshot = new Snapshot(h, cleaner);
+
+    NativeResourceMetrics resourceMetrics = NativeResourceMetrics.getInstance();
+    ProxyDestructor.newRegistered(cleaner, h, Snapshot.class, owningHandle, nh -> {
+      resourceMetrics.viewClosed(snapshot);
       if (owningHandle) {
+        long start = FREE_METRICS.start();
         Views.nativeFree(nh);
+        FREE_METRICS.stop(start);
       }
     });
-
-    return new Snapshot(h, cleaner);
+    resourceMetrics.viewOpened(snapshot);
+    return snapshot;
   }
 
   private Snapshot(NativeHandle nativeHandle, Cleaner cleaner) {
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.database;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.exonum.binding.metrics.NativeResourceMetrics;
+import com.exonum.binding.metrics.TransactionProfiler;
+import com.google.common.base.MoreObjects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Counts the reads and writes of the indices performed through a database {@link View},
+ * and the bytes of the keys and values they transfer.
+ *
+ * <p>The storage indices count each lookup or iteration step as a read, and each
+ * modifying operation as a write. The counts include the operations that did not find
+ * any value. The bytes do not include the data read by the native code on its own,
+ * e.g., the nodes of the Merkle trees when computing a proof.
+ *
+ * <p>The counting is disabled by default, so that the indices do not update the counters
+ * that nobody reads. It is enabled with the {@value #ENABLED_PROPERTY} system property,
+ * or by the metrics that use the counts: the {@linkplain TransactionProfiler#ENABLED_PROPERTY
+ * transaction profiler} and the {@linkplain NativeResourceMetrics#ENABLED_PROPERTY
+ * native resource metrics}. The transaction execution events of Flight Recorder report
+ * zero reads and writes unless the counting is enabled.
+ *
+ * <p>The total size of the keys and values written through a view may be limited
+ * with the {@value #MAX_WRITTEN_BYTES_PROPERTY} system property. As a fork keeps the changes
+ * in memory, the limit allows to fail a transaction or a request that writes too much
+ * before the node runs out of memory. If the limit is set, the writes are counted
+ * even if the counting is disabled.
+ *
+ * <p>This class is not thread-safe: it is confined to the thread using its {@link View}.
+ * The only exception is {@link #getWrittenBytes()}, which may be called from any thread,
+ * e.g., by the metrics; it returns a recent, but possibly not the latest, value.
+ */
+public final class StorageAccessCounter {
+
+  /**
+   * A system property setting the maximum total size of the keys and values written
+   * through a view, in bytes. Unlimited by default.
+   */
+  public static final String MAX_WRITTEN_BYTES_PROPERTY = "exonum.binding.view.maxWrittenBytes";
+
+  /** A system property enabling the counting of the reads and writes of the views. */
+  public static final String ENABLED_PROPERTY = "exonum.binding.view.accessCounter";
+
+  private static final boolean DEFAULT_ENABLED = Boolean.getBoolean(ENABLED_PROPERTY)
+      || Boolean.getBoolean(TransactionProfiler.ENABLED_PROPERTY)
+      || Boolean.getBoolean(NativeResourceMetrics.ENABLED_PROPERTY);
+
+  private static final long DEFAULT_MAX_WRITTEN_BYTES =
+      Long.getLong(MAX_WRITTEN_BYTES_PROPERTY, Long.MAX_VALUE);
+
+  private final boolean enabled;
+  private final long maxWrittenBytes;
+
+  private long reads;
+  private long readBytes;
+  private static final AtomicLongFieldUpdater<StorageAccessCounter> WRITTEN_BYTES_UPDATER =
+      AtomicLongFieldUpdater.newUpdater(StorageAccessCounter.class, "writtenBytes");
+
+  private long writes;
+  /**
+   * Volatile, so that other threads read it atomically. It is published with a lazy set,
+   * which is cheaper than a volatile write, as only the owner thread updates it.
+   */
+  private volatile long writtenBytes;
+
+  /**
+   * Creates a counter, enabled and limiting the size of the written data according to
+   * {@value #ENABLED_PROPERTY} and {@value #MAX_WRITTEN_BYTES_PROPERTY} system properties.
+   */
+  public StorageAccessCounter() {
+    this(DEFAULT_ENABLED, DEFAULT_MAX_WRITTEN_BYTES);
+  }
+
+  /**
+   * Creates a counter.
+   *
+   * @param enabled whether the counter counts the reads and writes
+   * @param maxWrittenBytes the maximum total size of the written keys and values;
+   *     {@link Long#MAX_VALUE} if unlimited
+   */
+  public StorageAccessCounter(boolean enabled, long maxWrittenBytes) {
+    checkArgument(maxWrittenBytes >= 0, "maxWrittenBytes must be non-negative: %s",
+        maxWrittenBytes);
+    this.enabled = enabled;
+    this.maxWrittenBytes = maxWrittenBytes;
+  }
+
+  /**
+   * Returns true if this counter counts the reads and writes; if not, the counts
+   * are always zero, except the writes counted to enforce the limit of their size.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Records a read of an index.
+   *
+   * @param bytes the total size of the key and the value that were read, in bytes
+   */
+  public void recordRead(int bytes) {
+    if (!enabled) {
+      return;
+    }
+    reads++;
+    readBytes += bytes;
+  }
+
+  /**
+   * Records a write to an index. The indices record the writes of new keys and values
+   * before performing them.
+   *
+   * @param bytes the total size of the key and the value to write, in bytes
+   * @throws IllegalStateException if the total size of the written data exceeds the maximum;
+   *     the write is not recorded
+   */
+  public void recordWrite(int bytes) {
+    if (!enabled && maxWrittenBytes == Long.MAX_VALUE) {
+      return;
+    }
+    if (writtenBytes + bytes > maxWrittenBytes) {
+      throw new IllegalStateException(String.format("Cannot write %d bytes: %d bytes are "
+              + "already written through this view, the maximum is %d (see %s system property)",
+          bytes, writtenBytes, maxWrittenBytes, MAX_WRITTEN_BYTES_PROPERTY));
+    }
+    writes++;
+    WRITTEN_BYTES_UPDATER.lazySet(this, writtenBytes + bytes);
+  }
+
+  /** Returns the number of reads. */
+  public long getReads() {
+    return reads;
+  }
+
+  /** Returns the number of bytes read. */
+  public long getReadBytes() {
+    return readBytes;
+  }
+
+  /** Returns the number of writes. */
+  public long getWrites() {
+    return writes;
+  }
+
+  /**
+   * Returns the number of bytes written. Unlike the other counts, may be called
+   * from any thread.
+   */
+  public long getWrittenBytes() {
+    return writtenBytes;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("reads", reads)
+        .add("readBytes", readBytes)
+        .add("writes", writes)
+        .add("writtenBytes", writtenBytes)
+        .toString();
+  }
+}
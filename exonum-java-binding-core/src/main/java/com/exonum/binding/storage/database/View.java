@@ -29,6 +29,10 @@ import com.exonum.binding.proxy.NativeHandle;
  *   <li>A fork, which is a <em>read-write</em> view.</li>
  * </ul>
  *
+ * <p>Views are not thread-safe. A view, the indices created with it and its
+ * {@linkplain #getAccessCounter() access counter} must be used by a single thread
+ * at a time, e.g., the thread executing a transaction or handling a request.
+ *
  * @see Snapshot
  * @see Fork
  */
@@ -36,6 +40,8 @@ public abstract class View extends AbstractNativeProxy {
 
   private final Cleaner cleaner;
 
+  private final StorageAccessCounter accessCounter = new StorageAccessCounter();
+
   /**
    * Create a new view proxy.
    *
@@ -62,4 +68,12 @@ public abstract class View extends AbstractNativeProxy {
   public Cleaner getCleaner() {
     return cleaner;
   }
+
+  /**
+   * Returns the counter of the index reads and writes performed through this view.
+   * The counter is disabled by default, see {@link StorageAccessCounter}.
+   */
+  public StorageAccessCounter getAccessCounter() {
+    return accessCounter;
+  }
 }
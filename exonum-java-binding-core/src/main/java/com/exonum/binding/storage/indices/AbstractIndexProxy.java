@@ -22,14 +22,18 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import com.exonum.binding.proxy.AbstractNativeProxy;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.StorageAccessCounter;
 import com.exonum.binding.storage.database.View;
 import com.exonum.binding.storage.database.ViewModificationCounter;
+import javax.annotation.Nullable;
 
 /**
  * An abstract super class for proxies of all indices.
  *
  * <p>Each index is created with a database view, either an immutable Snapshot or a read-write Fork.
  * An index has a modification counter to detect when it or the corresponding view is modified.
+ * The reads and writes of an index are counted in the {@linkplain View#getAccessCounter()
+ * access counter} of its view.
  */
 abstract class AbstractIndexProxy extends AbstractNativeProxy implements StorageIndex {
 
@@ -40,6 +44,11 @@ abstract class AbstractIndexProxy extends AbstractNativeProxy implements Storage
    */
   final ViewModificationCounter modCounter;
 
+  /**
+   * The counter of the reads and writes of the view of this index.
+   */
+  final StorageAccessCounter accessCounter;
+
   private final String name;
 
   /**
@@ -57,6 +66,7 @@ abstract class AbstractIndexProxy extends AbstractNativeProxy implements Storage
     this.name = checkIndexName(name);
     this.dbView = checkNotNull(view);
     this.modCounter = ViewModificationCounter.getInstance();
+    this.accessCounter = view.getAccessCounter();
   }
 
   /** Returns the name of this index. */
@@ -88,6 +98,13 @@ abstract class AbstractIndexProxy extends AbstractNativeProxy implements Storage
     return (Fork) dbView;
   }
 
+  /**
+   * Returns the size of the value read from the storage, or zero if there is no value.
+   */
+  static int sizeOf(@Nullable byte[] value) {
+    return (value == null) ? 0 : value.length;
+  }
+
   @Override
   public String toString() {
     // test_map: ProofMap
@@ -20,6 +20,7 @@ import static com.exonum.binding.storage.indices.StoragePreconditions.checkEleme
 import static com.exonum.binding.storage.indices.StoragePreconditions.checkNoNulls;
 
 import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
+import com.exonum.binding.metrics.NativeCallMetrics;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.storage.database.View;
 import java.util.Collection;
@@ -34,18 +35,28 @@ import java.util.NoSuchElementException;
 abstract class AbstractListIndexProxy<T> extends AbstractIndexProxy implements ListIndex<T> {
 
   final CheckingSerializerDecorator<T> serializer;
+  private final NativeCallMetrics addMetrics;
+  private final NativeCallMetrics setMetrics;
+  private final NativeCallMetrics getMetrics;
+  private final NativeCallMetrics iterNextMetrics;
 
   AbstractListIndexProxy(NativeHandle nativeHandle, String name, View view,
                          CheckingSerializerDecorator<T> userSerializer) {
     super(nativeHandle, name, view);
     this.serializer = userSerializer;
+    // The native methods are declared by the subclasses
+    Class<?> listClass = getClass();
+    this.addMetrics = NativeCallMetrics.forMethod(listClass, "nativeAdd");
+    this.setMetrics = NativeCallMetrics.forMethod(listClass, "nativeSet");
+    this.getMetrics = NativeCallMetrics.forMethod(listClass, "nativeGet");
+    this.iterNextMetrics = NativeCallMetrics.forMethod(listClass, "nativeIterNext");
   }
 
   @Override
   public final void add(T e) {
     notifyModified();
     byte[] dbElement = serializer.toBytes(e);
-    nativeAdd(getNativeHandle(), dbElement);
+    addInternal(getNativeHandle(), dbElement);
   }
 
   @Override
@@ -61,7 +72,14 @@ abstract class AbstractListIndexProxy<T> extends AbstractIndexProxy implements L
     long nativeHandle = getNativeHandle();
     elements.stream()
         .map(serializer::toBytes)
-        .forEach((e) -> nativeAdd(nativeHandle, e));
+        .forEach((e) -> addInternal(nativeHandle, e));
+  }
+
+  private void addInternal(long nativeHandle, byte[] dbElement) {
+    accessCounter.recordWrite(dbElement.length);
+    long start = addMetrics.start();
+    nativeAdd(nativeHandle, dbElement);
+    addMetrics.stop(start);
   }
 
   @Override
@@ -69,19 +87,26 @@ abstract class AbstractListIndexProxy<T> extends AbstractIndexProxy implements L
     checkElementIndex(index, size());
     notifyModified();
     byte[] dbElement = serializer.toBytes(e);
+    accessCounter.recordWrite(dbElement.length);
+    long start = setMetrics.start();
     nativeSet(getNativeHandle(), index, dbElement);
+    setMetrics.stop(start);
   }
 
   @Override
   public final T get(long index) {
     checkElementIndex(index, size());
+    long start = getMetrics.start();
     byte[] e = nativeGet(getNativeHandle(), index);
+    getMetrics.stop(start);
+    accessCounter.recordRead(e.length);
     return serializer.fromBytes(e);
   }
 
   @Override
   public final T getLast() {
     byte[] e = nativeGetLast(getNativeHandle());
+    accessCounter.recordRead(sizeOf(e));
     // This method does not check if the list is empty first to use only a single native call.
     if (e == null) {
       throw new NoSuchElementException("List is empty");
@@ -92,6 +117,7 @@ abstract class AbstractListIndexProxy<T> extends AbstractIndexProxy implements L
   @Override
   public final void clear() {
     notifyModified();
+    accessCounter.recordWrite(0);
     nativeClear(getNativeHandle());
   }
 
@@ -108,11 +134,11 @@ abstract class AbstractListIndexProxy<T> extends AbstractIndexProxy implements L
   @Override
   public final Iterator<T> iterator() {
     return StorageIterators.createIterator(
+        this,
         nativeCreateIter(getNativeHandle()),
         this::nativeIterNext,
+        iterNextMetrics,
         this::nativeIterFree,
-        dbView,
-        modCounter,
         serializer::fromBytes);
   }
 
@@ -21,6 +21,7 @@ import static com.exonum.binding.storage.indices.StoragePreconditions.checkIndex
 import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.common.serialization.Serializer;
 import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.metrics.NativeCallMetrics;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.proxy.ProxyDestructor;
@@ -51,6 +52,11 @@ import java.util.NoSuchElementException;
  */
 public final class EntryIndexProxy<T> extends AbstractIndexProxy {
 
+  private static final NativeCallMetrics GET_METRICS =
+      NativeCallMetrics.forMethod(EntryIndexProxy.class, "nativeGet");
+  private static final NativeCallMetrics SET_METRICS =
+      NativeCallMetrics.forMethod(EntryIndexProxy.class, "nativeSet");
+
   private final CheckingSerializerDecorator<T> serializer;
 
   /**
@@ -121,7 +127,10 @@ public final class EntryIndexProxy<T> extends AbstractIndexProxy {
   public void set(T value) {
     notifyModified();
     byte[] valueBytes = serializer.toBytes(value);
+    accessCounter.recordWrite(valueBytes.length);
+    long start = SET_METRICS.start();
     nativeSet(getNativeHandle(), valueBytes);
+    SET_METRICS.stop(start);
   }
 
   /**
@@ -130,6 +139,7 @@ public final class EntryIndexProxy<T> extends AbstractIndexProxy {
    * @throws IllegalStateException if the proxy is invalid.
    */
   public boolean isPresent() {
+    accessCounter.recordRead(0);
     return nativeIsPresent(getNativeHandle());
   }
 
@@ -143,7 +153,10 @@ public final class EntryIndexProxy<T> extends AbstractIndexProxy {
    * @throws IllegalArgumentException if the supplied serializer cannot decode the value
    */
   public T get() {
+    long start = GET_METRICS.start();
     byte[] value = nativeGet(getNativeHandle());
+    GET_METRICS.stop(start);
+    accessCounter.recordRead(sizeOf(value));
     if (value == null) {
       throw new NoSuchElementException("No value in this entry");
     }
@@ -161,6 +174,7 @@ public final class EntryIndexProxy<T> extends AbstractIndexProxy {
    */
   public void remove() {
     notifyModified();
+    accessCounter.recordWrite(0);
     nativeRemove(getNativeHandle());
   }
 
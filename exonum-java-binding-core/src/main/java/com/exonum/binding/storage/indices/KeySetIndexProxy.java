@@ -22,6 +22,7 @@ import static com.exonum.binding.storage.indices.StoragePreconditions.checkIndex
 import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.common.serialization.Serializer;
 import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.metrics.NativeCallMetrics;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.proxy.ProxyDestructor;
@@ -58,6 +59,13 @@ import java.util.function.LongSupplier;
  */
 public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Iterable<E> {
 
+  private static final NativeCallMetrics ADD_METRICS =
+      NativeCallMetrics.forMethod(KeySetIndexProxy.class, "nativeAdd");
+  private static final NativeCallMetrics CONTAINS_METRICS =
+      NativeCallMetrics.forMethod(KeySetIndexProxy.class, "nativeContains");
+  private static final NativeCallMetrics ITERATOR_NEXT_METRICS =
+      NativeCallMetrics.forMethod(KeySetIndexProxy.class, "nativeIteratorNext");
+
   private final CheckingSerializerDecorator<E> serializer;
 
   /**
@@ -157,7 +165,10 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
   public void add(E e) {
     notifyModified();
     byte[] dbElement = serializer.toBytes(e);
+    accessCounter.recordWrite(dbElement.length);
+    long start = ADD_METRICS.start();
     nativeAdd(getNativeHandle(), dbElement);
+    ADD_METRICS.stop(start);
   }
 
   /**
@@ -169,6 +180,7 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
    */
   public void clear() {
     notifyModified();
+    accessCounter.recordWrite(0);
     nativeClear(getNativeHandle());
   }
   
@@ -179,7 +191,11 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
    */
   public boolean contains(E e) {
     byte[] dbElement = serializer.toBytes(e);
-    return nativeContains(getNativeHandle(), dbElement);
+    long start = CONTAINS_METRICS.start();
+    boolean contains = nativeContains(getNativeHandle(), dbElement);
+    CONTAINS_METRICS.stop(start);
+    accessCounter.recordRead(dbElement.length);
+    return contains;
   }
 
   /**
@@ -194,11 +210,11 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
   @Override
   public Iterator<E> iterator() {
     return StorageIterators.createIterator(
+        this,
         nativeCreateIterator(getNativeHandle()),
         this::nativeIteratorNext,
+        ITERATOR_NEXT_METRICS,
         this::nativeIteratorFree,
-        dbView,
-        modCounter,
         serializer::fromBytes);
   }
 
@@ -212,6 +228,7 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
   public void remove(E e) {
     notifyModified();
     byte[] dbElement = serializer.toBytes(e);
+    accessCounter.recordWrite(dbElement.length);
     nativeRemove(getNativeHandle(), dbElement);
   }
 
@@ -150,6 +150,7 @@ public final class ListIndexProxy<E> extends AbstractListIndexProxy<E> implement
   public E removeLast() {
     notifyModified();
     byte[] e = nativeRemoveLast(getNativeHandle());
+    accessCounter.recordWrite(sizeOf(e));
     if (e == null) {
       throw new NoSuchElementException("List is empty");
     }
@@ -170,6 +171,7 @@ public final class ListIndexProxy<E> extends AbstractListIndexProxy<E> implement
   public void truncate(long newSize) {
     checkArgument(newSize >= 0, "New size must be non-negative: %s", newSize);
     notifyModified();
+    accessCounter.recordWrite(0);
     nativeTruncate(getNativeHandle(), newSize);
   }
 
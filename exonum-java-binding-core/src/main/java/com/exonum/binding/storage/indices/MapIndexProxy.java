@@ -22,6 +22,7 @@ import static com.exonum.binding.storage.indices.StoragePreconditions.checkIndex
 import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.common.serialization.Serializer;
 import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.metrics.NativeCallMetrics;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.proxy.ProxyDestructor;
@@ -54,6 +55,17 @@ import java.util.function.LongSupplier;
  */
 public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements MapIndex<K, V> {
 
+  private static final NativeCallMetrics GET_METRICS =
+      NativeCallMetrics.forMethod(MapIndexProxy.class, "nativeGet");
+  private static final NativeCallMetrics PUT_METRICS =
+      NativeCallMetrics.forMethod(MapIndexProxy.class, "nativePut");
+  private static final NativeCallMetrics KEYS_ITER_NEXT_METRICS =
+      NativeCallMetrics.forMethod(MapIndexProxy.class, "nativeKeysIterNext");
+  private static final NativeCallMetrics VALUES_ITER_NEXT_METRICS =
+      NativeCallMetrics.forMethod(MapIndexProxy.class, "nativeValuesIterNext");
+  private static final NativeCallMetrics ENTRIES_ITER_NEXT_METRICS =
+      NativeCallMetrics.forMethod(MapIndexProxy.class, "nativeEntriesIterNext");
+
   private final CheckingSerializerDecorator<K> keySerializer;
   private final CheckingSerializerDecorator<V> valueSerializer;
 
@@ -166,6 +178,7 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
   @Override
   public boolean containsKey(K key) {
     byte[] dbKey = keySerializer.toBytes(key);
+    accessCounter.recordRead(dbKey.length);
     return nativeContainsKey(getNativeHandle(), dbKey);
   }
 
@@ -187,13 +200,19 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
   private void putInternal(long thisNativeHandle, K key, V value) {
     byte[] dbKey = keySerializer.toBytes(key);
     byte[] dbValue = valueSerializer.toBytes(value);
+    accessCounter.recordWrite(dbKey.length + dbValue.length);
+    long start = PUT_METRICS.start();
     nativePut(thisNativeHandle, dbKey, dbValue);
+    PUT_METRICS.stop(start);
   }
 
   @Override
   public V get(K key) {
     byte[] dbKey = keySerializer.toBytes(key);
+    long start = GET_METRICS.start();
     byte[] dbValue = nativeGet(getNativeHandle(), dbKey);
+    GET_METRICS.stop(start);
+    accessCounter.recordRead(dbKey.length + sizeOf(dbValue));
     return (dbValue == null) ? null : valueSerializer.fromBytes(dbValue);
   }
 
@@ -201,17 +220,18 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
   public void remove(K key) {
     notifyModified();
     byte[] dbKey = keySerializer.toBytes(key);
+    accessCounter.recordWrite(dbKey.length);
     nativeRemove(getNativeHandle(), dbKey);
   }
 
   @Override
   public Iterator<K> keys() {
     return StorageIterators.createIterator(
+        this,
         nativeCreateKeysIter(getNativeHandle()),
         this::nativeKeysIterNext,
+        KEYS_ITER_NEXT_METRICS,
         this::nativeKeysIterFree,
-        dbView,
-        modCounter,
         keySerializer::fromBytes
     );
   }
@@ -219,11 +239,11 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
   @Override
   public Iterator<V> values() {
     return StorageIterators.createIterator(
+        this,
         nativeCreateValuesIter(getNativeHandle()),
         this::nativeValuesIterNext,
+        VALUES_ITER_NEXT_METRICS,
         this::nativeValuesIterFree,
-        dbView,
-        modCounter,
         valueSerializer::fromBytes
     );
   }
@@ -231,11 +251,11 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
   @Override
   public Iterator<MapEntry<K, V>> entries() {
     return StorageIterators.createIterator(
+        this,
         nativeCreateEntriesIter(getNativeHandle()),
         this::nativeEntriesIterNext,
+        ENTRIES_ITER_NEXT_METRICS,
         this::nativeEntriesIterFree,
-        dbView,
-        modCounter,
         (entry) -> MapEntry.fromInternal(entry, keySerializer, valueSerializer)
     );
   }
@@ -249,6 +269,7 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
   @Override
   public void clear() {
     notifyModified();
+    accessCounter.recordWrite(0);
     nativeClear(getNativeHandle());
   }
 
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.proofs.map.flat.UncheckedMapProof;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * A size-bounded cache of proofs of proof maps, keyed by the root hash of a map and the key
+ * for which the proof is created.
+ *
+ * <p>A proof depends on the contents of the map only, which are identified by its root hash.
+ * Therefore a proof may be re-used for the same key until the map changes, and the same cache
+ * may be shared by several maps, views and threads. When the cache is full, the least recently
+ * used proofs are evicted first, so the proofs of outdated states of the maps are evicted
+ * as soon as the clients request the proofs of newer states. They may also be evicted
+ * explicitly with {@link #invalidateRoot(HashCode)}.
+ *
+ * <p>The cached proofs are shared by all clients of the cache and must not be modified.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @see ProofMapIndexProxy#getProof(Object, MapProofCache)
+ */
+public final class MapProofCache {
+
+  private final Cache<ProofId, UncheckedMapProof> proofs;
+
+  private MapProofCache(long maximumSize) {
+    proofs = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Creates a new empty cache.
+   *
+   * @param maximumSize the maximum number of proofs in the cache
+   * @throws IllegalArgumentException if the size is not positive
+   */
+  public static MapProofCache newInstance(long maximumSize) {
+    checkArgument(0 < maximumSize, "maximumSize (%s) must be positive", maximumSize);
+    return new MapProofCache(maximumSize);
+  }
+
+  /**
+   * Returns the proof for the given key in the map with the given root hash, creating it
+   * with the given function if it is not in the cache.
+   *
+   * @param rootHash the root hash of the map
+   * @param key the key in the proof map
+   * @param proofFunction the function creating the proof, if it is absent
+   */
+  UncheckedMapProof get(HashCode rootHash, byte[] key,
+      Supplier<? extends UncheckedMapProof> proofFunction) {
+    ProofId id = new ProofId(rootHash, key);
+    UncheckedMapProof proof = proofs.getIfPresent(id);
+    if (proof == null) {
+      // The proof might be created concurrently in several threads, but that is cheaper than
+      // blocking them till it is loaded, as Cache#get(K, Callable) does.
+      proof = checkNotNull(proofFunction.get());
+      proofs.put(id, proof);
+    }
+    return proof;
+  }
+
+  /**
+   * Evicts all proofs of the map with the given root hash.
+   *
+   * <p>This operation takes time linear in the size of the cache.
+   *
+   * @param rootHash the root hash of a proof map
+   */
+  public void invalidateRoot(HashCode rootHash) {
+    checkNotNull(rootHash);
+    proofs.asMap().keySet().removeIf(id -> id.rootHash.equals(rootHash));
+  }
+
+  /**
+   * Evicts all proofs.
+   */
+  public void invalidateAll() {
+    proofs.invalidateAll();
+  }
+
+  /**
+   * Returns the approximate number of proofs in this cache.
+   */
+  public long size() {
+    return proofs.size();
+  }
+
+  /**
+   * Returns the statistics of this cache, including the number of hits and misses.
+   */
+  public CacheStats stats() {
+    return proofs.stats();
+  }
+
+  private static final class ProofId {
+
+    final HashCode rootHash;
+    final byte[] key;
+
+    ProofId(HashCode rootHash, byte[] key) {
+      this.rootHash = checkNotNull(rootHash);
+      this.key = checkNotNull(key);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ProofId)) {
+        return false;
+      }
+      ProofId that = (ProofId) o;
+      return rootHash.equals(that.rootHash) && Arrays.equals(key, that.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * rootHash.hashCode() + Arrays.hashCode(key);
+    }
+  }
+}
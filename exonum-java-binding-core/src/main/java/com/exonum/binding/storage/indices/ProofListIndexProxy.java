@@ -22,10 +22,14 @@ import static com.exonum.binding.storage.indices.StoragePreconditions.checkIndex
 import static com.exonum.binding.storage.indices.StoragePreconditions.checkPositionIndex;
 
 import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.proofs.list.FlatListProof;
 import com.exonum.binding.common.proofs.list.ListProof;
 import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.common.serialization.Serializer;
 import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.metrics.NativeCallMetrics;
+import com.exonum.binding.metrics.jfr.FlightRecorderEvents;
+import com.exonum.binding.metrics.jfr.ProofCreationEvent;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.proxy.ProxyDestructor;
@@ -57,6 +61,13 @@ import java.util.function.LongSupplier;
 public final class ProofListIndexProxy<E> extends AbstractListIndexProxy<E>
     implements ListIndex<E> {
 
+  private static final NativeCallMetrics GET_PROOF_METRICS =
+      NativeCallMetrics.forMethod(ProofListIndexProxy.class, "nativeGetProof");
+  private static final NativeCallMetrics GET_RANGE_PROOF_METRICS =
+      NativeCallMetrics.forMethod(ProofListIndexProxy.class, "nativeGetRangeProof");
+  private static final NativeCallMetrics GET_ROOT_HASH_METRICS =
+      NativeCallMetrics.forMethod(ProofListIndexProxy.class, "nativeGetRootHash");
+
   /**
    * Creates a new ProofListIndexProxy storing protobuf messages.
    *
@@ -150,33 +161,77 @@ public final class ProofListIndexProxy<E> extends AbstractListIndexProxy<E>
 
   /**
    * Returns a proof that an element exists at the specified index in this list.
+   * The proof is a {@link FlatListProof}.
    *
    * @param index the element index
    * @throws IndexOutOfBoundsException if the index is invalid
    * @throws IllegalStateException if this list is not valid
+   * @see #getFlatProof(long)
    */
   public ListProof getProof(long index) {
+    return getFlatProof(index);
+  }
+
+  /**
+   * Returns a flat proof that an element exists at the specified index in this list.
+   *
+   * @param index the element index
+   * @throws IndexOutOfBoundsException if the index is invalid
+   * @throws IllegalStateException if this list is not valid
+   */
+  public FlatListProof getFlatProof(long index) {
     checkElementIndex(index, size());
-    return nativeGetProof(getNativeHandle(), index);
+    ProofCreationEvent event = FlightRecorderEvents.beginProofCreation();
+    long start = GET_PROOF_METRICS.start();
+    FlatListProof proof = nativeGetProof(getNativeHandle(), index);
+    GET_PROOF_METRICS.stop(start);
+    if (event != null) {
+      event.commit(getName(), ProofListIndexProxy.class, 1);
+    }
+    accessCounter.recordRead(0);
+    return proof;
   }
 
-  private native ListProof nativeGetProof(long nativeHandle, long index);
+  private native FlatListProof nativeGetProof(long nativeHandle, long index);
 
   /**
    * Returns a proof that some elements exist in the specified range in this list.
+   * The proof is a {@link FlatListProof}.
    *
    * @param from the index of the first element
    * @param to the index after the last element
    * @throws IndexOutOfBoundsException if the range is not valid
    * @throws IllegalStateException if this list is not valid
+   * @see #getFlatRangeProof(long, long)
    */
   public ListProof getRangeProof(long from, long to) {
+    return getFlatRangeProof(from, to);
+  }
+
+  /**
+   * Returns a flat proof that some elements exist in the specified range in this list.
+   *
+   * @param from the index of the first element
+   * @param to the index after the last element
+   * @throws IndexOutOfBoundsException if the range is not valid
+   * @throws IllegalStateException if this list is not valid
+   */
+  public FlatListProof getFlatRangeProof(long from, long to) {
     long size = size();
-    return nativeGetRangeProof(getNativeHandle(), checkElementIndex(from, size),
-        checkPositionIndex(to, size));
+    checkElementIndex(from, size);
+    checkPositionIndex(to, size);
+    ProofCreationEvent event = FlightRecorderEvents.beginProofCreation();
+    long start = GET_RANGE_PROOF_METRICS.start();
+    FlatListProof proof = nativeGetRangeProof(getNativeHandle(), from, to);
+    GET_RANGE_PROOF_METRICS.stop(start);
+    if (event != null) {
+      event.commit(getName(), ProofListIndexProxy.class, to - from);
+    }
+    accessCounter.recordRead(0);
+    return proof;
   }
 
-  private native ListProof nativeGetRangeProof(long nativeHandle, long from, long to);
+  private native FlatListProof nativeGetRangeProof(long nativeHandle, long from, long to);
 
   /**
    * Returns the root hash of the proof list.
@@ -184,7 +239,11 @@ public final class ProofListIndexProxy<E> extends AbstractListIndexProxy<E>
    * @throws IllegalStateException if this list is not valid
    */
   public HashCode getRootHash() {
-    return HashCode.fromBytes(nativeGetRootHash(getNativeHandle()));
+    long start = GET_ROOT_HASH_METRICS.start();
+    byte[] rootHash = nativeGetRootHash(getNativeHandle());
+    GET_ROOT_HASH_METRICS.stop(start);
+    accessCounter.recordRead(rootHash.length);
+    return HashCode.fromBytes(rootHash);
   }
 
   private native byte[] nativeGetRootHash(long nativeHandle);
@@ -24,6 +24,9 @@ import com.exonum.binding.common.proofs.map.flat.UncheckedMapProof;
 import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.common.serialization.Serializer;
 import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.metrics.NativeCallMetrics;
+import com.exonum.binding.metrics.jfr.FlightRecorderEvents;
+import com.exonum.binding.metrics.jfr.ProofCreationEvent;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.proxy.ProxyDestructor;
@@ -58,6 +61,21 @@ import java.util.function.LongSupplier;
  */
 public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implements MapIndex<K, V> {
 
+  private static final NativeCallMetrics GET_METRICS =
+      NativeCallMetrics.forMethod(ProofMapIndexProxy.class, "nativeGet");
+  private static final NativeCallMetrics PUT_METRICS =
+      NativeCallMetrics.forMethod(ProofMapIndexProxy.class, "nativePut");
+  private static final NativeCallMetrics GET_PROOF_METRICS =
+      NativeCallMetrics.forMethod(ProofMapIndexProxy.class, "nativeGetProof");
+  private static final NativeCallMetrics GET_ROOT_HASH_METRICS =
+      NativeCallMetrics.forMethod(ProofMapIndexProxy.class, "nativeGetRootHash");
+  private static final NativeCallMetrics KEYS_ITER_NEXT_METRICS =
+      NativeCallMetrics.forMethod(ProofMapIndexProxy.class, "nativeKeysIterNext");
+  private static final NativeCallMetrics VALUES_ITER_NEXT_METRICS =
+      NativeCallMetrics.forMethod(ProofMapIndexProxy.class, "nativeValuesIterNext");
+  private static final NativeCallMetrics ENTRIES_ITER_NEXT_METRICS =
+      NativeCallMetrics.forMethod(ProofMapIndexProxy.class, "nativeEntriesIterNext");
+
   private final ProofMapKeyCheckingSerializerDecorator<K> keySerializer;
   private final CheckingSerializerDecorator<V> valueSerializer;
 
@@ -151,6 +169,7 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
   @Override
   public boolean containsKey(K key) {
     byte[] dbKey = keySerializer.toBytes(key);
+    accessCounter.recordRead(dbKey.length);
     return nativeContainsKey(getNativeHandle(), dbKey);
   }
 
@@ -184,7 +203,10 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
   private void putInternal(long nativeHandle, K key, V value) {
     byte[] dbKey = keySerializer.toBytes(key);
     byte[] dbValue = valueSerializer.toBytes(value);
+    accessCounter.recordWrite(dbKey.length + dbValue.length);
+    long start = PUT_METRICS.start();
     nativePut(nativeHandle, dbKey, dbValue);
+    PUT_METRICS.stop(start);
   }
 
   private native void nativePut(long nativeHandle, byte[] key, byte[] value);
@@ -192,7 +214,10 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
   @Override
   public V get(K key) {
     byte[] dbKey = keySerializer.toBytes(key);
+    long start = GET_METRICS.start();
     byte[] dbValue = nativeGet(getNativeHandle(), dbKey);
+    GET_METRICS.stop(start);
+    accessCounter.recordRead(dbKey.length + sizeOf(dbValue));
     return (dbValue == null) ? null : valueSerializer.fromBytes(dbValue);
   }
 
@@ -208,7 +233,38 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
    */
   public UncheckedMapProof getProof(K key) {
     byte[] dbKey = keySerializer.toBytes(key);
-    return nativeGetProof(getNativeHandle(), dbKey);
+    return getProofInternal(getNativeHandle(), dbKey);
+  }
+
+  /**
+   * Returns a proof that there is a value mapped to the specified key or
+   * that there is no such mapping, taking it from the cache if it has been created
+   * for the same key and the same state of the map (as identified by its root hash).
+   * If the proof is not in the cache, it is created and put in the cache.
+   *
+   * @param key a proof map key which might be mapped to some value, must be 32-byte long
+   * @param cache a cache of proofs
+   * @throws IllegalStateException  if this map is not valid
+   * @throws IllegalArgumentException if the size of the key is not 32 bytes
+   * @see #getProof(Object)
+   */
+  public UncheckedMapProof getProof(K key, MapProofCache cache) {
+    byte[] dbKey = keySerializer.toBytes(key);
+    long nativeHandle = getNativeHandle();
+    HashCode rootHash = getRootHashInternal(nativeHandle);
+    return cache.get(rootHash, dbKey, () -> getProofInternal(nativeHandle, dbKey));
+  }
+
+  private UncheckedMapProof getProofInternal(long nativeHandle, byte[] dbKey) {
+    ProofCreationEvent event = FlightRecorderEvents.beginProofCreation();
+    long start = GET_PROOF_METRICS.start();
+    UncheckedMapProof proof = nativeGetProof(nativeHandle, dbKey);
+    GET_PROOF_METRICS.stop(start);
+    if (event != null) {
+      event.commit(getName(), ProofMapIndexProxy.class, 1);
+    }
+    accessCounter.recordRead(dbKey.length);
+    return proof;
   }
 
   private native UncheckedMapProof nativeGetProof(long nativeHandle, byte[] key);
@@ -219,7 +275,15 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
    * @throws IllegalStateException  if this map is not valid
    */
   public HashCode getRootHash() {
-    return HashCode.fromBytes(nativeGetRootHash(getNativeHandle()));
+    return getRootHashInternal(getNativeHandle());
+  }
+
+  private HashCode getRootHashInternal(long nativeHandle) {
+    long start = GET_ROOT_HASH_METRICS.start();
+    byte[] rootHash = nativeGetRootHash(nativeHandle);
+    GET_ROOT_HASH_METRICS.stop(start);
+    accessCounter.recordRead(rootHash.length);
+    return HashCode.fromBytes(rootHash);
   }
 
   private native byte[] nativeGetRootHash(long nativeHandle);
@@ -228,6 +292,7 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
   public void remove(K key) {
     notifyModified();
     byte[] dbKey = keySerializer.toBytes(key);
+    accessCounter.recordWrite(dbKey.length);
     nativeRemove(getNativeHandle(), dbKey);
   }
 
@@ -236,11 +301,11 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
   @Override
   public Iterator<K> keys() {
     return StorageIterators.createIterator(
+        this,
         nativeCreateKeysIter(getNativeHandle()),
         this::nativeKeysIterNext,
+        KEYS_ITER_NEXT_METRICS,
         this::nativeKeysIterFree,
-        dbView,
-        modCounter,
         keySerializer::fromBytes
     );
   }
@@ -254,11 +319,11 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
   @Override
   public Iterator<V> values() {
     return StorageIterators.createIterator(
+        this,
         nativeCreateValuesIter(getNativeHandle()),
         this::nativeValuesIterNext,
+        VALUES_ITER_NEXT_METRICS,
         this::nativeValuesIterFree,
-        dbView,
-        modCounter,
         valueSerializer::fromBytes
     );
   }
@@ -272,11 +337,11 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
   @Override
   public Iterator<MapEntry<K, V>> entries() {
     return StorageIterators.createIterator(
+        this,
         nativeCreateEntriesIter(getNativeHandle()),
         this::nativeEntriesIterNext,
+        ENTRIES_ITER_NEXT_METRICS,
         this::nativeEntriesIterFree,
-        dbView,
-        modCounter,
         (entry) -> MapEntry.fromInternal(entry, keySerializer, valueSerializer)
     );
   }
@@ -290,6 +355,7 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
   @Override
   public void clear() {
     notifyModified();
+    accessCounter.recordWrite(0);
     nativeClear(getNativeHandle());
   }
 
@@ -16,11 +16,14 @@
 
 package com.exonum.binding.storage.indices;
 
+import com.exonum.binding.metrics.NativeCallMetrics;
+import com.exonum.binding.metrics.jfr.FlightRecorderEvents;
+import com.exonum.binding.metrics.jfr.IndexIterationEvent;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.proxy.ProxyDestructor;
+import com.exonum.binding.storage.database.StorageAccessCounter;
 import com.exonum.binding.storage.database.View;
-import com.exonum.binding.storage.database.ViewModificationCounter;
 import com.google.common.collect.Iterators;
 import java.util.Iterator;
 import java.util.function.Function;
@@ -33,39 +36,75 @@ final class StorageIterators {
    * Creates a new iterator over an index.
    *
    * <p>The returned iterator is a {@link ConfigurableRustIter}
-   * wrapped in a {@link RustIterAdapter}.
+   * wrapped in a {@link RustIterAdapter}. Each returned element is counted as a read
+   * in the access counter of the view. A complete iteration is recorded
+   * as an {@link IndexIterationEvent}.
    *
+   * @param index the index over which to iterate
    * @param nativeHandle nativeHandle of this iterator
    * @param nextFunction a function to call to get the next item
+   * @param nextMetrics the metrics of the native method getting the next item
    * @param disposeOperation an operation to call to destroy the corresponding native iterator
-   * @param collectionView a database view of the collection over which to iterate
-   * @param modificationCounter a view modification counter
    * @param transformingFunction a function to apply to elements returned by native iterator
    *                             (usually, to an array of bytes)
    */
   static <ElementT, NativeT> Iterator<ElementT> createIterator(
+      AbstractIndexProxy index,
       long nativeHandle,
       LongFunction<NativeT> nextFunction,
+      NativeCallMetrics nextMetrics,
       LongConsumer disposeOperation,
-      View collectionView,
-      ViewModificationCounter modificationCounter,
       Function<? super NativeT, ? extends ElementT> transformingFunction) {
 
     // Register the destructor first.
     NativeHandle handle = new NativeHandle(nativeHandle);
+    View collectionView = index.dbView;
     Cleaner cleaner = collectionView.getCleaner();
     cleaner.add(new ProxyDestructor(handle, RustIter.class, disposeOperation));
 
     Iterator<NativeT> iterator = new RustIterAdapter<>(
         new ConfigurableRustIter<>(
             handle,
-            nextFunction,
+            NativeCallMetrics.isEnabled() ? timed(nextFunction, nextMetrics) : nextFunction,
             collectionView,
-            modificationCounter
+            index.modCounter
         )
     );
 
-    return Iterators.transform(iterator, transformingFunction::apply);
+    StorageAccessCounter accessCounter = index.accessCounter;
+    Iterator<ElementT> elements = Iterators.transform(iterator, (element) -> {
+      accessCounter.recordRead(sizeOf(element));
+      return transformingFunction.apply(element);
+    });
+    return FlightRecorderEvents.recordIteration(elements, index.getName(), index.getClass());
+  }
+
+  /**
+   * Returns the size of an element returned by a native iterator, in bytes.
+   */
+  private static int sizeOf(Object element) {
+    if (element instanceof byte[]) {
+      return ((byte[]) element).length;
+    }
+    if (element instanceof MapEntryInternal) {
+      MapEntryInternal entry = (MapEntryInternal) element;
+      return entry.key.length + entry.value.length;
+    }
+    if (element instanceof ValueSetIndexProxy.EntryInternal) {
+      ValueSetIndexProxy.EntryInternal entry = (ValueSetIndexProxy.EntryInternal) element;
+      return entry.hash.length + entry.value.length;
+    }
+    return 0;
+  }
+
+  private static <NativeT> LongFunction<NativeT> timed(LongFunction<NativeT> nextFunction,
+      NativeCallMetrics nextMetrics) {
+    return (iterNativeHandle) -> {
+      long start = nextMetrics.start();
+      NativeT next = nextFunction.apply(iterNativeHandle);
+      nextMetrics.stop(start);
+      return next;
+    };
   }
 
   private StorageIterators() {}
@@ -25,6 +25,7 @@ import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.common.serialization.Serializer;
 import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.metrics.NativeCallMetrics;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.proxy.ProxyDestructor;
@@ -65,6 +66,15 @@ import javax.annotation.Nullable;
 public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
     implements Iterable<ValueSetIndexProxy.Entry<E>> {
 
+  private static final NativeCallMetrics ADD_METRICS =
+      NativeCallMetrics.forMethod(ValueSetIndexProxy.class, "nativeAdd");
+  private static final NativeCallMetrics CONTAINS_METRICS =
+      NativeCallMetrics.forMethod(ValueSetIndexProxy.class, "nativeContains");
+  private static final NativeCallMetrics HASH_ITERATOR_NEXT_METRICS =
+      NativeCallMetrics.forMethod(ValueSetIndexProxy.class, "nativeHashIteratorNext");
+  private static final NativeCallMetrics ITERATOR_NEXT_METRICS =
+      NativeCallMetrics.forMethod(ValueSetIndexProxy.class, "nativeIteratorNext");
+
   private final CheckingSerializerDecorator<E> serializer;
 
   /**
@@ -165,7 +175,10 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
   public void add(E e) {
     notifyModified();
     byte[] dbElement = serializer.toBytes(e);
+    accessCounter.recordWrite(dbElement.length);
+    long start = ADD_METRICS.start();
     nativeAdd(getNativeHandle(), dbElement);
+    ADD_METRICS.stop(start);
   }
 
   /**
@@ -177,6 +190,7 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
    */
   public void clear() {
     notifyModified();
+    accessCounter.recordWrite(0);
     nativeClear(getNativeHandle());
   }
 
@@ -188,7 +202,11 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
    */
   public boolean contains(E e) {
     byte[] dbElement = serializer.toBytes(e);
-    return nativeContains(getNativeHandle(), dbElement);
+    long start = CONTAINS_METRICS.start();
+    boolean contains = nativeContains(getNativeHandle(), dbElement);
+    CONTAINS_METRICS.stop(start);
+    accessCounter.recordRead(dbElement.length);
+    return contains;
   }
 
   /**
@@ -198,7 +216,9 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
    * @throws IllegalStateException if this set is not valid
    */
   public boolean containsByHash(HashCode elementHash) {
-    return nativeContainsByHash(getNativeHandle(), elementHash.asBytes());
+    byte[] hash = elementHash.asBytes();
+    accessCounter.recordRead(hash.length);
+    return nativeContainsByHash(getNativeHandle(), hash);
   }
 
   /**
@@ -213,11 +233,11 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
    */
   public Iterator<HashCode> hashes() {
     return StorageIterators.createIterator(
+        this,
         nativeCreateHashIterator(getNativeHandle()),
         this::nativeHashIteratorNext,
+        HASH_ITERATOR_NEXT_METRICS,
         this::nativeHashIteratorFree,
-        dbView,
-        modCounter,
         HashCode::fromBytes);
   }
 
@@ -234,11 +254,11 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
   @Override
   public Iterator<Entry<E>> iterator() {
     return StorageIterators.createIterator(
+        this,
         nativeCreateIterator(getNativeHandle()),
         this::nativeIteratorNext,
+        ITERATOR_NEXT_METRICS,
         this::nativeIteratorFree,
-        dbView,
-        modCounter,
         (e) -> Entry.fromInternal(e, serializer));
   }
 
@@ -288,7 +308,7 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
   /**
    * An internal entry: native API.
    */
-  private static class EntryInternal {
+  static class EntryInternal {
     final byte[] hash;
     final byte[] value;
 
@@ -309,6 +329,7 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
   public void remove(E e) {
     notifyModified();
     byte[] dbElement = serializer.toBytes(e);
+    accessCounter.recordWrite(dbElement.length);
     nativeRemove(getNativeHandle(), dbElement);
   }
 
@@ -322,7 +343,9 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
    */
   public void removeByHash(HashCode elementHash) {
     notifyModified();
-    nativeRemoveByHash(getNativeHandle(), elementHash.asBytes());
+    byte[] hash = elementHash.asBytes();
+    accessCounter.recordWrite(hash.length);
+    nativeRemoveByHash(getNativeHandle(), hash);
   }
 
   private static native long nativeCreate(String setName, long viewNativeHandle);
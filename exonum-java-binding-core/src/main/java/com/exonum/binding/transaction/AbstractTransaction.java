@@ -18,6 +18,7 @@ package com.exonum.binding.transaction;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.message.BinaryMessage;
 
 /**
@@ -31,6 +32,11 @@ public abstract class AbstractTransaction implements Transaction {
    */
   protected final transient BinaryMessage message;
 
+  /**
+   * The hash of this transaction, computed on the first request.
+   */
+  private transient HashCode hash;
+
   protected AbstractTransaction(BinaryMessage message) {
     this.message = checkNotNull(message);
   }
@@ -39,4 +45,19 @@ public abstract class AbstractTransaction implements Transaction {
   public BinaryMessage getMessage() {
     return message;
   }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The hash is computed on the first invocation and cached.
+   */
+  @Override
+  public HashCode hash() {
+    HashCode result = hash;
+    if (result == null) {
+      result = message.hash();
+      hash = result;
+    }
+    return result;
+  }
 }
@@ -58,6 +58,33 @@ public interface Transaction {
    */
   void execute(Fork view) throws TransactionExecutionException;
 
+  /**
+   * Executes the transaction, possibly modifying the blockchain state, and returns
+   * the result of the execution. An error result has the same effect as
+   * {@link TransactionExecutionException} thrown from {@link #execute(Fork)}: the transaction
+   * is rolled back and committed as failed (status "error").
+   *
+   * <p>Override this method if a significant share of transactions of this type fail by design:
+   * an error result is much cheaper to create and process than an exception.
+   * Such transactions may implement {@link #execute(Fork)} in terms of this method.
+   *
+   * @param view a database view, which allows to modify the blockchain state
+   * @return the result of the transaction execution, never null
+   * @throws RuntimeException if an unexpected error occurs. A correct transaction implementation
+   *     must not throw such exceptions. The transaction will be committed as failed
+   *     (status "panic").
+   * @implSpec Default implementation invokes {@link #execute(Fork)}, and converts
+   *     a {@link TransactionExecutionException} into an error result.
+   */
+  default TransactionResult executeForResult(Fork view) {
+    try {
+      execute(view);
+      return TransactionResult.successful();
+    } catch (TransactionExecutionException e) {
+      return TransactionResult.fromException(e);
+    }
+  }
+
   /**
    * Returns some information about this transaction in JSON format.
    */
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.transaction;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.base.MoreObjects;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * A result of transaction execution: either successful, or an error with an error code
+ * and an optional description.
+ *
+ * <p>An error result has the same effect as {@link TransactionExecutionException}:
+ * the changes made by the transaction are rolled back, and the error code with the description
+ * are saved in the database. Unlike the exception, it does not capture a stack trace,
+ * therefore, it is cheap to create. Use it in {@link Transaction#executeForResult}
+ * if a significant share of transactions of a service fail by design.
+ *
+ * @see Transaction#executeForResult
+ */
+public final class TransactionResult {
+
+  private static final TransactionResult SUCCESSFUL = new TransactionResult(true, (byte) 0, null);
+
+  private final boolean successful;
+  // The error code and the description are read by the native code directly
+  private final byte errorCode;
+  @Nullable
+  private final String description;
+
+  private TransactionResult(boolean successful, byte errorCode, @Nullable String description) {
+    this.successful = successful;
+    this.errorCode = errorCode;
+    this.description = description;
+  }
+
+  /**
+   * Returns a result of a successfully executed transaction.
+   */
+  public static TransactionResult successful() {
+    return SUCCESSFUL;
+  }
+
+  /**
+   * Returns a result of a transaction failed with the given error code.
+   *
+   * @param errorCode the transaction error code
+   */
+  public static TransactionResult error(byte errorCode) {
+    return error(errorCode, null);
+  }
+
+  /**
+   * Returns a result of a transaction failed with the given error code and description.
+   *
+   * @param errorCode the transaction error code
+   * @param description the error description
+   */
+  public static TransactionResult error(byte errorCode, @Nullable String description) {
+    return new TransactionResult(false, errorCode, description);
+  }
+
+  /**
+   * Returns a result corresponding to the given transaction exception.
+   */
+  static TransactionResult fromException(TransactionExecutionException e) {
+    return error(e.getErrorCode(), e.getMessage());
+  }
+
+  /**
+   * Returns true if the transaction is executed successfully, false if it failed.
+   */
+  public boolean isSuccessful() {
+    return successful;
+  }
+
+  /**
+   * Returns the transaction error code.
+   *
+   * @throws IllegalStateException if this result is successful
+   */
+  public byte getErrorCode() {
+    checkState(!successful, "Successful result has no error code");
+    return errorCode;
+  }
+
+  /**
+   * Returns the error description, or null if the error has no description
+   * or the result is successful.
+   */
+  public @Nullable String getDescription() {
+    return description;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof TransactionResult)) {
+      return false;
+    }
+    TransactionResult that = (TransactionResult) o;
+    return successful == that.successful
+        && errorCode == that.errorCode
+        && Objects.equals(description, that.description);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(successful, errorCode, description);
+  }
+
+  @Override
+  public String toString() {
+    if (successful) {
+      return "TransactionResult{successful}";
+    }
+    return MoreObjects.toStringHelper(this)
+        .add("errorCode", errorCode)
+        .add("description", description)
+        .toString();
+  }
+}
@@ -53,6 +53,8 @@ public interface Server {
    *
    * @param mountPoint a mount point (a path prefix) to mount it on
    * @param subRouter a router responsible for handling requests that have the given path prefix
+   * @throws IllegalArgumentException if the mount point is the path at which the server
+   *     exports the metrics
    */
   void mountSubRouter(String mountPoint, Router subRouter);
 
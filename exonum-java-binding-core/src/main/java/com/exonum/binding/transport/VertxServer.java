@@ -19,7 +19,10 @@ package com.exonum.binding.transport;
 import static com.exonum.binding.transport.VertxServer.State.IDLE;
 import static com.exonum.binding.transport.VertxServer.State.STARTED;
 import static com.exonum.binding.transport.VertxServer.State.STOPPED;
+import static com.google.common.base.Preconditions.checkArgument;
 
+import com.exonum.binding.metrics.MetricsRegistry;
+import com.exonum.binding.metrics.PrometheusWriter;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpServer;
 import io.vertx.ext.web.Router;
@@ -27,6 +30,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -35,6 +39,10 @@ import org.apache.logging.log4j.Logger;
  *
  * <p>This class hides some nuances of using vert.x as an HTTP server from other components.
  *
+ * <p>The server exports the metrics of the framework at {@value MetricsRegistry#METRICS_PATH}
+ * in the Prometheus text format, if any of them are enabled. A sub-router cannot be mounted
+ * at this path then.
+ *
  * <p>The class is thread-safe. It does not support client-side locking.
  */
 final class VertxServer implements Server {
@@ -43,6 +51,7 @@ final class VertxServer implements Server {
   private final Vertx vertx;
   private final HttpServer server;
   private final Router rootRouter;
+  private final boolean exportsMetrics;
   private final Object lock = new Object();
 
   enum State {
@@ -55,13 +64,33 @@ final class VertxServer implements Server {
   private CompletableFuture<Void> stopFuture;
 
   /**
-   * Creates an HTTP server with no request handlers.
+   * Creates an HTTP server with no request handlers, except the one exporting the metrics
+   * of the default registry if any of them are enabled.
    *
    * <p>Use {@link #start(int)} to start listening to incoming requests.
    */
   VertxServer() {
+    this(MetricsRegistry.isDefaultEnabled() ? MetricsRegistry.getDefault() : null);
+  }
+
+  /**
+   * Creates an HTTP server with no request handlers, except the one exporting the metrics
+   * of the given registry.
+   *
+   * <p>Use {@link #start(int)} to start listening to incoming requests.
+   *
+   * @param metricsRegistry the registry to export, or null to export no metrics
+   */
+  VertxServer(@Nullable MetricsRegistry metricsRegistry) {
     vertx = Vertx.vertx();
     rootRouter = Router.router(vertx);
+    exportsMetrics = metricsRegistry != null;
+    if (exportsMetrics) {
+      rootRouter.get(MetricsRegistry.METRICS_PATH)
+          .handler((rc) -> rc.response()
+              .putHeader("Content-Type", PrometheusWriter.CONTENT_TYPE)
+              .end(metricsRegistry.scrape()));
+    }
     server = vertx.createHttpServer()
         .requestHandler(rootRouter::accept);
     state = IDLE;
@@ -79,10 +108,19 @@ final class VertxServer implements Server {
   public void mountSubRouter(String mountPoint, Router subRouter) {
     synchronized (lock) {
       checkNotStopped();
+      checkArgument(!(exportsMetrics && isMetricsPath(mountPoint)),
+          "Cannot mount a router at %s: the metrics are exported at this path", mountPoint);
       rootRouter.mountSubRouter(mountPoint, subRouter);
     }
   }
 
+  private static boolean isMetricsPath(String mountPoint) {
+    String path = mountPoint.endsWith("/")
+        ? mountPoint.substring(0, mountPoint.length() - 1)
+        : mountPoint;
+    return path.equals(MetricsRegistry.METRICS_PATH);
+  }
+
   private void checkNotStopped() {
     if (state == STOPPED) {
       throw new IllegalStateException("Server is stopped");
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class HistogramTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsInvalidBounds() {
+    new Histogram(4, 2);
+  }
+
+  @Test
+  public void recordCountsValues() {
+    Histogram histogram = new Histogram(1, 3);
+    histogram.record(1);
+    histogram.record(5);
+    histogram.record(100);
+
+    assertThat(histogram.getCount(), equalTo(3L));
+    assertThat(histogram.getSum(), equalTo(106L));
+  }
+
+  @Test
+  public void writeToWritesCumulativeBuckets() {
+    Histogram histogram = new Histogram(1, 3);
+    histogram.record(0);
+    histogram.record(2);
+    histogram.record(3);
+    histogram.record(4);
+    histogram.record(8);
+    histogram.record(9);
+
+    PrometheusWriter writer = new PrometheusWriter();
+    histogram.writeTo(writer, "size", "type=\"a\"", 1);
+
+    String expected = "size_bucket{type=\"a\",le=\"2.0\"} 2\n"
+        + "size_bucket{type=\"a\",le=\"4.0\"} 4\n"
+        + "size_bucket{type=\"a\",le=\"8.0\"} 5\n"
+        + "size_bucket{type=\"a\",le=\"+Inf\"} 6\n"
+        + "size_sum{type=\"a\"} 26.0\n"
+        + "size_count{type=\"a\"} 6\n";
+    assertThat(writer.toString(), equalTo(expected));
+  }
+
+  @Test
+  public void writeToScalesBounds() {
+    Histogram histogram = new Histogram(0, 0);
+    histogram.record(1);
+
+    PrometheusWriter writer = new PrometheusWriter();
+    histogram.writeTo(writer, "duration", "", 0.5);
+
+    String expected = "duration_bucket{le=\"0.5\"} 1\n"
+        + "duration_bucket{le=\"+Inf\"} 1\n"
+        + "duration_sum 0.5\n"
+        + "duration_count 1\n";
+    assertThat(writer.toString(), equalTo(expected));
+  }
+}
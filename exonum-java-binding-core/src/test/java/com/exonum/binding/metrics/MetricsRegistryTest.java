@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class MetricsRegistryTest {
+
+  @Test
+  public void scrapeEmptyRegistry() {
+    MetricsRegistry registry = new MetricsRegistry();
+
+    assertThat(registry.scrape(), equalTo(""));
+  }
+
+  @Test
+  public void scrapeCollectsAllInOrder() {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.register((writer) -> writer.writeSample("first", "", 1L));
+    registry.register((writer) -> writer.writeSample("second", "", 2L));
+
+    assertThat(registry.scrape(), equalTo("first 1\nsecond 2\n"));
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class NativeCallMetricsTest {
+
+  @Test
+  public void disabledByDefault() {
+    assertFalse(NativeCallMetrics.isEnabled());
+  }
+
+  @Test
+  public void disabledMetricsRecordNothing() {
+    NativeCallMetrics metrics = NativeCallMetrics.forMethod(NativeCallMetricsTest.class,
+        "nativeGet");
+
+    long start = metrics.start();
+    metrics.stop(start);
+
+    assertThat(start, equalTo(0L));
+    assertThat(metrics.getCount(), equalTo(0L));
+    assertThat(MetricsRegistry.getDefault().scrape(), equalTo(""));
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.StorageAccessCounter;
+import com.exonum.binding.storage.indices.MapIndexProxy;
+import org.junit.Test;
+
+public class NativeResourceMetricsTest {
+
+  @Test
+  public void disabledByDefault() {
+    assertFalse(NativeResourceMetrics.getInstance().isEnabled());
+  }
+
+  @Test
+  public void countsLiveProxies() {
+    NativeResourceMetrics metrics = new NativeResourceMetrics();
+
+    metrics.proxyCreated(MapIndexProxy.class);
+    metrics.proxyCreated(MapIndexProxy.class);
+    metrics.proxyCreated(Fork.class);
+    metrics.proxyDestroyed(MapIndexProxy.class);
+
+    assertThat(metrics.getLiveProxies(MapIndexProxy.class), equalTo(1L));
+    assertThat(metrics.getLiveProxies(Fork.class), equalTo(1L));
+  }
+
+  @Test
+  public void viewIsOpenTillClosed() {
+    NativeResourceMetrics metrics = new NativeResourceMetrics();
+    Fork fork = mock(Fork.class);
+
+    metrics.viewOpened(fork);
+    assertThat(metrics.getOpenViews(), equalTo(1));
+
+    metrics.viewClosed(fork);
+    assertThat(metrics.getOpenViews(), equalTo(0));
+  }
+
+  @Test
+  public void viewOpenedDoesNotRegisterCleanActions() {
+    NativeResourceMetrics metrics = new NativeResourceMetrics();
+    Fork fork = mock(Fork.class);
+
+    metrics.viewOpened(fork);
+
+    verify(fork, never()).getCleaner();
+  }
+
+  @Test
+  public void collectWritesGauges() {
+    NativeResourceMetrics metrics = new NativeResourceMetrics();
+    metrics.proxyCreated(MapIndexProxy.class);
+    metrics.cleanerClosed(3);
+    StorageAccessCounter accessCounter = new StorageAccessCounter(true, Long.MAX_VALUE);
+    accessCounter.recordWrite(100);
+    Fork fork = mock(Fork.class);
+    when(fork.getAccessCounter()).thenReturn(accessCounter);
+    metrics.viewOpened(fork);
+
+    PrometheusWriter writer = new PrometheusWriter();
+    metrics.collect(writer);
+
+    String output = writer.toString();
+    assertThat(output, containsString("exonum_native_proxies{type=\"MapIndexProxy\"} 1\n"));
+    assertThat(output, containsString("exonum_open_views{type=\"Fork\"} 1\n"));
+    assertThat(output, containsString("exonum_open_views_native_bytes{type=\"Fork\"} 100\n"));
+    assertThat(output, containsString("exonum_cleaner_close_actions_count 1\n"));
+  }
+}
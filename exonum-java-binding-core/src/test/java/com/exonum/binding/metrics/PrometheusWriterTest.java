@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class PrometheusWriterTest {
+
+  @Test
+  public void writeMetadataAndSamples() {
+    PrometheusWriter writer = new PrometheusWriter();
+    writer.writeMetadata("calls", "counter", "The number of calls.");
+    writer.writeSample("calls", "", 1L);
+    writer.writeSample("calls", PrometheusWriter.label("method", "get"), 2.5);
+
+    String expected = "# HELP calls The number of calls.\n"
+        + "# TYPE calls counter\n"
+        + "calls 1\n"
+        + "calls{method=\"get\"} 2.5\n";
+    assertThat(writer.toString(), equalTo(expected));
+  }
+
+  @Test
+  public void labelEscapesValue() {
+    String label = PrometheusWriter.label("name", "a\\b\"c\nd");
+
+    assertThat(label, equalTo("name=\"a\\\\b\\\"c\\nd\""));
+  }
+}
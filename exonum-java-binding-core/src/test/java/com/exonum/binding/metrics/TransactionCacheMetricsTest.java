@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+import com.google.common.cache.CacheStats;
+import org.junit.Test;
+
+public class TransactionCacheMetricsTest {
+
+  @Test
+  public void disabledByDefault() {
+    assertFalse(TransactionCacheMetrics.getInstance().isEnabled());
+  }
+
+  @Test
+  public void collectNoCaches() {
+    TransactionCacheMetrics metrics = new TransactionCacheMetrics();
+
+    PrometheusWriter writer = new PrometheusWriter();
+    metrics.collect(writer);
+
+    assertThat(writer.toString(), equalTo(""));
+  }
+
+  @Test
+  public void collectWritesStatsOfEachService() {
+    TransactionCacheMetrics metrics = new TransactionCacheMetrics();
+    metrics.register((short) 1, () -> new CacheStats(3, 1, 0, 0, 0, 0));
+    metrics.register((short) 2, () -> new CacheStats(0, 2, 0, 0, 0, 0));
+
+    PrometheusWriter writer = new PrometheusWriter();
+    metrics.collect(writer);
+
+    String output = writer.toString();
+    assertThat(output, containsString("exonum_transaction_cache_hits_total{service_id=\"1\"} 3\n"
+        + "exonum_transaction_cache_hits_total{service_id=\"2\"} 0\n"));
+    assertThat(output, containsString("exonum_transaction_cache_misses_total{service_id=\"1\"} 1\n"
+        + "exonum_transaction_cache_misses_total{service_id=\"2\"} 2\n"));
+    assertThat(output, containsString("exonum_transaction_cache_hit_rate{service_id=\"1\"} 0.75\n"
+        + "exonum_transaction_cache_hit_rate{service_id=\"2\"} 0.0\n"));
+  }
+
+  @Test
+  public void registerReplacesCacheOfSameService() {
+    TransactionCacheMetrics metrics = new TransactionCacheMetrics();
+    metrics.register((short) 1, () -> new CacheStats(3, 1, 0, 0, 0, 0));
+    metrics.register((short) 1, () -> new CacheStats(5, 0, 0, 0, 0, 0));
+
+    PrometheusWriter writer = new PrometheusWriter();
+    metrics.collect(writer);
+
+    assertThat(writer.toString(),
+        containsString("exonum_transaction_cache_hits_total{service_id=\"1\"} 5\n"
+            + "# HELP exonum_transaction_cache_misses_total"));
+  }
+}
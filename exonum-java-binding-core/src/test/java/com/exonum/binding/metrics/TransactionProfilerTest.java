@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.metrics.TransactionProfiler.SlowExecution;
+import com.exonum.binding.metrics.TransactionProfiler.TransactionTypeProfile;
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.StorageAccessCounter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class TransactionProfilerTest {
+
+  private static final short SERVICE_ID = 1;
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  public void disabledByDefault() {
+    TransactionProfiler profiler = TransactionProfiler.getInstance();
+
+    assertFalse(profiler.isEnabled());
+    assertThat(profiler.start(), equalTo(0L));
+  }
+
+  @Test
+  public void recordsProfilesPerTransactionType() {
+    TransactionProfiler profiler = new TransactionProfiler(10);
+    profiler.recordVerification(SERVICE_ID, (short) 2, profiler.start());
+    profiler.recordExecution(SERVICE_ID, (short) 2, HashCode.fromInt(1), profiler.start(),
+        fork(2, 64, 1, 16));
+    profiler.recordExecution(SERVICE_ID, (short) 2, HashCode.fromInt(2), profiler.start(),
+        fork(3, 96, 0, 0));
+    profiler.recordExecution(SERVICE_ID, (short) 3, HashCode.fromInt(3), profiler.start(),
+        fork(1, 32, 1, 32));
+
+    TransactionTypeProfile profile = profiler.getProfile(SERVICE_ID, (short) 2);
+    assertThat(profile.getVerificationTimes().getCount(), equalTo(1L));
+    assertThat(profile.getExecutionTimes().getCount(), equalTo(2L));
+    assertThat(profile.getReads().getSum(), equalTo(5L));
+    assertThat(profile.getReadBytes().getSum(), equalTo(160L));
+    assertThat(profile.getWrites().getSum(), equalTo(1L));
+    assertThat(profile.getWrittenBytes().getSum(), equalTo(16L));
+
+    assertThat(profiler.getProfile(SERVICE_ID, (short) 3).getExecutionTimes().getCount(),
+        equalTo(1L));
+    assertThat(profiler.getProfile(SERVICE_ID, (short) 4), nullValue());
+  }
+
+  @Test
+  public void keepsSlowestExecutions() {
+    TransactionProfiler profiler = new TransactionProfiler(2);
+    HashCode h1 = HashCode.fromInt(1);
+    HashCode h2 = HashCode.fromInt(2);
+    HashCode h3 = HashCode.fromInt(3);
+
+    long now = System.nanoTime();
+    profiler.recordExecution(SERVICE_ID, (short) 2, h1, now - SECOND, fork(1, 0, 0, 0));
+    profiler.recordExecution(SERVICE_ID, (short) 2, h2, now - 3 * SECOND, fork(2, 0, 0, 0));
+    profiler.recordExecution(SERVICE_ID, (short) 2, h3, now - 2 * SECOND, fork(3, 0, 0, 0));
+
+    List<SlowExecution> slowest = profiler.getSlowestExecutions();
+    assertThat(slowest.size(), equalTo(2));
+    assertThat(slowest.get(0).getHash(), equalTo(h2));
+    assertThat(slowest.get(0).getReads(), equalTo(2L));
+    assertThat(slowest.get(1).getHash(), equalTo(h3));
+  }
+
+  @Test
+  public void collectWritesProfiles() {
+    TransactionProfiler profiler = new TransactionProfiler(1);
+    HashCode hash = HashCode.fromInt(1);
+    profiler.recordExecution(SERVICE_ID, (short) 2, hash, profiler.start(), fork(1, 8, 1, 8));
+
+    PrometheusWriter writer = new PrometheusWriter();
+    profiler.collect(writer);
+
+    String metrics = writer.toString();
+    assertThat(metrics, containsString("exonum_transaction_execution_duration_seconds_count"
+        + "{service_id=\"1\",message_type=\"2\"} 1\n"));
+    assertThat(metrics, containsString("exonum_transaction_storage_read_bytes_sum"
+        + "{service_id=\"1\",message_type=\"2\"} 8.0\n"));
+    assertThat(metrics, containsString("exonum_transaction_slowest_execution_duration_seconds"
+        + "{service_id=\"1\",message_type=\"2\",hash=\"" + hash + "\"} "));
+  }
+
+  private static Fork fork(int reads, int readBytes, int writes, int writtenBytes) {
+    StorageAccessCounter accessCounter = new StorageAccessCounter(true, Long.MAX_VALUE);
+    for (int i = 0; i < reads; i++) {
+      accessCounter.recordRead(i == 0 ? readBytes : 0);
+    }
+    for (int i = 0; i < writes; i++) {
+      accessCounter.recordWrite(i == 0 ? writtenBytes : 0);
+    }
+    Fork fork = mock(Fork.class);
+    when(fork.getAccessCounter()).thenReturn(accessCounter);
+    return fork;
+  }
+}
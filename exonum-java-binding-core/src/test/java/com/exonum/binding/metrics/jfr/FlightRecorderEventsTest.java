@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.metrics.jfr;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import com.exonum.binding.proxy.CleanAction;
+import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.CloseFailuresException;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FlightRecorderEventsTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void isAvailable() {
+    assertTrue(FlightRecorderEvents.isAvailable());
+  }
+
+  @Test
+  public void recordsEvents() throws IOException, CloseFailuresException {
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable(CleanerCloseEvent.class);
+      recording.enable(IndexIterationEvent.class);
+      recording.start();
+
+      Cleaner cleaner = new Cleaner("test");
+      cleaner.add(CleanAction.from(() -> { }, "Test"));
+      cleaner.close();
+
+      Iterator<String> iterator = FlightRecorderEvents.recordIteration(
+          ImmutableList.of("a", "b").iterator(), "test_list", List.class);
+      while (iterator.hasNext()) {
+        iterator.next();
+      }
+
+      recording.stop();
+      Path file = tempFolder.newFile("recording.jfr").toPath();
+      recording.dump(file);
+      events = RecordingFile.readAllEvents(file).stream()
+          .filter(e -> e.getEventType().getName().startsWith("com.exonum.binding."))
+          .collect(Collectors.toList());
+    }
+
+    assertThat(events, hasSize(2));
+    List<String> names = events.stream()
+        .map(e -> e.getEventType().getName())
+        .collect(Collectors.toList());
+    assertThat(names, contains("com.exonum.binding.CleanerClose",
+        "com.exonum.binding.IndexIteration"));
+
+    RecordedEvent cleanerClose = events.get(0);
+    assertThat(cleanerClose.getString("description"), equalTo("test"));
+    assertThat(cleanerClose.getInt("actionCount"), equalTo(1));
+    assertThat(cleanerClose.getInt("failureCount"), equalTo(0));
+
+    RecordedEvent iteration = events.get(1);
+    assertThat(iteration.getString("indexName"), equalTo("test_list"));
+    assertThat(iteration.getString("indexType"), equalTo("List"));
+    assertThat(iteration.getLong("elementCount"), equalTo(2L));
+  }
+}
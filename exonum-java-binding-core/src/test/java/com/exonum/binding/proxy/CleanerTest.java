@@ -97,6 +97,27 @@ public class CleanerTest {
     }
   }
 
+  @Test
+  public void addThrowsIfTooManyActions() throws CloseFailuresException {
+    Cleaner cleaner = new Cleaner("", 2);
+    CleanAction a1 = mock(CleanAction.class);
+    CleanAction a2 = mock(CleanAction.class);
+    CleanAction a3 = mock(CleanAction.class);
+    cleaner.add(a1);
+    cleaner.add(a2);
+
+    try {
+      cleaner.add(a3);
+      fail("Adding an action above the maximum ^ must throw");
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage()).startsWith("Too many clean actions (3)");
+    }
+
+    // Check that the action exceeding the maximum is still performed
+    cleaner.close();
+    verify(a3).clean();
+  }
+
   @Test
   public void closeEmptyNoExceptions() throws CloseFailuresException {
     context.close();
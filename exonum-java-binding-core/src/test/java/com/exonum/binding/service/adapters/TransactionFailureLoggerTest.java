@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.service.adapters;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.exonum.binding.transaction.Transaction;
+import com.exonum.binding.transaction.TransactionExecutionException;
+import com.exonum.binding.transaction.TransactionResult;
+import com.google.common.testing.FakeTicker;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Logger;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TransactionFailureLoggerTest {
+
+  private static final int LOG_LIMIT = 2;
+
+  private static final TransactionResult ERROR = TransactionResult.error((byte) 1);
+
+  private Logger logger;
+  private FakeTicker ticker;
+  private TransactionFailureLogger failureLogger;
+  private Transaction transaction;
+
+  @Before
+  public void setUp() {
+    logger = mock(Logger.class);
+    when(logger.isInfoEnabled()).thenReturn(true);
+    ticker = new FakeTicker();
+    failureLogger = new TransactionFailureLogger(logger, LOG_LIMIT, ticker);
+    transaction = mock(Transaction.class);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsNonPositiveLimit() {
+    new TransactionFailureLogger(logger, 0, ticker);
+  }
+
+  @Test
+  public void logFailure() {
+    failureLogger.logFailure(transaction, ERROR, null);
+
+    verify(logger).info("Transaction {} failed: {}", transaction, ERROR);
+    verify(logger, never()).debug(any(String.class), any(Object.class), any(Object.class));
+  }
+
+  @Test
+  public void logFailureWithCauseLogsStackTraceAtDebug() {
+    TransactionExecutionException e = new TransactionExecutionException((byte) 1);
+
+    failureLogger.logFailure(transaction, ERROR, e);
+
+    verify(logger).info("Transaction {} failed: {}", transaction, ERROR);
+    verify(logger).debug(any(String.class), same(transaction), same(e));
+  }
+
+  @Test
+  public void logFailureSuppressesEntriesAboveLimit() {
+    for (int i = 0; i < LOG_LIMIT + 3; i++) {
+      failureLogger.logFailure(transaction, ERROR, null);
+    }
+
+    verify(logger, times(LOG_LIMIT)).info("Transaction {} failed: {}", transaction, ERROR);
+  }
+
+  @Test
+  public void logFailureReportsSuppressedEntries() {
+    int suppressed = 3;
+    for (int i = 0; i < LOG_LIMIT + suppressed; i++) {
+      failureLogger.logFailure(transaction, ERROR, null);
+    }
+
+    ticker.advance(1, TimeUnit.SECONDS);
+    failureLogger.logFailure(transaction, ERROR, null);
+
+    verify(logger).info(any(String.class), same(transaction), same(ERROR),
+        eq((long) suppressed));
+  }
+
+  @Test
+  public void logFailureDoesNothingIfInfoDisabled() {
+    when(logger.isInfoEnabled()).thenReturn(false);
+
+    failureLogger.logFailure(transaction, ERROR, null);
+
+    verify(logger, never()).info(any(String.class), any(Object.class), any(Object.class));
+  }
+}
@@ -17,18 +17,22 @@
 package com.exonum.binding.service.adapters;
 
 import static com.exonum.binding.test.Bytes.bytes;
+import static com.exonum.binding.test.Bytes.createPrefixed;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.Hashing;
 import com.exonum.binding.common.message.BinaryMessage;
 import com.exonum.binding.common.message.Message;
 import com.exonum.binding.common.message.TemplateMessage;
@@ -37,17 +41,18 @@ import com.exonum.binding.service.Service;
 import com.exonum.binding.storage.database.Snapshot;
 import com.exonum.binding.transaction.Transaction;
 import com.exonum.binding.transport.Server;
+import com.google.common.cache.CacheStats;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.impl.RouterImpl;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -66,9 +71,13 @@ public class UserServiceAdapterTest {
   @Mock
   private ViewFactory viewFactory;
 
-  @InjectMocks
   private UserServiceAdapter serviceAdapter;
 
+  @Before
+  public void setUp() {
+    serviceAdapter = new UserServiceAdapter(service, server, viewFactory);
+  }
+
   @Test
   public void convertTransaction_ThrowsIfNull() {
     expectedException.expect(NullPointerException.class);
@@ -92,6 +101,92 @@ public class UserServiceAdapterTest {
     assertThat(transactionAdapter.transaction, equalTo(expectedTransaction));
   }
 
+  @Test
+  public void convertTransactionWithHash() {
+    short serviceId = (short) 0xA103;
+    when(service.getId()).thenReturn(serviceId);
+    when(service.convertToTransaction(any(BinaryMessage.class)))
+        .thenAnswer(invocation -> {
+          BinaryMessage message = invocation.getArgument(0);
+          Transaction transaction = mock(Transaction.class);
+          when(transaction.hash()).thenReturn(message.hash());
+          return transaction;
+        });
+
+    byte[] message = getServiceMessage(serviceId)
+        .getSignedMessage()
+        .array();
+    byte[] messageHash = createPrefixed(bytes(0xAB), Hashing.DEFAULT_HASH_SIZE_BYTES);
+
+    UserTransactionAdapter transactionAdapter = serviceAdapter.convertTransaction(message,
+        messageHash);
+
+    // The hash passed by the native code must be used as is.
+    assertThat(transactionAdapter.transaction.hash(), equalTo(HashCode.fromBytes(messageHash)));
+  }
+
+  @Test
+  public void convertTransactionWithHash_ReturnsCachedTransaction() {
+    short serviceId = (short) 0xA103;
+    when(service.getId()).thenReturn(serviceId);
+    when(service.convertToTransaction(any(BinaryMessage.class)))
+        .thenReturn(mock(Transaction.class));
+
+    byte[] message = getServiceMessage(serviceId)
+        .getSignedMessage()
+        .array();
+    byte[] messageHash = createPrefixed(bytes(0xAB), Hashing.DEFAULT_HASH_SIZE_BYTES);
+    UserTransactionAdapter transactionAdapter = serviceAdapter.convertTransaction(message,
+        messageHash);
+
+    assertThat(serviceAdapter.convertTransaction(message, messageHash),
+        sameInstance(transactionAdapter));
+    CacheStats stats = serviceAdapter.getTransactionCacheStats();
+    assertThat(stats.missCount(), equalTo(1L));
+    assertThat(stats.hitCount(), equalTo(1L));
+    verify(service).convertToTransaction(any(BinaryMessage.class));
+  }
+
+  @Test
+  public void convertTransactionWithHash_DoesNotParseCachedMessage() {
+    short serviceId = (short) 0xA103;
+    when(service.getId()).thenReturn(serviceId);
+    when(service.convertToTransaction(any(BinaryMessage.class)))
+        .thenReturn(mock(Transaction.class));
+
+    byte[] message = getServiceMessage(serviceId)
+        .getSignedMessage()
+        .array();
+    byte[] messageHash = createPrefixed(bytes(0xAB), Hashing.DEFAULT_HASH_SIZE_BYTES);
+    UserTransactionAdapter transactionAdapter = serviceAdapter.convertTransaction(message,
+        messageHash);
+
+    // A cache hit must not look at the message
+    assertThat(serviceAdapter.convertTransaction(new byte[0], messageHash),
+        sameInstance(transactionAdapter));
+  }
+
+  @Test
+  public void convertTransactionWithHash_ConvertsEvicted() {
+    serviceAdapter = new UserServiceAdapter(service, server, viewFactory, 1);
+    short serviceId = (short) 0xA103;
+    when(service.getId()).thenReturn(serviceId);
+    when(service.convertToTransaction(any(BinaryMessage.class)))
+        .thenReturn(mock(Transaction.class));
+
+    byte[] message = getServiceMessage(serviceId)
+        .getSignedMessage()
+        .array();
+    byte[] messageHash1 = createPrefixed(bytes(0x01), Hashing.DEFAULT_HASH_SIZE_BYTES);
+    byte[] messageHash2 = createPrefixed(bytes(0x02), Hashing.DEFAULT_HASH_SIZE_BYTES);
+    serviceAdapter.convertTransaction(message, messageHash1);
+    serviceAdapter.convertTransaction(message, messageHash2);
+    serviceAdapter.convertTransaction(message, messageHash1);
+
+    verify(service, times(3)).convertToTransaction(any(BinaryMessage.class));
+    assertThat(serviceAdapter.getTransactionCacheStats().hitCount(), equalTo(0L));
+  }
+
   @Test
   public void convertTransaction_InvalidServiceImplReturningNull() {
     short serviceId = (short) 0xA103;
@@ -17,30 +17,43 @@
 package com.exonum.binding.service.adapters;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.exonum.binding.metrics.jfr.TransactionExecutionEvent;
+import com.exonum.binding.metrics.jfr.TransactionVerificationEvent;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.StorageAccessCounter;
 import com.exonum.binding.transaction.Transaction;
 import com.exonum.binding.transaction.TransactionExecutionException;
+import com.exonum.binding.transaction.TransactionResult;
+import jdk.jfr.Recording;
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.StrictStubs.class)
 public class UserTransactionAdapterTest {
 
+  private static final short SERVICE_ID = 1;
+  private static final short MESSAGE_TYPE = 2;
+
   @Rule
   public ExpectedException expectedException = ExpectedException.none();
 
@@ -50,9 +63,14 @@ public class UserTransactionAdapterTest {
   @Mock
   private ViewFactory viewFactory;
 
-  @InjectMocks
   private UserTransactionAdapter transactionAdapter;
 
+  @Before
+  public void setUp() {
+    transactionAdapter = new UserTransactionAdapter(transaction, SERVICE_ID, MESSAGE_TYPE, null,
+        viewFactory);
+  }
+
   @Test
   public void execute_closesCleanerAfterExecution() throws TransactionExecutionException {
     long forkHandle = 0x0B;
@@ -90,6 +108,108 @@ public class UserTransactionAdapterTest {
     transactionAdapter.execute(forkHandle);
   }
 
+  @Test
+  public void executeForResult_ReturnsNullIfSuccessful() {
+    long forkHandle = 0x0A;
+    Fork fork = setupViewFactory(forkHandle);
+    when(transaction.executeForResult(fork)).thenReturn(TransactionResult.successful());
+
+    assertThat(transactionAdapter.executeForResult(forkHandle), nullValue());
+  }
+
+  @Test
+  public void executeForResult_ReturnsErrorResult() {
+    long forkHandle = 0x0A;
+    Fork fork = setupViewFactory(forkHandle);
+    TransactionResult error = TransactionResult.error((byte) 2, "Foo");
+    when(transaction.executeForResult(fork)).thenReturn(error);
+
+    assertThat(transactionAdapter.executeForResult(forkHandle), equalTo(error));
+  }
+
+  @Test
+  public void executeForResult_ConvertsExecutionException() throws TransactionExecutionException {
+    long forkHandle = 0x0A;
+    Fork fork = setupViewFactory(forkHandle);
+    when(transaction.executeForResult(fork)).thenCallRealMethod();
+    doThrow(new TransactionExecutionException((byte) 3, "Bar")).when(transaction).execute(fork);
+
+    TransactionResult result = transactionAdapter.executeForResult(forkHandle);
+
+    assertThat(result, equalTo(TransactionResult.error((byte) 3, "Bar")));
+  }
+
+  @Test
+  public void executeForResult_ClosesCleanerAfterExecution() {
+    long forkHandle = 0x0B;
+    when(transaction.executeForResult(any())).thenReturn(TransactionResult.successful());
+
+    transactionAdapter.executeForResult(forkHandle);
+
+    ArgumentCaptor<Cleaner> ac = ArgumentCaptor.forClass(Cleaner.class);
+    verify(viewFactory).createFork(eq(forkHandle), ac.capture());
+
+    Cleaner cleaner = ac.getValue();
+    assertTrue(cleaner.isClosed());
+  }
+
+  @Test
+  public void executeForResult_RethrowsRuntimeExceptions() {
+    long forkHandle = 0x0A;
+    RuntimeException unexpectedTxError = new NullPointerException("foo");
+
+    Fork fork = setupViewFactory(forkHandle);
+    when(transaction.executeForResult(fork)).thenThrow(unexpectedTxError);
+
+    expectedException.expect(equalTo(unexpectedTxError));
+    transactionAdapter.executeForResult(forkHandle);
+  }
+
+  @Test
+  public void executeForResult_ThrowsIfNullResult() {
+    long forkHandle = 0x0A;
+    setupViewFactory(forkHandle);
+
+    expectedException.expect(NullPointerException.class);
+    expectedException.expectMessage("must not return null");
+    transactionAdapter.executeForResult(forkHandle);
+  }
+
+  @Test
+  public void isValid_RecordsEventWithoutAccessingMessage() {
+    RuntimeException unexpectedTxError = new NullPointerException("foo");
+    when(transaction.isValid()).thenThrow(unexpectedTxError);
+
+    try (Recording recording = new Recording()) {
+      recording.enable(TransactionVerificationEvent.class);
+      recording.start();
+      transactionAdapter.isValid();
+      fail("isValid must rethrow the exception");
+    } catch (NullPointerException e) {
+      assertThat(e, sameInstance(unexpectedTxError));
+    }
+    verify(transaction, never()).getMessage();
+  }
+
+  @Test
+  public void executeForResult_RecordsEventWithoutAccessingMessage() {
+    long forkHandle = 0x0A;
+    Fork fork = setupViewFactory(forkHandle);
+    when(fork.getAccessCounter()).thenReturn(new StorageAccessCounter());
+    RuntimeException unexpectedTxError = new NullPointerException("foo");
+    when(transaction.executeForResult(fork)).thenThrow(unexpectedTxError);
+
+    try (Recording recording = new Recording()) {
+      recording.enable(TransactionExecutionEvent.class);
+      recording.start();
+      transactionAdapter.executeForResult(forkHandle);
+      fail("executeForResult must rethrow the exception");
+    } catch (NullPointerException e) {
+      assertThat(e, sameInstance(unexpectedTxError));
+    }
+    verify(transaction, never()).getMessage();
+  }
+
   private Fork setupViewFactory(long forkHandle) {
     Fork fork = mock(Fork.class);
     when(viewFactory.createFork(eq(forkHandle), any(Cleaner.class)))
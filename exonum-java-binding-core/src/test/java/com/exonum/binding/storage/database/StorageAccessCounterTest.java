@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.database;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class StorageAccessCounterTest {
+
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
+  @Test
+  public void countsReadsAndWrites() {
+    StorageAccessCounter counter = new StorageAccessCounter(true, Long.MAX_VALUE);
+
+    counter.recordRead(10);
+    counter.recordRead(0);
+    counter.recordWrite(32);
+
+    assertThat(counter.getReads(), equalTo(2L));
+    assertThat(counter.getReadBytes(), equalTo(10L));
+    assertThat(counter.getWrites(), equalTo(1L));
+    assertThat(counter.getWrittenBytes(), equalTo(32L));
+  }
+
+  @Test
+  public void disabledCounterDoesNotCount() {
+    StorageAccessCounter counter = new StorageAccessCounter(false, Long.MAX_VALUE);
+
+    counter.recordRead(10);
+    counter.recordWrite(32);
+
+    assertFalse(counter.isEnabled());
+    assertThat(counter.getReads(), equalTo(0L));
+    assertThat(counter.getReadBytes(), equalTo(0L));
+    assertThat(counter.getWrites(), equalTo(0L));
+    assertThat(counter.getWrittenBytes(), equalTo(0L));
+  }
+
+  @Test
+  public void recordWriteThrowsIfTooManyBytesWritten() {
+    StorageAccessCounter counter = new StorageAccessCounter(true, 10);
+    counter.recordWrite(10);
+
+    expectedException.expect(IllegalStateException.class);
+    expectedException.expectMessage("Cannot write 1 bytes");
+    counter.recordWrite(1);
+  }
+
+  @Test
+  public void disabledCounterEnforcesMaxWrittenBytes() {
+    StorageAccessCounter counter = new StorageAccessCounter(false, 10);
+    counter.recordWrite(10);
+
+    expectedException.expect(IllegalStateException.class);
+    expectedException.expectMessage("Cannot write 1 bytes");
+    counter.recordWrite(1);
+  }
+}
@@ -34,6 +34,7 @@ import com.exonum.binding.common.serialization.StandardSerializers;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.CloseFailuresException;
 import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.StorageAccessCounter;
 import com.exonum.binding.storage.database.View;
 import com.exonum.binding.storage.indices.TestProtoMessages.Id;
 import com.exonum.binding.storage.indices.TestProtoMessages.Point;
@@ -286,6 +287,23 @@ public class MapIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  public void countsReadsAndWritesInAccessCounterOfView() {
+    runTestWithView(database::createFork, (view, map) -> {
+      map.put(K1, V1);
+      map.get(K1);
+      map.get(K2);
+      ImmutableList.copyOf(map.keys());
+
+      StorageAccessCounter accessCounter = view.getAccessCounter();
+      assertThat(accessCounter.getWrites(), equalTo(1L));
+      assertThat(accessCounter.getWrittenBytes(), equalTo(4L));
+      // K1 and V1, K2, K1 in the iterator
+      assertThat(accessCounter.getReads(), equalTo(3L));
+      assertThat(accessCounter.getReadBytes(), equalTo(8L));
+    });
+  }
+
   @Test
   public void removeSuccessfullyPutValue() {
     runTestWithView(database::createFork, (map) -> {
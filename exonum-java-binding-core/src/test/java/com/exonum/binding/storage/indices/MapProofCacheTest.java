@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import static com.exonum.binding.test.Bytes.bytes;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.proofs.map.flat.UncheckedMapProof;
+import com.google.common.cache.CacheStats;
+import org.junit.Test;
+
+public class MapProofCacheTest {
+
+  private static final HashCode ROOT_1 = HashCode.fromString("a1");
+  private static final HashCode ROOT_2 = HashCode.fromString("a2");
+
+  private final MapProofCache cache = MapProofCache.newInstance(8);
+
+  @Test(expected = IllegalArgumentException.class)
+  public void newInstanceRejectsZeroSize() {
+    MapProofCache.newInstance(0);
+  }
+
+  @Test
+  public void getCreatesProofOnce() {
+    UncheckedMapProof proof = mock(UncheckedMapProof.class);
+
+    UncheckedMapProof p1 = cache.get(ROOT_1, bytes("k1"), () -> proof);
+    // An equal key in another array
+    UncheckedMapProof p2 = cache.get(ROOT_1, bytes("k1"), () -> mock(UncheckedMapProof.class));
+
+    assertThat(p1, sameInstance(proof));
+    assertThat(p2, sameInstance(proof));
+    CacheStats stats = cache.stats();
+    assertThat(stats.hitCount(), equalTo(1L));
+    assertThat(stats.missCount(), equalTo(1L));
+  }
+
+  @Test
+  public void getDistinguishesRootHashes() {
+    UncheckedMapProof proof = mock(UncheckedMapProof.class);
+    cache.get(ROOT_1, bytes("k1"), () -> proof);
+
+    UncheckedMapProof p2 = cache.get(ROOT_2, bytes("k1"), () -> mock(UncheckedMapProof.class));
+
+    assertThat(p2, not(sameInstance(proof)));
+  }
+
+  @Test
+  public void getDistinguishesKeys() {
+    UncheckedMapProof proof = mock(UncheckedMapProof.class);
+    cache.get(ROOT_1, bytes("k1"), () -> proof);
+
+    UncheckedMapProof p2 = cache.get(ROOT_1, bytes("k2"), () -> mock(UncheckedMapProof.class));
+
+    assertThat(p2, not(sameInstance(proof)));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void getRejectsNullProofs() {
+    cache.get(ROOT_1, bytes("k1"), () -> null);
+  }
+
+  @Test
+  public void sizeIsBounded() {
+    MapProofCache cache = MapProofCache.newInstance(2);
+
+    for (int i = 0; i < 10; i++) {
+      cache.get(ROOT_1, bytes(i), () -> mock(UncheckedMapProof.class));
+    }
+
+    assertThat(cache.size(), equalTo(2L));
+  }
+
+  @Test
+  public void invalidateRoot() {
+    UncheckedMapProof proof = mock(UncheckedMapProof.class);
+    cache.get(ROOT_1, bytes("k1"), () -> mock(UncheckedMapProof.class));
+    cache.get(ROOT_1, bytes("k2"), () -> mock(UncheckedMapProof.class));
+    cache.get(ROOT_2, bytes("k1"), () -> proof);
+
+    cache.invalidateRoot(ROOT_1);
+
+    assertThat(cache.size(), equalTo(1L));
+    assertThat(cache.get(ROOT_2, bytes("k1"), () -> mock(UncheckedMapProof.class)),
+        sameInstance(proof));
+  }
+
+  @Test
+  public void invalidateAll() {
+    cache.get(ROOT_1, bytes("k1"), () -> mock(UncheckedMapProof.class));
+
+    cache.invalidateAll();
+
+    assertThat(cache.size(), equalTo(0L));
+  }
+}
@@ -20,8 +20,8 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.hamcrest.core.IsEqual.equalTo;
 
-import com.exonum.binding.common.proofs.list.ListProof;
-import com.exonum.binding.common.proofs.list.ListProofValidator;
+import com.exonum.binding.common.proofs.list.FlatListProof;
+import com.exonum.binding.common.proofs.list.FlatListProofValidator;
 import com.exonum.binding.common.serialization.StandardSerializers;
 import java.util.Collections;
 import java.util.List;
@@ -34,11 +34,12 @@ import org.hamcrest.TypeSafeMatcher;
 
 class ProofListContainsMatcher extends TypeSafeMatcher<ProofListIndexProxy<String>> {
 
-  private final Function<ProofListIndexProxy<String>, ListProof> proofFunction;
+  private final Function<ProofListIndexProxy<String>, FlatListProof> proofFunction;
   private final Matcher<Map<Long, String>> elementsMatcher;
 
-  private ProofListContainsMatcher(Function<ProofListIndexProxy<String>, ListProof> proofFunction,
-                                   Map<Long, String> expectedProofElements) {
+  private ProofListContainsMatcher(
+      Function<ProofListIndexProxy<String>, FlatListProof> proofFunction,
+      Map<Long, String> expectedProofElements) {
     this.proofFunction = proofFunction;
     this.elementsMatcher = equalTo(expectedProofElements);
   }
@@ -49,11 +50,11 @@ class ProofListContainsMatcher extends TypeSafeMatcher<ProofListIndexProxy<Strin
       return false;
     }
 
-    ListProof proof = proofFunction.apply(list);
-    ListProofValidator<String> validator = newProofValidator(list);
-    proof.accept(validator);
+    FlatListProof proof = proofFunction.apply(list);
+    FlatListProofValidator<String> validator = newProofValidator(list);
+    validator.validate(proof);
 
-    return validator.isValid() && elementsMatcher.matches(validator.getElements());
+    return validator.isValid() && elementsMatcher.matches(getElements(validator));
   }
 
   @Override
@@ -65,32 +66,43 @@ class ProofListContainsMatcher extends TypeSafeMatcher<ProofListIndexProxy<Strin
   @Override
   protected void describeMismatchSafely(ProofListIndexProxy<String> list,
                                         Description mismatchDescription) {
-    ListProof proof = proofFunction.apply(list);
-    ListProofValidator<String> validator = newProofValidator(list);
-    proof.accept(validator);
+    FlatListProof proof = proofFunction.apply(list);
+    FlatListProofValidator<String> validator = newProofValidator(list);
+    validator.validate(proof);
 
     if (!validator.isValid()) {
       mismatchDescription.appendText("proof was not valid: ").appendValue(validator);
       return;
     }
 
-    if (!elementsMatcher.matches(validator.getElements())) {
+    Map<Long, String> elements = getElements(validator);
+    if (!elementsMatcher.matches(elements)) {
       mismatchDescription.appendText("valid proof: ").appendValue(validator)
           .appendText(", elements mismatch: ");
-      elementsMatcher.describeMismatch(validator.getElements(), mismatchDescription);
+      elementsMatcher.describeMismatch(elements, mismatchDescription);
     }
   }
 
-  private ListProofValidator<String> newProofValidator(ProofListIndexProxy<String> list) {
-    return new ListProofValidator<>(list.getRootHash(), list.size(),
+  private FlatListProofValidator<String> newProofValidator(ProofListIndexProxy<String> list) {
+    return new FlatListProofValidator<>(list.getRootHash(), list.size(),
         StandardSerializers.string());
   }
 
+  private static Map<Long, String> getElements(FlatListProofValidator<String> validator) {
+    long[] indices = validator.getIndices();
+    List<String> elements = validator.getElements();
+    Map<Long, String> elementsByIndex = new TreeMap<>();
+    for (int i = 0; i < indices.length; i++) {
+      elementsByIndex.put(indices[i], elements.get(i));
+    }
+    return elementsByIndex;
+  }
+
   /**
    * Creates a matcher for a proof list that will match iff the list contains the specified value
    * at the specified position and provides a <em>valid</em> cryptographic proof of that.
    *
-   * <p>The proof is obtained via {@link ProofListIndexProxy#getProof(long)}.
+   * <p>The proof is obtained via {@link ProofListIndexProxy#getFlatProof(long)}.
    *
    * @param index an index of the element
    * @param expectedValue an expected value of the element at the given index
@@ -99,8 +111,8 @@ class ProofListContainsMatcher extends TypeSafeMatcher<ProofListIndexProxy<Strin
     checkArgument(0 <= index);
     checkNotNull(expectedValue);
 
-    Function<ProofListIndexProxy<String>, ListProof> proofFunction =
-        (list) -> list.getProof(index);
+    Function<ProofListIndexProxy<String>, FlatListProof> proofFunction =
+        (list) -> list.getFlatProof(index);
 
     return new ProofListContainsMatcher(proofFunction,
         Collections.singletonMap(index, expectedValue));
@@ -110,7 +122,7 @@ class ProofListContainsMatcher extends TypeSafeMatcher<ProofListIndexProxy<Strin
    * Creates a matcher for a proof list that will match iff the list contains the specified values
    * starting at the specified position and provides a <em>valid</em> cryptographic proof of that.
    *
-   * <p>The proof is obtained via {@link ProofListIndexProxy#getRangeProof(long, long)}.
+   * <p>The proof is obtained via {@link ProofListIndexProxy#getFlatRangeProof(long, long)}.
    * The value of {@code to} parameter is inferred from the size of the list of expected values.
    *
    * @param from an index of the first element
@@ -124,8 +136,8 @@ class ProofListContainsMatcher extends TypeSafeMatcher<ProofListIndexProxy<Strin
     checkArgument(!expectedValues.isEmpty(), "Empty list of expected values");
 
     long to = from + expectedValues.size();
-    Function<ProofListIndexProxy<String>, ListProof> proofFunction =
-        (list) -> list.getRangeProof(from, to);
+    Function<ProofListIndexProxy<String>, FlatListProof> proofFunction =
+        (list) -> list.getFlatRangeProof(from, to);
 
     Map<Long, String> expectedProofElements = new TreeMap<>();
     for (long i = from; i < to; i++) {
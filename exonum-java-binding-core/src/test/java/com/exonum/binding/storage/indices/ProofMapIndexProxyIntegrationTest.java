@@ -32,6 +32,7 @@ import static com.exonum.binding.test.Bytes.createPrefixed;
 import static com.google.common.base.Preconditions.checkArgument;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.core.IsNot.not;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
@@ -40,6 +41,8 @@ import static org.junit.Assert.assertTrue;
 
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.common.proofs.map.flat.CheckedMapProof;
+import com.exonum.binding.common.proofs.map.flat.UncheckedMapProof;
 import com.exonum.binding.common.serialization.StandardSerializers;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.CloseFailuresException;
@@ -256,6 +259,35 @@ public class ProofMapIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  public void getProofWithCache_SameState() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(PK1, V1);
+      MapProofCache cache = MapProofCache.newInstance(16);
+
+      UncheckedMapProof proof = map.getProof(PK1, cache);
+
+      assertThat(map.getProof(PK1, cache), sameInstance(proof));
+      assertThat(cache.stats().hitCount(), equalTo(1L));
+    });
+  }
+
+  @Test
+  public void getProofWithCache_ChangedState() {
+    runTestWithView(database::createFork, (map) -> {
+      map.put(PK1, V1);
+      MapProofCache cache = MapProofCache.newInstance(16);
+      UncheckedMapProof proof = map.getProof(PK1, cache);
+
+      map.put(PK2, V2);
+      UncheckedMapProof newProof = map.getProof(PK1, cache);
+
+      assertThat(newProof, not(sameInstance(proof)));
+      CheckedMapProof checkedProof = newProof.check();
+      assertTrue(checkedProof.compareWithRootHash(map.getRootHash()));
+    });
+  }
+
   @Test
   public void getProof_FourEntryMap_LastByte_Contains1() {
     runTestWithView(database::createFork, (map) -> {
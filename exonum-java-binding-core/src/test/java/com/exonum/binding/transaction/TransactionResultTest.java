@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.transaction;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.Test;
+
+public class TransactionResultTest {
+
+  @Test
+  public void successful() {
+    TransactionResult result = TransactionResult.successful();
+
+    assertTrue(result.isSuccessful());
+    assertThat(result.getDescription(), nullValue());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void successfulHasNoErrorCode() {
+    TransactionResult.successful().getErrorCode();
+  }
+
+  @Test
+  public void errorNoDescription() {
+    byte errorCode = 2;
+    TransactionResult result = TransactionResult.error(errorCode);
+
+    assertFalse(result.isSuccessful());
+    assertThat(result.getErrorCode(), equalTo(errorCode));
+    assertThat(result.getDescription(), nullValue());
+  }
+
+  @Test
+  public void errorWithDescription() {
+    byte errorCode = 2;
+    String description = "Foo";
+    TransactionResult result = TransactionResult.error(errorCode, description);
+
+    assertFalse(result.isSuccessful());
+    assertThat(result.getErrorCode(), equalTo(errorCode));
+    assertThat(result.getDescription(), equalTo(description));
+  }
+
+  @Test
+  public void fromException() {
+    byte errorCode = 3;
+    String description = "Bar";
+    TransactionExecutionException e = new TransactionExecutionException(errorCode, description);
+
+    TransactionResult result = TransactionResult.fromException(e);
+
+    assertThat(result, equalTo(TransactionResult.error(errorCode, description)));
+  }
+
+  @Test
+  public void toStringWithDescription() {
+    TransactionResult result = TransactionResult.error((byte) 2, "Foo");
+
+    assertThat(result.toString(),
+        equalTo("TransactionResult{errorCode=2, description=Foo}"));
+  }
+
+  @Test
+  public void verifyEquals() {
+    EqualsVerifier.forClass(TransactionResult.class)
+        .verify();
+  }
+}
@@ -21,6 +21,8 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import com.exonum.binding.metrics.MetricsRegistry;
+import com.exonum.binding.metrics.PrometheusWriter;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
@@ -156,6 +158,100 @@ public class VertxServerIntegrationTest {
     }
   }
 
+  @Test
+  public void exportsMetrics() throws Exception {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.register((writer) -> writer.writeSample("requests", "", 1L));
+    blockingStop();
+    server = new VertxServer(registry);
+    Vertx wcVertx = null;
+    try {
+      int port = 8080;
+      server.start(port);
+
+      wcVertx = Vertx.vertx();
+      WebClient client = WebClient.create(wcVertx);
+      // The server starts listening asynchronously, hence retry the request until it does.
+      AsyncResult<HttpResponse<Buffer>> ar;
+      int attempts = 0;
+      do {
+        CompletableFuture<AsyncResult<HttpResponse<Buffer>>> futureResponse =
+            new CompletableFuture<>();
+        client.get(port, "localhost", MetricsRegistry.METRICS_PATH)
+            .send(futureResponse::complete);
+        ar = futureResponse.get(3, TimeUnit.SECONDS);
+        attempts++;
+      } while (ar.failed() && attempts < 10);
+
+      if (ar.succeeded()) {
+        HttpResponse<Buffer> response = ar.result();
+
+        assertThat(response.statusCode(), equalTo(200));
+        assertThat(response.getHeader("Content-Type"), equalTo(PrometheusWriter.CONTENT_TYPE));
+        assertThat(response.bodyAsString(), equalTo("requests 1\n"));
+      } else {
+        fail(ar.cause().getMessage());
+      }
+    } finally {
+      blockingStop();
+      if (wcVertx != null) {
+        wcVertx.close();
+      }
+    }
+  }
+
+  @Test
+  public void doesNotExportMetricsWithoutRegistry() throws Exception {
+    blockingStop();
+    server = new VertxServer(null);
+    Router router = server.createRouter();
+    router.get("/").handler((rc) -> rc.response().end("service"));
+    server.mountSubRouter(MetricsRegistry.METRICS_PATH, router);
+    Vertx wcVertx = null;
+    try {
+      int port = 8080;
+      server.start(port);
+
+      wcVertx = Vertx.vertx();
+      WebClient client = WebClient.create(wcVertx);
+      AsyncResult<HttpResponse<Buffer>> ar;
+      int attempts = 0;
+      do {
+        CompletableFuture<AsyncResult<HttpResponse<Buffer>>> futureResponse =
+            new CompletableFuture<>();
+        client.get(port, "localhost", MetricsRegistry.METRICS_PATH)
+            .send(futureResponse::complete);
+        ar = futureResponse.get(3, TimeUnit.SECONDS);
+        attempts++;
+      } while (ar.failed() && attempts < 10);
+
+      if (ar.succeeded()) {
+        assertThat(ar.result().bodyAsString(), equalTo("service"));
+      } else {
+        fail(ar.cause().getMessage());
+      }
+    } finally {
+      blockingStop();
+      if (wcVertx != null) {
+        wcVertx.close();
+      }
+    }
+  }
+
+  @Test
+  public void mountSubRouter_RejectsMetricsPath() throws Exception {
+    blockingStop();
+    server = new VertxServer(new MetricsRegistry());
+    try {
+      Router router = server.createRouter();
+
+      expectedException.expect(IllegalArgumentException.class);
+      server.mountSubRouter(MetricsRegistry.METRICS_PATH + "/", router);
+    } finally {
+      blockingStop();
+    }
+  }
+
   /**
    * A blocking server stop, so that asynchronous exceptions are not hidden.
    */
@@ -24,14 +24,15 @@ import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
 import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.message.BinaryMessage;
-import com.exonum.binding.cryptocurrency.transactions.CryptocurrencyTransactionGson;
 import com.exonum.binding.cryptocurrency.transactions.JsonBinaryMessageConverter;
 import com.exonum.binding.service.InvalidTransactionException;
 import com.exonum.binding.transaction.Transaction;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
-import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
 import com.google.inject.Inject;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
@@ -39,6 +40,8 @@ import io.vertx.core.http.HttpServerRequest;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.BodyHandler;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -108,10 +111,9 @@ final class ApiController {
     Optional<Wallet> wallet = service.getWallet(walletId);
 
     if (wallet.isPresent()) {
-      Gson gson = CryptocurrencyTransactionGson.instance();
       rc.response()
           .putHeader("Content-Type", "application/json")
-          .end(gson.toJson(wallet.get()));
+          .end(WalletGsonAdapter.INSTANCE.toJson(wallet.get()));
     } else {
       rc.response()
           .setStatusCode(HTTP_NOT_FOUND)
@@ -126,7 +128,22 @@ final class ApiController {
 
     rc.response()
         .putHeader("Content-Type", "application/json")
-        .end(CryptocurrencyTransactionGson.instance().toJson(walletHistory));
+        .end(toJsonArray(walletHistory, HistoryEntityGsonAdapter.INSTANCE));
+  }
+
+  private static <T> String toJsonArray(List<T> values, TypeAdapter<T> adapter) {
+    StringWriter out = new StringWriter();
+    try {
+      JsonWriter writer = new JsonWriter(out);
+      writer.beginArray();
+      for (T value : values) {
+        adapter.write(writer, value);
+      }
+      writer.endArray();
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+    return out.toString();
   }
 
   private static <T> T getRequiredParameter(HttpServerRequest request, String key,
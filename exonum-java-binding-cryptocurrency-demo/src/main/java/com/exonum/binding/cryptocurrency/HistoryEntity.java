@@ -18,9 +18,13 @@ package com.exonum.binding.cryptocurrency;
 
 import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.serialization.AutoGsonAdapter;
+import com.exonum.binding.common.serialization.AutoSerializer;
+import com.exonum.binding.common.serialization.ProtobufField;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 
+@AutoGsonAdapter
 public class HistoryEntity {
   private final long seed;
   private final PublicKey walletFrom;
@@ -28,8 +32,10 @@ public class HistoryEntity {
   private final long amount;
   private final HashCode transactionHash;
 
-  private HistoryEntity(long seed, PublicKey walletFrom,
-      PublicKey walletTo, long amount, HashCode transactionHash) {
+  @AutoSerializer
+  HistoryEntity(@ProtobufField(1) long seed, @ProtobufField(2) PublicKey walletFrom,
+      @ProtobufField(3) PublicKey walletTo, @ProtobufField(4) long amount,
+      @ProtobufField(5) HashCode transactionHash) {
     this.seed = seed;
     this.walletFrom = walletFrom;
     this.walletTo = walletTo;
@@ -16,14 +16,19 @@
 
 package com.exonum.binding.cryptocurrency;
 
+import com.exonum.binding.common.serialization.AutoGsonAdapter;
+import com.exonum.binding.common.serialization.AutoSerializer;
+import com.exonum.binding.common.serialization.ProtobufField;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 
+@AutoGsonAdapter
 public final class Wallet {
 
   private final long balance;
 
-  public Wallet(long balance) {
+  @AutoSerializer
+  public Wallet(@ProtobufField(2) long balance) {
     this.balance = balance;
   }
 
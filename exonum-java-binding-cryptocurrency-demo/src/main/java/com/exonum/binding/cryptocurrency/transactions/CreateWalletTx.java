@@ -23,20 +23,26 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.message.BinaryMessage;
+import com.exonum.binding.common.serialization.AutoGsonAdapter;
 import com.exonum.binding.cryptocurrency.CryptocurrencySchema;
 import com.exonum.binding.cryptocurrency.Wallet;
+import com.exonum.binding.service.TransactionFactory;
+import com.exonum.binding.service.TransactionJsonBody;
 import com.exonum.binding.storage.database.Fork;
 import com.exonum.binding.storage.indices.MapIndex;
 import com.exonum.binding.transaction.AbstractTransaction;
 import com.exonum.binding.transaction.Transaction;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import java.util.Objects;
 
 /** A transaction that creates a new named wallet with default balance. */
+@AutoGsonAdapter
 public final class CreateWalletTx extends AbstractTransaction implements Transaction {
 
-  static final short ID = 1;
+  /** The message type of this transaction. */
+  public static final short ID = 1;
 
   private final PublicKey ownerPublicKey;
   private final long initialBalance;
@@ -59,6 +65,7 @@ public final class CreateWalletTx extends AbstractTransaction implements Transac
    * Creates a create wallet transaction from its message.
    * @param message a transaction message
    */
+  @TransactionFactory(ID)
   public static CreateWalletTx fromMessage(BinaryMessage message) {
     checkTransaction(message, ID);
 
@@ -77,6 +84,27 @@ public final class CreateWalletTx extends AbstractTransaction implements Transac
     }
   }
 
+  /**
+   * Creates the body of a create wallet transaction message from the transaction parameters
+   * in JSON.
+   */
+  @TransactionJsonBody
+  static byte[] toMessageBody(CreateWalletTxData txParameters) {
+    return TxMessageProtos.CreateWalletTx.newBuilder()
+        .setOwnerPublicKey(ByteString.copyFrom(txParameters.ownerPublicKey.toBytes()))
+        .setInitialBalance(txParameters.initialBalance)
+        .build()
+        .toByteArray();
+  }
+
+  PublicKey getOwnerPublicKey() {
+    return ownerPublicKey;
+  }
+
+  long getInitialBalance() {
+    return initialBalance;
+  }
+
   @Override
   public boolean isValid() {
     return getMessage().verify(CRYPTO_FUNCTION, ownerPublicKey);
@@ -98,7 +126,7 @@ public final class CreateWalletTx extends AbstractTransaction implements Transac
 
   @Override
   public String info() {
-    return CryptocurrencyTransactionGson.instance().toJson(this);
+    return CreateWalletTxGsonAdapter.INSTANCE.toJson(this);
   }
 
   @Override
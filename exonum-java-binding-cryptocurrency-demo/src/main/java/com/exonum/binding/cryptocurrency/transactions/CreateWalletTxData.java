@@ -17,7 +17,10 @@
 package com.exonum.binding.cryptocurrency.transactions;
 
 import com.exonum.binding.common.crypto.PublicKey;
+import com.exonum.binding.common.serialization.AutoGsonAdapter;
 
+/** Parameters of a create wallet transaction in JSON. */
+@AutoGsonAdapter
 class CreateWalletTxData {
   final PublicKey ownerPublicKey;
   final long initialBalance;
@@ -16,44 +16,23 @@
 
 package com.exonum.binding.cryptocurrency.transactions;
 
-import static com.google.common.base.Preconditions.checkArgument;
-
 import com.exonum.binding.common.message.BinaryMessage;
 import com.exonum.binding.cryptocurrency.CryptocurrencyService;
+import com.exonum.binding.service.AutoTransactionConverter;
 import com.exonum.binding.service.TransactionConverter;
 import com.exonum.binding.transaction.Transaction;
-import com.google.common.collect.ImmutableMap;
-import java.util.function.Function;
 
-/** A converter of cryptocurrency service transaction messages. */
+/**
+ * A converter of cryptocurrency service transaction messages.
+ * The converter dispatching the messages to the transactions by their ids is generated.
+ */
+@AutoTransactionConverter(
+    serviceId = CryptocurrencyService.ID,
+    transactions = {CreateWalletTx.class, TransferTx.class})
 public final class CryptocurrencyTransactionConverter implements TransactionConverter {
 
-  private static final ImmutableMap<Short, Function<BinaryMessage, Transaction>>
-      TRANSACTION_FACTORIES =
-          ImmutableMap.of(
-              CreateWalletTx.ID, CreateWalletTx::fromMessage,
-              TransferTx.ID, TransferTx::fromMessage);
-
   @Override
   public Transaction toTransaction(BinaryMessage message) {
-    checkServiceId(message);
-
-    short txId = message.getMessageType();
-    return TRANSACTION_FACTORIES
-        .getOrDefault(
-            txId,
-            (m) -> {
-              throw new IllegalArgumentException("Unknown transaction id: " + txId);
-            })
-        .apply(message);
-  }
-
-  private static void checkServiceId(BinaryMessage message) {
-    short serviceId = message.getServiceId();
-    checkArgument(
-        serviceId == CryptocurrencyService.ID,
-        "Wrong service id (%s), must be %s",
-        serviceId,
-        CryptocurrencyService.ID);
+    return CryptocurrencyTransactionConverterDispatcher.INSTANCE.toTransaction(message);
   }
 }
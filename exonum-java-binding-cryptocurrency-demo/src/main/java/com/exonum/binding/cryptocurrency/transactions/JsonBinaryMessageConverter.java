@@ -18,23 +18,41 @@ package com.exonum.binding.cryptocurrency.transactions;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
-import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.message.BinaryMessage;
 import com.exonum.binding.common.message.Message;
 import com.exonum.binding.cryptocurrency.CryptocurrencyService;
 import com.google.common.io.BaseEncoding;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-import com.google.protobuf.ByteString;
-import java.lang.reflect.Type;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
 
 /**
  * A class converting JSON messages into binary messages.
  * Supports the transactions defined in this service.
+ *
+ * <p>The messages are read in a single pass: the generated dispatcher of
+ * {@link CryptocurrencyTransactionConverter} reads the transaction parameters with their
+ * generated type adapters and passes them to the transaction. Only if the body of a message
+ * precedes its service and message ids, the body is parsed into a tree first.
+ *
+ * <p>The message must match the
+ * <a href="https://exonum.com/doc/architecture/serialization/#message-serialization">Exonum serialization format</a>
+ * for messages, e.g.:
+ * <pre>
+ * {
+ *   "protocol_version": 0,
+ *   "service_id": 42,
+ *   "message_id": 1,
+ *   "body": { … },
+ *   "signature": "…"
+ * }
+ * </pre>
  */
 public final class JsonBinaryMessageConverter {
 
-  private static final Gson GSON = CryptocurrencyTransactionGson.instance();
   private static final BaseEncoding HEX_ENCODING = BaseEncoding.base16().lowerCase();
 
   public JsonBinaryMessageConverter() {}
@@ -46,67 +64,82 @@ public final class JsonBinaryMessageConverter {
    * @return a binary message, corresponding to this transaction
    * @throws IllegalArgumentException if the message is not correct (unknown, malformed,
    *     containing illegal data)
-   * @see TransactionJsonMessage
+   * @throws com.google.gson.JsonParseException if the message is not valid JSON
    */
   public BinaryMessage toMessage(String messageJson) {
-    TransactionJsonMessage rawMessage = GSON.fromJson(messageJson, TransactionJsonMessage.class);
-    short serviceId = rawMessage.getServiceId();
-    checkArgument(serviceId == CryptocurrencyService.ID,
-        "Service id (%s) in the message (%s) does not belong to this service (%s)",
-        serviceId, messageJson, CryptocurrencyService.ID);
-
-    short messageId = rawMessage.getMessageId();
-    switch (messageId) {
-      case CreateWalletTx.ID: {
-        Type messageType = new TypeToken<TransactionJsonMessage<CreateWalletTxData>>() {}.getType();
-        TransactionJsonMessage<CreateWalletTxData> message =
-            GSON.fromJson(messageJson, messageType);
-
-        CreateWalletTxData txParameters = message.getBody();
-        byte[] binaryBody = TxMessageProtos.CreateWalletTx.newBuilder()
-            .setOwnerPublicKey(publicKeyToProtoBytes(txParameters.ownerPublicKey))
-            .setInitialBalance(txParameters.initialBalance)
-            .build()
-            .toByteArray();
-
-        return toBinaryMessage(message, binaryBody);
-      }
-
-      case TransferTx.ID: {
-        Type messageType = new TypeToken<TransactionJsonMessage<TransferTxData>>() {}.getType();
-        TransactionJsonMessage<TransferTxData> message = GSON.fromJson(messageJson, messageType);
-
-        TransferTxData txParameters = message.getBody();
-        byte[] binaryBody = TxMessageProtos.TransferTx.newBuilder()
-            .setSeed(txParameters.seed)
-            .setFromWallet(publicKeyToProtoBytes(txParameters.senderId))
-            .setToWallet(publicKeyToProtoBytes(txParameters.recipientId))
-            .setSum(txParameters.amount)
-            .build()
-            .toByteArray();
+    Message.Builder message;
+    try (JsonReader reader = new JsonReader(new StringReader(messageJson))) {
+      // Accept the same documents as Gson#fromJson
+      reader.setLenient(true);
+      message = readMessage(reader, messageJson);
+    } catch (IOException | IllegalStateException | NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    }
+    return message.buildRaw();
+  }
 
-        return toBinaryMessage(message, binaryBody);
+  private static Message.Builder readMessage(JsonReader reader, String messageJson)
+      throws IOException {
+    byte protocolVersion = 0;
+    short serviceId = 0;
+    short messageId = 0;
+    boolean hasServiceId = false;
+    boolean hasMessageId = false;
+    byte[] body = null;
+    JsonElement bodyTree = null;
+    String signature = null;
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "protocol_version":
+          protocolVersion = (byte) reader.nextInt();
+          break;
+        case "service_id":
+          serviceId = (short) reader.nextInt();
+          hasServiceId = true;
+          break;
+        case "message_id":
+          messageId = (short) reader.nextInt();
+          hasMessageId = true;
+          break;
+        case "body":
+          if (hasServiceId && hasMessageId) {
+            checkServiceId(serviceId, messageJson);
+            body = CryptocurrencyTransactionConverterDispatcher.readJsonBody(messageId, reader);
+          } else {
+            bodyTree = new JsonParser().parse(reader);
+          }
+          break;
+        case "signature":
+          signature = reader.nextString();
+          break;
+        default:
+          reader.skipValue();
+          break;
       }
+    }
+    reader.endObject();
 
-      default: throw new IllegalArgumentException("Unknown message id (" + messageId + "): "
-          + messageJson);
+    checkServiceId(serviceId, messageJson);
+    if (body == null) {
+      checkArgument(bodyTree != null, "No body in the message (%s)", messageJson);
+      body = CryptocurrencyTransactionConverterDispatcher.readJsonBody(messageId, bodyTree);
     }
-  }
+    checkArgument(signature != null, "No signature in the message (%s)", messageJson);
 
-  private static BinaryMessage toBinaryMessage(TransactionJsonMessage<?> message,
-                                               byte[] binaryBody) {
     return new Message.Builder()
-        .setMessageType(message.getMessageId())
-        .setServiceId(message.getServiceId())
-        .setVersion(message.getProtocolVersion())
-        .setBody(binaryBody)
-        .setSignature(decodeHex(message.getSignature()))
-        .buildRaw();
+        .setMessageType(messageId)
+        .setServiceId(serviceId)
+        .setVersion(protocolVersion)
+        .setBody(body)
+        .setSignature(decodeHex(signature));
   }
 
-  private static ByteString publicKeyToProtoBytes(
-      PublicKey publicKey) {
-    return ByteString.copyFrom(publicKey.toBytes());
+  private static void checkServiceId(short serviceId, String messageJson) {
+    checkArgument(serviceId == CryptocurrencyService.ID,
+        "Service id (%s) in the message (%s) does not belong to this service (%s)",
+        serviceId, messageJson, CryptocurrencyService.ID);
   }
 
   private static byte[] decodeHex(String s) {
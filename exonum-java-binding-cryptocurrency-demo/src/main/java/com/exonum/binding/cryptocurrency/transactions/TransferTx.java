@@ -21,10 +21,13 @@ import static com.exonum.binding.cryptocurrency.transactions.TransactionPrecondi
 
 import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.message.BinaryMessage;
+import com.exonum.binding.common.serialization.AutoGsonAdapter;
 import com.exonum.binding.cryptocurrency.CryptocurrencySchema;
 import com.exonum.binding.cryptocurrency.HistoryEntity;
 import com.exonum.binding.cryptocurrency.HistoryEntity.Builder;
 import com.exonum.binding.cryptocurrency.Wallet;
+import com.exonum.binding.service.TransactionFactory;
+import com.exonum.binding.service.TransactionJsonBody;
 import com.exonum.binding.storage.database.Fork;
 import com.exonum.binding.storage.indices.ProofMapIndexProxy;
 import com.exonum.binding.transaction.AbstractTransaction;
@@ -37,9 +40,11 @@ import java.util.Objects;
 /**
  * A transaction that transfers cryptocurrency between two wallets.
  */
+@AutoGsonAdapter
 public final class TransferTx extends AbstractTransaction implements Transaction {
 
-  static final short ID = 2;
+  /** The message type of this transaction. */
+  public static final short ID = 2;
 
   private final long seed;
   private final PublicKey fromWallet;
@@ -58,6 +63,7 @@ public final class TransferTx extends AbstractTransaction implements Transaction
   /**
    * Creates a new transfer transaction from the binary message.
    */
+  @TransactionFactory(ID)
   public static TransferTx fromMessage(BinaryMessage message) {
     checkTransaction(message, ID);
 
@@ -76,10 +82,40 @@ public final class TransferTx extends AbstractTransaction implements Transaction
     }
   }
 
+  /**
+   * Creates the body of a transfer transaction message from the transaction parameters in JSON.
+   */
+  @TransactionJsonBody
+  static byte[] toMessageBody(TransferTxData txParameters) {
+    return TxMessageProtos.TransferTx.newBuilder()
+        .setSeed(txParameters.seed)
+        .setFromWallet(ByteString.copyFrom(txParameters.senderId.toBytes()))
+        .setToWallet(ByteString.copyFrom(txParameters.recipientId.toBytes()))
+        .setSum(txParameters.amount)
+        .build()
+        .toByteArray();
+  }
+
   private static PublicKey toPublicKey(ByteString s) {
     return PublicKey.fromBytes(s.toByteArray());
   }
 
+  long getSeed() {
+    return seed;
+  }
+
+  PublicKey getFromWallet() {
+    return fromWallet;
+  }
+
+  PublicKey getToWallet() {
+    return toWallet;
+  }
+
+  long getSum() {
+    return sum;
+  }
+
   @Override
   public boolean isValid() {
     return getMessage().verify(CRYPTO_FUNCTION, fromWallet);
@@ -112,7 +148,7 @@ public final class TransferTx extends AbstractTransaction implements Transaction
 
   @Override
   public String info() {
-    return CryptocurrencyTransactionGson.instance().toJson(this);
+    return TransferTxGsonAdapter.INSTANCE.toJson(this);
   }
 
   @Override
@@ -17,8 +17,11 @@
 package com.exonum.binding.cryptocurrency.transactions;
 
 import com.exonum.binding.common.crypto.PublicKey;
+import com.exonum.binding.common.serialization.AutoGsonAdapter;
 import com.google.common.base.Objects;
 
+/** Parameters of a transfer transaction in JSON. */
+@AutoGsonAdapter
 class TransferTxData {
   final long seed;
   final PublicKey senderId;
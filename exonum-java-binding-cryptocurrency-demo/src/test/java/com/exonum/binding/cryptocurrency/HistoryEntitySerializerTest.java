@@ -20,6 +20,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.exonum.binding.common.crypto.CryptoFunctions;
 import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.cryptocurrency.transactions.TxMessageProtos;
+import com.google.protobuf.ByteString;
 import org.junit.jupiter.api.Test;
 
 class HistoryEntitySerializerTest {
@@ -36,6 +38,22 @@ class HistoryEntitySerializerTest {
     assertThat(actualEntity).isEqualTo(expectedEntity);
   }
 
+  @Test
+  void toBytesMatchesHistoryEntityMessage() {
+    HistoryEntity entity = testEntity();
+
+    byte[] expected = TxMessageProtos.HistoryEntity.newBuilder()
+        .setSeed(entity.getSeed())
+        .setWalletFrom(ByteString.copyFrom(entity.getWalletFrom().toBytes()))
+        .setWalletTo(ByteString.copyFrom(entity.getWalletTo().toBytes()))
+        .setSum(entity.getAmount())
+        .setHash(ByteString.copyFrom(entity.getTransactionHash().asBytes()))
+        .build()
+        .toByteArray();
+
+    assertThat(serializer.toBytes(entity)).isEqualTo(expected);
+  }
+
   private static HistoryEntity testEntity() {
 
     return HistoryEntity.Builder.newBuilder()
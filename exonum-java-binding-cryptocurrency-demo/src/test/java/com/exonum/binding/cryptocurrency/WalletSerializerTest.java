@@ -34,6 +34,18 @@ class WalletSerializerTest {
     assertThat(actualWallet).isEqualTo(expectedWallet);
   }
 
+  @Test
+  void toBytesMatchesWalletMessage() {
+    Wallet wallet = testWallet();
+
+    byte[] expected = WalletProtos.Wallet.newBuilder()
+        .setBalance(wallet.getBalance())
+        .build()
+        .toByteArray();
+
+    assertThat(serializer.toBytes(wallet)).isEqualTo(expected);
+  }
+
   private static Wallet testWallet() {
     return new Wallet(100L);
   }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.cryptocurrency.loadgen;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of non-negative values, e.g., latencies in nanoseconds, that can be recorded
+ * concurrently.
+ *
+ * <p>The values below 128 are counted exactly; larger values are counted in buckets
+ * that are at most 1/64 of their lower bound wide, so that the percentiles are reported
+ * with a relative error below 1.6% in a fixed amount of memory.
+ */
+final class LatencyHistogram {
+
+  /** The number of the most significant bits of a value distinguished by the buckets. */
+  private static final int SUB_BUCKET_BITS = 7;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+  private static final int NUM_BUCKETS =
+      SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+  private final AtomicLong totalCount = new AtomicLong();
+  private final AtomicLong maxValue = new AtomicLong();
+
+  /**
+   * Records a value.
+   *
+   * @throws IllegalArgumentException if the value is negative
+   */
+  void record(long value) {
+    checkArgument(value >= 0, "Negative value: %s", value);
+    counts.incrementAndGet(bucketIndex(value));
+    totalCount.incrementAndGet();
+    maxValue.accumulateAndGet(value, Math::max);
+  }
+
+  /** Returns the number of recorded values. */
+  long getTotalCount() {
+    return totalCount.get();
+  }
+
+  /** Returns the largest recorded value, or zero if the histogram is empty. */
+  long getMaxValue() {
+    return maxValue.get();
+  }
+
+  /**
+   * Returns the value, such that the given percentage of the recorded values are less than
+   * or equal to it, or zero if the histogram is empty.
+   *
+   * @param percentile the percentile in range [0, 100]
+   */
+  long getValueAtPercentile(double percentile) {
+    checkArgument(0 <= percentile && percentile <= 100, "Invalid percentile: %s", percentile);
+    long total = totalCount.get();
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long count = 0;
+    for (int i = 0; i < NUM_BUCKETS; i++) {
+      count += counts.get(i);
+      if (count >= rank) {
+        return Math.min(highestValueInBucket(i), getMaxValue());
+      }
+    }
+    return getMaxValue();
+  }
+
+  private static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    // Keep the SUB_BUCKET_BITS most significant bits of the value
+    int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) - HALF_SUB_BUCKETS;
+    return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + subBucket;
+  }
+
+  private static long highestValueInBucket(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+    long subBucket = (index - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.cryptocurrency.loadgen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  @Test
+  void emptyHistogram() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    assertThat(histogram.getTotalCount()).isZero();
+    assertThat(histogram.getMaxValue()).isZero();
+    assertThat(histogram.getValueAtPercentile(99)).isZero();
+  }
+
+  @Test
+  void smallValuesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i);
+    }
+
+    assertThat(histogram.getTotalCount()).isEqualTo(100);
+    assertThat(histogram.getValueAtPercentile(0)).isEqualTo(1);
+    assertThat(histogram.getValueAtPercentile(50)).isEqualTo(50);
+    assertThat(histogram.getValueAtPercentile(99)).isEqualTo(99);
+    assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100);
+  }
+
+  @Test
+  void largeValuesHaveBoundedError() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    long unit = 1_000;
+    for (int i = 1; i <= 10_000; i++) {
+      histogram.record(i * unit);
+    }
+
+    for (double percentile : new double[] {10, 50, 90, 99, 99.9}) {
+      long expected = (long) (percentile * 100) * unit;
+      assertThat(histogram.getValueAtPercentile(percentile))
+          .isCloseTo(expected, within(expected / 64))
+          .isGreaterThanOrEqualTo(expected);
+    }
+    assertThat(histogram.getValueAtPercentile(100)).isEqualTo(10_000 * unit);
+    assertThat(histogram.getMaxValue()).isEqualTo(10_000 * unit);
+  }
+
+  @Test
+  void recordsLongMaxValue() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(Long.MAX_VALUE);
+
+    assertThat(histogram.getValueAtPercentile(50)).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  void rejectsNegativeValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    assertThatThrownBy(() -> histogram.record(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
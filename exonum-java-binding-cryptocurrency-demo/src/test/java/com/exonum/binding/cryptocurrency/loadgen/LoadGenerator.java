@@ -0,0 +1,360 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.cryptocurrency.loadgen;
+
+import static com.exonum.binding.cryptocurrency.CryptocurrencyServiceImpl.CRYPTO_FUNCTION;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static java.util.stream.Collectors.toList;
+
+import com.exonum.binding.common.crypto.KeyPair;
+import com.exonum.binding.common.crypto.PublicKey;
+import com.exonum.binding.cryptocurrency.CryptocurrencyService;
+import com.google.common.math.LongMath;
+import com.google.gson.JsonParser;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+/**
+ * A closed-loop load generator of the cryptocurrency service running on a local node.
+ *
+ * <p>The generator creates the given number of wallets, and then transfers funds between them
+ * in the given number of transactions. The messages are signed in parallel before each phase.
+ * In each phase, a fixed number of concurrent clients submit the messages, each sending
+ * the next message when it receives the response to the previous one. Then the generator polls
+ * the wallets until all of them have the expected balance, i.e., all the transactions
+ * of the phase are committed. The throughput and the percentiles of the latency
+ * of the submit requests, and the throughput of the committed transactions are reported.
+ *
+ * <p>The options are passed as system properties:
+ * <ul>
+ *   <li>{@code loadgen.host} and {@code loadgen.port} — the address of the Java services API
+ *       of the node ({@code 127.0.0.1:6000} by default)
+ *   <li>{@code loadgen.wallets} — the number of wallets to create (1000 by default)
+ *   <li>{@code loadgen.transfers} — the number of transfers (10 000 by default)
+ *   <li>{@code loadgen.concurrency} — the number of concurrent requests (64 by default)
+ *   <li>{@code loadgen.pollIntervalMillis} — the interval between the polls of the wallets
+ *       (250 by default)
+ *   <li>{@code loadgen.timeoutSeconds} — the time to wait for a response or for the
+ *       transactions of a phase to be committed (300 by default)
+ * </ul>
+ */
+public final class LoadGenerator {
+
+  private static final String SERVICE_PATH = "/api/" + CryptocurrencyService.NAME;
+  private static final String SUBMIT_TRANSACTION_PATH = SERVICE_PATH + "/submit-transaction";
+  private static final String WALLET_PATH = SERVICE_PATH + "/wallet/";
+  private static final long TRANSFER_AMOUNT = 1;
+
+  private final WebClient client;
+  private final String host;
+  private final int port;
+  private final int concurrency;
+  private final long pollIntervalMillis;
+  private final long timeoutMillis;
+
+  private LoadGenerator(WebClient client, String host, int port, int concurrency,
+      long pollIntervalMillis, long timeoutMillis) {
+    this.client = client;
+    this.host = host;
+    this.port = port;
+    this.concurrency = concurrency;
+    this.pollIntervalMillis = pollIntervalMillis;
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  /**
+   * Runs the load generator with the options passed as system properties.
+   */
+  public static void main(String[] args) throws InterruptedException {
+    String host = System.getProperty("loadgen.host", "127.0.0.1");
+    int port = Integer.getInteger("loadgen.port", 6000);
+    int numWallets = Integer.getInteger("loadgen.wallets", 1000);
+    int numTransfers = Integer.getInteger("loadgen.transfers", 10_000);
+    int concurrency = Integer.getInteger("loadgen.concurrency", 64);
+    long pollIntervalMillis = Long.getLong("loadgen.pollIntervalMillis", 250);
+    long timeoutMillis = TimeUnit.SECONDS.toMillis(Long.getLong("loadgen.timeoutSeconds", 300));
+    checkArgument(numWallets >= 2, "At least two wallets are required, but %s", numWallets);
+    checkArgument(numTransfers >= 0, "Negative number of transfers: %s", numTransfers);
+    checkArgument(concurrency > 0, "Concurrency must be positive, but %s", concurrency);
+
+    Vertx vertx = Vertx.vertx();
+    try {
+      WebClient client = WebClient.create(vertx, new WebClientOptions()
+          .setKeepAlive(true)
+          .setMaxPoolSize(concurrency));
+      new LoadGenerator(client, host, port, concurrency, pollIntervalMillis, timeoutMillis)
+          .run(numWallets, numTransfers);
+    } finally {
+      vertx.close();
+    }
+  }
+
+  private void run(int numWallets, int numTransfers) throws InterruptedException {
+    System.out.printf("Load of %s:%d: %d wallets, %d transfers, %d concurrent requests%n",
+        host, port, numWallets, numTransfers, concurrency);
+
+    // Each wallet sends at most ceil(numTransfers / numWallets) transfers,
+    // hence all transfers are valid regardless of the order they are committed in.
+    long initialBalance = LongMath.divide(numTransfers, numWallets, RoundingMode.CEILING)
+        * TRANSFER_AMOUNT;
+
+    long start = System.nanoTime();
+    List<KeyPair> keyPairs = IntStream.range(0, numWallets)
+        .parallel()
+        .mapToObj(i -> CRYPTO_FUNCTION.generateKeyPair())
+        .collect(toList());
+    List<String> createWalletMessages = keyPairs.parallelStream()
+        .map(owner -> TransactionMessages.createWallet(owner, initialBalance))
+        .collect(toList());
+    System.out.printf("Generated the key pairs and signed %d messages in %s%n",
+        numWallets, formatNanos(System.nanoTime() - start));
+
+    List<PublicKey> wallets = keyPairs.stream()
+        .map(KeyPair::getPublicKey)
+        .collect(toList());
+    long[] expectedBalances = new long[numWallets];
+    Arrays.fill(expectedBalances, initialBalance);
+    boolean created = runPhase("Create wallets", createWalletMessages, wallets,
+        expectedBalances);
+    if (!created || numTransfers == 0) {
+      return;
+    }
+    start = System.nanoTime();
+    Random random = new Random();
+    long[] seeds = new long[numTransfers];
+    int[] recipients = new int[numTransfers];
+    for (int i = 0; i < numTransfers; i++) {
+      int sender = i % numWallets;
+      seeds[i] = random.nextLong();
+      recipients[i] = (sender + 1 + random.nextInt(numWallets - 1)) % numWallets;
+      expectedBalances[sender] -= TRANSFER_AMOUNT;
+      expectedBalances[recipients[i]] += TRANSFER_AMOUNT;
+    }
+    List<String> transferMessages = IntStream.range(0, numTransfers)
+        .parallel()
+        .mapToObj(i -> TransactionMessages.transfer(seeds[i], keyPairs.get(i % numWallets),
+            wallets.get(recipients[i]), TRANSFER_AMOUNT))
+        .collect(toList());
+    System.out.printf("%nSigned %d messages in %s%n",
+        numTransfers, formatNanos(System.nanoTime() - start));
+
+    runPhase("Transfers", transferMessages, wallets, expectedBalances);
+  }
+
+  /**
+   * Submits the messages and waits until the wallets have the expected balances.
+   *
+   * @return true if all wallets have the expected balances
+   */
+  private boolean runPhase(String name, List<String> messages, List<PublicKey> wallets,
+      long[] expectedBalances) throws InterruptedException {
+    System.out.printf("%n=== %s: %d transactions ===%n", name, messages.size());
+    long start = System.nanoTime();
+
+    ClosedLoop submission = new ClosedLoop(messages.size(),
+        (i, responseHandler) -> client.post(port, host, SUBMIT_TRANSACTION_PATH)
+            .putHeader("Content-Type", "application/json")
+            .timeout(timeoutMillis)
+            .sendBuffer(Buffer.buffer(messages.get(i)), responseHandler),
+        (i, response) -> response.statusCode() == HTTP_OK);
+    submission.run();
+    submission.report("Submitted");
+
+    int pending = awaitBalances(wallets, expectedBalances, start);
+    long elapsedNanos = System.nanoTime() - start;
+    if (pending == 0) {
+      System.out.printf("Committed in %s: %.1f tx/s%n", formatNanos(elapsedNanos),
+          throughput(messages.size(), elapsedNanos));
+      return true;
+    } else {
+      System.out.printf("Timed out after %s: %d of %d wallets do not have the expected "
+          + "balance%n", formatNanos(elapsedNanos), pending, wallets.size());
+      return false;
+    }
+  }
+
+  /**
+   * Polls the wallets until all of them have the expected balances or the timeout expires.
+   *
+   * @return the number of wallets that do not have the expected balance
+   */
+  private int awaitBalances(List<PublicKey> wallets, long[] expectedBalances, long start)
+      throws InterruptedException {
+    long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    List<Integer> pending = new ArrayList<>();
+    for (int i = 0; i < wallets.size(); i++) {
+      pending.add(i);
+    }
+    while (true) {
+      List<Integer> polled = pending;
+      AtomicReferenceArray<Boolean> updated = new AtomicReferenceArray<>(polled.size());
+      ClosedLoop poll = new ClosedLoop(polled.size(),
+          (i, responseHandler) -> client.get(port, host, WALLET_PATH + wallets.get(polled.get(i)))
+              .timeout(timeoutMillis)
+              .send(responseHandler),
+          (i, response) -> {
+            int status = response.statusCode();
+            if (status == HTTP_OK) {
+              long balance = new JsonParser().parse(response.bodyAsString())
+                  .getAsJsonObject()
+                  .get("balance")
+                  .getAsLong();
+              updated.set(i, balance == expectedBalances[polled.get(i)]);
+            }
+            return status == HTTP_OK || status == HTTP_NOT_FOUND;
+          });
+      poll.run();
+
+      pending = new ArrayList<>();
+      for (int i = 0; i < polled.size(); i++) {
+        if (!Boolean.TRUE.equals(updated.get(i))) {
+          pending.add(polled.get(i));
+        }
+      }
+      if (pending.isEmpty() || System.nanoTime() >= deadline) {
+        if (poll.errors.get() != 0) {
+          poll.report("Polled the wallets");
+        }
+        return pending.size();
+      }
+      TimeUnit.MILLISECONDS.sleep(pollIntervalMillis);
+    }
+  }
+
+  private static double throughput(long count, long nanos) {
+    return count * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+  }
+
+  private static String formatNanos(long nanos) {
+    return String.format("%.3f s", nanos / (double) TimeUnit.SECONDS.toNanos(1));
+  }
+
+  private static String formatMillis(long nanos) {
+    return String.format("%.2f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+  }
+
+  /** Sends the request with the given index. */
+  @FunctionalInterface
+  private interface RequestSender {
+    void send(int index, Handler<AsyncResult<HttpResponse<Buffer>>> responseHandler);
+  }
+
+  /** Checks whether the response to the request with the given index is successful. */
+  @FunctionalInterface
+  private interface ResponseCheck {
+    boolean isSuccessful(int index, HttpResponse<Buffer> response);
+  }
+
+  /**
+   * Sends the requests so that at most {@link #concurrency} of them are in flight:
+   * the next request is sent when a response to a previous one is received.
+   */
+  private final class ClosedLoop {
+
+    private final int numRequests;
+    private final RequestSender sender;
+    private final ResponseCheck responseCheck;
+    private final AtomicInteger nextRequest = new AtomicInteger();
+    private final CountDownLatch completed;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicReference<String> firstError = new AtomicReference<>();
+    private long elapsedNanos;
+
+    ClosedLoop(int numRequests, RequestSender sender, ResponseCheck responseCheck) {
+      this.numRequests = numRequests;
+      this.sender = sender;
+      this.responseCheck = responseCheck;
+      completed = new CountDownLatch(numRequests);
+    }
+
+    void run() throws InterruptedException {
+      long start = System.nanoTime();
+      for (int i = 0; i < Math.min(concurrency, numRequests); i++) {
+        sendNext();
+      }
+      completed.await();
+      elapsedNanos = System.nanoTime() - start;
+    }
+
+    private void sendNext() {
+      int index = nextRequest.getAndIncrement();
+      if (index >= numRequests) {
+        return;
+      }
+      long requestStart = System.nanoTime();
+      sender.send(index, ar -> {
+        latencies.record(System.nanoTime() - requestStart);
+        if (ar.failed()) {
+          recordError(String.valueOf(ar.cause()));
+        } else {
+          checkResponse(index, ar.result());
+        }
+        completed.countDown();
+        sendNext();
+      });
+    }
+
+    private void checkResponse(int index, HttpResponse<Buffer> response) {
+      try {
+        if (!responseCheck.isSuccessful(index, response)) {
+          recordError(response.statusCode() + " " + response.bodyAsString());
+        }
+      } catch (RuntimeException e) {
+        recordError(e.toString());
+      }
+    }
+
+    private void recordError(String description) {
+      errors.incrementAndGet();
+      firstError.compareAndSet(null, description);
+    }
+
+    void report(String action) {
+      System.out.printf("%s in %s: %.1f requests/s, %d errors%n", action,
+          formatNanos(elapsedNanos), throughput(numRequests, elapsedNanos), errors.get());
+      if (firstError.get() != null) {
+        System.out.printf("The first error: %s%n", firstError.get());
+      }
+      System.out.printf("Latency, ms: p50=%s p90=%s p99=%s p99.9=%s max=%s%n",
+          formatMillis(latencies.getValueAtPercentile(50)),
+          formatMillis(latencies.getValueAtPercentile(90)),
+          formatMillis(latencies.getValueAtPercentile(99)),
+          formatMillis(latencies.getValueAtPercentile(99.9)),
+          formatMillis(latencies.getMaxValue()));
+    }
+  }
+}
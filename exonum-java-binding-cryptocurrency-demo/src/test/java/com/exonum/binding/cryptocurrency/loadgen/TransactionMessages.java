@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.cryptocurrency.loadgen;
+
+import static com.exonum.binding.cryptocurrency.CryptocurrencyServiceImpl.CRYPTO_FUNCTION;
+
+import com.exonum.binding.common.crypto.KeyPair;
+import com.exonum.binding.common.crypto.PublicKey;
+import com.exonum.binding.common.message.BinaryMessage;
+import com.exonum.binding.common.message.Message;
+import com.exonum.binding.cryptocurrency.CryptocurrencyService;
+import com.exonum.binding.cryptocurrency.transactions.CreateWalletTx;
+import com.exonum.binding.cryptocurrency.transactions.TransferTx;
+import com.exonum.binding.cryptocurrency.transactions.TxMessageProtos;
+import com.google.common.io.BaseEncoding;
+import com.google.gson.JsonObject;
+import com.google.protobuf.ByteString;
+
+/**
+ * Creates the signed transaction messages of the cryptocurrency service in the JSON format
+ * accepted by its submit endpoint, as the frontend does.
+ */
+final class TransactionMessages {
+
+  private static final BaseEncoding HEX_ENCODING = BaseEncoding.base16().lowerCase();
+
+  /**
+   * Creates a create wallet transaction message signed by the owner of the wallet.
+   *
+   * @param owner the key pair of the owner of the wallet
+   * @param initialBalance the initial balance of the wallet
+   */
+  static String createWallet(KeyPair owner, long initialBalance) {
+    PublicKey ownerKey = owner.getPublicKey();
+    JsonObject jsonBody = new JsonObject();
+    jsonBody.addProperty("ownerPublicKey", ownerKey.toString());
+    jsonBody.addProperty("initialBalance", initialBalance);
+
+    byte[] body = TxMessageProtos.CreateWalletTx.newBuilder()
+        .setOwnerPublicKey(toByteString(ownerKey))
+        .setInitialBalance(initialBalance)
+        .build()
+        .toByteArray();
+
+    return signedMessage(CreateWalletTx.ID, body, jsonBody, owner);
+  }
+
+  /**
+   * Creates a transfer transaction message signed by the sender.
+   *
+   * @param seed the seed of the transaction, distinguishing the transfers of the same amount
+   * @param sender the key pair of the owner of the wallet to transfer the funds from
+   * @param recipient the wallet to transfer the funds to
+   * @param amount the amount to transfer
+   */
+  static String transfer(long seed, KeyPair sender, PublicKey recipient, long amount) {
+    PublicKey senderKey = sender.getPublicKey();
+    JsonObject jsonBody = new JsonObject();
+    jsonBody.addProperty("seed", seed);
+    jsonBody.addProperty("senderId", senderKey.toString());
+    jsonBody.addProperty("recipientId", recipient.toString());
+    jsonBody.addProperty("amount", amount);
+
+    byte[] body = TxMessageProtos.TransferTx.newBuilder()
+        .setSeed(seed)
+        .setFromWallet(toByteString(senderKey))
+        .setToWallet(toByteString(recipient))
+        .setSum(amount)
+        .build()
+        .toByteArray();
+
+    return signedMessage(TransferTx.ID, body, jsonBody, sender);
+  }
+
+  private static String signedMessage(short messageId, byte[] body, JsonObject jsonBody,
+      KeyPair author) {
+    BinaryMessage message = new Message.Builder()
+        .setServiceId(CryptocurrencyService.ID)
+        .setMessageType(messageId)
+        .setBody(body)
+        .buildRaw()
+        .sign(CRYPTO_FUNCTION, author.getPrivateKey());
+
+    JsonObject json = new JsonObject();
+    json.addProperty("protocol_version", message.getVersion());
+    json.addProperty("service_id", message.getServiceId());
+    json.addProperty("message_id", message.getMessageType());
+    json.add("body", jsonBody);
+    json.addProperty("signature", HEX_ENCODING.encode(message.getSignature()));
+    return json.toString();
+  }
+
+  private static ByteString toByteString(PublicKey publicKey) {
+    return ByteString.copyFrom(publicKey.toBytes());
+  }
+
+  private TransactionMessages() {}
+}
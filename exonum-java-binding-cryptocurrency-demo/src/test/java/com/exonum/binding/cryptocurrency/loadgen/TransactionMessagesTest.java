@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.cryptocurrency.loadgen;
+
+import static com.exonum.binding.cryptocurrency.CryptocurrencyServiceImpl.CRYPTO_FUNCTION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.exonum.binding.common.crypto.KeyPair;
+import com.exonum.binding.common.message.BinaryMessage;
+import com.exonum.binding.cryptocurrency.CryptocurrencyService;
+import com.exonum.binding.cryptocurrency.transactions.CreateWalletTx;
+import com.exonum.binding.cryptocurrency.transactions.JsonBinaryMessageConverter;
+import com.exonum.binding.cryptocurrency.transactions.TransferTx;
+import org.junit.jupiter.api.Test;
+
+class TransactionMessagesTest {
+
+  private final JsonBinaryMessageConverter converter = new JsonBinaryMessageConverter();
+
+  @Test
+  void createWallet() {
+    KeyPair owner = CRYPTO_FUNCTION.generateKeyPair();
+
+    String json = TransactionMessages.createWallet(owner, 100L);
+    BinaryMessage message = converter.toMessage(json);
+
+    assertThat(message.getServiceId()).isEqualTo(CryptocurrencyService.ID);
+    assertThat(message.getMessageType()).isEqualTo(CreateWalletTx.ID);
+    assertThat(message.verify(CRYPTO_FUNCTION, owner.getPublicKey())).isTrue();
+  }
+
+  @Test
+  void transfer() {
+    KeyPair sender = CRYPTO_FUNCTION.generateKeyPair();
+    KeyPair recipient = CRYPTO_FUNCTION.generateKeyPair();
+
+    String json = TransactionMessages.transfer(-1L, sender, recipient.getPublicKey(), 10L);
+    BinaryMessage message = converter.toMessage(json);
+
+    assertThat(message.getServiceId()).isEqualTo(CryptocurrencyService.ID);
+    assertThat(message.getMessageType()).isEqualTo(TransferTx.ID);
+    assertThat(message.verify(CRYPTO_FUNCTION, sender.getPublicKey())).isTrue();
+    assertThat(message.verify(CRYPTO_FUNCTION, recipient.getPublicKey())).isFalse();
+  }
+}
@@ -101,6 +101,57 @@ class JsonBinaryMessageConverterTest {
     assertThat(txData.getSum()).isEqualTo(50);
   }
 
+  @Test
+  void convertMessageWithBodyFirst() throws InvalidProtocolBufferException {
+    String json = "{ "
+        + "\"body\": {"
+        + "  \"initialBalance\": \"100\", "
+        + "  \"ownerPublicKey\": \"ab\""
+        + "}, "
+        + "\"signature\": \"" + SIGNATURE_HEX + "\", "
+        + "\"message_id\": 1, "
+        + "\"service_id\": 42, "
+        + "\"protocol_version\": 0"
+        + " }";
+
+    BinaryMessage message = converter.toMessage(json);
+
+    assertThat(message.getServiceId()).isEqualTo((short) 42);
+    assertThat(message.getMessageType()).isEqualTo((short) 1);
+    assertThat(message.getSignature()).inHexadecimal()
+        .isEqualTo(SIGNATURE);
+
+    TxMessageProtos.CreateWalletTx txData = TxMessageProtos.CreateWalletTx.parseFrom(
+        message.getBody());
+
+    assertThat(txData.getOwnerPublicKey())
+        .isEqualTo(ByteString.copyFrom(Bytes.fromHex("ab")));
+    assertThat(txData.getInitialBalance()).isEqualTo(100);
+  }
+
+  @Test
+  void convertMessageIgnoresUnknownProperties() throws InvalidProtocolBufferException {
+    String json = "{ "
+        + "\"protocol_version\": 0, "
+        + "\"service_id\": 42, "
+        + "\"message_id\": 1, "
+        + "\"extra\": [1, {\"a\": null}], "
+        + "\"body\": {"
+        + "  \"ownerPublicKey\": \"ab\", "
+        + "  \"comment\": \"unknown\", "
+        + "  \"initialBalance\": 100"
+        + "}, "
+        + "\"signature\": \"" + SIGNATURE_HEX + "\""
+        + " }";
+
+    BinaryMessage message = converter.toMessage(json);
+
+    TxMessageProtos.CreateWalletTx txData = TxMessageProtos.CreateWalletTx.parseFrom(
+        message.getBody());
+
+    assertThat(txData.getInitialBalance()).isEqualTo(100);
+  }
+
   @Test
   void convertIllegalJson() {
     String json = "{ fooBar";
@@ -115,6 +166,21 @@ class JsonBinaryMessageConverterTest {
     assertThrows(IllegalArgumentException.class, () -> converter.toMessage(json));
   }
 
+  @Test
+  void convertNoSignature() {
+    String json = "{ "
+        + "\"protocol_version\": 0, "
+        + "\"service_id\": 42, "
+        + "\"message_id\": 1, "
+        + "\"body\": {"
+        + "  \"ownerPublicKey\": \"ab\", "
+        + "  \"initialBalance\": \"100\""
+        + "}"
+        + " }";
+
+    assertThrows(IllegalArgumentException.class, () -> converter.toMessage(json));
+  }
+
   @Test
   void convertUnknownServiceId() {
     // Transaction of unknown service disguised as "create wallet" message.
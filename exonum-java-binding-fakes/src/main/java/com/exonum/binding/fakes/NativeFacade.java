@@ -47,6 +47,12 @@ public final class NativeFacade {
 
   private static final ViewFactory VIEW_FACTORY = ViewProxyFactory.getInstance();
 
+  /**
+   * The service id and the message type of the fake transactions, which have no messages.
+   */
+  private static final short FAKE_SERVICE_ID = 0;
+  private static final short FAKE_MESSAGE_TYPE = 0;
+
   /**
    * Creates a UserTransactionAdapter of a transaction that puts a given value into the storage.
    *
@@ -59,7 +65,7 @@ public final class NativeFacade {
                                                          String value,
                                                          String info) {
     SetEntryTransaction userTransaction = new SetEntryTransaction(valid, value, info);
-    return new UserTransactionAdapter(userTransaction, VIEW_FACTORY);
+    return createTransactionAdapter(userTransaction);
   }
 
   /**
@@ -72,7 +78,7 @@ public final class NativeFacade {
   public static UserTransactionAdapter createThrowingTransaction(
       Class<? extends Throwable> exceptionType) {
     Transaction transaction = ThrowingTransactions.createThrowing(exceptionType);
-    return new UserTransactionAdapter(transaction, VIEW_FACTORY);
+    return createTransactionAdapter(transaction);
   }
 
   /**
@@ -90,7 +96,12 @@ public final class NativeFacade {
           @Nullable String description) {
     Transaction transaction = ThrowingTransactions
             .createThrowingExecutionException(isSubclass, errorCode, description);
-    return new UserTransactionAdapter(transaction, VIEW_FACTORY);
+    return createTransactionAdapter(transaction);
+  }
+
+  private static UserTransactionAdapter createTransactionAdapter(Transaction transaction) {
+    return new UserTransactionAdapter(transaction, FAKE_SERVICE_ID, FAKE_MESSAGE_TYPE, null,
+        VIEW_FACTORY);
   }
 
   /**
@@ -113,6 +124,7 @@ public final class NativeFacade {
    *   <li>{@link UserServiceAdapter#initialize(long)}</li>
    *   <li>{@link UserServiceAdapter#getStateHashes(long)}</li>
    *   <li>{@link UserServiceAdapter#convertTransaction(byte[])}</li>
+   *   <li>{@link UserServiceAdapter#convertTransaction(byte[], byte[])}</li>
    * </ul>
    *
    * @see #createServiceFakeBuilder()
@@ -19,6 +19,7 @@ package com.exonum.binding.fakes.mocks;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import com.exonum.binding.storage.database.Fork;
 import com.exonum.binding.transaction.Transaction;
@@ -89,6 +90,7 @@ public final class ThrowingTransactions {
               ? new TestTxExecException(errorCode, description)
               : new TransactionExecutionException(errorCode, description);
       doThrow(e).when(tx).execute(any(Fork.class));
+      when(tx.executeForResult(any(Fork.class))).thenCallRealMethod();
     } catch (TransactionExecutionException e2) {
       throw new AssertionError("Supposedly unreachable", e2);
     }
@@ -45,9 +45,16 @@ public final class UserServiceAdapterMockBuilder {
     when(service.getName()).thenReturn(name);
   }
 
+  /**
+   * Sets up the mock to convert any transaction message, with or without its hash,
+   * into the given transaction.
+   */
   public void convertTransaction(UserTransactionAdapter transaction) {
+    checkNotNull(transaction);
     when(service.convertTransaction(any(byte[].class)))
-        .thenReturn(checkNotNull(transaction));
+        .thenReturn(transaction);
+    when(service.convertTransaction(any(byte[].class), any(byte[].class)))
+        .thenReturn(transaction);
   }
 
   /**
@@ -57,6 +64,8 @@ public final class UserServiceAdapterMockBuilder {
   public void convertTransactionThrowing(Class<? extends Throwable> exceptionType) {
     when(service.convertTransaction(any(byte[].class)))
         .thenThrow(exceptionType);
+    when(service.convertTransaction(any(byte[].class), any(byte[].class)))
+        .thenThrow(exceptionType);
   }
 
   public void stateHashes(byte[][] stateHashes) {
@@ -48,6 +48,8 @@ class UserServiceAdapterMockBuilderTest {
 
     byte[] rawTxMessage = new byte[MIN_MESSAGE_SIZE];
     assertThrows(exceptionType, () -> service.convertTransaction(rawTxMessage));
+    byte[] messageHash = new byte[32];
+    assertThrows(exceptionType, () -> service.convertTransaction(rawTxMessage, messageHash));
   }
 
   @Test
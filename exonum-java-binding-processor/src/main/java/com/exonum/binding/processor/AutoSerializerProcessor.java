@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import com.exonum.binding.common.serialization.AutoSerializer;
+import com.exonum.binding.common.serialization.ProtobufField;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Generates the serializers of value classes, which constructors or static factory methods
+ * are annotated with {@link AutoSerializer}.
+ *
+ * <p>The processor reports the errors in the annotated elements (e.g., a parameter
+ * of an unsupported type, or without an accessor) as compilation errors.
+ */
+public final class AutoSerializerProcessor extends AbstractProcessor {
+
+  /** The maximum field number allowed by protocol buffers. */
+  private static final int MAX_FIELD_NUMBER = (1 << 29) - 1;
+  private static final int FIRST_RESERVED_FIELD_NUMBER = 19000;
+  private static final int LAST_RESERVED_FIELD_NUMBER = 19999;
+
+  private static final String SERIALIZER_SUFFIX = "Serializer";
+
+  private ProcessorSupport support;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    support = new ProcessorSupport(processingEnv);
+  }
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Collections.singleton(AutoSerializer.class.getCanonicalName());
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (Element element : roundEnv.getElementsAnnotatedWith(AutoSerializer.class)) {
+      processCreator((ExecutableElement) element);
+    }
+    return true;
+  }
+
+  private void processCreator(ExecutableElement creator) {
+    TypeElement valueType = (TypeElement) creator.getEnclosingElement();
+    if (!support.checkSupportedClass(valueType, AutoSerializer.class.getSimpleName())
+        || !checkCreator(creator, valueType)) {
+      return;
+    }
+    Optional<List<Property>> properties = getProperties(creator, valueType);
+    if (!properties.isPresent()) {
+      return;
+    }
+
+    String packageName = support.getPackageName(valueType);
+    String serializerName = ProcessorSupport.getGeneratedName(valueType, SERIALIZER_SUFFIX);
+    String valueTypeName = valueType.getQualifiedName().toString();
+    String creatorCode = creator.getKind() == ElementKind.CONSTRUCTOR
+        ? "new " + valueTypeName
+        : valueTypeName + "." + creator.getSimpleName();
+    boolean isPublic = valueType.getModifiers().contains(Modifier.PUBLIC);
+
+    SerializerWriter writer = new SerializerWriter(packageName, serializerName, isPublic,
+        valueTypeName, creatorCode, properties.get(), support.getGeneratedAnnotation());
+    support.writeSourceFile(packageName, serializerName, valueType, writer::write);
+  }
+
+  private boolean checkCreator(ExecutableElement creator, TypeElement valueType) {
+    if (creator.getModifiers().contains(Modifier.PRIVATE)) {
+      error("@AutoSerializer element must not be private", creator);
+      return false;
+    }
+    if (creator.getKind() == ElementKind.METHOD) {
+      if (!creator.getModifiers().contains(Modifier.STATIC)) {
+        error("@AutoSerializer method must be static", creator);
+        return false;
+      }
+      if (!processingEnv.getTypeUtils()
+          .isSameType(creator.getReturnType(), valueType.asType())) {
+        error("@AutoSerializer method must return " + valueType.getSimpleName(), creator);
+        return false;
+      }
+    }
+    if (!creator.getTypeParameters().isEmpty()) {
+      error("@AutoSerializer element must not be generic", creator);
+      return false;
+    }
+    return true;
+  }
+
+  private Optional<List<Property>> getProperties(ExecutableElement creator,
+      TypeElement valueType) {
+    List<ExecutableElement> methods = support.getAllMethods(valueType);
+    List<Property> properties = new ArrayList<>();
+    Map<Integer, VariableElement> parametersByNumber = new HashMap<>();
+    boolean valid = true;
+    for (VariableElement parameter : creator.getParameters()) {
+      ProtobufField field = parameter.getAnnotation(ProtobufField.class);
+      if (field == null) {
+        error("Parameter must be annotated with @ProtobufField", parameter);
+        valid = false;
+        continue;
+      }
+      int number = field.value();
+      if (!isValidFieldNumber(number)) {
+        error("Invalid field number: " + number, parameter);
+        valid = false;
+        continue;
+      }
+      VariableElement other = parametersByNumber.putIfAbsent(number, parameter);
+      if (other != null) {
+        error("Field number " + number + " is already used by " + other.getSimpleName(),
+            parameter);
+        valid = false;
+        continue;
+      }
+      TypeMirror type = parameter.asType();
+      Optional<FieldType> fieldType = FieldType.of(type);
+      if (!fieldType.isPresent()) {
+        error("Unsupported type: " + type, parameter);
+        valid = false;
+        continue;
+      }
+      String name = parameter.getSimpleName().toString();
+      Optional<ExecutableElement> accessor = support.findAccessor(methods, name, type);
+      if (!accessor.isPresent()) {
+        error("No accessor of " + name + " returning " + type + " in "
+            + valueType.getSimpleName(), parameter);
+        valid = false;
+        continue;
+      }
+      properties.add(new Property(name, number,
+          accessor.get().getSimpleName().toString(), fieldType.get()));
+    }
+    return valid ? Optional.of(properties) : Optional.empty();
+  }
+
+  private static boolean isValidFieldNumber(int number) {
+    return 1 <= number && number <= MAX_FIELD_NUMBER
+        && !(FIRST_RESERVED_FIELD_NUMBER <= number && number <= LAST_RESERVED_FIELD_NUMBER);
+  }
+
+  private void error(String message, Element element) {
+    support.error(message, element);
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Writes the source code of a transaction converter that passes the messages
+ * to the transaction factories in a {@code switch} statement, and the bodies of the messages
+ * in JSON — to the methods creating their binary bodies.
+ */
+final class DispatcherWriter {
+
+  private static final String BINARY_MESSAGE = "com.exonum.binding.common.message.BinaryMessage";
+  private static final String TRANSACTION = "com.exonum.binding.transaction.Transaction";
+  private static final String JSON_ELEMENT = "com.google.gson.JsonElement";
+  private static final String JSON_READER = "com.google.gson.stream.JsonReader";
+  private static final String TRANSACTION_CONVERTER =
+      "com.exonum.binding.service.TransactionConverter";
+
+  private final String packageName;
+  private final String dispatcherName;
+  private final boolean isPublic;
+  private final short serviceId;
+  private final SortedMap<Short, String> factories;
+  private final SortedMap<Short, JsonBody> jsonBodies;
+  private final String generatedAnnotation;
+
+  /**
+   * Creates a writer of a transaction converter.
+   *
+   * @param packageName the package of the converter; empty for the unnamed package
+   * @param dispatcherName the simple name of the converter
+   * @param isPublic whether the converter is public
+   * @param serviceId the id of the service
+   * @param factories the code invoking the factory of each transaction without the arguments,
+   *     e.g., {@code com.acme.TransferTx.fromMessage}, by the message id of the transaction
+   * @param jsonBodies the methods creating the binary bodies of the transactions from
+   *     their parameters in JSON, by the message id of the transaction; may be empty
+   * @param generatedAnnotation the canonical name of the {@code Generated} annotation
+   */
+  DispatcherWriter(String packageName, String dispatcherName, boolean isPublic,
+      short serviceId, Map<Short, String> factories, Map<Short, JsonBody> jsonBodies,
+      String generatedAnnotation) {
+    this.packageName = packageName;
+    this.dispatcherName = dispatcherName;
+    this.isPublic = isPublic;
+    this.serviceId = serviceId;
+    this.factories = new TreeMap<>(factories);
+    this.jsonBodies = new TreeMap<>(jsonBodies);
+    this.generatedAnnotation = generatedAnnotation;
+  }
+
+  void write(PrintWriter out) {
+    out.println("// Generated by " + TransactionConverterProcessor.class.getName()
+        + ". Do not edit.");
+    if (!packageName.isEmpty()) {
+      out.println("package " + packageName + ";");
+      out.println();
+    }
+    out.println("import " + BINARY_MESSAGE + ";");
+    out.println("import " + TRANSACTION_CONVERTER + ";");
+    out.println("import " + TRANSACTION + ";");
+    if (!jsonBodies.isEmpty()) {
+      out.println("import " + JSON_ELEMENT + ";");
+      out.println("import " + JSON_READER + ";");
+      out.println("import java.io.IOException;");
+    }
+    out.println();
+    out.println("/**");
+    out.println(" * A converter of the transaction messages of the service with id " + serviceId
+        + ".");
+    out.println(" */");
+    out.println("@" + generatedAnnotation + "(\"" + TransactionConverterProcessor.class.getName()
+        + "\")");
+    out.println((isPublic ? "public " : "") + "enum " + dispatcherName
+        + " implements TransactionConverter {");
+    out.println("  INSTANCE;");
+    out.println();
+    out.println("  /** The id of the service. */");
+    out.println("  " + (isPublic ? "public " : "") + "static final short SERVICE_ID = "
+        + serviceId + ";");
+    out.println();
+    writeToTransaction(out);
+    out.println();
+    writeHasTransaction(out);
+    if (!jsonBodies.isEmpty()) {
+      out.println();
+      writeReadJsonBody(out);
+    }
+    out.println("}");
+  }
+
+  private void writeToTransaction(PrintWriter out) {
+    out.println("  @Override");
+    out.println("  public Transaction toTransaction(BinaryMessage message) {");
+    out.println("    short serviceId = message.getServiceId();");
+    out.println("    if (serviceId != SERVICE_ID) {");
+    out.println("      throw new IllegalArgumentException(\"Wrong service id (\" + serviceId");
+    out.println("          + \"), must be \" + SERVICE_ID);");
+    out.println("    }");
+    out.println("    short txId = message.getMessageType();");
+    out.println("    switch (txId) {");
+    for (Map.Entry<Short, String> entry : factories.entrySet()) {
+      out.println("      case " + entry.getKey() + ":");
+      out.println("        return " + entry.getValue() + "(message);");
+    }
+    out.println("      default:");
+    out.println("        throw new IllegalArgumentException(\"Unknown transaction id: \" + txId);");
+    out.println("    }");
+    out.println("  }");
+  }
+
+  private void writeHasTransaction(PrintWriter out) {
+    out.println("  /**");
+    out.println("   * Returns true if the service has a transaction with the given message id.");
+    out.println("   */");
+    out.println("  " + (isPublic ? "public " : "") + "static boolean hasTransaction(short txId) {");
+    out.println("    switch (txId) {");
+    for (Short txId : factories.keySet()) {
+      out.println("      case " + txId + ":");
+    }
+    if (!factories.isEmpty()) {
+      out.println("        return true;");
+    }
+    out.println("      default:");
+    out.println("        return false;");
+    out.println("    }");
+    out.println("  }");
+  }
+
+  private void writeReadJsonBody(PrintWriter out) {
+    String modifier = isPublic ? "public " : "";
+    out.println("  /**");
+    out.println("   * Reads the parameters of a transaction in JSON and returns the binary body");
+    out.println("   * of its message.");
+    out.println("   *");
+    out.println("   * @throws IllegalArgumentException if the transaction has no parameters");
+    out.println("   *     in JSON or they are null or not valid");
+    out.println("   */");
+    out.println("  " + modifier + "static byte[] readJsonBody(short txId, JsonReader reader)"
+        + " throws IOException {");
+    writeJsonBodySwitch(out, "read(reader)");
+    out.println("  }");
+    out.println();
+    out.println("  /**");
+    out.println("   * Converts the parameters of a transaction in a JSON tree into the binary");
+    out.println("   * body of its message.");
+    out.println("   *");
+    out.println("   * @throws IllegalArgumentException if the transaction has no parameters");
+    out.println("   *     in JSON or they are null or not valid");
+    out.println("   */");
+    out.println("  " + modifier + "static byte[] readJsonBody(short txId, JsonElement tree) {");
+    writeJsonBodySwitch(out, "fromJsonTree(tree)");
+    out.println("  }");
+    out.println();
+    out.println("  private static <T> T checkJsonBody(T parameters) {");
+    out.println("    if (parameters == null) {");
+    out.println("      throw new IllegalArgumentException(\"The body of the message is null\");");
+    out.println("    }");
+    out.println("    return parameters;");
+    out.println("  }");
+  }
+
+  private void writeJsonBodySwitch(PrintWriter out, String readCall) {
+    out.println("    switch (txId) {");
+    for (Map.Entry<Short, JsonBody> entry : jsonBodies.entrySet()) {
+      JsonBody jsonBody = entry.getValue();
+      out.println("      case " + entry.getKey() + ":");
+      out.println("        return " + jsonBody.bodyFactory + "(");
+      out.println("            checkJsonBody(" + jsonBody.adapter + ".INSTANCE." + readCall
+          + "));");
+    }
+    out.println("      default:");
+    out.println("        throw new IllegalArgumentException(");
+    out.println("            \"No transaction with parameters in JSON with id: \" + txId);");
+    out.println("    }");
+  }
+
+  /**
+   * The method creating the binary body of a transaction from its parameters in JSON
+   * and the adapter reading them.
+   */
+  static final class JsonBody {
+
+    final String bodyFactory;
+    final String adapter;
+
+    /**
+     * Creates a method of a transaction.
+     *
+     * @param bodyFactory the code invoking the method without the arguments,
+     *     e.g., {@code com.acme.TransferTx.toBody}
+     * @param adapter the qualified name of the generated Gson adapter of the parameters
+     */
+    JsonBody(String bodyFactory, String adapter) {
+      this.bodyFactory = bodyFactory;
+      this.adapter = adapter;
+    }
+  }
+}
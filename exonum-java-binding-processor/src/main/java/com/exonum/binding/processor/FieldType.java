@@ -0,0 +1,156 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import static com.exonum.binding.common.serialization.ProtobufWireCodecs.WIRETYPE_LENGTH_DELIMITED;
+import static com.exonum.binding.common.serialization.ProtobufWireCodecs.WIRETYPE_VARINT;
+
+import com.exonum.binding.common.crypto.PublicKey;
+import com.exonum.binding.common.hash.HashCode;
+import java.util.Optional;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * A type of a field supported by the generated serializers, with the code snippets
+ * to compute the size of its value, write and read it. In the snippets, {@code %s}
+ * stands for the name of a variable holding the value.
+ */
+enum FieldType {
+  LONG("long", WIRETYPE_VARINT, "0L", "%s != 0L",
+      "PrimitiveCodecs.varintSize(%s)",
+      "PrimitiveCodecs.writeVarint(%s, $buffer)",
+      "PrimitiveCodecs.readVarint($buffer)"),
+  INT("int", WIRETYPE_VARINT, "0", "%s != 0",
+      "ProtobufWireCodecs.int32Size(%s)",
+      "PrimitiveCodecs.writeVarint(%s, $buffer)",
+      "(int) PrimitiveCodecs.readVarint($buffer)"),
+  BOOLEAN("boolean", WIRETYPE_VARINT, "false", "%s",
+      "1",
+      "$buffer.put((byte) 1)",
+      "PrimitiveCodecs.readVarint($buffer) != 0"),
+  STRING(String.class.getName(), WIRETYPE_LENGTH_DELIMITED, "\"\"", "!%s.isEmpty()",
+      "ProtobufWireCodecs.stringSize(%s)",
+      "ProtobufWireCodecs.writeString(%s, $buffer)",
+      "ProtobufWireCodecs.readString($buffer)"),
+  BYTES("byte[]", WIRETYPE_LENGTH_DELIMITED, "new byte[0]", "%s.length != 0",
+      "ProtobufWireCodecs.bytesSize(%s)",
+      "ProtobufWireCodecs.writeBytes(%s, $buffer)",
+      "ProtobufWireCodecs.readBytes($buffer)"),
+  PUBLIC_KEY(PublicKey.class.getName(), WIRETYPE_LENGTH_DELIMITED, null, null,
+      "ProtobufWireCodecs.publicKeySize(%s)",
+      "ProtobufWireCodecs.writePublicKey(%s, $buffer)",
+      "ProtobufWireCodecs.readPublicKey($buffer)"),
+  HASH_CODE(HashCode.class.getName(), WIRETYPE_LENGTH_DELIMITED, null, null,
+      "ProtobufWireCodecs.hashCodeSize(%s)",
+      "ProtobufWireCodecs.writeHashCode(%s, $buffer)",
+      "ProtobufWireCodecs.readHashCode($buffer)");
+
+  private final String javaType;
+  private final int wireType;
+  private final String defaultValue;
+  private final String isPresent;
+  private final String size;
+  private final String write;
+  private final String read;
+
+  FieldType(String javaType, int wireType, String defaultValue, String isPresent,
+      String size, String write, String read) {
+    this.javaType = javaType;
+    this.wireType = wireType;
+    this.defaultValue = defaultValue;
+    this.isPresent = isPresent;
+    this.size = size;
+    this.write = write;
+    this.read = read;
+  }
+
+  /**
+   * Returns the field type of values of the given Java type, or an empty optional
+   * if it is not supported.
+   */
+  static Optional<FieldType> of(TypeMirror type) {
+    switch (type.getKind()) {
+      case LONG:
+        return Optional.of(LONG);
+      case INT:
+        return Optional.of(INT);
+      case BOOLEAN:
+        return Optional.of(BOOLEAN);
+      case ARRAY:
+        TypeMirror componentType = ((ArrayType) type).getComponentType();
+        return componentType.getKind() == TypeKind.BYTE ? Optional.of(BYTES) : Optional.empty();
+      case DECLARED:
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        String name = element.getQualifiedName().toString();
+        for (FieldType fieldType : new FieldType[] {STRING, PUBLIC_KEY, HASH_CODE}) {
+          if (fieldType.javaType.equals(name)) {
+            return Optional.of(fieldType);
+          }
+        }
+        return Optional.empty();
+      default:
+        return Optional.empty();
+    }
+  }
+
+  String getJavaType() {
+    return javaType;
+  }
+
+  int getWireType() {
+    return wireType;
+  }
+
+  /**
+   * Returns true if the field must be present in a binary value. The values of optional
+   * fields are omitted when equal to the default one, as in proto3.
+   */
+  boolean isRequired() {
+    return defaultValue == null;
+  }
+
+  /**
+   * Returns the initial value of a variable holding the value being read:
+   * the default value of an optional field, or {@code null}.
+   */
+  String initialValue() {
+    return isRequired() ? "null" : defaultValue;
+  }
+
+  /**
+   * Returns an expression that is true if the value of an optional field is not the default.
+   */
+  String isPresent(String variable) {
+    return String.format(isPresent, variable);
+  }
+
+  String size(String variable) {
+    return String.format(size, variable);
+  }
+
+  String write(String variable) {
+    return String.format(write, variable);
+  }
+
+  String read() {
+    return read;
+  }
+}
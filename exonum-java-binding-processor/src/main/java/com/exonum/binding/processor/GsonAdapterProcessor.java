@@ -0,0 +1,201 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import com.exonum.binding.common.serialization.AutoGsonAdapter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nullable;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+
+/**
+ * Generates the Gson type adapters of classes annotated with {@link AutoGsonAdapter}.
+ *
+ * <p>The processor reports the errors in the annotated classes (e.g., a field
+ * of an unsupported type, or without an accessor) as compilation errors.
+ */
+public final class GsonAdapterProcessor extends AbstractProcessor {
+
+  static final String ADAPTER_SUFFIX = "GsonAdapter";
+
+  private ProcessorSupport support;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    support = new ProcessorSupport(processingEnv);
+  }
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Collections.singleton(AutoGsonAdapter.class.getCanonicalName());
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (Element element : roundEnv.getElementsAnnotatedWith(AutoGsonAdapter.class)) {
+      processClass((TypeElement) element);
+    }
+    return true;
+  }
+
+  private void processClass(TypeElement valueType) {
+    if (!support.checkSupportedClass(valueType, AutoGsonAdapter.class.getSimpleName())) {
+      return;
+    }
+    Optional<List<JsonField>> fields = getFields(valueType);
+    if (!fields.isPresent()) {
+      return;
+    }
+
+    String packageName = support.getPackageName(valueType);
+    String adapterName = ProcessorSupport.getGeneratedName(valueType, ADAPTER_SUFFIX);
+    boolean isPublic = valueType.getModifiers().contains(Modifier.PUBLIC);
+    Optional<List<JsonField>> constructorParameters =
+        findConstructorParameters(valueType, fields.get());
+
+    GsonAdapterWriter writer = new GsonAdapterWriter(packageName, adapterName, isPublic,
+        valueType.getQualifiedName().toString(), fields.get(), constructorParameters,
+        support.getGeneratedAnnotation());
+    support.writeSourceFile(packageName, adapterName, valueType, writer::write);
+  }
+
+  /**
+   * Returns the fields of the class and its superclasses in the order Gson writes them:
+   * the fields of the class first, in the order of declaration.
+   */
+  private Optional<List<JsonField>> getFields(TypeElement valueType) {
+    String packageName = support.getPackageName(valueType);
+    List<ExecutableElement> methods = support.getAllMethods(valueType);
+    List<JsonField> fields = new ArrayList<>();
+    Map<String, VariableElement> fieldsByName = new HashMap<>();
+    boolean valid = true;
+    for (TypeElement type = valueType; type != null; type = getSuperclass(type)) {
+      for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+          continue;
+        }
+        String name = field.getSimpleName().toString();
+        if (fieldsByName.putIfAbsent(name, field) != null) {
+          support.error("Multiple fields named " + name + " in " + valueType.getSimpleName(),
+              valueType);
+          valid = false;
+          continue;
+        }
+        TypeMirror fieldType = field.asType();
+        Optional<JsonType> jsonType = JsonType.of(fieldType);
+        if (!jsonType.isPresent()) {
+          support.error("Unsupported type: " + fieldType, field);
+          valid = false;
+          continue;
+        }
+        Optional<String> getter = getGetter(field, type, packageName, methods);
+        if (!getter.isPresent()) {
+          support.error("No accessor of " + name + " returning " + fieldType + " in "
+              + valueType.getSimpleName(), field);
+          valid = false;
+          continue;
+        }
+        fields.add(new JsonField(name, getter.get(), jsonType.get()));
+      }
+    }
+    return valid ? Optional.of(fields) : Optional.empty();
+  }
+
+  /**
+   * Returns the superclass of the type, or null if it is {@code Object}.
+   */
+  @Nullable
+  private static TypeElement getSuperclass(TypeElement type) {
+    TypeMirror superclass = type.getSuperclass();
+    if (superclass.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+    if (element.getQualifiedName().contentEquals(Object.class.getName())) {
+      return null;
+    }
+    return element;
+  }
+
+  private Optional<String> getGetter(VariableElement field, TypeElement declaringType,
+      String packageName, List<ExecutableElement> methods) {
+    String name = field.getSimpleName().toString();
+    if (!field.getModifiers().contains(Modifier.PRIVATE)
+        && support.getPackageName(declaringType).equals(packageName)) {
+      return Optional.of("$value." + name);
+    }
+    return support.findAccessor(methods, name, field.asType())
+        .map(accessor -> "$value." + accessor.getSimpleName() + "()");
+  }
+
+  /**
+   * Finds a non-private constructor which parameters are all the fields, and returns
+   * the fields in the order of the parameters.
+   */
+  private static Optional<List<JsonField>> findConstructorParameters(TypeElement valueType,
+      List<JsonField> fields) {
+    Map<String, JsonField> fieldsByName = new HashMap<>();
+    for (JsonField field : fields) {
+      fieldsByName.put(field.getName(), field);
+    }
+    for (ExecutableElement constructor
+        : ElementFilter.constructorsIn(valueType.getEnclosedElements())) {
+      if (constructor.getModifiers().contains(Modifier.PRIVATE)
+          || constructor.getParameters().size() != fields.size()) {
+        continue;
+      }
+      List<JsonField> parameters = new ArrayList<>();
+      for (VariableElement parameter : constructor.getParameters()) {
+        JsonField field = fieldsByName.get(parameter.getSimpleName().toString());
+        // Each JSON type corresponds to a single Java type
+        if (field == null
+            || !JsonType.of(parameter.asType()).equals(Optional.of(field.getType()))) {
+          break;
+        }
+        parameters.add(field);
+      }
+      if (parameters.size() == fields.size()) {
+        return Optional.of(parameters);
+      }
+    }
+    return Optional.empty();
+  }
+}
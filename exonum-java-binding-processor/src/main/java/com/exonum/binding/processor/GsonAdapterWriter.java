@@ -0,0 +1,180 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Writes the source code of a Gson type adapter of a class.
+ *
+ * <p>The variables holding the values of the fields have the names of the fields;
+ * other variables in the generated code start with {@code $}, so that they never clash.
+ */
+final class GsonAdapterWriter {
+
+  private final String packageName;
+  private final String adapterName;
+  private final boolean isPublic;
+  private final String valueType;
+  private final List<JsonField> fields;
+  private final Optional<List<JsonField>> constructorParameters;
+  private final String generatedAnnotation;
+
+  /**
+   * Creates a writer of a type adapter.
+   *
+   * @param packageName the package of the class; empty for the unnamed package
+   * @param adapterName the simple name of the adapter
+   * @param isPublic whether the adapter is public
+   * @param valueType the canonical name of the class
+   * @param fields the fields in the order they are written in
+   * @param constructorParameters the fields in the order of the parameters of the constructor
+   *     accepting all of them; or an empty optional if there is none,
+   *     and the adapter is write-only
+   * @param generatedAnnotation the canonical name of the {@code Generated} annotation
+   */
+  GsonAdapterWriter(String packageName, String adapterName, boolean isPublic,
+      String valueType, List<JsonField> fields,
+      Optional<List<JsonField>> constructorParameters, String generatedAnnotation) {
+    this.packageName = packageName;
+    this.adapterName = adapterName;
+    this.isPublic = isPublic;
+    this.valueType = valueType;
+    this.fields = fields;
+    this.constructorParameters = constructorParameters;
+    this.generatedAnnotation = generatedAnnotation;
+  }
+
+  void write(PrintWriter out) {
+    out.println("// Generated by " + GsonAdapterProcessor.class.getName() + ". Do not edit.");
+    if (!packageName.isEmpty()) {
+      out.println("package " + packageName + ";");
+      out.println();
+    }
+    out.println("import com.google.gson.TypeAdapter;");
+    out.println("import com.google.gson.stream.JsonReader;");
+    out.println("import com.google.gson.stream.JsonToken;");
+    out.println("import com.google.gson.stream.JsonWriter;");
+    out.println("import java.io.IOException;");
+    out.println();
+    out.println("/**");
+    out.println(" * A Gson type adapter of {@link " + valueType + "}"
+        + (constructorParameters.isPresent() ? "." : ", which is write-only."));
+    out.println(" */");
+    out.println("@" + generatedAnnotation + "(\"" + GsonAdapterProcessor.class.getName()
+        + "\")");
+    String modifier = isPublic ? "public " : "";
+    out.println(modifier + "final class " + adapterName + " extends TypeAdapter<" + valueType
+        + "> {");
+    out.println();
+    out.println("  " + modifier + "static final " + adapterName + " INSTANCE = new "
+        + adapterName + "();");
+    out.println();
+    out.println("  private " + adapterName + "() {}");
+    out.println();
+    writeWrite(out);
+    out.println();
+    if (constructorParameters.isPresent()) {
+      writeRead(out, constructorParameters.get());
+    } else {
+      writeUnsupportedRead(out);
+    }
+    out.println("}");
+  }
+
+  private void writeWrite(PrintWriter out) {
+    out.println("  @Override");
+    out.println("  public void write(JsonWriter $out, " + valueType + " $value)"
+        + " throws IOException {");
+    out.println("    if ($value == null) {");
+    out.println("      $out.nullValue();");
+    out.println("      return;");
+    out.println("    }");
+    out.println("    $out.beginObject();");
+    for (JsonField field : fields) {
+      String name = field.getName();
+      JsonType type = field.getType();
+      out.println("    " + type.getJavaType() + " " + name + " = " + field.getGetter() + ";");
+      String indent = "    ";
+      if (type.isNullable()) {
+        out.println("    if (" + name + " != null) {");
+        indent = "      ";
+      }
+      out.println(indent + "$out.name(\"" + name + "\");");
+      out.println(indent + type.write(name) + ";");
+      if (type.isNullable()) {
+        out.println("    }");
+      }
+    }
+    out.println("    $out.endObject();");
+    out.println("  }");
+  }
+
+  private void writeRead(PrintWriter out, List<JsonField> parameters) {
+    out.println("  @Override");
+    out.println("  public " + valueType + " read(JsonReader $in) throws IOException {");
+    out.println("    if ($in.peek() == JsonToken.NULL) {");
+    out.println("      $in.nextNull();");
+    out.println("      return null;");
+    out.println("    }");
+    for (JsonField field : fields) {
+      JsonType type = field.getType();
+      out.println("    " + type.getJavaType() + " " + field.getName() + " = "
+          + type.initialValue() + ";");
+    }
+    out.println("    $in.beginObject();");
+    out.println("    while ($in.hasNext()) {");
+    out.println("      String $name = $in.nextName();");
+    // Null values leave the defaults, as in Gson
+    out.println("      if ($in.peek() == JsonToken.NULL) {");
+    out.println("        $in.nextNull();");
+    out.println("        continue;");
+    out.println("      }");
+    out.println("      switch ($name) {");
+    for (JsonField field : fields) {
+      out.println("        case \"" + field.getName() + "\":");
+      out.println("          " + field.getName() + " = " + field.getType().read() + ";");
+      out.println("          break;");
+    }
+    out.println("        default:");
+    out.println("          $in.skipValue();");
+    out.println("          break;");
+    out.println("      }");
+    out.println("    }");
+    out.println("    $in.endObject();");
+    String arguments = parameters.stream()
+        .map(JsonField::getName)
+        .collect(joining(", "));
+    out.println("    return new " + valueType + "(" + arguments + ");");
+    out.println("  }");
+  }
+
+  private void writeUnsupportedRead(PrintWriter out) {
+    out.println("  /**");
+    out.println("   * Throws an exception: the class has no constructor accepting all its fields.");
+    out.println("   */");
+    out.println("  @Override");
+    out.println("  public " + valueType + " read(JsonReader $in) {");
+    out.println("    throw new UnsupportedOperationException(\"" + valueType
+        + " cannot be read from JSON\");");
+    out.println("  }");
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+/**
+ * A field of a class, which is a property of its JSON object.
+ */
+final class JsonField {
+
+  private final String name;
+  private final String getter;
+  private final JsonType type;
+
+  /**
+   * Creates a field.
+   *
+   * @param name the name of the field, which is also the name of the variables
+   *     holding its value in the generated code
+   * @param getter the code returning the value of the field from {@code $value},
+   *     e.g., {@code $value.getSeed()}
+   * @param type the type of the field
+   */
+  JsonField(String name, String getter, JsonType type) {
+    this.name = name;
+    this.getter = getter;
+    this.type = type;
+  }
+
+  String getName() {
+    return name;
+  }
+
+  String getGetter() {
+    return getter;
+  }
+
+  JsonType getType() {
+    return type;
+  }
+}
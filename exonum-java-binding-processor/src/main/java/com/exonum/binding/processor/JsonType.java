@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import com.exonum.binding.common.crypto.PublicKey;
+import com.exonum.binding.common.hash.HashCode;
+import java.util.Optional;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * A type of a field supported by the generated Gson adapters, with the code snippets
+ * to write and read its value. In the snippets, {@code %s} stands for the name
+ * of a variable holding the value.
+ */
+enum JsonType {
+  // Gson writes long values as strings with LongSerializationPolicy.STRING
+  LONG("long", "0L", "$out.value(Long.toString(%s))", "$in.nextLong()"),
+  INT("int", "0", "$out.value(%s)", "$in.nextInt()"),
+  SHORT("short", "(short) 0", "$out.value(%s)", "(short) $in.nextInt()"),
+  BYTE("byte", "(byte) 0", "$out.value(%s)", "(byte) $in.nextInt()"),
+  BOOLEAN("boolean", "false", "$out.value(%s)", "$in.nextBoolean()"),
+  STRING(String.class.getName(), null, "$out.value(%s)", "$in.nextString()"),
+  PUBLIC_KEY(PublicKey.class.getName(), null, "$out.value(%s.toString())",
+      PublicKey.class.getName() + ".fromHexString($in.nextString())"),
+  HASH_CODE(HashCode.class.getName(), null, "$out.value(%s.toString())",
+      HashCode.class.getName() + ".fromString($in.nextString())");
+
+  private final String javaType;
+  private final String defaultValue;
+  private final String write;
+  private final String read;
+
+  JsonType(String javaType, String defaultValue, String write, String read) {
+    this.javaType = javaType;
+    this.defaultValue = defaultValue;
+    this.write = write;
+    this.read = read;
+  }
+
+  /**
+   * Returns the JSON type of values of the given Java type, or an empty optional
+   * if it is not supported.
+   */
+  static Optional<JsonType> of(TypeMirror type) {
+    switch (type.getKind()) {
+      case LONG:
+        return Optional.of(LONG);
+      case INT:
+        return Optional.of(INT);
+      case SHORT:
+        return Optional.of(SHORT);
+      case BYTE:
+        return Optional.of(BYTE);
+      case BOOLEAN:
+        return Optional.of(BOOLEAN);
+      case DECLARED:
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        String name = element.getQualifiedName().toString();
+        for (JsonType jsonType : new JsonType[] {STRING, PUBLIC_KEY, HASH_CODE}) {
+          if (jsonType.javaType.equals(name)) {
+            return Optional.of(jsonType);
+          }
+        }
+        return Optional.empty();
+      default:
+        return Optional.empty();
+    }
+  }
+
+  String getJavaType() {
+    return javaType;
+  }
+
+  /**
+   * Returns true if the values may be null; null values are omitted.
+   */
+  boolean isNullable() {
+    return defaultValue == null;
+  }
+
+  /**
+   * Returns the default value of a field missing in JSON, as in Gson.
+   */
+  String initialValue() {
+    return isNullable() ? "null" : defaultValue;
+  }
+
+  String write(String variable) {
+    return String.format(write, variable);
+  }
+
+  String read() {
+    return read;
+  }
+}
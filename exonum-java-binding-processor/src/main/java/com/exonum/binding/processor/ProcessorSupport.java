@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+
+/**
+ * The operations shared by the processors: checks of the annotated classes, the names
+ * of the generated classes and writing their sources.
+ */
+final class ProcessorSupport {
+
+  private final ProcessingEnvironment processingEnv;
+
+  ProcessorSupport(ProcessingEnvironment processingEnv) {
+    this.processingEnv = processingEnv;
+  }
+
+  /**
+   * Checks that the code generated in the package of the given class can use it:
+   * it must be a non-private, non-generic class, and a static one if it is nested.
+   * Reports an error if it is not.
+   *
+   * @param type the annotated class or the class of an annotated element
+   * @param annotation the simple name of the annotation
+   * @return true if the class is supported
+   */
+  boolean checkSupportedClass(TypeElement type, String annotation) {
+    if (type.getKind() != ElementKind.CLASS) {
+      error("@" + annotation + " is only supported in classes", type);
+      return false;
+    }
+    if (type.getModifiers().contains(Modifier.PRIVATE)) {
+      error("@" + annotation + " is not supported in private classes", type);
+      return false;
+    }
+    if (type.getNestingKind() == NestingKind.MEMBER
+        && !type.getModifiers().contains(Modifier.STATIC)) {
+      error("@" + annotation + " is not supported in inner classes; make the class static",
+          type);
+      return false;
+    }
+    if (!type.getTypeParameters().isEmpty()) {
+      error("@" + annotation + " is not supported in generic classes", type);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the methods of the class, including the inherited ones.
+   */
+  List<ExecutableElement> getAllMethods(TypeElement type) {
+    return ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type));
+  }
+
+  /**
+   * Finds a non-private, non-static method without parameters, named {@code getName},
+   * {@code isName} or {@code name} for a property {@code name} and returning the given type.
+   */
+  Optional<ExecutableElement> findAccessor(List<ExecutableElement> methods,
+      String propertyName, TypeMirror type) {
+    String capitalized = Character.toUpperCase(propertyName.charAt(0))
+        + propertyName.substring(1);
+    List<String> names = Arrays.asList("get" + capitalized, "is" + capitalized, propertyName);
+    for (String name : names) {
+      for (ExecutableElement method : methods) {
+        if (method.getSimpleName().contentEquals(name)
+            && method.getParameters().isEmpty()
+            && !method.getModifiers().contains(Modifier.PRIVATE)
+            && !method.getModifiers().contains(Modifier.STATIC)
+            && processingEnv.getTypeUtils().isSameType(method.getReturnType(), type)) {
+          return Optional.of(method);
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the name of the package of the element; empty for the unnamed package.
+   */
+  String getPackageName(Element element) {
+    return processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+  }
+
+  /**
+   * Returns the name of a generated class: the name of the given class, prefixed with the names
+   * of the enclosing classes, if any, joined with '_', and followed by the suffix.
+   */
+  static String getGeneratedName(TypeElement type, String suffix) {
+    StringBuilder name = new StringBuilder(type.getSimpleName());
+    Element enclosing = type.getEnclosingElement();
+    while (enclosing instanceof TypeElement) {
+      name.insert(0, '_').insert(0, enclosing.getSimpleName());
+      enclosing = enclosing.getEnclosingElement();
+    }
+    return name.append(suffix).toString();
+  }
+
+  /**
+   * Returns the name of the Generated annotation, which has moved in Java 9.
+   */
+  String getGeneratedAnnotation() {
+    String java8Annotation = "javax.annotation.Generated";
+    if (processingEnv.getElementUtils().getTypeElement(java8Annotation) != null) {
+      return java8Annotation;
+    }
+    return "javax.annotation.processing.Generated";
+  }
+
+  /**
+   * Writes the source file of a generated class. Reports an error if it fails.
+   *
+   * @param packageName the package of the class; empty for the unnamed package
+   * @param simpleName the simple name of the class
+   * @param originatingElement the annotated element the class is generated for
+   * @param writer the writer of the source code
+   */
+  void writeSourceFile(String packageName, String simpleName, Element originatingElement,
+      Consumer<PrintWriter> writer) {
+    String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    try {
+      JavaFileObject file = processingEnv.getFiler()
+          .createSourceFile(qualifiedName, originatingElement);
+      try (PrintWriter out = new PrintWriter(file.openWriter())) {
+        writer.accept(out);
+      }
+    } catch (IOException e) {
+      error("Failed to write " + qualifiedName + ": " + e, originatingElement);
+    }
+  }
+
+  void error(String message, Element element) {
+    processingEnv.getMessager().printMessage(Kind.ERROR, message, element);
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import static com.exonum.binding.common.serialization.PrimitiveCodecs.varintSize;
+import static com.exonum.binding.common.serialization.ProtobufWireCodecs.makeTag;
+
+/**
+ * A property of a value class, stored in a protobuf field.
+ */
+final class Property {
+
+  private final String name;
+  private final int fieldNumber;
+  private final String accessor;
+  private final FieldType type;
+
+  /**
+   * Creates a property.
+   *
+   * @param name the name of the property, which is also the name of the variables
+   *     holding its value in the generated code
+   * @param fieldNumber the number of the protobuf field
+   * @param accessor the name of the method returning the value of the property
+   * @param type the type of the field
+   */
+  Property(String name, int fieldNumber, String accessor, FieldType type) {
+    this.name = name;
+    this.fieldNumber = fieldNumber;
+    this.accessor = accessor;
+    this.type = type;
+  }
+
+  String getName() {
+    return name;
+  }
+
+  int getFieldNumber() {
+    return fieldNumber;
+  }
+
+  String getAccessor() {
+    return accessor;
+  }
+
+  FieldType getType() {
+    return type;
+  }
+
+  int getTag() {
+    return makeTag(fieldNumber, type.getWireType());
+  }
+
+  int getTagSize() {
+    return varintSize(getTag());
+  }
+}
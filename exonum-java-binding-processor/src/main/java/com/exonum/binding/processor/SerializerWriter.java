@@ -0,0 +1,181 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Writes the source code of a serializer of a value class.
+ *
+ * <p>The variables holding the values of the properties have the names of the properties;
+ * other variables in the generated code start with {@code $}, so that they never clash.
+ */
+final class SerializerWriter {
+
+  private final String packageName;
+  private final String serializerName;
+  private final boolean isPublic;
+  private final String valueType;
+  private final String creator;
+  private final List<Property> creatorParameters;
+  private final List<Property> fields;
+  private final String generatedAnnotation;
+
+  /**
+   * Creates a writer of a serializer.
+   *
+   * @param packageName the package of the value class; empty for the unnamed package
+   * @param serializerName the simple name of the serializer
+   * @param isPublic whether the serializer is public
+   * @param valueType the canonical name of the value class
+   * @param creator the code invoking the creator of the value class without the arguments,
+   *     e.g., {@code new com.acme.Value}
+   * @param creatorParameters the properties in the order of the creator parameters
+   * @param generatedAnnotation the canonical name of the {@code Generated} annotation
+   */
+  SerializerWriter(String packageName, String serializerName, boolean isPublic,
+      String valueType, String creator, List<Property> creatorParameters,
+      String generatedAnnotation) {
+    this.packageName = packageName;
+    this.serializerName = serializerName;
+    this.isPublic = isPublic;
+    this.valueType = valueType;
+    this.creator = creator;
+    this.creatorParameters = creatorParameters;
+    this.generatedAnnotation = generatedAnnotation;
+    // Write the fields in the order of their numbers, as protobuf does
+    fields = new ArrayList<>(creatorParameters);
+    fields.sort(Comparator.comparingInt(Property::getFieldNumber));
+  }
+
+  void write(PrintWriter out) {
+    out.println("// Generated by " + AutoSerializerProcessor.class.getName() + ". Do not edit.");
+    if (!packageName.isEmpty()) {
+      out.println("package " + packageName + ";");
+      out.println();
+    }
+    out.println("import com.exonum.binding.common.serialization.BufferSerializer;");
+    out.println("import com.exonum.binding.common.serialization.PrimitiveCodecs;");
+    out.println("import com.exonum.binding.common.serialization.ProtobufWireCodecs;");
+    out.println("import java.nio.ByteBuffer;");
+    out.println();
+    out.println("/**");
+    out.println(" * A serializer of {@link " + valueType
+        + "} in the protocol buffers binary format.");
+    out.println(" */");
+    out.println("@" + generatedAnnotation + "(\"" + AutoSerializerProcessor.class.getName()
+        + "\")");
+    out.println((isPublic ? "public " : "") + "enum " + serializerName
+        + " implements BufferSerializer<" + valueType + "> {");
+    out.println("  INSTANCE;");
+    out.println();
+    writeGetSerializedSize(out);
+    out.println();
+    writeWriteTo(out);
+    out.println();
+    writeReadFrom(out);
+    out.println("}");
+  }
+
+  private void writeGetSerializedSize(PrintWriter out) {
+    out.println("  @Override");
+    out.println("  public int getSerializedSize(" + valueType + " $value) {");
+    out.println("    int $size = 0;");
+    for (Property field : fields) {
+      String name = field.getName();
+      FieldType type = field.getType();
+      out.println("    " + type.getJavaType() + " " + name + " = $value."
+          + field.getAccessor() + "();");
+      String size = "$size += " + field.getTagSize() + " + " + type.size(name) + ";";
+      if (type.isRequired()) {
+        out.println("    " + size);
+      } else {
+        out.println("    if (" + type.isPresent(name) + ") {");
+        out.println("      " + size);
+        out.println("    }");
+      }
+    }
+    out.println("    return $size;");
+    out.println("  }");
+  }
+
+  private void writeWriteTo(PrintWriter out) {
+    out.println("  @Override");
+    out.println("  public int writeTo(" + valueType + " $value, ByteBuffer $buffer) {");
+    out.println("    int $start = $buffer.position();");
+    for (Property field : fields) {
+      String name = field.getName();
+      FieldType type = field.getType();
+      out.println("    " + type.getJavaType() + " " + name + " = $value."
+          + field.getAccessor() + "();");
+      String indent = "    ";
+      if (!type.isRequired()) {
+        out.println("    if (" + type.isPresent(name) + ") {");
+        indent = "      ";
+      }
+      out.println(indent + "PrimitiveCodecs.writeVarint(" + field.getTag() + ", $buffer);");
+      out.println(indent + type.write(name) + ";");
+      if (!type.isRequired()) {
+        out.println("    }");
+      }
+    }
+    out.println("    return $buffer.position() - $start;");
+    out.println("  }");
+  }
+
+  private void writeReadFrom(PrintWriter out) {
+    out.println("  @Override");
+    out.println("  public " + valueType + " readFrom(ByteBuffer $buffer) {");
+    for (Property field : fields) {
+      FieldType type = field.getType();
+      out.println("    " + type.getJavaType() + " " + field.getName() + " = "
+          + type.initialValue() + ";");
+    }
+    out.println("    while ($buffer.hasRemaining()) {");
+    out.println("      int $tag = ProtobufWireCodecs.readTag($buffer);");
+    out.println("      switch ($tag) {");
+    for (Property field : fields) {
+      out.println("        case " + field.getTag() + ": // " + field.getName());
+      out.println("          " + field.getName() + " = " + field.getType().read() + ";");
+      out.println("          break;");
+    }
+    out.println("        default:");
+    out.println("          ProtobufWireCodecs.skipField($tag, $buffer);");
+    out.println("          break;");
+    out.println("      }");
+    out.println("    }");
+    String arguments = creatorParameters.stream()
+        .map(SerializerWriter::argument)
+        .collect(joining(",\n        ", "\n        ", ""));
+    out.println("    return " + creator + "(" + (creatorParameters.isEmpty() ? "" : arguments)
+        + ");");
+    out.println("  }");
+  }
+
+  private static String argument(Property property) {
+    String name = property.getName();
+    if (property.getType().isRequired()) {
+      return "ProtobufWireCodecs.checkRequired(" + name + ", \"" + name + "\")";
+    }
+    return name;
+  }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import com.exonum.binding.common.message.BinaryMessage;
+import com.exonum.binding.common.serialization.AutoGsonAdapter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+
+/**
+ * Generates the transaction converters of the classes annotated with
+ * {@code AutoTransactionConverter}, which dispatch the messages to the static factories
+ * of the transactions annotated with {@code TransactionFactory}, and the bodies of the messages
+ * in JSON to the methods annotated with {@code TransactionJsonBody}.
+ *
+ * <p>The annotations are defined in {@code exonum-java-binding-core}, which is not
+ * a dependency of the processor, therefore, it accesses them by name.
+ */
+public final class TransactionConverterProcessor extends AbstractProcessor {
+
+  static final String CONVERTER_ANNOTATION =
+      "com.exonum.binding.service.AutoTransactionConverter";
+  static final String FACTORY_ANNOTATION = "com.exonum.binding.service.TransactionFactory";
+  static final String JSON_BODY_ANNOTATION = "com.exonum.binding.service.TransactionJsonBody";
+  private static final String TRANSACTION = "com.exonum.binding.transaction.Transaction";
+
+  private static final String DISPATCHER_SUFFIX = "Dispatcher";
+
+  private ProcessorSupport support;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    support = new ProcessorSupport(processingEnv);
+  }
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Collections.singleton(CONVERTER_ANNOTATION);
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (TypeElement annotation : annotations) {
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        processConverter((TypeElement) element);
+      }
+    }
+    return true;
+  }
+
+  private void processConverter(TypeElement converter) {
+    if (!support.checkSupportedClass(converter, "AutoTransactionConverter")) {
+      return;
+    }
+    AnnotationMirror annotation = findAnnotation(converter, CONVERTER_ANNOTATION).get();
+    Map<String, AnnotationValue> values = getValues(annotation);
+    short serviceId = (Short) values.get("serviceId").getValue();
+    @SuppressWarnings("unchecked")
+    List<? extends AnnotationValue> transactions =
+        (List<? extends AnnotationValue>) values.get("transactions").getValue();
+
+    String packageName = support.getPackageName(converter);
+    Map<Short, String> factories = new HashMap<>();
+    Map<Short, DispatcherWriter.JsonBody> jsonBodies = new HashMap<>();
+    Map<Short, TypeElement> transactionsById = new HashMap<>();
+    boolean valid = true;
+    for (AnnotationValue value : transactions) {
+      TypeMirror type = (TypeMirror) value.getValue();
+      if (type.getKind() != TypeKind.DECLARED) {
+        // An unknown class, which the compiler reports
+        valid = false;
+        continue;
+      }
+      TypeElement transaction = (TypeElement) ((DeclaredType) type).asElement();
+      Optional<ExecutableElement> factory = findFactory(transaction, converter, packageName);
+      if (!factory.isPresent()) {
+        valid = false;
+        continue;
+      }
+      AnnotationMirror factoryAnnotation =
+          findAnnotation(factory.get(), FACTORY_ANNOTATION).get();
+      short txId = (Short) getValues(factoryAnnotation).get("value").getValue();
+      TypeElement other = transactionsById.putIfAbsent(txId, transaction);
+      if (other != null) {
+        support.error("Transaction id " + txId + " of " + transaction.getQualifiedName()
+            + " is already used by " + other.getQualifiedName(), converter);
+        valid = false;
+        continue;
+      }
+      factories.put(txId, transaction.getQualifiedName() + "." + factory.get().getSimpleName());
+
+      List<ExecutableElement> jsonBodyMethods = findAnnotatedMethods(transaction,
+          JSON_BODY_ANNOTATION);
+      if (jsonBodyMethods.isEmpty()) {
+        continue;
+      }
+      Optional<DispatcherWriter.JsonBody> jsonBody =
+          checkJsonBody(transaction, jsonBodyMethods, converter, packageName);
+      if (!jsonBody.isPresent()) {
+        valid = false;
+        continue;
+      }
+      jsonBodies.put(txId, jsonBody.get());
+    }
+    if (!valid) {
+      return;
+    }
+
+    String dispatcherName = ProcessorSupport.getGeneratedName(converter, DISPATCHER_SUFFIX);
+    boolean isPublic = converter.getModifiers().contains(Modifier.PUBLIC);
+    DispatcherWriter writer = new DispatcherWriter(packageName, dispatcherName, isPublic,
+        serviceId, factories, jsonBodies, support.getGeneratedAnnotation());
+    support.writeSourceFile(packageName, dispatcherName, converter, writer::write);
+  }
+
+  /**
+   * Finds the factory of the transaction and checks that the converter can use it.
+   * Reports an error if there is none or it is not valid.
+   */
+  private Optional<ExecutableElement> findFactory(TypeElement transaction,
+      TypeElement converter, String converterPackage) {
+    List<ExecutableElement> factories = findAnnotatedMethods(transaction, FACTORY_ANNOTATION);
+    if (factories.isEmpty()) {
+      support.error("No method annotated with @TransactionFactory in "
+          + transaction.getQualifiedName(), converter);
+      return Optional.empty();
+    }
+    if (factories.size() > 1) {
+      support.error("Multiple methods annotated with @TransactionFactory in "
+          + transaction.getQualifiedName(), factories.get(1));
+      return Optional.empty();
+    }
+    ExecutableElement factory = factories.get(0);
+    if (!checkStaticAccessible(factory, "@TransactionFactory", transaction, converter,
+        converterPackage)) {
+      return Optional.empty();
+    }
+    if (!checkSignature(factory)) {
+      support.error("@TransactionFactory method must accept a single BinaryMessage "
+          + "and return a Transaction", factory);
+      return Optional.empty();
+    }
+    return Optional.of(factory);
+  }
+
+  /**
+   * Checks the method creating the binary body of the transaction from its parameters in JSON
+   * and returns the code invoking it. Reports an error if it is not valid.
+   */
+  private Optional<DispatcherWriter.JsonBody> checkJsonBody(TypeElement transaction,
+      List<ExecutableElement> methods, TypeElement converter, String converterPackage) {
+    if (methods.size() > 1) {
+      support.error("Multiple methods annotated with @TransactionJsonBody in "
+          + transaction.getQualifiedName(), methods.get(1));
+      return Optional.empty();
+    }
+    ExecutableElement method = methods.get(0);
+    if (!checkStaticAccessible(method, "@TransactionJsonBody", transaction, converter,
+        converterPackage)) {
+      return Optional.empty();
+    }
+    Optional<TypeElement> parameters = getJsonParameters(method);
+    if (!parameters.isPresent()) {
+      support.error("@TransactionJsonBody method must accept a single parameter of a class "
+          + "annotated with @AutoGsonAdapter and return byte[]", method);
+      return Optional.empty();
+    }
+    String adapterName = ProcessorSupport.getGeneratedName(parameters.get(),
+        GsonAdapterProcessor.ADAPTER_SUFFIX);
+    String adapterPackage = support.getPackageName(parameters.get());
+    return Optional.of(new DispatcherWriter.JsonBody(
+        transaction.getQualifiedName() + "." + method.getSimpleName(),
+        adapterPackage.isEmpty() ? adapterName : adapterPackage + "." + adapterName));
+  }
+
+  /**
+   * Returns the class of the transaction parameters in JSON, if the method has a valid
+   * signature.
+   */
+  private Optional<TypeElement> getJsonParameters(ExecutableElement method) {
+    TypeMirror returnType = method.getReturnType();
+    if (method.getParameters().size() != 1
+        || returnType.getKind() != TypeKind.ARRAY
+        || ((ArrayType) returnType).getComponentType().getKind() != TypeKind.BYTE) {
+      return Optional.empty();
+    }
+    TypeMirror parameter = method.getParameters().get(0).asType();
+    if (parameter.getKind() != TypeKind.DECLARED) {
+      return Optional.empty();
+    }
+    TypeElement parameterType = (TypeElement) ((DeclaredType) parameter).asElement();
+    if (parameterType.getAnnotation(AutoGsonAdapter.class) == null) {
+      return Optional.empty();
+    }
+    return Optional.of(parameterType);
+  }
+
+  /**
+   * Checks that the annotated method is static and the converter can invoke it.
+   * Reports an error if it is not.
+   */
+  private boolean checkStaticAccessible(ExecutableElement method, String annotationName,
+      TypeElement transaction, TypeElement converter, String converterPackage) {
+    Set<Modifier> modifiers = method.getModifiers();
+    if (!modifiers.contains(Modifier.STATIC)) {
+      support.error(annotationName + " method must be static", method);
+      return false;
+    }
+    if (modifiers.contains(Modifier.PRIVATE)
+        || !modifiers.contains(Modifier.PUBLIC)
+        && !support.getPackageName(transaction).equals(converterPackage)) {
+      support.error(annotationName + " method must be accessible from "
+          + converter.getQualifiedName(), method);
+      return false;
+    }
+    return true;
+  }
+
+  private boolean checkSignature(ExecutableElement factory) {
+    if (factory.getParameters().size() != 1) {
+      return false;
+    }
+    Types types = processingEnv.getTypeUtils();
+    TypeMirror binaryMessage = processingEnv.getElementUtils()
+        .getTypeElement(BinaryMessage.class.getCanonicalName()).asType();
+    TypeMirror parameter = factory.getParameters().get(0).asType();
+    TypeElement transaction = processingEnv.getElementUtils().getTypeElement(TRANSACTION);
+    return types.isAssignable(binaryMessage, parameter)
+        && transaction != null
+        && types.isAssignable(factory.getReturnType(), transaction.asType());
+  }
+
+  private static List<ExecutableElement> findAnnotatedMethods(TypeElement type,
+      String annotationName) {
+    List<ExecutableElement> methods = new ArrayList<>();
+    for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+      if (findAnnotation(method, annotationName).isPresent()) {
+        methods.add(method);
+      }
+    }
+    return methods;
+  }
+
+  private static Optional<AnnotationMirror> findAnnotation(Element element, String name) {
+    for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      TypeElement type = (TypeElement) annotation.getAnnotationType().asElement();
+      if (type.getQualifiedName().contentEquals(name)) {
+        return Optional.of(annotation);
+      }
+    }
+    return Optional.empty();
+  }
+
+  private Map<String, AnnotationValue> getValues(AnnotationMirror annotation) {
+    Map<String, AnnotationValue> values = new HashMap<>();
+    processingEnv.getElementUtils().getElementValuesWithDefaults(annotation)
+        .forEach((element, value) -> values.put(element.getSimpleName().toString(), value));
+    return values;
+  }
+}
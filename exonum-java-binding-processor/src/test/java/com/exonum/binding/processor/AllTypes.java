@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import com.exonum.binding.common.crypto.PublicKey;
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.serialization.AutoSerializer;
+import com.exonum.binding.common.serialization.ProtobufField;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A value class with the fields of all supported types, which constructor parameters
+ * are not in the order of the field numbers.
+ */
+public final class AllTypes {
+
+  private final long longValue;
+  private final int intValue;
+  private final boolean boolValue;
+  private final String stringValue;
+  private final byte[] bytesValue;
+  private final PublicKey publicKey;
+  private final HashCode hash;
+
+  @AutoSerializer
+  AllTypes(@ProtobufField(17) HashCode hash,
+      @ProtobufField(1) long longValue,
+      @ProtobufField(2) int intValue,
+      @ProtobufField(3) boolean boolValue,
+      @ProtobufField(4) String stringValue,
+      @ProtobufField(5) byte[] bytesValue,
+      @ProtobufField(6) PublicKey publicKey) {
+    this.longValue = longValue;
+    this.intValue = intValue;
+    this.boolValue = boolValue;
+    this.stringValue = stringValue;
+    this.bytesValue = bytesValue;
+    this.publicKey = publicKey;
+    this.hash = hash;
+  }
+
+  public long getLongValue() {
+    return longValue;
+  }
+
+  public int getIntValue() {
+    return intValue;
+  }
+
+  public boolean isBoolValue() {
+    return boolValue;
+  }
+
+  public String getStringValue() {
+    return stringValue;
+  }
+
+  public byte[] getBytesValue() {
+    return bytesValue;
+  }
+
+  public PublicKey publicKey() {
+    return publicKey;
+  }
+
+  public HashCode getHash() {
+    return hash;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    AllTypes that = (AllTypes) o;
+    return longValue == that.longValue
+        && intValue == that.intValue
+        && boolValue == that.boolValue
+        && stringValue.equals(that.stringValue)
+        && Arrays.equals(bytesValue, that.bytesValue)
+        && publicKey.equals(that.publicKey)
+        && hash.equals(that.hash);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(longValue, intValue, boolValue, stringValue, Arrays.hashCode(bytesValue),
+        publicKey, hash);
+  }
+
+  @Override
+  public String toString() {
+    return "AllTypes{"
+        + "longValue=" + longValue
+        + ", intValue=" + intValue
+        + ", boolValue=" + boolValue
+        + ", stringValue='" + stringValue + '\''
+        + ", bytesValue=" + Arrays.toString(bytesValue)
+        + ", publicKey=" + publicKey
+        + ", hash=" + hash
+        + '}';
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the errors the processor reports. The correct use of the processor is tested
+ * by {@link GeneratedSerializersTest} on the test classes compiled with the processor.
+ */
+class AutoSerializerProcessorTest {
+
+  private static final String IMPORTS = "import com.exonum.binding.common.crypto.PublicKey;\n"
+      + "import com.exonum.binding.common.serialization.AutoSerializer;\n"
+      + "import com.exonum.binding.common.serialization.ProtobufField;\n";
+
+  private TestCompiler compiler;
+
+  @BeforeEach
+  void createCompiler() throws IOException {
+    compiler = new TestCompiler();
+  }
+
+  @AfterEach
+  void deleteOutput() throws IOException {
+    compiler.close();
+  }
+
+  @Test
+  void generatesSerializer() throws Exception {
+    String source = IMPORTS
+        + "public final class Value {\n"
+        + "  private final long balance;\n"
+        + "  @AutoSerializer\n"
+        + "  public Value(@ProtobufField(2) long balance) { this.balance = balance; }\n"
+        + "  public long getBalance() { return balance; }\n"
+        + "}\n";
+
+    List<String> errors = compile(source);
+
+    assertTrue(errors.isEmpty(), errors::toString);
+    assertTrue(compiler.hasOutput("ValueSerializer.java"));
+    assertTrue(compiler.hasOutput("ValueSerializer.class"));
+  }
+
+  @Test
+  void missingFieldAnnotation() throws Exception {
+    String source = IMPORTS
+        + "public final class Value {\n"
+        + "  private final long balance;\n"
+        + "  @AutoSerializer\n"
+        + "  public Value(long balance) { this.balance = balance; }\n"
+        + "  public long getBalance() { return balance; }\n"
+        + "}\n";
+
+    assertThat(compile(source),
+        hasItem(containsString("must be annotated with @ProtobufField")));
+  }
+
+  @Test
+  void invalidFieldNumber() throws Exception {
+    String source = IMPORTS
+        + "public final class Value {\n"
+        + "  private final long balance;\n"
+        + "  @AutoSerializer\n"
+        + "  public Value(@ProtobufField(19000) long balance) { this.balance = balance; }\n"
+        + "  public long getBalance() { return balance; }\n"
+        + "}\n";
+
+    assertThat(compile(source),
+        hasItem(containsString("Invalid field number: 19000")));
+  }
+
+  @Test
+  void duplicateFieldNumber() throws Exception {
+    String source = IMPORTS
+        + "public final class Value {\n"
+        + "  private final long a;\n"
+        + "  private final long b;\n"
+        + "  @AutoSerializer\n"
+        + "  Value(@ProtobufField(1) long a, @ProtobufField(1) long b) {\n"
+        + "    this.a = a;\n"
+        + "    this.b = b;\n"
+        + "  }\n"
+        + "  long getA() { return a; }\n"
+        + "  long getB() { return b; }\n"
+        + "}\n";
+
+    assertThat(compile(source),
+        hasItem(containsString("Field number 1 is already used by a")));
+  }
+
+  @Test
+  void unsupportedType() throws Exception {
+    String source = IMPORTS
+        + "public final class Value {\n"
+        + "  private final Long balance;\n"
+        + "  @AutoSerializer\n"
+        + "  Value(@ProtobufField(1) Long balance) { this.balance = balance; }\n"
+        + "  Long getBalance() { return balance; }\n"
+        + "}\n";
+
+    assertThat(compile(source),
+        hasItem(containsString("Unsupported type: java.lang.Long")));
+  }
+
+  @Test
+  void missingAccessor() throws Exception {
+    String source = IMPORTS
+        + "public final class Value {\n"
+        + "  private final PublicKey key;\n"
+        + "  @AutoSerializer\n"
+        + "  Value(@ProtobufField(1) PublicKey key) { this.key = key; }\n"
+        + "  private PublicKey getKey() { return key; }\n"
+        + "}\n";
+
+    assertThat(compile(source),
+        hasItem(containsString("No accessor of key returning "
+            + "com.exonum.binding.common.crypto.PublicKey in Value")));
+  }
+
+  @Test
+  void privateConstructor() throws Exception {
+    String source = IMPORTS
+        + "public final class Value {\n"
+        + "  private final long balance;\n"
+        + "  @AutoSerializer\n"
+        + "  private Value(@ProtobufField(1) long balance) { this.balance = balance; }\n"
+        + "  public long getBalance() { return balance; }\n"
+        + "}\n";
+
+    assertThat(compile(source),
+        hasItem(containsString("@AutoSerializer element must not be private")));
+  }
+
+  @Test
+  void instanceFactoryMethod() throws Exception {
+    String source = IMPORTS
+        + "public final class Value {\n"
+        + "  @AutoSerializer\n"
+        + "  Value create() { return new Value(); }\n"
+        + "}\n";
+
+    assertThat(compile(source),
+        hasItem(containsString("@AutoSerializer method must be static")));
+  }
+
+  @Test
+  void innerClass() throws Exception {
+    String source = IMPORTS
+        + "public final class Value {\n"
+        + "  class Inner {\n"
+        + "    @AutoSerializer\n"
+        + "    Inner() {}\n"
+        + "  }\n"
+        + "}\n";
+
+    List<String> errors = compile(source);
+
+    assertThat(errors, hasItem(containsString("not supported in inner classes")));
+    assertFalse(compiler.hasOutput("Value_InnerSerializer.java"));
+  }
+
+  private List<String> compile(String valueSource) throws IOException, URISyntaxException {
+    return compiler.compile("Value", valueSource, new AutoSerializerProcessor());
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import static com.exonum.binding.test.Bytes.bytes;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.exonum.binding.common.crypto.PublicKey;
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.processor.JsonValues.AllJsonTypes;
+import com.exonum.binding.processor.JsonValues.TransferTx;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.google.gson.LongSerializationPolicy;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class GeneratedGsonAdaptersTest {
+
+  /**
+   * Gson writing the objects through reflection as the services of the binding do.
+   */
+  private static final Gson REFLECTIVE_GSON = new GsonBuilder()
+      .registerTypeHierarchyAdapter(HashCode.class,
+          (JsonSerializer<HashCode>) (src, t, c) -> new JsonPrimitive(src.toString()))
+      .registerTypeAdapter(PublicKey.class,
+          (JsonSerializer<PublicKey>) (src, t, c) -> new JsonPrimitive(src.toString()))
+      .setLongSerializationPolicy(LongSerializationPolicy.STRING)
+      .create();
+
+  private static final PublicKey KEY = PublicKey.fromBytes(bytes(0x0a, 0x0b, 0xff));
+
+  private static final HashCode HASH = Hashing.sha256().hashString("tx", UTF_8);
+
+  @ParameterizedTest
+  @MethodSource("values")
+  void writeMatchesReflectiveGson(AllJsonTypes value) {
+    String json = JsonValues_AllJsonTypesGsonAdapter.INSTANCE.toJson(value);
+
+    assertThat(parse(json), equalTo(parse(REFLECTIVE_GSON.toJson(value))));
+  }
+
+  @ParameterizedTest
+  @MethodSource("values")
+  void roundTrip(AllJsonTypes value) throws IOException {
+    String json = JsonValues_AllJsonTypesGsonAdapter.INSTANCE.toJson(value);
+
+    AllJsonTypes actual = JsonValues_AllJsonTypesGsonAdapter.INSTANCE.fromJson(json);
+
+    assertThat(actual, equalTo(value));
+  }
+
+  @Test
+  void readSkipsUnknownPropertiesAndNulls() throws IOException {
+    String json = "{\"unknown\": {\"int64\": \"1\"}, \"int64\": 10, \"int32\": \"11\", "
+        + "\"text\": null, \"key\": \"0a0bff\", \"array\": [1, 2]}";
+
+    AllJsonTypes actual = JsonValues_AllJsonTypesGsonAdapter.INSTANCE.fromJson(json);
+
+    AllJsonTypes expected = new AllJsonTypes(10L, 11, (short) 0, (byte) 0, false, null, KEY,
+        null);
+    assertThat(actual, equalTo(expected));
+  }
+
+  @Test
+  void readNull() throws IOException {
+    assertThat(JsonValues_AllJsonTypesGsonAdapter.INSTANCE.fromJson("null"), nullValue());
+  }
+
+  @Test
+  void writeWriteOnlyValue() {
+    TransferTx tx = new TransferTx(new Object(), Long.MIN_VALUE, KEY, 100L, null);
+
+    String json = JsonValues_TransferTxGsonAdapter.INSTANCE.toJson(tx);
+
+    // The superclass fields follow, and the transient ones are omitted, as in Gson
+    assertThat(json, equalTo("{\"fromWallet\":\"0a0bff\",\"sum\":\"100\","
+        + "\"seed\":\"-9223372036854775808\"}"));
+    assertThat(parse(json), equalTo(parse(REFLECTIVE_GSON.toJson(tx))));
+  }
+
+  @Test
+  void readWriteOnlyValue() {
+    assertThrows(UnsupportedOperationException.class,
+        () -> JsonValues_TransferTxGsonAdapter.INSTANCE.fromJson("{}"));
+  }
+
+  private static JsonElement parse(String json) {
+    return new JsonParser().parse(json);
+  }
+
+  private static Collection<AllJsonTypes> values() {
+    return Arrays.asList(
+        new AllJsonTypes(0L, 0, (short) 0, (byte) 0, false, null, null, null),
+        new AllJsonTypes(Long.MAX_VALUE, Integer.MIN_VALUE, Short.MAX_VALUE, Byte.MIN_VALUE,
+            true, "Text with \"quotes\", é and Ж", KEY, HASH),
+        new AllJsonTypes(-1L, -1, (short) -1, (byte) -1, true, "", KEY, HASH)
+    );
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import com.exonum.binding.common.crypto.PublicKey;
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.processor.Transfers.Transfer;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the generated serializer of a value similar to the history entity
+ * of the cryptocurrency service with a hand-written one, which copies the value
+ * through a protobuf message, as the serializers in the demo services do.
+ *
+ * <p>To run the benchmark, compile the tests and launch the JMH runner:
+ * <pre>
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main \
+ *     GeneratedSerializerBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratedSerializerBenchmark {
+
+  private Transfer transfer;
+
+  private byte[] serializedTransfer;
+
+  private ByteBuffer buffer;
+
+  /**
+   * Creates a transfer with random keys and its binary representation.
+   */
+  @Setup
+  public void setUp() {
+    Random random = new Random(1);
+    byte[] key = new byte[32];
+    random.nextBytes(key);
+    PublicKey from = PublicKey.fromBytes(key);
+    random.nextBytes(key);
+    PublicKey to = PublicKey.fromBytes(key);
+    HashCode txHash = Hashing.sha256().hashLong(random.nextLong());
+    transfer = Transfer.create(random.nextLong(), from, to, 1_000L, txHash);
+    serializedTransfer = Transfers_TransferSerializer.INSTANCE.toBytes(transfer);
+    buffer = ByteBuffer.allocate(serializedTransfer.length);
+  }
+
+  @Benchmark
+  public byte[] generatedToBytes() {
+    return Transfers_TransferSerializer.INSTANCE.toBytes(transfer);
+  }
+
+  /**
+   * Serializes the transfer into the same buffer on each invocation.
+   */
+  @Benchmark
+  public ByteBuffer generatedWriteToBuffer() {
+    buffer.clear();
+    Transfers_TransferSerializer.INSTANCE.writeTo(transfer, buffer);
+    return buffer;
+  }
+
+  @Benchmark
+  public Transfer generatedFromBytes() {
+    return Transfers_TransferSerializer.INSTANCE.fromBytes(serializedTransfer);
+  }
+
+  /**
+   * Serializes the transfer through a protobuf message.
+   */
+  @Benchmark
+  public byte[] protobufToBytes() {
+    return TestProtos.Transfer.newBuilder()
+        .setSeed(transfer.getSeed())
+        .setFrom(ByteString.copyFrom(transfer.getFrom().toBytes()))
+        .setTo(ByteString.copyFrom(transfer.getTo().toBytes()))
+        .setAmount(transfer.getAmount())
+        .setTxHash(ByteString.copyFrom(transfer.getTxHash().asBytes()))
+        .build()
+        .toByteArray();
+  }
+
+  /**
+   * De-serializes the transfer through a protobuf message.
+   */
+  @Benchmark
+  public Transfer protobufFromBytes() throws InvalidProtocolBufferException {
+    TestProtos.Transfer message = TestProtos.Transfer.parseFrom(serializedTransfer);
+    return Transfer.create(message.getSeed(),
+        PublicKey.fromBytes(message.getFrom().toByteArray()),
+        PublicKey.fromBytes(message.getTo().toByteArray()),
+        message.getAmount(),
+        HashCode.fromBytes(message.getTxHash().toByteArray()));
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import static com.exonum.binding.test.Bytes.bytes;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.exonum.binding.common.crypto.PublicKey;
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.common.serialization.BufferSerializer;
+import com.exonum.binding.processor.Transfers.Transfer;
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.ByteString;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class GeneratedSerializersTest {
+
+  private static final PublicKey KEY_1 = PublicKey.fromBytes(filledArray(32, 1));
+  private static final PublicKey KEY_2 = PublicKey.fromBytes(filledArray(32, 2));
+  private static final HashCode HASH = Hashing.sha256().hashBytes(bytes(1, 2, 3));
+
+  private final BufferSerializer<AllTypes> allTypesSerializer = AllTypesSerializer.INSTANCE;
+
+  private final BufferSerializer<Transfer> transferSerializer =
+      Transfers_TransferSerializer.INSTANCE;
+
+  @ParameterizedTest
+  @MethodSource("allTypesValues")
+  void allTypesMatchesProtobuf(AllTypes value) {
+    byte[] expected = toProto(value).toByteArray();
+
+    assertThat(allTypesSerializer.toBytes(value), equalTo(expected));
+    assertThat(allTypesSerializer.getSerializedSize(value), equalTo(expected.length));
+    assertThat(allTypesSerializer.fromBytes(expected), equalTo(value));
+  }
+
+  @ParameterizedTest
+  @MethodSource("allTypesValues")
+  void allTypesWriteToBuffer(AllTypes value) {
+    byte[] expected = toProto(value).toByteArray();
+    int offset = 3;
+    ByteBuffer buffer = ByteBuffer.allocate(offset + expected.length);
+    buffer.position(offset);
+
+    int size = allTypesSerializer.writeTo(value, buffer);
+
+    assertThat(size, equalTo(expected.length));
+    assertThat(buffer.position(), equalTo(offset + size));
+    buffer.position(offset);
+    assertThat(allTypesSerializer.readFrom(buffer), equalTo(value));
+  }
+
+  @Test
+  void allTypesWriteToDirectBuffer() {
+    AllTypes value = new AllTypes(HASH, 1L, 2, true, "s", bytes(1), KEY_1);
+    byte[] expected = toProto(value).toByteArray();
+    ByteBuffer buffer = ByteBuffer.allocateDirect(expected.length);
+
+    allTypesSerializer.writeTo(value, buffer);
+
+    byte[] actual = new byte[expected.length];
+    buffer.flip();
+    buffer.get(actual);
+    assertThat(actual, equalTo(expected));
+  }
+
+  @ParameterizedTest
+  @MethodSource("allTypesValues")
+  void allTypesReadFromDirectBuffer(AllTypes value) {
+    byte[] serializedValue = toProto(value).toByteArray();
+    ByteBuffer buffer = ByteBuffer.allocateDirect(serializedValue.length);
+    buffer.put(serializedValue);
+    buffer.flip();
+
+    assertThat(allTypesSerializer.readFrom(buffer), equalTo(value));
+    assertThat(buffer.hasRemaining(), equalTo(false));
+  }
+
+  @Test
+  void readFromArrayRange() {
+    Transfer value = Transfer.create(10L, KEY_1, KEY_2, 100L, HASH);
+    byte[] serializedValue = transferSerializer.toBytes(value);
+    byte[] input = new byte[serializedValue.length + 2];
+    System.arraycopy(serializedValue, 0, input, 1, serializedValue.length);
+    ByteBuffer buffer = ByteBuffer.wrap(input, 1, serializedValue.length).slice();
+
+    assertThat(transferSerializer.readFrom(buffer), equalTo(value));
+  }
+
+  @Test
+  void transferMatchesProtobuf() {
+    Transfer value = Transfer.create(10L, KEY_1, KEY_2, 100L, HASH);
+    TestProtos.Transfer expected = TestProtos.Transfer.newBuilder()
+        .setSeed(10L)
+        .setFrom(ByteString.copyFrom(KEY_1.toBytes()))
+        .setTo(ByteString.copyFrom(KEY_2.toBytes()))
+        .setAmount(100L)
+        .setTxHash(ByteString.copyFrom(HASH.asBytes()))
+        .build();
+
+    assertThat(transferSerializer.toBytes(value), equalTo(expected.toByteArray()));
+    assertThat(transferSerializer.fromBytes(expected.toByteArray()), equalTo(value));
+  }
+
+  @Test
+  void readFromSkipsUnknownFields() {
+    Transfer value = Transfer.create(10L, KEY_1, KEY_2, 100L, HASH);
+    byte[] newerVersion = TestProtos.TransferV2.newBuilder()
+        .setSeed(10L)
+        .setFrom(ByteString.copyFrom(KEY_1.toBytes()))
+        .setTo(ByteString.copyFrom(KEY_2.toBytes()))
+        .setAmount(100L)
+        .setTxHash(ByteString.copyFrom(HASH.asBytes()))
+        .setComment("A comment")
+        .build()
+        .toByteArray();
+
+    assertThat(transferSerializer.fromBytes(newerVersion), equalTo(value));
+  }
+
+  @Test
+  void readFromFieldsInAnyOrder() {
+    Transfer value = Transfer.create(10L, KEY_1, KEY_2, 100L, HASH);
+    byte[] amount = TestProtos.Transfer.newBuilder()
+        .setAmount(100L)
+        .build()
+        .toByteArray();
+    byte[] rest = TestProtos.Transfer.newBuilder()
+        .setSeed(10L)
+        .setFrom(ByteString.copyFrom(KEY_1.toBytes()))
+        .setTo(ByteString.copyFrom(KEY_2.toBytes()))
+        .setTxHash(ByteString.copyFrom(HASH.asBytes()))
+        .build()
+        .toByteArray();
+    // Concatenated messages are merged, as in protobuf
+    byte[] input = ByteBuffer.allocate(amount.length + rest.length)
+        .put(amount)
+        .put(rest)
+        .array();
+
+    assertThat(transferSerializer.fromBytes(input), equalTo(value));
+  }
+
+  @Test
+  void readFromRejectsMissingRequiredField() {
+    byte[] noTxHash = TestProtos.Transfer.newBuilder()
+        .setSeed(10L)
+        .setFrom(ByteString.copyFrom(KEY_1.toBytes()))
+        .setTo(ByteString.copyFrom(KEY_2.toBytes()))
+        .build()
+        .toByteArray();
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> transferSerializer.fromBytes(noTxHash));
+    assertThat(e.getMessage(), containsString("txHash"));
+  }
+
+  @Test
+  void readFromRejectsTruncatedInput() {
+    Transfer value = Transfer.create(10L, KEY_1, KEY_2, 100L, HASH);
+    byte[] serializedValue = transferSerializer.toBytes(value);
+    byte[] truncated = new byte[serializedValue.length - 1];
+    System.arraycopy(serializedValue, 0, truncated, 0, truncated.length);
+
+    assertThrows(IllegalArgumentException.class, () -> transferSerializer.fromBytes(truncated));
+  }
+
+  @Test
+  void readFromRejectsInvalidString() {
+    // The string field (4) with a single byte that is not valid UTF-8
+    byte[] input = bytes(0x22, 0x01, 0xFF);
+
+    assertThrows(IllegalArgumentException.class, () -> allTypesSerializer.fromBytes(input));
+  }
+
+  @Test
+  void readFromRejectsNegativeTag() {
+    // The tag is a ten-byte varint of -1
+    byte[] input = bytes(0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x01);
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> allTypesSerializer.fromBytes(input));
+    assertThat(e.getMessage(), containsString("Invalid tag"));
+  }
+
+  private static Collection<AllTypes> allTypesValues() {
+    return ImmutableList.of(
+        // Default values of the optional fields
+        new AllTypes(HASH, 0L, 0, false, "", new byte[0], KEY_1),
+        new AllTypes(HASH, 1L, 1, true, "a", bytes(1), KEY_1),
+        new AllTypes(HASH, -1L, -1, true, "Iñtërnâtiônàlizætiøn", bytes(0xFF, 0), KEY_2),
+        new AllTypes(HashCode.fromInt(1), Long.MIN_VALUE, Integer.MIN_VALUE, false,
+            "🤷", new byte[300], PublicKey.fromBytes(bytes(1, 2))),
+        new AllTypes(HASH, Long.MAX_VALUE, Integer.MAX_VALUE, true, "b", bytes(2), KEY_2)
+    );
+  }
+
+  private static TestProtos.AllTypes toProto(AllTypes value) {
+    return TestProtos.AllTypes.newBuilder()
+        .setLongValue(value.getLongValue())
+        .setIntValue(value.getIntValue())
+        .setBoolValue(value.isBoolValue())
+        .setStringValue(value.getStringValue())
+        .setBytesValue(ByteString.copyFrom(value.getBytesValue()))
+        .setPublicKey(ByteString.copyFrom(value.publicKey().toBytes()))
+        .setHash(ByteString.copyFrom(value.getHash().asBytes()))
+        .build();
+  }
+
+  private static byte[] filledArray(int size, int value) {
+    byte[] array = new byte[size];
+    Arrays.fill(array, (byte) value);
+    return array;
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.exonum.binding.common.message.BinaryMessage;
+import com.exonum.binding.common.message.Message;
+import com.exonum.binding.processor.TestTransactions.CreateTx;
+import com.exonum.binding.processor.TestTransactions.TransferTx;
+import com.exonum.binding.transaction.Transaction;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+class GeneratedTransactionConverterTest {
+
+  private final TestTransactionConverter converter = new TestTransactionConverter();
+
+  @Test
+  void toTransaction() {
+    BinaryMessage message = message(TestTransactions.SERVICE_ID, CreateTx.ID);
+
+    Transaction tx = converter.toTransaction(message);
+
+    assertThat(tx, instanceOf(CreateTx.class));
+    assertThat(tx.getMessage(), equalTo(message));
+  }
+
+  @Test
+  void toTransactionFactoryOfMessage() {
+    BinaryMessage message = message(TestTransactions.SERVICE_ID, TransferTx.ID);
+
+    Transaction tx = converter.toTransaction(message);
+
+    assertThat(tx, instanceOf(TransferTx.class));
+  }
+
+  @Test
+  void toTransactionOfAnotherService() {
+    BinaryMessage message = message((short) (TestTransactions.SERVICE_ID + 1), CreateTx.ID);
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> converter.toTransaction(message));
+    assertThat(e.getMessage(), equalTo("Wrong service id (43), must be 42"));
+  }
+
+  @Test
+  void toTransactionUnknownTransaction() {
+    BinaryMessage message = message(TestTransactions.SERVICE_ID, (short) 2);
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> converter.toTransaction(message));
+    assertThat(e.getMessage(), equalTo("Unknown transaction id: 2"));
+  }
+
+  @Test
+  void hasTransaction() {
+    assertTrue(TestTransactionConverterDispatcher.hasTransaction(CreateTx.ID));
+    assertTrue(TestTransactionConverterDispatcher.hasTransaction(TransferTx.ID));
+    assertFalse(TestTransactionConverterDispatcher.hasTransaction((short) 0));
+  }
+
+  @Test
+  void readJsonBody() throws IOException {
+    JsonReader reader = new JsonReader(new StringReader("{\"value\": 258}"));
+
+    byte[] body = TestTransactionConverterDispatcher.readJsonBody(CreateTx.ID, reader);
+
+    assertThat(body, equalTo(new byte[] {0, 0, 0, 0, 0, 0, 1, 2}));
+  }
+
+  @Test
+  void readJsonBodyTree() {
+    byte[] body = TestTransactionConverterDispatcher.readJsonBody(CreateTx.ID,
+        new JsonParser().parse("{\"value\": 1}"));
+
+    assertThat(body, equalTo(new byte[] {0, 0, 0, 0, 0, 0, 0, 1}));
+  }
+
+  @Test
+  void readJsonBodyNull() {
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> TestTransactionConverterDispatcher.readJsonBody(CreateTx.ID, JsonNull.INSTANCE));
+    assertThat(e.getMessage(), equalTo("The body of the message is null"));
+  }
+
+  @Test
+  void readJsonBodyTransactionWithoutJsonBody() {
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> TestTransactionConverterDispatcher.readJsonBody(TransferTx.ID,
+            new JsonParser().parse("{}")));
+    assertThat(e.getMessage(), startsWith("No transaction with parameters in JSON"));
+  }
+
+  private static BinaryMessage message(short serviceId, short txId) {
+    return new Message.Builder()
+        .setServiceId(serviceId)
+        .setMessageType(txId)
+        .setBody(ByteBuffer.allocate(0))
+        .setSignature(new byte[Message.SIGNATURE_SIZE])
+        .buildRaw();
+  }
+}
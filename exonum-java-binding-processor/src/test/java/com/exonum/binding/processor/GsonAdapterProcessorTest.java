@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the errors the processor reports. The correct use of the processor is tested
+ * by {@link GeneratedGsonAdaptersTest} on the test classes compiled with the processor.
+ */
+class GsonAdapterProcessorTest {
+
+  private static final String IMPORTS = "import com.exonum.binding.common.crypto.PublicKey;\n"
+      + "import com.exonum.binding.common.serialization.AutoGsonAdapter;\n";
+
+  private TestCompiler compiler;
+
+  @BeforeEach
+  void createCompiler() throws IOException {
+    compiler = new TestCompiler();
+  }
+
+  @AfterEach
+  void deleteOutput() throws IOException {
+    compiler.close();
+  }
+
+  @Test
+  void generatesAdapter() throws Exception {
+    String source = IMPORTS
+        + "@AutoGsonAdapter\n"
+        + "public final class Value {\n"
+        + "  private final PublicKey key;\n"
+        + "  private static final long CONSTANT = 1L;\n"
+        + "  public Value(PublicKey key) { this.key = key; }\n"
+        + "  public PublicKey getKey() { return key; }\n"
+        + "}\n";
+
+    List<String> errors = compile(source);
+
+    assertTrue(errors.isEmpty(), errors::toString);
+    assertTrue(compiler.hasOutput("ValueGsonAdapter.java"));
+    assertTrue(compiler.hasOutput("ValueGsonAdapter.class"));
+  }
+
+  @Test
+  void unsupportedType() throws Exception {
+    String source = IMPORTS
+        + "@AutoGsonAdapter\n"
+        + "public final class Value {\n"
+        + "  final Long balance;\n"
+        + "  Value(Long balance) { this.balance = balance; }\n"
+        + "}\n";
+
+    assertThat(compile(source),
+        hasItem(containsString("Unsupported type: java.lang.Long")));
+  }
+
+  @Test
+  void missingAccessor() throws Exception {
+    String source = IMPORTS
+        + "@AutoGsonAdapter\n"
+        + "public final class Value {\n"
+        + "  private final PublicKey key;\n"
+        + "  Value(PublicKey key) { this.key = key; }\n"
+        + "  private PublicKey getKey() { return key; }\n"
+        + "}\n";
+
+    assertThat(compile(source),
+        hasItem(containsString("No accessor of key returning "
+            + "com.exonum.binding.common.crypto.PublicKey in Value")));
+  }
+
+  @Test
+  void hiddenField() throws Exception {
+    String source = IMPORTS
+        + "@AutoGsonAdapter\n"
+        + "public final class Value extends Base {\n"
+        + "  long seed;\n"
+        + "}\n"
+        + "class Base {\n"
+        + "  long seed;\n"
+        + "}\n";
+
+    assertThat(compile(source),
+        hasItem(containsString("Multiple fields named seed in Value")));
+  }
+
+  @Test
+  void genericClass() throws Exception {
+    String source = IMPORTS
+        + "@AutoGsonAdapter\n"
+        + "public final class Value<T> {\n"
+        + "  long seed;\n"
+        + "}\n";
+
+    assertThat(compile(source),
+        hasItem(containsString("@AutoGsonAdapter is not supported in generic classes")));
+  }
+
+  private List<String> compile(String valueSource) throws IOException, URISyntaxException {
+    return compiler.compile("Value", valueSource, new GsonAdapterProcessor());
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import com.exonum.binding.common.crypto.PublicKey;
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.serialization.AutoGsonAdapter;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * Holds the classes which Gson type adapters are generated by the processor.
+ */
+final class JsonValues {
+
+  /**
+   * A class with the fields of all supported types and a constructor accepting them.
+   */
+  @AutoGsonAdapter
+  static final class AllJsonTypes {
+
+    final long int64;
+    final int int32;
+    final short int16;
+    final byte int8;
+    final boolean flag;
+    @Nullable
+    final String text;
+    @Nullable
+    final PublicKey key;
+    @Nullable
+    final HashCode hash;
+
+    AllJsonTypes(long int64, int int32, short int16, byte int8, boolean flag,
+        @Nullable String text, @Nullable PublicKey key, @Nullable HashCode hash) {
+      this.int64 = int64;
+      this.int32 = int32;
+      this.int16 = int16;
+      this.int8 = int8;
+      this.flag = flag;
+      this.text = text;
+      this.key = key;
+      this.hash = hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      AllJsonTypes that = (AllJsonTypes) o;
+      return int64 == that.int64
+          && int32 == that.int32
+          && int16 == that.int16
+          && int8 == that.int8
+          && flag == that.flag
+          && Objects.equals(text, that.text)
+          && Objects.equals(key, that.key)
+          && Objects.equals(hash, that.hash);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(int64, int32, int16, int8, flag, text, key, hash);
+    }
+  }
+
+  /**
+   * A base class of a transaction, with a field accessible through a getter
+   * and a transient field.
+   */
+  abstract static class BaseTx {
+
+    private final long seed;
+    transient Object message;
+
+    BaseTx(Object message, long seed) {
+      this.message = message;
+      this.seed = seed;
+    }
+
+    long getSeed() {
+      return seed;
+    }
+  }
+
+  /**
+   * A transaction-like class which has no constructor accepting all its fields.
+   */
+  @AutoGsonAdapter
+  static final class TransferTx extends BaseTx {
+
+    private final PublicKey fromWallet;
+    private final long sum;
+    @Nullable
+    private final String memo;
+
+    TransferTx(Object message, long seed, PublicKey fromWallet, long sum,
+        @Nullable String memo) {
+      super(message, seed);
+      this.fromWallet = fromWallet;
+      this.sum = sum;
+      this.memo = memo;
+    }
+
+    PublicKey getFromWallet() {
+      return fromWallet;
+    }
+
+    long sum() {
+      return sum;
+    }
+
+    @Nullable
+    String getMemo() {
+      return memo;
+    }
+  }
+
+  private JsonValues() {}
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import static java.util.stream.Collectors.toList;
+
+import com.exonum.binding.common.serialization.AutoSerializer;
+import com.exonum.binding.service.TransactionConverter;
+import com.google.gson.TypeAdapter;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+import javax.annotation.processing.Processor;
+import javax.tools.Diagnostic;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+/**
+ * Compiles a source file in memory with a processor, writing the generated sources and
+ * the classes into a temporary directory.
+ */
+final class TestCompiler implements AutoCloseable {
+
+  private final Path outputDir;
+
+  TestCompiler() throws IOException {
+    outputDir = Files.createTempDirectory("processor-test");
+  }
+
+  /**
+   * Compiles the source of a single top-level class in the unnamed package.
+   *
+   * @param className the name of the class
+   * @param source the source code of the class
+   * @param processors the processors to run
+   * @return the messages of the compilation errors
+   */
+  List<String> compile(String className, String source, Processor... processors)
+      throws IOException, URISyntaxException {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(diagnostics, Locale.ROOT, null)) {
+      fileManager.setLocation(StandardLocation.CLASS_OUTPUT,
+          Collections.singleton(outputDir.toFile()));
+      fileManager.setLocation(StandardLocation.SOURCE_OUTPUT,
+          Collections.singleton(outputDir.toFile()));
+      // The classes of the annotations and of the generated code
+      List<File> classPath = new ArrayList<>();
+      for (Class<?> c : new Class<?>[] {AutoSerializer.class, TransactionConverter.class,
+          TypeAdapter.class}) {
+        classPath.add(new File(c.getProtectionDomain().getCodeSource().getLocation().toURI()));
+      }
+      fileManager.setLocation(StandardLocation.CLASS_PATH, classPath);
+
+      JavaFileObject sourceFile = new StringSource(className, source);
+      CompilationTask task = compiler.getTask(null, fileManager, diagnostics, null, null,
+          Collections.singleton(sourceFile));
+      task.setProcessors(Arrays.asList(processors));
+      task.call();
+    }
+    return errors(diagnostics.getDiagnostics());
+  }
+
+  /**
+   * Returns true if the compiler has written a file with the given name.
+   */
+  boolean hasOutput(String fileName) {
+    return Files.exists(outputDir.resolve(fileName));
+  }
+
+  private static List<String> errors(List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+    return diagnostics.stream()
+        .filter(d -> d.getKind() == Kind.ERROR)
+        .map(d -> d.getMessage(Locale.ROOT))
+        .collect(toList());
+  }
+
+  /**
+   * Deletes the output directory.
+   */
+  @Override
+  public void close() throws IOException {
+    try (Stream<Path> files = Files.walk(outputDir)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).collect(toList())) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  private static class StringSource extends SimpleJavaFileObject {
+
+    private final String code;
+
+    StringSource(String className, String code) {
+      super(URI.create("string:///" + className + JavaFileObject.Kind.SOURCE.extension),
+          JavaFileObject.Kind.SOURCE);
+      this.code = code;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return code;
+    }
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import com.exonum.binding.common.message.BinaryMessage;
+import com.exonum.binding.processor.TestTransactions.CreateTx;
+import com.exonum.binding.processor.TestTransactions.TransferTx;
+import com.exonum.binding.service.AutoTransactionConverter;
+import com.exonum.binding.service.TransactionConverter;
+import com.exonum.binding.transaction.Transaction;
+
+/**
+ * A converter of test transactions, which dispatcher is generated by the processor.
+ */
+@AutoTransactionConverter(
+    serviceId = TestTransactions.SERVICE_ID,
+    transactions = {CreateTx.class, TransferTx.class})
+final class TestTransactionConverter implements TransactionConverter {
+
+  @Override
+  public Transaction toTransaction(BinaryMessage message) {
+    return TestTransactionConverterDispatcher.INSTANCE.toTransaction(message);
+  }
+}
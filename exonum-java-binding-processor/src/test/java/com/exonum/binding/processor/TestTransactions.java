@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import com.exonum.binding.common.message.BinaryMessage;
+import com.exonum.binding.common.message.Message;
+import com.exonum.binding.common.serialization.AutoGsonAdapter;
+import com.exonum.binding.service.TransactionFactory;
+import com.exonum.binding.service.TransactionJsonBody;
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.transaction.AbstractTransaction;
+import java.nio.ByteBuffer;
+
+/**
+ * Holds the transactions of the service with {@link TestTransactionConverter}.
+ */
+final class TestTransactions {
+
+  static final short SERVICE_ID = 42;
+
+  static final class CreateTx extends TestTransaction {
+
+    static final short ID = 1;
+
+    private CreateTx(BinaryMessage message) {
+      super(message);
+    }
+
+    @TransactionFactory(ID)
+    static CreateTx fromMessage(BinaryMessage message) {
+      return new CreateTx(message);
+    }
+
+    /** Returns the value as a big-endian 8-byte body. */
+    @TransactionJsonBody
+    static byte[] toBody(CreateTxData parameters) {
+      return ByteBuffer.allocate(Long.BYTES)
+          .putLong(parameters.value)
+          .array();
+    }
+  }
+
+  @AutoGsonAdapter
+  static final class CreateTxData {
+
+    final long value;
+
+    CreateTxData(long value) {
+      this.value = value;
+    }
+  }
+
+  static final class TransferTx extends TestTransaction {
+
+    static final short ID = 300;
+
+    private TransferTx(BinaryMessage message) {
+      super(message);
+    }
+
+    /** Accepts any message to check the generated code accepts such factories. */
+    @TransactionFactory(ID)
+    static TestTransaction create(Message message) {
+      return new TransferTx((BinaryMessage) message);
+    }
+  }
+
+  abstract static class TestTransaction extends AbstractTransaction {
+
+    TestTransaction(BinaryMessage message) {
+      super(message);
+    }
+
+    @Override
+    public boolean isValid() {
+      return true;
+    }
+
+    @Override
+    public void execute(Fork view) {
+      throw new AssertionError("Must not be executed");
+    }
+  }
+
+  private TestTransactions() {}
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the errors the processor reports. The correct use of the processor is tested
+ * by {@link GeneratedTransactionConverterTest} on the test classes compiled with the processor.
+ */
+class TransactionConverterProcessorTest {
+
+  private static final String IMPORTS = "import com.exonum.binding.common.message.*;\n"
+      + "import com.exonum.binding.service.*;\n"
+      + "import com.exonum.binding.storage.database.Fork;\n"
+      + "import com.exonum.binding.transaction.*;\n";
+
+  private static final String CONVERTER = "public final class Converter"
+      + " implements TransactionConverter {\n"
+      + "  public Transaction toTransaction(BinaryMessage message) {\n"
+      + "    return ConverterDispatcher.INSTANCE.toTransaction(message);\n"
+      + "  }\n"
+      + "}\n";
+
+  private static final String TX_DATA = "@com.exonum.binding.common.serialization.AutoGsonAdapter\n"
+      + "final class TxData {\n"
+      + "  final long value;\n"
+      + "  TxData(long value) { this.value = value; }\n"
+      + "}\n";
+
+  private TestCompiler compiler;
+
+  @BeforeEach
+  void createCompiler() throws IOException {
+    compiler = new TestCompiler();
+  }
+
+  @AfterEach
+  void deleteOutput() throws IOException {
+    compiler.close();
+  }
+
+  @Test
+  void generatesConverter() throws Exception {
+    String source = IMPORTS
+        + "@AutoTransactionConverter(serviceId = 1, transactions = {Tx.class})\n"
+        + CONVERTER
+        + transaction("Tx", "@TransactionFactory(1) static Tx fromMessage(BinaryMessage m)");
+
+    List<String> errors = compile(source);
+
+    assertTrue(errors.isEmpty(), errors::toString);
+    assertTrue(compiler.hasOutput("ConverterDispatcher.java"));
+    assertTrue(compiler.hasOutput("ConverterDispatcher.class"));
+  }
+
+  @Test
+  void missingFactory() throws Exception {
+    String source = IMPORTS
+        + "@AutoTransactionConverter(serviceId = 1, transactions = {Tx.class})\n"
+        + CONVERTER
+        + transaction("Tx", "static Tx fromMessage(BinaryMessage m)");
+
+    List<String> errors = compile(source);
+
+    assertThat(errors, hasItem(containsString("No method annotated with @TransactionFactory "
+        + "in Tx")));
+    assertFalse(compiler.hasOutput("ConverterDispatcher.java"));
+  }
+
+  @Test
+  void duplicateId() throws Exception {
+    String source = IMPORTS
+        + "@AutoTransactionConverter(serviceId = 1, transactions = {Tx.class, OtherTx.class})\n"
+        + CONVERTER
+        + transaction("Tx", "@TransactionFactory(1) static Tx fromMessage(BinaryMessage m)")
+        + transaction("OtherTx",
+            "@TransactionFactory(1) static OtherTx fromMessage(BinaryMessage m)");
+
+    assertThat(compile(source),
+        hasItem(containsString("Transaction id 1 of OtherTx is already used by Tx")));
+  }
+
+  @Test
+  void instanceFactory() throws Exception {
+    String source = IMPORTS
+        + "@AutoTransactionConverter(serviceId = 1, transactions = {Tx.class})\n"
+        + CONVERTER
+        + transaction("Tx", "@TransactionFactory(1) Tx fromMessage(BinaryMessage m)");
+
+    assertThat(compile(source),
+        hasItem(containsString("@TransactionFactory method must be static")));
+  }
+
+  @Test
+  void invalidFactorySignature() throws Exception {
+    String source = IMPORTS
+        + "@AutoTransactionConverter(serviceId = 1, transactions = {Tx.class})\n"
+        + CONVERTER
+        + transaction("Tx", "@TransactionFactory(1) static Tx fromMessage(byte[] m)");
+
+    assertThat(compile(source),
+        hasItem(containsString("must accept a single BinaryMessage and return a Transaction")));
+  }
+
+  @Test
+  void generatesJsonBody() throws Exception {
+    String source = IMPORTS
+        + "@AutoTransactionConverter(serviceId = 1, transactions = {Tx.class})\n"
+        + CONVERTER
+        + transaction("Tx", "@TransactionFactory(1) static Tx fromMessage(BinaryMessage m)",
+            "@TransactionJsonBody static byte[] toBody(TxData d)")
+        + TX_DATA;
+
+    List<String> errors = compiler.compile("Converter", source,
+        new TransactionConverterProcessor(), new GsonAdapterProcessor());
+
+    assertTrue(errors.isEmpty(), errors::toString);
+    assertTrue(compiler.hasOutput("ConverterDispatcher.class"));
+  }
+
+  @Test
+  void invalidJsonBodySignature() throws Exception {
+    String source = IMPORTS
+        + "@AutoTransactionConverter(serviceId = 1, transactions = {Tx.class})\n"
+        + CONVERTER
+        + transaction("Tx", "@TransactionFactory(1) static Tx fromMessage(BinaryMessage m)",
+            "@TransactionJsonBody static byte[] toBody(String d)");
+
+    assertThat(compile(source), hasItem(containsString("@TransactionJsonBody method must "
+        + "accept a single parameter of a class annotated with @AutoGsonAdapter")));
+    assertFalse(compiler.hasOutput("ConverterDispatcher.java"));
+  }
+
+  @Test
+  void instanceJsonBody() throws Exception {
+    String source = IMPORTS
+        + "@AutoTransactionConverter(serviceId = 1, transactions = {Tx.class})\n"
+        + CONVERTER
+        + transaction("Tx", "@TransactionFactory(1) static Tx fromMessage(BinaryMessage m)",
+            "@TransactionJsonBody byte[] toBody(TxData d)")
+        + TX_DATA;
+
+    assertThat(compile(source),
+        hasItem(containsString("@TransactionJsonBody method must be static")));
+  }
+
+  /**
+   * Returns the source of a transaction class with a factory having the given signature.
+   */
+  private static String transaction(String name, String factorySignature) {
+    return transaction(name, factorySignature, "static byte[] toBody(Object d)");
+  }
+
+  /**
+   * Returns the source of a transaction class with a factory and a method creating
+   * the body of the transaction having the given signatures.
+   */
+  private static String transaction(String name, String factorySignature,
+      String jsonBodySignature) {
+    return "final class " + name + " extends AbstractTransaction {\n"
+        + "  " + name + "(BinaryMessage m) { super(m); }\n"
+        + "  " + factorySignature + " { return null; }\n"
+        + "  " + jsonBodySignature + " { return null; }\n"
+        + "  public boolean isValid() { return true; }\n"
+        + "  public void execute(Fork view) {}\n"
+        + "}\n";
+  }
+
+  private List<String> compile(String source) throws IOException, URISyntaxException {
+    return compiler.compile("Converter", source, new TransactionConverterProcessor());
+  }
+}
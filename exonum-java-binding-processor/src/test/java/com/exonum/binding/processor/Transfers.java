@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.processor;
+
+import com.exonum.binding.common.crypto.PublicKey;
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.serialization.AutoSerializer;
+import com.exonum.binding.common.serialization.ProtobufField;
+import java.util.Objects;
+
+/**
+ * Holds a nested value class created with a static factory method.
+ */
+final class Transfers {
+
+  /**
+   * A value similar to the history entity of the cryptocurrency service.
+   */
+  static final class Transfer {
+
+    private final long seed;
+    private final PublicKey from;
+    private final PublicKey to;
+    private final long amount;
+    private final HashCode txHash;
+
+    private Transfer(long seed, PublicKey from, PublicKey to, long amount, HashCode txHash) {
+      this.seed = seed;
+      this.from = from;
+      this.to = to;
+      this.amount = amount;
+      this.txHash = txHash;
+    }
+
+    @AutoSerializer
+    static Transfer create(@ProtobufField(1) long seed,
+        @ProtobufField(2) PublicKey from,
+        @ProtobufField(3) PublicKey to,
+        @ProtobufField(4) long amount,
+        @ProtobufField(5) HashCode txHash) {
+      return new Transfer(seed, from, to, amount, txHash);
+    }
+
+    long getSeed() {
+      return seed;
+    }
+
+    PublicKey getFrom() {
+      return from;
+    }
+
+    PublicKey getTo() {
+      return to;
+    }
+
+    long getAmount() {
+      return amount;
+    }
+
+    HashCode getTxHash() {
+      return txHash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Transfer that = (Transfer) o;
+      return seed == that.seed
+          && amount == that.amount
+          && from.equals(that.from)
+          && to.equals(that.to)
+          && txHash.equals(that.txHash);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(seed, from, to, amount, txHash);
+    }
+  }
+
+  private Transfers() {}
+}
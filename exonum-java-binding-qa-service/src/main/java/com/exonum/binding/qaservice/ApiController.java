@@ -23,12 +23,10 @@ import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
 import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
 
 import com.exonum.binding.common.hash.HashCode;
-import com.exonum.binding.qaservice.transactions.QaTransactionGson;
 import com.exonum.binding.service.InvalidTransactionException;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
-import com.google.gson.Gson;
 import com.google.inject.Inject;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
@@ -149,10 +147,9 @@ final class ApiController {
     Optional<Counter> counter = service.getValue(counterId);
 
     if (counter.isPresent()) {
-      Gson gson = QaTransactionGson.instance();
       rc.response()
           .putHeader("Content-Type", "application/json")
-          .end(gson.toJson(counter.get()));
+          .end(CounterGsonAdapter.INSTANCE.toJson(counter.get()));
     } else {
       rc.response()
           .setStatusCode(HTTP_NOT_FOUND)
@@ -18,9 +18,11 @@ package com.exonum.binding.qaservice;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.exonum.binding.common.serialization.AutoGsonAdapter;
 import java.util.Objects;
 
 
+@AutoGsonAdapter
 final class Counter {
 
   private final String name;
@@ -31,6 +33,14 @@ final class Counter {
     this.value = value;
   }
 
+  String getName() {
+    return name;
+  }
+
+  long getValue() {
+    return value;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -25,8 +25,10 @@ import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.hash.Hashing;
 import com.exonum.binding.common.message.BinaryMessage;
 import com.exonum.binding.common.message.Message;
+import com.exonum.binding.common.serialization.AutoGsonAdapter;
 import com.exonum.binding.qaservice.QaSchema;
 import com.exonum.binding.qaservice.transactions.TxMessageProtos.CreateCounterTxBody;
+import com.exonum.binding.service.TransactionFactory;
 import com.exonum.binding.storage.database.Fork;
 import com.exonum.binding.storage.indices.MapIndex;
 import com.exonum.binding.transaction.Transaction;
@@ -38,9 +40,10 @@ import java.util.Objects;
 /**
  * A transaction creating a new named counter.
  */
+@AutoGsonAdapter
 public final class CreateCounterTx implements Transaction {
 
-  private static final short ID = QaTransaction.CREATE_COUNTER.id();
+  static final short ID = 0;
 
   private final String name;
 
@@ -49,6 +52,10 @@ public final class CreateCounterTx implements Transaction {
     this.name = name;
   }
 
+  String getName() {
+    return name;
+  }
+
   @Override
   public boolean isValid() {
     return true;
@@ -73,7 +80,7 @@ public final class CreateCounterTx implements Transaction {
 
   @Override
   public String info() {
-    return new QaTransactionGson().toJson(ID, this);
+    return QaTransactionGson.toJson(ID, this, CreateCounterTxGsonAdapter.INSTANCE);
   }
 
   @Override
@@ -98,6 +105,16 @@ public final class CreateCounterTx implements Transaction {
     return Objects.hashCode(name);
   }
 
+  /**
+   * Creates a transaction from the given message.
+   *
+   * @throws IllegalArgumentException if the message is not a valid CreateCounterTx message
+   */
+  @TransactionFactory(ID)
+  static CreateCounterTx fromMessage(Message message) {
+    return converter().fromMessage(message);
+  }
+
   static TransactionMessageConverter<CreateCounterTx> converter() {
     return TransactionConverter.INSTANCE;
   }
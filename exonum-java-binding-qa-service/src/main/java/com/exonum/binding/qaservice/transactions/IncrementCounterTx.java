@@ -24,8 +24,10 @@ import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.hash.Hashing;
 import com.exonum.binding.common.message.BinaryMessage;
 import com.exonum.binding.common.message.Message;
+import com.exonum.binding.common.serialization.AutoGsonAdapter;
 import com.exonum.binding.qaservice.QaSchema;
 import com.exonum.binding.qaservice.transactions.TxMessageProtos.IncrementCounterTxBody;
+import com.exonum.binding.service.TransactionFactory;
 import com.exonum.binding.storage.database.Fork;
 import com.exonum.binding.storage.indices.ProofMapIndexProxy;
 import com.exonum.binding.transaction.Transaction;
@@ -39,9 +41,10 @@ import java.util.Objects;
  * A transaction incrementing the given counter. Always valid, does nothing if the counter
  * is unknown.
  */
+@AutoGsonAdapter
 public final class IncrementCounterTx implements Transaction {
 
-  private static final short ID = QaTransaction.INCREMENT_COUNTER.id();
+  static final short ID = 1;
 
   private final long seed;
   private final HashCode counterId;
@@ -58,6 +61,14 @@ public final class IncrementCounterTx implements Transaction {
     this.counterId = counterId;
   }
 
+  long getSeed() {
+    return seed;
+  }
+
+  HashCode getCounterId() {
+    return counterId;
+  }
+
   @Override
   public boolean isValid() {
     return true;
@@ -76,7 +87,7 @@ public final class IncrementCounterTx implements Transaction {
 
   @Override
   public String info() {
-    return new QaTransactionGson().toJson(ID, this);
+    return QaTransactionGson.toJson(ID, this, IncrementCounterTxGsonAdapter.INSTANCE);
   }
 
   @Override
@@ -102,6 +113,16 @@ public final class IncrementCounterTx implements Transaction {
     return Objects.hash(seed, counterId);
   }
 
+  /**
+   * Creates a transaction from the given message.
+   *
+   * @throws IllegalArgumentException if the message is not a valid IncrementCounterTx message
+   */
+  @TransactionFactory(ID)
+  static IncrementCounterTx fromMessage(Message message) {
+    return converter().fromMessage(message);
+  }
+
   static TransactionMessageConverter<IncrementCounterTx> converter() {
     return MessageConverter.INSTANCE;
   }
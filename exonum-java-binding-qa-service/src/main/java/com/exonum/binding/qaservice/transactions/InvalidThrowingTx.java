@@ -22,19 +22,18 @@ import static com.exonum.binding.qaservice.transactions.TransactionPreconditions
 
 import com.exonum.binding.common.message.BinaryMessage;
 import com.exonum.binding.common.message.Message;
+import com.exonum.binding.common.serialization.AutoGsonAdapter;
+import com.exonum.binding.service.TransactionFactory;
 import com.exonum.binding.storage.database.Fork;
 import com.exonum.binding.transaction.Transaction;
-import java.util.Collections;
-import java.util.Map;
 
 /**
  * An invalid transaction always throwing IllegalStateException in {@link #isValid()}.
  */
+@AutoGsonAdapter
 public final class InvalidThrowingTx implements Transaction {
 
-  private static final short ID = QaTransaction.INVALID_THROWING.id();
-  private static final String INVALID_TX_JSON = QaTransactionGson.instance()
-      .toJson(new AnyTransaction<Map>(ID, Collections.emptyMap()));
+  static final short ID = 11;
 
   @Override
   public boolean isValid() {
@@ -48,7 +47,7 @@ public final class InvalidThrowingTx implements Transaction {
 
   @Override
   public String info() {
-    return INVALID_TX_JSON;
+    return QaTransactionGson.toJson(ID, this, InvalidThrowingTxGsonAdapter.INSTANCE);
   }
 
   @Override
@@ -56,6 +55,16 @@ public final class InvalidThrowingTx implements Transaction {
     return converter().toMessage(this);
   }
 
+  /**
+   * Creates a transaction from the given message.
+   *
+   * @throws IllegalArgumentException if the message is not a valid InvalidThrowingTx message
+   */
+  @TransactionFactory(ID)
+  static InvalidThrowingTx fromMessage(Message message) {
+    return converter().fromMessage(message);
+  }
+
   static TransactionMessageConverter<InvalidThrowingTx> converter() {
     return TransactionConverter.INSTANCE;
   }
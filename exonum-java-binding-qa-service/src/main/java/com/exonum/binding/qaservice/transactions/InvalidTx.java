@@ -22,19 +22,18 @@ import static com.exonum.binding.qaservice.transactions.TransactionPreconditions
 
 import com.exonum.binding.common.message.BinaryMessage;
 import com.exonum.binding.common.message.Message;
+import com.exonum.binding.common.serialization.AutoGsonAdapter;
+import com.exonum.binding.service.TransactionFactory;
 import com.exonum.binding.storage.database.Fork;
 import com.exonum.binding.transaction.Transaction;
-import java.util.Collections;
-import java.util.Map;
 
 /**
  * An invalid transaction always returning false in {@link #isValid()}.
  */
+@AutoGsonAdapter
 public final class InvalidTx implements Transaction {
 
-  private static final short ID = QaTransaction.INVALID.id();
-  private static final String INVALID_TX_JSON = QaTransactionGson.instance()
-      .toJson(new AnyTransaction<Map>(ID, Collections.emptyMap()));
+  static final short ID = 10;
 
   @Override
   public boolean isValid() {
@@ -48,7 +47,7 @@ public final class InvalidTx implements Transaction {
 
   @Override
   public String info() {
-    return INVALID_TX_JSON;
+    return QaTransactionGson.toJson(ID, this, InvalidTxGsonAdapter.INSTANCE);
   }
 
   @Override
@@ -56,6 +55,16 @@ public final class InvalidTx implements Transaction {
     return converter().toMessage(this);
   }
 
+  /**
+   * Creates a transaction from the given message.
+   *
+   * @throws IllegalArgumentException if the message is not a valid InvalidTx message
+   */
+  @TransactionFactory(ID)
+  static InvalidTx fromMessage(Message message) {
+    return converter().fromMessage(message);
+  }
+
   static TransactionMessageConverter<InvalidTx> converter() {
     return TransactionConverter.INSTANCE;
   }
@@ -22,18 +22,20 @@ import com.google.common.primitives.Shorts;
 /**
  * All known QA service transactions.
  *
- * @implNote Keep in sync with {@link QaTransactionConverter#TRANSACTION_FACTORIES}.
+ * @implNote The ids are defined in the transaction classes, so that they can be used
+ *     in {@link com.exonum.binding.service.TransactionFactory} annotations. Keep in sync with
+ *     {@link QaTransactionConverter}.
  */
 public enum QaTransaction {
   // Well-behaved transactions.
-  CREATE_COUNTER(0),
-  INCREMENT_COUNTER(1),
+  CREATE_COUNTER(CreateCounterTx.ID),
+  INCREMENT_COUNTER(IncrementCounterTx.ID),
 
   // Badly-behaved transactions, do some crazy things.
-  INVALID(10),
-  INVALID_THROWING(11),
-  VALID_THROWING(12),
-  VALID_ERROR(13);
+  INVALID(InvalidTx.ID),
+  INVALID_THROWING(InvalidThrowingTx.ID),
+  VALID_THROWING(ValidThrowingTx.ID),
+  VALID_ERROR(ValidErrorTx.ID);
 
   private final short id;
 
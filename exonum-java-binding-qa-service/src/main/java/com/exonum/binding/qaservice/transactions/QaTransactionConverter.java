@@ -16,50 +16,30 @@
 
 package com.exonum.binding.qaservice.transactions;
 
-import static com.exonum.binding.qaservice.transactions.QaTransaction.CREATE_COUNTER;
-import static com.exonum.binding.qaservice.transactions.QaTransaction.INCREMENT_COUNTER;
-import static com.exonum.binding.qaservice.transactions.QaTransaction.INVALID;
-import static com.exonum.binding.qaservice.transactions.QaTransaction.INVALID_THROWING;
-import static com.exonum.binding.qaservice.transactions.QaTransaction.VALID_ERROR;
-import static com.exonum.binding.qaservice.transactions.QaTransaction.VALID_THROWING;
-import static com.google.common.base.Preconditions.checkArgument;
-
 import com.exonum.binding.common.message.BinaryMessage;
 import com.exonum.binding.qaservice.QaService;
+import com.exonum.binding.service.AutoTransactionConverter;
 import com.exonum.binding.service.TransactionConverter;
 import com.exonum.binding.transaction.Transaction;
-import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.ImmutableMap;
-import java.util.function.Function;
 
-/** A converter of QA service transaction messages. */
+/**
+ * A converter of QA service transaction messages.
+ * The converter dispatching the messages to the transactions by their ids is generated.
+ */
+@AutoTransactionConverter(
+    serviceId = QaService.ID,
+    transactions = {
+        CreateCounterTx.class,
+        IncrementCounterTx.class,
+        InvalidTx.class,
+        InvalidThrowingTx.class,
+        ValidThrowingTx.class,
+        ValidErrorTx.class,
+    })
 public final class QaTransactionConverter implements TransactionConverter {
 
-  @VisibleForTesting
-  static final ImmutableMap<Short, Function<BinaryMessage, Transaction>> TRANSACTION_FACTORIES =
-      ImmutableMap.<Short, Function<BinaryMessage, Transaction>>builder()
-          .put(INCREMENT_COUNTER.id(), IncrementCounterTx.converter()::fromMessage)
-          .put(CREATE_COUNTER.id(), CreateCounterTx.converter()::fromMessage)
-          .put(INVALID.id(), InvalidTx.converter()::fromMessage)
-          .put(INVALID_THROWING.id(), InvalidThrowingTx.converter()::fromMessage)
-          .put(VALID_THROWING.id(), ValidThrowingTx.converter()::fromMessage)
-          .put(VALID_ERROR.id(), ValidErrorTx.converter()::fromMessage)
-          .build();
-
   @Override
   public Transaction toTransaction(BinaryMessage message) {
-    checkServiceId(message);
-
-    short txId = message.getMessageType();
-    return TRANSACTION_FACTORIES.getOrDefault(txId, (m) -> {
-      throw new IllegalArgumentException("Unknown transaction id: " + txId);
-    })
-        .apply(message);
-  }
-
-  private static void checkServiceId(BinaryMessage message) {
-    short serviceId = message.getServiceId();
-    checkArgument(serviceId == QaService.ID,
-        "Wrong service id (%s), must be %s", serviceId, QaService.ID);
+    return QaTransactionConverterDispatcher.INSTANCE.toTransaction(message);
   }
 }
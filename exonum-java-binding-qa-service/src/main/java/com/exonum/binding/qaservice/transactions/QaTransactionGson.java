@@ -18,19 +18,28 @@ package com.exonum.binding.qaservice.transactions;
 
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.qaservice.PromoteToCore;
+import com.exonum.binding.qaservice.QaService;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
 import com.google.gson.LongSerializationPolicy;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.lang.reflect.Type;
 
-/** A converter of transaction parameters of QA service to JSON. */
+/**
+ * A converter of transaction parameters of QA service to JSON. The transactions are written
+ * with their generated adapters; the configured Gson reads them back.
+ */
 @PromoteToCore("… in some form or another. You may add a constructor that accepts extra "
     + "type hierarchy adapters to create a proper GSON.")
 public final class QaTransactionGson {
@@ -65,11 +74,23 @@ public final class QaTransactionGson {
    *
    * @param txId a transaction id
    * @param txBody a body of the transaction
+   * @param bodyAdapter a generated adapter of the body
    * @return a transaction message serialized in JSON
    * @see AnyTransaction
    */
-  public String toJson(short txId, Object txBody) {
-    AnyTransaction txParams = new AnyTransaction<>(txId, txBody);
-    return GSON.toJson(txParams);
+  public static <BodyT> String toJson(short txId, BodyT txBody, TypeAdapter<BodyT> bodyAdapter) {
+    StringWriter out = new StringWriter();
+    try {
+      JsonWriter writer = new JsonWriter(out);
+      writer.beginObject()
+          .name("service_id").value(QaService.ID)
+          .name("message_id").value(txId)
+          .name("body");
+      bodyAdapter.write(writer, txBody);
+      writer.endObject();
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+    return out.toString();
   }
 }
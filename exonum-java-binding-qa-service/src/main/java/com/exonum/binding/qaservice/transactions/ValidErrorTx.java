@@ -22,8 +22,10 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import com.exonum.binding.common.message.BinaryMessage;
 import com.exonum.binding.common.message.Message;
+import com.exonum.binding.common.serialization.AutoGsonAdapter;
 import com.exonum.binding.qaservice.QaSchema;
 import com.exonum.binding.qaservice.transactions.TxMessageProtos.ValidErrorTxBody;
+import com.exonum.binding.service.TransactionFactory;
 import com.exonum.binding.storage.database.Fork;
 import com.exonum.binding.transaction.Transaction;
 import com.exonum.binding.transaction.TransactionExecutionException;
@@ -39,9 +41,10 @@ import javax.annotation.Nullable;
  * throw an {@link TransactionExecutionException}.
  * Clears all collections of this service before throwing the exception.
  */
+@AutoGsonAdapter
 public final class ValidErrorTx implements Transaction {
 
-  private static final short ID = QaTransaction.VALID_ERROR.id();
+  static final short ID = 13;
 
   private final long seed;
   private final byte errorCode;
@@ -72,6 +75,19 @@ public final class ValidErrorTx implements Transaction {
     return errorDescription == null || !errorDescription.isEmpty();
   }
 
+  long getSeed() {
+    return seed;
+  }
+
+  byte getErrorCode() {
+    return errorCode;
+  }
+
+  @Nullable
+  String getErrorDescription() {
+    return errorDescription;
+  }
+
   @Override
   public boolean isValid() {
     return true;
@@ -90,7 +106,7 @@ public final class ValidErrorTx implements Transaction {
 
   @Override
   public String info() {
-    return QaTransactionGson.instance().toJson(this);
+    return ValidErrorTxGsonAdapter.INSTANCE.toJson(this);
   }
 
   @Override
@@ -117,6 +133,16 @@ public final class ValidErrorTx implements Transaction {
     return Objects.hash(seed, errorCode, errorDescription);
   }
 
+  /**
+   * Creates a transaction from the given message.
+   *
+   * @throws IllegalArgumentException if the message is not a valid ValidErrorTx message
+   */
+  @TransactionFactory(ID)
+  static ValidErrorTx fromMessage(Message message) {
+    return converter().fromMessage(message);
+  }
+
   static TransactionMessageConverter<ValidErrorTx> converter() {
     return ValidErrorTx.MessageConverter.INSTANCE;
   }
@@ -21,17 +21,20 @@ import static com.exonum.binding.qaservice.transactions.TransactionPreconditions
 
 import com.exonum.binding.common.message.BinaryMessage;
 import com.exonum.binding.common.message.Message;
+import com.exonum.binding.common.serialization.AutoGsonAdapter;
 import com.exonum.binding.qaservice.QaSchema;
 import com.exonum.binding.qaservice.transactions.TxMessageProtos.ValidThrowingTxBody;
+import com.exonum.binding.service.TransactionFactory;
 import com.exonum.binding.storage.database.Fork;
 import com.exonum.binding.transaction.Transaction;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.protobuf.InvalidProtocolBufferException;
 import java.util.Objects;
 
+@AutoGsonAdapter
 public final class ValidThrowingTx implements Transaction {
 
-  private static final short ID = QaTransaction.VALID_THROWING.id();
+  static final short ID = 12;
 
   private final long seed;
 
@@ -39,6 +42,10 @@ public final class ValidThrowingTx implements Transaction {
     this.seed = seed;
   }
 
+  long getSeed() {
+    return seed;
+  }
+
   @Override
   public boolean isValid() {
     return true;
@@ -62,7 +69,7 @@ public final class ValidThrowingTx implements Transaction {
 
   @Override
   public String info() {
-    return new QaTransactionGson().toJson(ID, this);
+    return QaTransactionGson.toJson(ID, this, ValidThrowingTxGsonAdapter.INSTANCE);
   }
 
   @Override
@@ -87,6 +94,16 @@ public final class ValidThrowingTx implements Transaction {
     return Objects.hashCode(seed);
   }
 
+  /**
+   * Creates a transaction from the given message.
+   *
+   * @throws IllegalArgumentException if the message is not a valid ValidThrowingTx message
+   */
+  @TransactionFactory(ID)
+  static ValidThrowingTx fromMessage(Message message) {
+    return converter().fromMessage(message);
+  }
+
   static TransactionMessageConverter<ValidThrowingTx> converter() {
     return TransactionConverter.INSTANCE;
   }